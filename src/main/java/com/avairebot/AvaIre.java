@@ -30,7 +30,6 @@ import com.avairebot.ai.dialogflow.DialogFlowService;
 import com.avairebot.audio.AudioHandler;
 import com.avairebot.audio.GuildMusicManager;
 import com.avairebot.audio.LavalinkManager;
-import com.avairebot.audio.cache.AudioState;
 import com.avairebot.blacklist.Blacklist;
 import com.avairebot.cache.CacheManager;
 import com.avairebot.cache.CacheType;
@@ -45,6 +44,7 @@ import com.avairebot.commands.utility.StatsCommand;
 import com.avairebot.commands.utility.UptimeCommand;
 import com.avairebot.config.*;
 import com.avairebot.contracts.commands.Command;
+import com.avairebot.contracts.commands.InteractionCommand;
 import com.avairebot.contracts.database.migrations.Migration;
 import com.avairebot.contracts.database.seeder.Seeder;
 import com.avairebot.contracts.scheduler.Job;
@@ -67,6 +67,7 @@ import com.avairebot.middleware.global.IsCategoryEnabled;
 import com.avairebot.mute.MuteManager;
 import com.avairebot.plugin.PluginLoader;
 import com.avairebot.plugin.PluginManager;
+import com.avairebot.roles.RoleActionManager;
 import com.avairebot.scheduler.ScheduleHandler;
 import com.avairebot.servlet.WebServlet;
 import com.avairebot.servlet.routes.*;
@@ -135,6 +136,7 @@ public class AvaIre {
     private final Blacklist blacklist;
     private final DatabaseManager database;
     private final LevelManager levelManager;
+    private final RoleActionManager roleActionManager;
     private final IntelligenceManager intelligenceManager;
     private final PluginManager pluginManager;
     private final VoteManager voteManager;
@@ -163,6 +165,7 @@ public class AvaIre {
         this.eventEmitter = new EventEmitter(this);
         this.cache = new CacheManager(this);
         this.levelManager = new LevelManager();
+        this.roleActionManager = new RoleActionManager(this);
 
         log.info("Loading configuration");
         constants = new ConstantsConfiguration(this);
@@ -275,6 +278,10 @@ public class AvaIre {
         }
         log.info(String.format("\tRegistered %s commands successfully!", CommandHandler.getCommands().size()));
 
+        if (getConfig().getBoolean("interaction-images.warmup", false)) {
+            InteractionCommand.warmupImageStore();
+        }
+
         log.info("Loading command category states");
         Object commandCategoryStates = cache.getAdapter(CacheType.FILE).get("command-category.toggle");
         if (commandCategoryStates != null) {
@@ -561,6 +568,10 @@ public class AvaIre {
         return muteManger;
     }
 
+    public RoleActionManager getRoleActionManager() {
+        return roleActionManager;
+    }
+
     public WebServlet getServlet() {
         return servlet;
     }
@@ -598,7 +609,13 @@ public class AvaIre {
 
         getLogger().info("Shutting down bot instance gracefully with exit code " + exitCode);
 
-        List<AudioState> audioStates = new ArrayList<>();
+        // Records the position of the playing tracks, and waits for the audio queue journal to finish
+        // writing, the journal is then closed so the queues being cleared below are never recorded,
+        // allowing the music to resume from the journal once the bot boots back up.
+        AudioHandler.getDefaultAudioHandler().getQueueJournal().shutdown(
+            AudioHandler.getDefaultAudioHandler().musicManagers.values()
+        );
+
         for (GuildMusicManager manager : AudioHandler.getDefaultAudioHandler().musicManagers.values()) {
             if (manager.getLastActiveMessage() != null) {
                 manager.getLastActiveMessage().makeInfo(
@@ -607,17 +624,6 @@ public class AvaIre {
                 shutdownDelay += 100L;
             }
 
-            try {
-                //noinspection SynchronizationOnLocalVariableOrMethodParameter
-                synchronized (manager) {
-                    if (manager.getGuild() != null) {
-                        audioStates.add(new AudioState(manager, manager.getGuild()));
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Failed to create the audio state cache for the guild with an ID of: {}", manager.getGuildId(), e);
-            }
-
             manager.getScheduler().getQueue().clear();
 
             if (manager.getLastActiveMessage() != null) {
@@ -641,10 +647,6 @@ public class AvaIre {
             LavalinkManager.LavalinkManagerHolder.lavalink.getLavalink().shutdown();
         }
 
-        // Caches the audio state for the next three hours so we
-        // can resume the music once the bot boots back up.
-        cache.getAdapter(CacheType.FILE).put("audio.state", gson.toJson(audioStates), 60 * 60 * 3);
-
         try {
             if (shutdownDelay > 5000L) {
                 // If the shutdown delay is anymore than 5 seconds, we just set it to a
@@ -675,6 +677,7 @@ public class AvaIre {
         } catch (SQLException ex) {
             getLogger().error("Failed to close database connection during shutdown: ", ex);
         }
+        getDatabase().shutdownPool();
 
         System.exit(exitCode);
     }
@@ -22,6 +22,8 @@
 package com.avairebot.audio;
 
 import com.avairebot.AvaIre;
+import com.avairebot.Constants;
+import com.avairebot.audio.cache.AudioQueueJournal;
 import com.avairebot.audio.searcher.SearchProvider;
 import com.avairebot.commands.CommandMessage;
 import com.avairebot.database.controllers.GuildController;
@@ -42,6 +44,7 @@ import net.dv8tion.jda.api.managers.AudioManager;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.EnumSet;
@@ -60,6 +63,7 @@ public class AudioHandler {
     public final Map<Long, GuildMusicManager> musicManagers;
     public final Map<String, AudioSession> audioSessions;
     private AudioPlayerManager playerManager;
+    private AudioQueueJournal queueJournal;
 
     public AudioHandler(Map<Long, GuildMusicManager> musicManagers, Map<String, AudioSession> audioSessions) {
         this.musicManagers = musicManagers;
@@ -102,6 +106,13 @@ public class AudioHandler {
         return playerManager;
     }
 
+    public synchronized AudioQueueJournal getQueueJournal() {
+        if (queueJournal == null) {
+            queueJournal = new AudioQueueJournal(new File(Constants.STORAGE_PATH, "audio-journal"));
+        }
+        return queueJournal;
+    }
+
     @CheckReturnValue
     public TrackRequest loadAndPlay(CommandMessage context, @Nonnull TrackRequestContext trackContext) {
         return new TrackRequest(getGuildAudioPlayer(context.getGuild()), context, trackContext);
@@ -79,13 +79,12 @@ public class TrackScheduler extends AudioEventWrapper {
         AudioTrackContainer container = new AudioTrackContainer(track, requester);
 
         if (player.getPlayingTrack() != null) {
-            queue.offer(container);
+            enqueue(container);
             return;
         }
 
         if (manager.getLastActiveMessage() != null) {
-            player.playTrack(track);
-            audioTrackContainer = container;
+            play(container);
             sendNowPlaying(container);
         }
     }
@@ -99,11 +98,25 @@ public class TrackScheduler extends AudioEventWrapper {
      * @param requester The user who requested the audio tracks.
      */
     public void queue(PlaylistTransformer playlist, List<AudioTrack> tracks, User requester) {
+        queue(playlist, tracks, tracks.size(), requester);
+    }
+
+    /**
+     * Adds the list of tracks to the queue, if the player is not playing
+     * a song the first track in the list will be played, the given size
+     * is used in the loaded playlist message, allowing the rest of
+     * the playlist to be queued after it has been loaded.
+     *
+     * @param playlist  The playlist transformer for the current guild.
+     * @param tracks    The list of tracks to add to the queue.
+     * @param size      The total amount of tracks that are being loaded from the playlist.
+     * @param requester The user who requested the audio tracks.
+     */
+    public void queue(PlaylistTransformer playlist, List<AudioTrack> tracks, int size, User requester) {
         if (tracks.isEmpty() || manager.getLastActiveMessage() == null) {
             return;
         }
 
-        int size = tracks.size();
         AudioTrackContainer container = new AudioTrackContainer(tracks.get(0), requester);
 
         String message = manager.getLastActiveMessage().i18nRaw("music.PlaylistCommand.loadedPlaylist");
@@ -112,12 +125,11 @@ public class TrackScheduler extends AudioEventWrapper {
             message = message + "\n" + manager.getLastActiveMessage().i18nRaw("music.internal.nowPlayingSong");
 
             tracks.remove(0);
-            player.playTrack(container.getAudioTrack());
-            audioTrackContainer = container;
+            play(container);
         }
 
         for (AudioTrack track : tracks) {
-            queue.offer(new AudioTrackContainer(track, requester));
+            enqueue(new AudioTrackContainer(track, requester));
         }
 
         String songTitle = container.getAudioTrack().getInfo().title;
@@ -156,14 +168,13 @@ public class TrackScheduler extends AudioEventWrapper {
 
         if (player.getPlayingTrack() != null) {
             for (int i = 0; i < playlist.getTracks().size(); i++) {
-                queue.offer(new AudioTrackContainer(playlist.getTracks().get(i), requester));
+                enqueue(new AudioTrackContainer(playlist.getTracks().get(i), requester));
             }
             return;
         }
 
         if (manager.getLastActiveMessage() != null) {
-            player.playTrack(track);
-            audioTrackContainer = container;
+            play(container);
 
             String message = manager.getLastActiveMessage().i18nRaw("music.internal.nowPlayingSong");
             if (playlist.getName() != null) {
@@ -190,7 +201,7 @@ public class TrackScheduler extends AudioEventWrapper {
         }
 
         for (int i = 1; i < playlist.getTracks().size(); i++) {
-            queue.offer(new AudioTrackContainer(playlist.getTracks().get(i), requester));
+            enqueue(new AudioTrackContainer(playlist.getTracks().get(i), requester));
         }
     }
 
@@ -210,9 +221,11 @@ public class TrackScheduler extends AudioEventWrapper {
     public void nextTrack(boolean sendEndOfQueue) {
         // Start the next track, regardless of if something is already playing or not. In case queue was empty, we are
         // giving null to startTrack, which is a valid argument and will simply stop the player.
-        AudioTrackContainer container = queue.poll();
+        AudioTrackContainer container = dequeue();
 
         if (container == null) {
+            AudioHandler.getDefaultAudioHandler().getQueueJournal().stopped(manager.getGuildId());
+
             if (manager.getLastActiveMessage() == null)
                 return;
 
@@ -220,8 +233,7 @@ public class TrackScheduler extends AudioEventWrapper {
             return;
         }
 
-        audioTrackContainer = container;
-        player.playTrack(container.getAudioTrack());
+        play(container);
         if (manager.getLastActiveMessage() != null) {
             sendNowPlaying(container);
         }
@@ -231,14 +243,14 @@ public class TrackScheduler extends AudioEventWrapper {
     public void onTrackEnd(AudioPlayer player, AudioTrack track, AudioTrackEndReason endReason) {
         if (endReason.mayStartNext) {
             if (manager.getRepeatState().equals(GuildMusicManager.RepeatState.SINGLE)) {
-                queue.offerFirst(audioTrackContainer.makeClone());
+                enqueueFirst(audioTrackContainer.makeClone());
             } else if (manager.getRepeatState().equals(GuildMusicManager.RepeatState.ALL)) {
-                queue.offer(audioTrackContainer.makeClone());
+                enqueue(audioTrackContainer.makeClone());
             }
             nextTrack();
         } else if (endReason.equals(AudioTrackEndReason.FINISHED) && queue.isEmpty()) {
             if (manager.getRepeatState().equals(GuildMusicManager.RepeatState.SINGLE)) {
-                queue.offerFirst(audioTrackContainer.makeClone());
+                enqueueFirst(audioTrackContainer.makeClone());
                 nextTrack();
             } else if (manager.getLastActiveMessage() != null) {
                 service.submit(() -> handleEndOfQueueWithLastActiveMessage(true));
@@ -286,5 +298,81 @@ public class TrackScheduler extends AudioEventWrapper {
         AudioHandler.getDefaultAudioHandler().musicManagers.remove(
             context.getGuild().getIdLong()
         );
+
+        AudioHandler.getDefaultAudioHandler().getQueueJournal().remove(
+            context.getGuild().getIdLong()
+        );
+    }
+
+    /**
+     * Records a snapshot of the current queue in the audio queue journal, this
+     * should be called whenever the queue is changed directly instead of
+     * through the scheduler, like when the queue is shuffled or cleared.
+     * <p>
+     * The snapshot is built and recorded while holding the queue lock, the same
+     * lock used when tracks are added or removed through the scheduler, so
+     * the snapshot can't be recorded after a change that it is missing.
+     * Callers that changes the queue should hold the queue lock
+     * while doing so, until the snapshot has been recorded.
+     */
+    public void syncQueueJournal() {
+        synchronized (queue) {
+            AudioHandler.getDefaultAudioHandler().getQueueJournal().snapshot(manager);
+        }
+    }
+
+    /**
+     * Plays the given audio track container, and records it in the audio queue journal.
+     *
+     * @param container The audio track container that should be played.
+     */
+    private void play(AudioTrackContainer container) {
+        audioTrackContainer = container;
+        player.playTrack(container.getAudioTrack());
+
+        AudioHandler.getDefaultAudioHandler().getQueueJournal().playing(manager, container);
+    }
+
+    /**
+     * Adds the given audio track container to the end of the
+     * queue, and records it in the audio queue journal.
+     *
+     * @param container The audio track container that should be added to the queue.
+     */
+    private void enqueue(AudioTrackContainer container) {
+        synchronized (queue) {
+            queue.offer(container);
+            AudioHandler.getDefaultAudioHandler().getQueueJournal().enqueue(manager.getGuildId(), container);
+        }
+    }
+
+    /**
+     * Adds the given audio track container to the front of the
+     * queue, and records it in the audio queue journal.
+     *
+     * @param container The audio track container that should be added to the queue.
+     */
+    private void enqueueFirst(AudioTrackContainer container) {
+        synchronized (queue) {
+            queue.offerFirst(container);
+            AudioHandler.getDefaultAudioHandler().getQueueJournal().enqueueFirst(manager.getGuildId(), container);
+        }
+    }
+
+    /**
+     * Removes the audio track container at the front of the queue,
+     * and records the removal in the audio queue journal.
+     *
+     * @return The audio track container at the front of the queue, or {@code NULL} if the queue is empty.
+     */
+    @Nullable
+    private AudioTrackContainer dequeue() {
+        synchronized (queue) {
+            AudioTrackContainer container = queue.poll();
+            if (container != null) {
+                AudioHandler.getDefaultAudioHandler().getQueueJournal().dequeue(manager.getGuildId());
+            }
+            return container;
+        }
     }
 }
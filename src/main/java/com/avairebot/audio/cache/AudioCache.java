@@ -48,6 +48,20 @@ public class AudioCache extends Evalable implements Serializable {
         this.track = AudioTrackSerializer.encodeTrack(audioTrack);
     }
 
+    /**
+     * Create the audio cache instance using the given already encoded
+     * audio track, the user request ID, and the track position.
+     *
+     * @param track       The encoded audio track.
+     * @param requestedBy The ID of the user that requested the track.
+     * @param position    The track position in milliseconds.
+     */
+    AudioCache(byte[] track, long requestedBy, long position) {
+        this.track = track;
+        this.requestedBy = requestedBy;
+        this.position = position;
+    }
+
     /**
      * Create the audio cache instance using the given
      * track url, and the user request ID.
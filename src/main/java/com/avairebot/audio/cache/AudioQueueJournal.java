@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.audio.cache;
+
+import com.avairebot.audio.AudioTrackContainer;
+import com.avairebot.audio.GuildMusicManager;
+import com.avairebot.audio.LavalinkManager;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import net.dv8tion.jda.api.entities.VoiceChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * The audio queue journal records changes to the music queue for each guild as they
+ * happen, appending them to a journal file per guild, when the bot starts back up
+ * the journals are replayed to re-create the queues, which allows the music
+ * to resume even if the bot was killed without shutting down gracefully.
+ * <p>
+ * All writes happens on a single journal thread, so records are always written
+ * in the same order they were recorded in, without blocking the audio threads.
+ */
+public class AudioQueueJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioQueueJournal.class);
+
+    /**
+     * The file extension used for the journal files.
+     */
+    private static final String journalExtension = ".journal";
+
+    /**
+     * The amount of records that can be appended to a journal before it
+     * is compacted down into a single snapshot of the audio state.
+     */
+    private static final int compactAfterRecords = 250;
+
+    /**
+     * The max age of a journal before it is considered too old to be restored.
+     */
+    private static final long maxJournalAge = TimeUnit.HOURS.toMillis(3);
+
+    private final File storagePath;
+    private final ExecutorService writer;
+
+    /**
+     * The amount of records appended to each journal since it was last
+     * compacted, this is only ever accessed from the journal thread.
+     */
+    private final Map<Long, Integer> recordsSinceCompaction = new HashMap<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new audio queue journal storing the journals in the given storage path.
+     *
+     * @param storagePath The folder the journal files should be stored in.
+     */
+    public AudioQueueJournal(@Nonnull File storagePath) {
+        this.storagePath = storagePath;
+        this.writer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("avaire-audio-journal-%d")
+            .setDaemon(true)
+            .build()
+        );
+
+        if (!storagePath.exists() && !storagePath.mkdirs()) {
+            log.error("Failed to create the audio queue journal storage folder at {}", storagePath.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Records the given audio track container being added to the end of the queue.
+     *
+     * @param guildId   The ID of the guild the queue belongs to.
+     * @param container The audio track container that was added to the queue.
+     */
+    public void enqueue(long guildId, @Nonnull AudioTrackContainer container) {
+        append(guildId, AudioQueueJournalCodec.encodeEnqueue(
+            encode(container.getAudioTrack()), container.getRequester().getIdLong()
+        ));
+    }
+
+    /**
+     * Records the given audio track container being added to the front of the queue.
+     *
+     * @param guildId   The ID of the guild the queue belongs to.
+     * @param container The audio track container that was added to the queue.
+     */
+    public void enqueueFirst(long guildId, @Nonnull AudioTrackContainer container) {
+        append(guildId, AudioQueueJournalCodec.encodeEnqueueFirst(
+            encode(container.getAudioTrack()), container.getRequester().getIdLong()
+        ));
+    }
+
+    /**
+     * Records the track at the front of the queue being removed from the queue.
+     *
+     * @param guildId The ID of the guild the queue belongs to.
+     */
+    public void dequeue(long guildId) {
+        append(guildId, AudioQueueJournalCodec.encodeDequeue());
+    }
+
+    /**
+     * Records the given audio track container starting to play for the
+     * given guild music manager, along with the channels and volume
+     * the music manager is currently playing the music with.
+     *
+     * @param manager   The guild music manager that started playing the track.
+     * @param container The audio track container that started playing.
+     */
+    public void playing(@Nonnull GuildMusicManager manager, @Nonnull AudioTrackContainer container) {
+        VoiceChannel channel = LavalinkManager.LavalinkManagerHolder.lavalink.getConnectedChannel(manager.getGuild());
+
+        append(manager.getGuildId(), AudioQueueJournalCodec.encodePlaying(
+            encode(container.getAudioTrack()),
+            container.getRequester().getIdLong(),
+            channel != null ? channel.getIdLong() : 0L,
+            manager.getLastActiveMessage() != null ? manager.getLastActiveMessage().getChannel().getIdLong() : 0L,
+            manager.getPlayer().getVolume()
+        ));
+    }
+
+    /**
+     * Records the player for the given guild stopping, with nothing playing anymore.
+     *
+     * @param guildId The ID of the guild the player belongs to.
+     */
+    public void stopped(long guildId) {
+        append(guildId, AudioQueueJournalCodec.encodeStopped());
+    }
+
+    /**
+     * Records a snapshot of the entire audio state of the given guild music manager, this
+     * should be used whenever the queue is changed in ways that isn't covered by any of
+     * the other records, like when the queue is shuffled, or tracks are removed.
+     *
+     * @param manager The guild music manager that should be recorded.
+     */
+    public void snapshot(@Nonnull GuildMusicManager manager) {
+        if (closed || manager.getGuild() == null) {
+            return;
+        }
+
+        append(manager.getGuildId(), AudioQueueJournalCodec.encodeSnapshot(
+            new AudioState(manager, manager.getGuild())
+        ));
+    }
+
+    /**
+     * Removes the journal for the given guild, this should be called when
+     * the music for the guild ends, so it isn't restored on startup.
+     *
+     * @param guildId The ID of the guild the journal should be removed for.
+     */
+    public void remove(long guildId) {
+        if (closed) {
+            return;
+        }
+
+        writer.submit(() -> {
+            recordsSinceCompaction.remove(guildId);
+            delete(guildId);
+        });
+    }
+
+    /**
+     * Restores the audio states for all the journals matching the given guild filter, the
+     * journals are read and replayed in parallel, and are removed once they have been
+     * restored, since the restored music will start a new journal for the guild.
+     *
+     * @param guildFilter The filter used to determine which guilds should be restored.
+     * @return The restored audio states.
+     */
+    public List<AudioState> restore(@Nonnull LongPredicate guildFilter) {
+        File[] files = storagePath.listFiles((dir, name) -> name.endsWith(journalExtension));
+        if (files == null || files.length == 0) {
+            return Collections.emptyList();
+        }
+
+        long now = System.currentTimeMillis();
+        List<File> journals = new ArrayList<>();
+        for (File file : files) {
+            long guildId = getGuildId(file);
+            if (guildId <= 0) {
+                continue;
+            }
+
+            if (now - file.lastModified() > maxJournalAge) {
+                remove(guildId);
+            } else if (guildFilter.test(guildId)) {
+                journals.add(file);
+            }
+        }
+
+        List<AudioState> states = journals.parallelStream()
+            .map(file -> {
+                long guildId = getGuildId(file);
+                try {
+                    return AudioQueueJournalCodec.replay(guildId, Files.readAllBytes(file.toPath()));
+                } catch (IOException e) {
+                    log.warn("Failed to restore the audio queue journal for the guild with an ID of: {}", guildId, e);
+                    return null;
+                }
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+        for (File file : journals) {
+            remove(getGuildId(file));
+        }
+
+        return states;
+    }
+
+    /**
+     * Records the position of the track that is playing for each of the given
+     * guild music managers, and then stops the journal from recording any
+     * more changes, waiting for all the pending records to be written.
+     *
+     * @param managers The guild music managers that should have their positions recorded.
+     */
+    public void shutdown(@Nonnull Collection<GuildMusicManager> managers) {
+        for (GuildMusicManager manager : managers) {
+            AudioTrack playingTrack = manager.getPlayer().getPlayingTrack();
+            if (playingTrack != null) {
+                append(manager.getGuildId(), AudioQueueJournalCodec.encodePosition(playingTrack.getPosition()));
+            }
+        }
+
+        closed = true;
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(3, TimeUnit.SECONDS)) {
+                log.warn("Timed out while waiting for the audio queue journal to finish writing records");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(long guildId, byte[] record) {
+        if (closed) {
+            return;
+        }
+
+        writer.submit(() -> {
+            try {
+                Files.write(getFile(guildId).toPath(), record,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND
+                );
+            } catch (IOException e) {
+                log.error("Failed to append a record to the audio queue journal for {}: {}", guildId, e.getMessage(), e);
+                return;
+            }
+
+            int records = recordsSinceCompaction.merge(guildId, 1, Integer::sum);
+            if (records >= compactAfterRecords) {
+                compact(guildId);
+            }
+        });
+    }
+
+    private void compact(long guildId) {
+        recordsSinceCompaction.remove(guildId);
+
+        File file = getFile(guildId);
+        try {
+            AudioState state = AudioQueueJournalCodec.replay(guildId, Files.readAllBytes(file.toPath()));
+            if (state == null) {
+                delete(guildId);
+                return;
+            }
+
+            File compactedFile = new File(storagePath, guildId + journalExtension + ".tmp");
+            Files.write(compactedFile.toPath(), AudioQueueJournalCodec.encodeSnapshot(state));
+            Files.move(compactedFile.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+            );
+        } catch (IOException e) {
+            log.error("Failed to compact the audio queue journal for {}: {}", guildId, e.getMessage(), e);
+        }
+    }
+
+    private void delete(long guildId) {
+        try {
+            Files.deleteIfExists(getFile(guildId).toPath());
+        } catch (IOException e) {
+            log.error("Failed to delete the audio queue journal for {}: {}", guildId, e.getMessage(), e);
+        }
+    }
+
+    private File getFile(long guildId) {
+        return new File(storagePath, guildId + journalExtension);
+    }
+
+    private long getGuildId(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - journalExtension.length()));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private byte[] encode(AudioTrack track) {
+        byte[] encodedTrack = AudioTrackSerializer.encodeTrack(track);
+
+        // Tracks that fails to encode are still recorded, so the records for the queue stays
+        // in sync, the empty track will just be skipped when the queue is restored.
+        return encodedTrack == null ? new byte[0] : encodedTrack;
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.audio.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Encodes and replays the records stored in the audio queue journal, each record
+ * is stored as a single type byte, followed by the length of the record
+ * payload, and the payload itself, allowing a journal that was cut off
+ * in the middle of a record to still be replayed up to that point.
+ */
+public final class AudioQueueJournalCodec {
+
+    static final byte ENQUEUE = 1;
+    static final byte ENQUEUE_FIRST = 2;
+    static final byte DEQUEUE = 3;
+    static final byte PLAYING = 4;
+    static final byte STOPPED = 5;
+    static final byte POSITION = 6;
+    static final byte SNAPSHOT = 7;
+
+    private AudioQueueJournalCodec() {
+        // This class should never be instantiated.
+    }
+
+    /**
+     * Encodes a record for a track that was added to the end of the queue.
+     *
+     * @param track       The encoded audio track.
+     * @param requestedBy The ID of the user that requested the track.
+     * @return The encoded journal record.
+     */
+    static byte[] encodeEnqueue(@Nonnull byte[] track, long requestedBy) {
+        return encodeTrackRecord(ENQUEUE, track, requestedBy);
+    }
+
+    /**
+     * Encodes a record for a track that was added to the front of the queue.
+     *
+     * @param track       The encoded audio track.
+     * @param requestedBy The ID of the user that requested the track.
+     * @return The encoded journal record.
+     */
+    static byte[] encodeEnqueueFirst(@Nonnull byte[] track, long requestedBy) {
+        return encodeTrackRecord(ENQUEUE_FIRST, track, requestedBy);
+    }
+
+    /**
+     * Encodes a record for the track at the front of the queue being removed.
+     *
+     * @return The encoded journal record.
+     */
+    static byte[] encodeDequeue() {
+        return encodeRecord(DEQUEUE, new byte[0]);
+    }
+
+    /**
+     * Encodes a record for the track that started playing, along with the
+     * channels and volume the music is being played with.
+     *
+     * @param track            The encoded audio track that started playing.
+     * @param requestedBy      The ID of the user that requested the track.
+     * @param voiceChannelId   The ID of the voice channel the music is playing in.
+     * @param messageChannelId The ID of the channel music messages are sent to.
+     * @param volume           The volume the music is playing at.
+     * @return The encoded journal record.
+     */
+    static byte[] encodePlaying(@Nonnull byte[] track, long requestedBy, long voiceChannelId, long messageChannelId, int volume) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(track.length + 32);
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeLong(voiceChannelId);
+            out.writeLong(messageChannelId);
+            out.writeInt(volume);
+            writeTrack(out, track, requestedBy);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return encodeRecord(PLAYING, payload.toByteArray());
+    }
+
+    /**
+     * Encodes a record for the player stopping, with nothing playing anymore.
+     *
+     * @return The encoded journal record.
+     */
+    static byte[] encodeStopped() {
+        return encodeRecord(STOPPED, new byte[0]);
+    }
+
+    /**
+     * Encodes a record for the position of the track that is currently playing.
+     *
+     * @param position The track position in milliseconds.
+     * @return The encoded journal record.
+     */
+    static byte[] encodePosition(long position) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(8);
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeLong(position);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return encodeRecord(POSITION, payload.toByteArray());
+    }
+
+    /**
+     * Encodes a snapshot of the entire audio state, replaying a snapshot
+     * record discards everything recorded before it, which is what
+     * allows the journal to be compacted into a single record.
+     *
+     * @param state The audio state that should be encoded.
+     * @return The encoded journal record.
+     */
+    static byte[] encodeSnapshot(@Nonnull AudioState state) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeLong(state.getVoiceChannelId());
+            out.writeLong(state.getMessageChannelId());
+            out.writeInt(state.getVolume());
+
+            AudioCache playingTrack = state.getPlayingTrack();
+            out.writeBoolean(playingTrack != null && playingTrack.getTrack() != null);
+            if (playingTrack != null && playingTrack.getTrack() != null) {
+                out.writeLong(playingTrack.getPosition());
+                writeTrack(out, playingTrack.getTrack(), playingTrack.getRequestedBy());
+            }
+
+            List<AudioCache> queue = new ArrayList<>();
+            for (AudioCache audioCache : state.getQueue()) {
+                if (audioCache != null && audioCache.getTrack() != null) {
+                    queue.add(audioCache);
+                }
+            }
+
+            out.writeInt(queue.size());
+            for (AudioCache audioCache : queue) {
+                writeTrack(out, audioCache.getTrack(), audioCache.getRequestedBy());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return encodeRecord(SNAPSHOT, payload.toByteArray());
+    }
+
+    /**
+     * Replays all the records in the given journal, re-creating the
+     * audio state the journal was recording, if the journal ends
+     * in the middle of a record, the incomplete record is ignored.
+     *
+     * @param guildId The ID of the guild the journal belongs to.
+     * @param journal The journal records that should be replayed.
+     * @return The replayed audio state, or {@code NULL} if nothing is
+     * playing, and there are no tracks left in the queue.
+     */
+    @Nullable
+    public static AudioState replay(long guildId, @Nonnull byte[] journal) {
+        ReplayState state = new ReplayState();
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(journal))) {
+            while (in.available() >= 5) {
+                byte type = in.readByte();
+                int length = in.readInt();
+                if (length < 0 || length > in.available()) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                try (DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload))) {
+                    state.apply(type, record);
+                }
+            }
+        } catch (IOException ignored) {
+            // The journal can only be cut off in the middle of a record if the bot was killed
+            // while writing to it, so we'll just use everything we could replay up to that point.
+        }
+
+        if (state.playingTrack == null && state.queue.isEmpty()) {
+            return null;
+        }
+
+        return new AudioState(guildId, state.voiceChannelId, state.messageChannelId, state.volume,
+            state.playingTrack, new ArrayList<>(state.queue)
+        );
+    }
+
+    private static byte[] encodeTrackRecord(byte type, byte[] track, long requestedBy) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(track.length + 12);
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            writeTrack(out, track, requestedBy);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return encodeRecord(type, payload.toByteArray());
+    }
+
+    private static byte[] encodeRecord(byte type, byte[] payload) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(payload.length + 5);
+        try (DataOutputStream out = new DataOutputStream(record)) {
+            out.writeByte(type);
+            out.writeInt(payload.length);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return record.toByteArray();
+    }
+
+    private static void writeTrack(DataOutputStream out, byte[] track, long requestedBy) throws IOException {
+        out.writeLong(requestedBy);
+        out.writeInt(track.length);
+        out.write(track);
+    }
+
+    private static AudioCache readTrack(DataInputStream in, long position) throws IOException {
+        long requestedBy = in.readLong();
+        byte[] track = new byte[in.readInt()];
+        in.readFully(track);
+
+        return new AudioCache(track, requestedBy, position);
+    }
+
+    private static class ReplayState {
+
+        private final LinkedList<AudioCache> queue = new LinkedList<>();
+        private AudioCache playingTrack = null;
+        private long voiceChannelId = 0L;
+        private long messageChannelId = 0L;
+        private int volume = 100;
+
+        private void apply(byte type, DataInputStream record) throws IOException {
+            switch (type) {
+                case ENQUEUE:
+                    queue.addLast(readTrack(record, -1));
+                    break;
+
+                case ENQUEUE_FIRST:
+                    queue.addFirst(readTrack(record, -1));
+                    break;
+
+                case DEQUEUE:
+                    queue.pollFirst();
+                    break;
+
+                case PLAYING:
+                    voiceChannelId = record.readLong();
+                    messageChannelId = record.readLong();
+                    volume = record.readInt();
+                    playingTrack = readTrack(record, 0);
+                    break;
+
+                case STOPPED:
+                    playingTrack = null;
+                    break;
+
+                case POSITION:
+                    if (playingTrack != null) {
+                        playingTrack = new AudioCache(
+                            playingTrack.getTrack(), playingTrack.getRequestedBy(), record.readLong()
+                        );
+                    }
+                    break;
+
+                case SNAPSHOT:
+                    voiceChannelId = record.readLong();
+                    messageChannelId = record.readLong();
+                    volume = record.readInt();
+
+                    playingTrack = null;
+                    if (record.readBoolean()) {
+                        long position = record.readLong();
+                        playingTrack = readTrack(record, position);
+                    }
+
+                    queue.clear();
+                    for (int i = record.readInt(); i > 0; i--) {
+                        queue.addLast(readTrack(record, -1));
+                    }
+                    break;
+
+                default:
+                    // Unknown records are skipped, this allows new record types to be
+                    // added later without breaking journals written by older versions.
+                    break;
+            }
+        }
+    }
+}
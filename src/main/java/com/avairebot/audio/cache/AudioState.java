@@ -78,6 +78,26 @@ public class AudioState extends Evalable implements Serializable {
             .forEach(queue::add);
     }
 
+    /**
+     * Creates the audio state using the given values, this is used to re-create
+     * the audio state from the audio queue journal when the bot starts up.
+     *
+     * @param guildId          The ID of the guild the audio state belongs to.
+     * @param voiceChannelId   The ID of the voice channel the music was playing in.
+     * @param messageChannelId The ID of the channel music messages was sent to.
+     * @param volume           The volume the music was playing at.
+     * @param playingTrack     The audio track that was playing, or {@code NULL}.
+     * @param queue            The audio tracks that was in the queue.
+     */
+    AudioState(long guildId, long voiceChannelId, long messageChannelId, int volume, @Nullable AudioCache playingTrack, List<AudioCache> queue) {
+        this.guildId = guildId;
+        this.voiceChannelId = voiceChannelId;
+        this.messageChannelId = messageChannelId;
+        this.volume = volume;
+        this.playingTrack = playingTrack;
+        this.queue.addAll(queue);
+    }
+
     /**
      * The music queue of audio cache tracks, each track will hold the
      * audio track URL used to request the song originally, the ID of
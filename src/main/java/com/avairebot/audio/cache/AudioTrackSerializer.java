@@ -131,8 +131,28 @@ public class AudioTrackSerializer {
         if (input == null) {
             return null;
         }
+        return decodeTrack(input, 0, input.length);
+    }
+
+    /**
+     * Decodes the given range of the byte array into a LavaPlayer AudioTrack
+     * instance, creating the original audio track object, this allows
+     * decoding tracks stored back to back in a single byte array
+     * without having to copy each track into its own array.
+     *
+     * @param input  The byte array which holds the encoded AudioTrack instance.
+     * @param offset The offset in the byte array the encoded track starts at.
+     * @param length The length of the encoded track in bytes.
+     * @return The decoded LavaPlayer AudioTrack object instance, or {@code null} if
+     * the given byte range does not match a audio track.
+     */
+    @Nullable
+    public static AudioTrack decodeTrack(byte[] input, int offset, int length) {
+        if (input == null) {
+            return null;
+        }
 
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(input)) {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(input, offset, length)) {
             return AudioHandler.getDefaultAudioHandler().getPlayerManager()
                 .decodeTrack(new MessageInput(bais)).decodedTrack;
         } catch (IOException e) {
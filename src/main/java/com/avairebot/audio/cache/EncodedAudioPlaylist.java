@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.audio.cache;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class EncodedAudioPlaylist {
+
+    /**
+     * The version of the binary format, written as the first byte of every
+     * encoded playlist, so the format can be changed later without
+     * breaking playlists that was encoded using older versions.
+     */
+    public static final int VERSION = 1;
+
+    private static final int FLAG_SEARCH_RESULT = 1;
+    private static final int FLAG_COMPRESSED = 1 << 1;
+    private static final int FLAG_SELECTED_TRACK = 1 << 2;
+    private static final int FLAG_NAME = 1 << 3;
+
+    /**
+     * The minimum size in bytes the playlist body must be before compression
+     * is attempted, smaller playlists rarely gets any smaller, so it's
+     * not worth spending the CPU time on compressing them.
+     */
+    private static final int compressionThreshold = 512;
+
+    /**
+     * The maximum size in bytes a decompressed playlist body is allowed to be,
+     * this protects us from allocating absurd amounts of memory if we
+     * ever end up trying to decode a corrupted playlist.
+     */
+    private static final int maximumBodySize = 64 * 1024 * 1024;
+
+    private final String name;
+    private final boolean searchResult;
+
+    private final byte[] data;
+    private final int selectedOffset;
+    private final int selectedLength;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private EncodedAudioPlaylist(String name, boolean searchResult, byte[] data, int selectedOffset, int selectedLength, int[] offsets, int[] lengths) {
+        this.name = name;
+        this.searchResult = searchResult;
+        this.data = data;
+        this.selectedOffset = selectedOffset;
+        this.selectedLength = selectedLength;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Creates a new encoded audio playlist from the given audio playlist,
+     * tracks that fails to be encoded will be skipped.
+     *
+     * @param playlist The audio playlist that should be encoded.
+     * @return The encoded audio playlist.
+     */
+    public static EncodedAudioPlaylist fromAudioPlaylist(@Nonnull AudioPlaylist playlist) {
+        return fromEncodedTracks(
+            playlist.getName(),
+            playlist.isSearchResult(),
+            AudioTrackSerializer.encodeTrack(playlist.getSelectedTrack()),
+            AudioTrackSerializer.encodeTracks(playlist.getTracks())
+        );
+    }
+
+    /**
+     * Creates a new encoded audio playlist from the given already encoded tracks,
+     * the tracks must be encoded using {@link AudioTrackSerializer#encodeTrack(AudioTrack)}.
+     *
+     * @param name          The name of the playlist, or {@code NULL}.
+     * @param searchResult  Whether the playlist is a search result or not.
+     * @param selectedTrack The encoded selected track, or {@code NULL}.
+     * @param tracks        The encoded tracks in the playlist, or {@code NULL}.
+     * @return The encoded audio playlist.
+     */
+    public static EncodedAudioPlaylist fromEncodedTracks(@Nullable String name, boolean searchResult, @Nullable byte[] selectedTrack, @Nullable byte[][] tracks) {
+        int size = selectedTrack == null ? 0 : selectedTrack.length;
+        int count = 0;
+        if (tracks != null) {
+            for (byte[] track : tracks) {
+                if (track != null) {
+                    size += track.length;
+                    count++;
+                }
+            }
+        }
+
+        byte[] data = new byte[size];
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+
+        int position = 0;
+        int selectedOffset = -1;
+        int selectedLength = 0;
+        if (selectedTrack != null) {
+            System.arraycopy(selectedTrack, 0, data, 0, selectedTrack.length);
+            selectedOffset = 0;
+            selectedLength = selectedTrack.length;
+            position = selectedTrack.length;
+        }
+
+        if (tracks != null) {
+            int index = 0;
+            for (byte[] track : tracks) {
+                if (track == null) {
+                    continue;
+                }
+
+                System.arraycopy(track, 0, data, position, track.length);
+                offsets[index] = position;
+                lengths[index++] = track.length;
+                position += track.length;
+            }
+        }
+
+        return new EncodedAudioPlaylist(name, searchResult, data, selectedOffset, selectedLength, offsets, lengths);
+    }
+
+    /**
+     * Decodes the given binary playlist, the tracks in the playlist are kept in their
+     * encoded form until the playlist is turned into an audio playlist using
+     * {@link #toAudioPlaylist()}, so only playlists that are used gets decoded.
+     *
+     * @param encoded The binary playlist, created by {@link #encode()}.
+     * @return The decoded playlist.
+     * @throws IOException If the binary playlist is corrupted or uses an unknown version.
+     */
+    public static EncodedAudioPlaylist decode(@Nonnull byte[] encoded) throws IOException {
+        if (encoded.length < 2) {
+            throw new IOException("The encoded playlist is too short to contain a valid header");
+        }
+
+        int version = encoded[0] & 0xFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported encoded playlist version: " + version);
+        }
+
+        int flags = encoded[1] & 0xFF;
+        byte[] body = (flags & FLAG_COMPRESSED) == 0
+            ? encoded : inflate(encoded, 2, encoded.length - 2);
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            if (body == encoded) {
+                buffer.position(2);
+            }
+
+            String name = null;
+            if ((flags & FLAG_NAME) != 0) {
+                byte[] nameBytes = new byte[readLength(buffer)];
+                buffer.get(nameBytes);
+                name = new String(nameBytes, StandardCharsets.UTF_8);
+            }
+
+            int selectedOffset = -1;
+            int selectedLength = 0;
+            if ((flags & FLAG_SELECTED_TRACK) != 0) {
+                selectedLength = readLength(buffer);
+                selectedOffset = skip(buffer, selectedLength);
+            }
+
+            int count = readLength(buffer);
+            int[] offsets = new int[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                lengths[i] = readLength(buffer);
+                offsets[i] = skip(buffer, lengths[i]);
+            }
+
+            return new EncodedAudioPlaylist(
+                name, (flags & FLAG_SEARCH_RESULT) != 0, body, selectedOffset, selectedLength, offsets, lengths
+            );
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("The encoded playlist is truncated or corrupted", e);
+        }
+    }
+
+    /**
+     * Encodes the playlist into the binary format, the tracks are stored back to back,
+     * each prefixed with their length, and the body of the playlist is compressed
+     * if it's large enough for the compression to make a difference.
+     *
+     * @return The binary playlist.
+     */
+    public byte[] encode() {
+        int flags = 0;
+        if (searchResult) {
+            flags |= FLAG_SEARCH_RESULT;
+        }
+        if (name != null) {
+            flags |= FLAG_NAME;
+        }
+        if (selectedOffset >= 0) {
+            flags |= FLAG_SELECTED_TRACK;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(data.length + (offsets.length * 4) + 64);
+        try (DataOutputStream output = new DataOutputStream(body)) {
+            if (name != null) {
+                byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(nameBytes.length);
+                output.write(nameBytes);
+            }
+
+            if (selectedOffset >= 0) {
+                output.writeInt(selectedLength);
+                output.write(data, selectedOffset, selectedLength);
+            }
+
+            output.writeInt(offsets.length);
+            for (int i = 0; i < offsets.length; i++) {
+                output.writeInt(lengths[i]);
+                output.write(data, offsets[i], lengths[i]);
+            }
+        } catch (IOException e) {
+            // Writing to a byte array output stream never throws an I/O exception.
+            throw new IllegalStateException(e);
+        }
+
+        byte[] bodyBytes = body.toByteArray();
+        if (bodyBytes.length >= compressionThreshold) {
+            byte[] compressed = deflate(bodyBytes);
+            if (compressed.length < bodyBytes.length) {
+                return withHeader(flags | FLAG_COMPRESSED, compressed);
+            }
+        }
+
+        return withHeader(flags, bodyBytes);
+    }
+
+    /**
+     * Creates a new audio playlist from the encoded playlist, tracks that can't
+     * be decoded, which only happens if the audio source the track was
+     * loaded from has been disabled since, are left out of the playlist.
+     *
+     * @return The audio playlist.
+     */
+    public AudioPlaylist toAudioPlaylist() {
+        return toAudioPlaylist(AudioTrackSerializer::decodeTrack);
+    }
+
+    AudioPlaylist toAudioPlaylist(TrackDecoder decoder) {
+        List<AudioTrack> tracks = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            AudioTrack track = decoder.decode(data, offsets[i], lengths[i]);
+            if (track != null) {
+                tracks.add(track);
+            }
+        }
+
+        return new BasicAudioPlaylist(
+            name,
+            tracks,
+            selectedOffset < 0 ? null : decoder.decode(data, selectedOffset, selectedLength),
+            searchResult
+        );
+    }
+
+    /**
+     * Gets the name of the playlist.
+     *
+     * @return The name of the playlist, or {@code NULL}.
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks if the playlist is a search result.
+     *
+     * @return {@code True} if the playlist is a search result, {@code False} otherwise.
+     */
+    public boolean isSearchResult() {
+        return searchResult;
+    }
+
+    /**
+     * Gets the amount of tracks in the playlist.
+     *
+     * @return The amount of tracks in the playlist.
+     */
+    public int getTrackCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Gets a copy of the encoded track at the given index.
+     *
+     * @param index The index of the track.
+     * @return The encoded track.
+     */
+    public byte[] getEncodedTrack(int index) {
+        byte[] track = new byte[lengths[index]];
+        System.arraycopy(data, offsets[index], track, 0, lengths[index]);
+
+        return track;
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length + " with " + buffer.remaining() + " bytes remaining");
+        }
+        return length;
+    }
+
+    private static int skip(ByteBuffer buffer, int length) {
+        int offset = buffer.position();
+        buffer.position(offset + length);
+
+        return offset;
+    }
+
+    private static byte[] withHeader(int flags, byte[] body) {
+        byte[] encoded = new byte[body.length + 2];
+        encoded[0] = (byte) VERSION;
+        encoded[1] = (byte) flags;
+        System.arraycopy(body, 0, encoded, 2, body.length);
+
+        return encoded;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, length);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("The compressed playlist body is truncated");
+                }
+
+                output.write(buffer, 0, inflated);
+                if (output.size() > maximumBodySize) {
+                    throw new IOException("The compressed playlist body exceeds the maximum size");
+                }
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("The compressed playlist body is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @FunctionalInterface
+    interface TrackDecoder {
+
+        @Nullable
+        AudioTrack decode(byte[] data, int offset, int length);
+    }
+}
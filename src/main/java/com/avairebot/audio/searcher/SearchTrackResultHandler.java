@@ -23,6 +23,7 @@ package com.avairebot.audio.searcher;
 
 import com.avairebot.audio.AudioHandler;
 import com.avairebot.audio.TrackRequestContext;
+import com.avairebot.audio.cache.EncodedAudioPlaylist;
 import com.avairebot.audio.exceptions.Http503Exception;
 import com.avairebot.audio.exceptions.InvalidSearchProviderException;
 import com.avairebot.audio.exceptions.SearchingException;
@@ -42,6 +43,9 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -50,6 +54,7 @@ public class SearchTrackResultHandler implements AudioLoadResultHandler {
     private static final Logger log = LoggerFactory.getLogger(SearchTrackResultHandler.class);
     private static final long defaultYouTubeCooldown = TimeUnit.MINUTES.toMillis(10);
     private static final long defaultTimeout = 3000L;
+    private static final ConcurrentHashMap<String, CompletableFuture<EncodedAudioPlaylist>> inFlightSearches = new ConcurrentHashMap<>();
     private static long youtubeCooldownUntil = 0;
 
     private final TrackRequestContext trackContext;
@@ -123,81 +128,61 @@ public class SearchTrackResultHandler implements AudioLoadResultHandler {
             trackContext.setProvider(SearchProvider.SOUNDCLOUD);
         }
 
-        if (!skipCache) {
-            AudioPlaylist playlist = loadContextFromCache();
-            if (playlist != null) {
-                Metrics.searchHits.labels("cache").inc();
-
-                return playlist;
-            }
+        if (skipCache) {
+            return loadFromSearchProvider(timeoutMillis);
         }
 
-        try {
-            AudioHandler.getDefaultAudioHandler()
-                .getPlayerManager()
-                .loadItem(trackContext.getFullQueryString(), this)
-                .get(timeoutMillis, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (TimeoutException e) {
-            exception = new SearchingException(String.format(
-                "Searching provider %s for \"%s\" timed out after %sms",
-                trackContext.getProvider().name(), trackContext.getQuery(), timeoutMillis
-            ));
-        } catch (Exception e) {
-            exception = e;
-        }
+        SearchingException failure = SearchController.fetchFailedSearchResult(trackContext);
+        if (failure != null) {
+            Metrics.searchHits.labels("negative-cache").inc();
 
-        if (exception != null) {
-            Metrics.searchHits.labels("exception").inc();
+            throw failure;
+        }
 
-            if (exception.getCause() != null) {
-                String messageOfCause = exception.getCause().getMessage();
-                if (messageOfCause.contains("java.io.IOException: Invalid status code for search response: 503")) {
-                    exception = new Http503Exception("Lavaplayer search returned a 503", exception);
-                } else if (messageOfCause.contains("Loading information for a YouTube track failed.")) {
-                    if (exception.getCause().getCause() != null && exception.getCause().getCause().getMessage().contains("YouTube rate limit reached")) {
-                        exception = new RateLimitException(messageOfCause, exception);
-                    }
-                }
-            }
+        if (SearchController.isEmptySearchResult(trackContext)) {
+            Metrics.searchHits.labels("negative-cache").inc();
 
-            if (isRateLimitingException() && isRequestingYouTube()) {
-                log.warn("Got a {} exception from YouTube, stopping requests to the service for {} minutes",
-                    exception.getClass().getName(),
-                    TimeUnit.MILLISECONDS.toMinutes(defaultYouTubeCooldown)
-                );
+            return new BasicAudioPlaylist("No matches", Collections.emptyList(), null, true);
+        }
 
-                youtubeCooldownUntil = System.currentTimeMillis() + defaultYouTubeCooldown;
-            }
+        AudioPlaylist playlist = loadContextFromCache();
+        if (playlist != null) {
+            Metrics.searchHits.labels("cache").inc();
 
-            if (!(exception instanceof SearchingException)) {
-                exception = new SearchingException(String.format(
-                    "The %s search provider failed to query for %s with exception %s",
-                    trackContext.getProvider(), trackContext.getQuery(), exception.getMessage()
-                ), exception);
-            }
+            return playlist;
+        }
 
-            throw (SearchingException) exception;
+        // Only a single search is sent to the search provider for identical requests at
+        // a time, any other requests made while the search is in-flight will wait
+        // for the first one to finish, and then re-use its results instead.
+        String cacheKey = trackContext.getFullQueryString();
+        CompletableFuture<EncodedAudioPlaylist> pendingSearch = new CompletableFuture<>();
+        CompletableFuture<EncodedAudioPlaylist> inFlightSearch = inFlightSearches.putIfAbsent(cacheKey, pendingSearch);
+        if (inFlightSearch != null) {
+            return awaitInFlightSearch(inFlightSearch, timeoutMillis);
         }
 
-        if (playlist == null) {
-            Metrics.searchHits.labels("exception").inc();
+        try {
+            playlist = loadFromSearchProvider(timeoutMillis);
 
-            throw new SearchingException(String.format("Result from provider %s for query %s is unexpectedly null",
-                trackContext.getProvider(), trackContext.getQuery()
-            ));
-        }
+            pendingSearch.complete(playlist.getTracks().isEmpty()
+                ? SearchController.cacheEmptySearchResult(trackContext)
+                : SearchController.cacheSearchResult(trackContext, playlist)
+            );
 
-        if (!skipCache) {
-            SearchController.cacheSearchResult(trackContext, playlist);
-        }
+            return playlist;
+        } catch (SearchingException e) {
+            SearchController.cacheFailedSearchResult(trackContext, e);
+            pendingSearch.completeExceptionally(e);
 
-        Metrics.searchHits.labels(playlist.getTracks().isEmpty()
-            ? "empty" : "lavaplayer-" + trackContext.getProvider().name().toLowerCase()
-        ).inc();
+            throw e;
+        } catch (RuntimeException e) {
+            pendingSearch.completeExceptionally(e);
 
-        return playlist;
+            throw e;
+        } finally {
+            inFlightSearches.remove(cacheKey, pendingSearch);
+        }
     }
 
     /**
@@ -292,6 +277,121 @@ public class SearchTrackResultHandler implements AudioLoadResultHandler {
             && SearchProvider.YOUTUBE.matchesDomain(trackContext.getQuery());
     }
 
+    /**
+     * Sends the search request to the search provider directly, bypassing
+     * all the caches, and maps any failure into a searching exception.
+     *
+     * @param timeoutMillis The amount of time to wait before the search request times
+     *                      out in milliseconds.
+     * @return The playlist returned from the search provider.
+     * @throws SearchingException If the search fails, times out, or returns no result at all.
+     */
+    @Nonnull
+    private AudioPlaylist loadFromSearchProvider(long timeoutMillis) throws SearchingException {
+        try {
+            AudioHandler.getDefaultAudioHandler()
+                .getPlayerManager()
+                .loadItem(trackContext.getFullQueryString(), this)
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            exception = new SearchingException(String.format(
+                "Searching provider %s for \"%s\" timed out after %sms",
+                trackContext.getProvider().name(), trackContext.getQuery(), timeoutMillis
+            ));
+        } catch (Exception e) {
+            exception = e;
+        }
+
+        if (exception != null) {
+            Metrics.searchHits.labels("exception").inc();
+
+            if (exception.getCause() != null) {
+                String messageOfCause = exception.getCause().getMessage();
+                if (messageOfCause.contains("java.io.IOException: Invalid status code for search response: 503")) {
+                    exception = new Http503Exception("Lavaplayer search returned a 503", exception);
+                } else if (messageOfCause.contains("Loading information for a YouTube track failed.")) {
+                    if (exception.getCause().getCause() != null && exception.getCause().getCause().getMessage().contains("YouTube rate limit reached")) {
+                        exception = new RateLimitException(messageOfCause, exception);
+                    }
+                }
+            }
+
+            if (isRateLimitingException() && isRequestingYouTube()) {
+                log.warn("Got a {} exception from YouTube, stopping requests to the service for {} minutes",
+                    exception.getClass().getName(),
+                    TimeUnit.MILLISECONDS.toMinutes(defaultYouTubeCooldown)
+                );
+
+                youtubeCooldownUntil = System.currentTimeMillis() + defaultYouTubeCooldown;
+            }
+
+            if (!(exception instanceof SearchingException)) {
+                exception = new SearchingException(String.format(
+                    "The %s search provider failed to query for %s with exception %s",
+                    trackContext.getProvider(), trackContext.getQuery(), exception.getMessage()
+                ), exception);
+            }
+
+            throw (SearchingException) exception;
+        }
+
+        if (playlist == null) {
+            Metrics.searchHits.labels("exception").inc();
+
+            throw new SearchingException(String.format("Result from provider %s for query %s is unexpectedly null",
+                trackContext.getProvider(), trackContext.getQuery()
+            ));
+        }
+
+        Metrics.searchHits.labels(playlist.getTracks().isEmpty()
+            ? "empty" : "lavaplayer-" + trackContext.getProvider().name().toLowerCase()
+        ).inc();
+
+        return playlist;
+    }
+
+    /**
+     * Waits for the given in-flight search request to finish, and then creates a
+     * new audio playlist from its result, so the audio tracks returned aren't
+     * shared with the request that actually made the search.
+     *
+     * @param inFlightSearch The search request that is currently in-flight.
+     * @param timeoutMillis  The amount of time to wait before the search request times
+     *                       out in milliseconds.
+     * @return The playlist returned from the in-flight search request.
+     * @throws SearchingException If the in-flight search fails, or doesn't finish in time.
+     */
+    @Nonnull
+    private AudioPlaylist awaitInFlightSearch(CompletableFuture<EncodedAudioPlaylist> inFlightSearch, long timeoutMillis) throws SearchingException {
+        try {
+            AudioPlaylist playlist = inFlightSearch.get(timeoutMillis, TimeUnit.MILLISECONDS).toAudioPlaylist();
+
+            Metrics.searchHits.labels("coalesced").inc();
+
+            return playlist;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new SearchingException("Interrupted while waiting for an identical search request to finish", e);
+        } catch (TimeoutException e) {
+            throw new SearchingException(String.format(
+                "Waiting for an identical search to provider %s for \"%s\" timed out after %sms",
+                trackContext.getProvider().name(), trackContext.getQuery(), timeoutMillis
+            ));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SearchingException) {
+                throw (SearchingException) e.getCause();
+            }
+
+            throw new SearchingException(String.format(
+                "The %s search provider failed to query for %s with exception %s",
+                trackContext.getProvider(), trackContext.getQuery(), e.getCause().getMessage()
+            ), e);
+        }
+    }
+
     /**
      * Loads the audio playlist cache context from the cache if it exists,
      * this will first check the in-memory cache for the results, and if
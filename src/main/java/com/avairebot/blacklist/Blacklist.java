@@ -34,15 +34,21 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-@SuppressWarnings("SuspiciousMethodCalls")
 public class Blacklist {
 
     private final AvaIre avaire;
-    private final List<BlacklistEntity> blacklist;
     private final Ratelimit ratelimit;
+    private final BlacklistExpiryWheel expiryWheel;
+
+    /**
+     * The blacklist index, the index is immutable, so changes to the blacklist
+     * creates a new index that replaces the old one, allowing messages
+     * to check the blacklist without any locking.
+     */
+    private volatile BlacklistIndex index = BlacklistIndex.EMPTY;
 
     /**
      * Creates a new blacklist instance.
@@ -52,8 +58,10 @@ public class Blacklist {
     public Blacklist(AvaIre avaire) {
         this.avaire = avaire;
 
-        this.blacklist = new BlacklistList();
         this.ratelimit = new Ratelimit(this);
+        this.expiryWheel = new BlacklistExpiryWheel(
+            TimeUnit.MINUTES.toMillis(1), 60, System.currentTimeMillis()
+        );
     }
 
     /**
@@ -72,7 +80,7 @@ public class Blacklist {
      * @return <code>True</code> if the ID is on the blacklist, <code>False</code> otherwise.
      */
     public boolean isBlacklisted(long id) {
-        return blacklist.contains(id);
+        return index.get(id) != null;
     }
 
     /**
@@ -100,7 +108,7 @@ public class Blacklist {
             return false;
         }
 
-        BlacklistEntity entity = getEntity(user.getIdLong(), Scope.USER);
+        BlacklistEntity entity = index.get(user.getIdLong(), Scope.USER);
         return entity != null && entity.isBlacklisted();
     }
 
@@ -111,7 +119,7 @@ public class Blacklist {
      * @return <code>True</code> if the guild is on the blacklist, <code>False</code> otherwise.
      */
     public boolean isBlacklisted(@Nonnull Guild guild) {
-        BlacklistEntity entity = getEntity(guild.getIdLong(), Scope.GUILD);
+        BlacklistEntity entity = index.get(guild.getIdLong(), Scope.GUILD);
         return entity != null && entity.isBlacklisted();
     }
 
@@ -143,18 +151,12 @@ public class Blacklist {
      * @param id The ID to remove from teh blacklist.
      */
     public void remove(long id) {
-        if (!blacklist.contains(id)) {
-            return;
-        }
-
-        Iterator<BlacklistEntity> iterator = blacklist.iterator();
-        while (iterator.hasNext()) {
-            BlacklistEntity next = iterator.next();
-
-            if (next.getId() == id) {
-                iterator.remove();
-                break;
+        synchronized (this) {
+            BlacklistIndex updated = index.without(id);
+            if (updated == index) {
+                return;
             }
+            index = updated;
         }
 
         try {
@@ -174,7 +176,7 @@ public class Blacklist {
      */
     @Nullable
     public BlacklistEntity getEntity(long id) {
-        return getEntity(id, null);
+        return index.get(id);
     }
 
     /**
@@ -186,15 +188,7 @@ public class Blacklist {
      */
     @Nullable
     public BlacklistEntity getEntity(long id, @Nullable Scope scope) {
-        for (BlacklistEntity entity : blacklist) {
-            if (entity.getId() == id) {
-                if (scope != null && scope != entity.getScope()) {
-                    continue;
-                }
-                return entity;
-            }
-        }
-        return null;
+        return scope == null ? index.get(id) : index.get(id, scope);
     }
 
     /**
@@ -217,12 +211,12 @@ public class Blacklist {
      * @param expiresIn The carbon time instance for when the entity should expire.
      */
     public void addIdToBlacklist(Scope scope, final long id, final @Nullable String reason, @Nullable Carbon expiresIn) {
-        BlacklistEntity entity = getEntity(id, scope);
-        if (entity != null) {
-            blacklist.remove(entity);
-        }
+        BlacklistEntity entity = new BlacklistEntity(scope, id, reason, expiresIn);
 
-        blacklist.add(new BlacklistEntity(scope, id, reason, expiresIn));
+        synchronized (this) {
+            index = index.with(entity);
+        }
+        expiryWheel.schedule(entity);
 
         try {
             avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
@@ -254,17 +248,46 @@ public class Blacklist {
      * includes both users and guilds, the type can be checked
      * through the {@link BlacklistEntity#getScope() scope}.
      *
-     * @return The entities currently on the blacklist.
+     * @return An immutable list of the entities currently on the blacklist.
      */
     public List<BlacklistEntity> getBlacklistEntities() {
-        return blacklist;
+        return index.getEntities();
+    }
+
+    /**
+     * Gets the amount of entities currently on the blacklist for the given scope,
+     * this includes entities that has expired, but haven't been removed yet.
+     *
+     * @param scope The scope that the entities should be counted for.
+     * @return The amount of entities on the blacklist for the given scope.
+     */
+    public int getBlacklistSize(@Nonnull Scope scope) {
+        return index.size(scope);
     }
 
     /**
-     * Syncs the blacklist with the database.
+     * Removes all the entities from the blacklist that has expired since the last time
+     * the method was called, the expired entities are found using a timing wheel,
+     * so only the entities that expires around the current time are checked.
+     */
+    public void removeExpiredEntities() {
+        List<BlacklistEntity> expired = expiryWheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            index = index.without(expired);
+        }
+    }
+
+    /**
+     * Syncs the blacklist with the database, the blacklist is built from the
+     * database records first, and is then swapped in with the current
+     * blacklist, so the blacklist is never empty while it's loading.
      */
     public synchronized void syncBlacklistWithDatabase() {
-        blacklist.clear();
+        List<BlacklistEntity> entities = new ArrayList<>();
         try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
                 .where("expires_in", ">", Carbon.now())
@@ -279,8 +302,11 @@ public class Blacklist {
                 try {
                     long longId = Long.parseLong(id);
                     Scope scope = Scope.fromId(row.getInt("type", 0));
+                    if (scope == null) {
+                        return;
+                    }
 
-                    blacklist.add(new BlacklistEntity(
+                    entities.add(new BlacklistEntity(
                         scope, longId,
                         row.getString("reason"),
                         row.getTimestamp("expires_in")
@@ -291,24 +317,16 @@ public class Blacklist {
             });
         } catch (SQLException e) {
             AvaIre.getLogger().error("Failed to sync blacklist with the database: " + e.getMessage(), e);
+            return;
         }
-    }
-
-    private class BlacklistList extends ArrayList<BlacklistEntity> {
 
-        @Override
-        public boolean contains(Object o) {
-            if (o instanceof Long) {
-                long id = (long) o;
-                for (BlacklistEntity entity : this) {
-                    if (entity.getId() == id) {
-                        return true;
-                    }
-                }
-                return false;
-            }
+        BlacklistIndex updated = new BlacklistIndex(entities);
 
-            return super.contains(o);
+        expiryWheel.clear();
+        for (BlacklistEntity entity : updated.getEntities()) {
+            expiryWheel.schedule(entity);
         }
+
+        index = updated;
     }
 }
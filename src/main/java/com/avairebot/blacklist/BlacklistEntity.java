@@ -32,6 +32,7 @@ public class BlacklistEntity extends Evalable {
     private final Scope scope;
     private final long id;
     private final Carbon expiresIn;
+    private final long expiresAt;
     private final String reason;
 
     /**
@@ -47,6 +48,8 @@ public class BlacklistEntity extends Evalable {
         this.id = id;
         this.reason = reason;
         this.expiresIn = expiresIn;
+        this.expiresAt = expiresIn == null
+            ? Long.MAX_VALUE : expiresIn.getTime().getTimeInMillis();
     }
 
     /**
@@ -86,7 +89,27 @@ public class BlacklistEntity extends Evalable {
      * @return <code>True</code> if the user is still blacklisted, <code>False</code> otherwise.
      */
     public boolean isBlacklisted() {
-        return expiresIn == null || expiresIn.isFuture();
+        return isBlacklisted(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if the blacklist entity is still blacklisted at the given time.
+     *
+     * @param now The current time in milliseconds.
+     * @return <code>True</code> if the user is still blacklisted, <code>False</code> otherwise.
+     */
+    public boolean isBlacklisted(long now) {
+        return now < expiresAt;
+    }
+
+    /**
+     * Gets the time in milliseconds the blacklist entity expires at, entities
+     * that never expires will return {@link Long#MAX_VALUE} instead.
+     *
+     * @return The time in milliseconds the blacklist entity expires at.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
     }
 
     /**
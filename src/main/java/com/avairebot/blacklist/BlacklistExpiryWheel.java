@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A hashed timing wheel used to find blacklist entities that has expired, entities are
+ * placed into the bucket matching the tick they expire on, so advancing the wheel
+ * only has to look at the buckets for the ticks that has passed, instead of
+ * checking every single entity on the blacklist.
+ */
+class BlacklistExpiryWheel {
+
+    private final long tickDuration;
+    private final List<List<BlacklistEntity>> buckets;
+
+    private long lastTick;
+
+    /**
+     * Creates a new expiry wheel.
+     *
+     * @param tickDuration The duration of a single tick in milliseconds.
+     * @param ticks        The amount of ticks that makes up a full rotation of the wheel.
+     * @param now          The current time in milliseconds.
+     */
+    BlacklistExpiryWheel(long tickDuration, int ticks, long now) {
+        this.tickDuration = tickDuration;
+        this.buckets = new ArrayList<>(ticks);
+        for (int i = 0; i < ticks; i++) {
+            buckets.add(new ArrayList<>());
+        }
+
+        this.lastTick = now / tickDuration;
+    }
+
+    /**
+     * Schedules the given entity to be expired, entities that never
+     * expires are ignored, since they'll never leave the wheel.
+     *
+     * @param entity The entity that should be scheduled.
+     */
+    synchronized void schedule(@Nonnull BlacklistEntity entity) {
+        if (entity.getExpiresAt() == Long.MAX_VALUE) {
+            return;
+        }
+
+        // The entity is placed in the first tick that starts after it has expired, entities
+        // that has already expired are placed in the next tick, so they're picked up
+        // the next time the wheel is advanced.
+        long tick = Math.max((entity.getExpiresAt() + tickDuration - 1) / tickDuration, lastTick + 1);
+
+        buckets.get((int) (tick % buckets.size())).add(entity);
+    }
+
+    /**
+     * Advances the wheel to the given time, removing and returning
+     * all the entities that has expired since the last advance.
+     *
+     * @param now The current time in milliseconds.
+     * @return The list of entities that has expired.
+     */
+    synchronized List<BlacklistEntity> advance(long now) {
+        List<BlacklistEntity> expired = new ArrayList<>();
+
+        long currentTick = now / tickDuration;
+        long ticks = Math.min(currentTick - lastTick, buckets.size());
+
+        for (long tick = currentTick - ticks + 1; tick <= currentTick; tick++) {
+            Iterator<BlacklistEntity> iterator = buckets.get((int) (tick % buckets.size())).iterator();
+            while (iterator.hasNext()) {
+                BlacklistEntity entity = iterator.next();
+
+                // Entities that expires more than a full rotation into the future shares
+                // the bucket with entities that expires in this rotation, so they're
+                // left in the bucket until the wheel has caught up with them.
+                if (!entity.isBlacklisted(now)) {
+                    expired.add(entity);
+                    iterator.remove();
+                }
+            }
+        }
+
+        lastTick = Math.max(lastTick, currentTick);
+
+        return expired;
+    }
+
+    /**
+     * Removes all the entities from the wheel.
+     */
+    synchronized void clear() {
+        for (List<BlacklistEntity> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable index of blacklist entities, the entities are stored in open
+ * addressing hash tables keyed by their raw long IDs, with one table per
+ * {@link Scope scope}, so lookups never have to box the IDs. Changes to the
+ * index creates a new index, allowing the blacklist to swap the index
+ * atomically while any number of threads are reading from it.
+ */
+class BlacklistIndex {
+
+    /**
+     * An empty blacklist index.
+     */
+    static final BlacklistIndex EMPTY = new BlacklistIndex(Collections.emptyList());
+
+    private final ScopeTable[] tables;
+    private final List<BlacklistEntity> entities;
+
+    /**
+     * Creates a new blacklist index for the given entities, if multiple
+     * entities has the same ID and scope, the last entity wins.
+     *
+     * @param entities The entities that should be indexed.
+     */
+    BlacklistIndex(@Nonnull List<BlacklistEntity> entities) {
+        Scope[] scopes = Scope.values();
+
+        List<List<BlacklistEntity>> entitiesByScope = new ArrayList<>(scopes.length);
+        for (int i = 0; i < scopes.length; i++) {
+            entitiesByScope.add(new ArrayList<>());
+        }
+
+        for (BlacklistEntity entity : entities) {
+            entitiesByScope.get(entity.getScope().ordinal()).add(entity);
+        }
+
+        List<BlacklistEntity> indexed = new ArrayList<>(entities.size());
+
+        tables = new ScopeTable[scopes.length];
+        for (int i = 0; i < scopes.length; i++) {
+            tables[i] = new ScopeTable(entitiesByScope.get(i));
+            tables[i].collect(indexed);
+        }
+
+        this.entities = Collections.unmodifiableList(indexed);
+    }
+
+    /**
+     * Gets the blacklist entity with the given ID and scope.
+     *
+     * @param id    The ID of the blacklist entity.
+     * @param scope The scope the blacklist entity belongs to.
+     * @return Possibly-null, the blacklist entity matching the given ID and scope.
+     */
+    @Nullable
+    BlacklistEntity get(long id, @Nonnull Scope scope) {
+        return tables[scope.ordinal()].get(id);
+    }
+
+    /**
+     * Gets the blacklist entity with the given ID from any scope.
+     *
+     * @param id The ID of the blacklist entity.
+     * @return Possibly-null, the blacklist entity matching the given ID.
+     */
+    @Nullable
+    BlacklistEntity get(long id) {
+        for (ScopeTable table : tables) {
+            BlacklistEntity entity = table.get(id);
+            if (entity != null) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates a new index with the given entity added to it, replacing
+     * any existing entity with the same ID and scope.
+     *
+     * @param entity The entity that should be added.
+     * @return The new blacklist index.
+     */
+    BlacklistIndex with(@Nonnull BlacklistEntity entity) {
+        List<BlacklistEntity> copy = new ArrayList<>(entities.size() + 1);
+        for (BlacklistEntity existing : entities) {
+            if (existing.getId() != entity.getId() || existing.getScope() != entity.getScope()) {
+                copy.add(existing);
+            }
+        }
+        copy.add(entity);
+
+        return new BlacklistIndex(copy);
+    }
+
+    /**
+     * Creates a new index without any of the entities with the given ID.
+     *
+     * @param id The ID of the entities that should be removed.
+     * @return The new blacklist index, or the current index if nothing was removed.
+     */
+    BlacklistIndex without(long id) {
+        if (get(id) == null) {
+            return this;
+        }
+
+        List<BlacklistEntity> copy = new ArrayList<>(entities.size());
+        for (BlacklistEntity existing : entities) {
+            if (existing.getId() != id) {
+                copy.add(existing);
+            }
+        }
+
+        return new BlacklistIndex(copy);
+    }
+
+    /**
+     * Creates a new index without the given entities, entities are only removed if
+     * the exact same entity instance is still in the index, so entities that has
+     * been replaced since they were scheduled for removal are left alone.
+     *
+     * @param removed The entities that should be removed.
+     * @return The new blacklist index, or the current index if nothing was removed.
+     */
+    BlacklistIndex without(@Nonnull List<BlacklistEntity> removed) {
+        boolean changed = false;
+        for (BlacklistEntity entity : removed) {
+            if (get(entity.getId(), entity.getScope()) == entity) {
+                changed = true;
+                break;
+            }
+        }
+
+        if (!changed) {
+            return this;
+        }
+
+        List<BlacklistEntity> copy = new ArrayList<>(entities);
+        for (BlacklistEntity entity : removed) {
+            if (get(entity.getId(), entity.getScope()) == entity) {
+                copy.remove(entity);
+            }
+        }
+
+        return new BlacklistIndex(copy);
+    }
+
+    /**
+     * Gets the amount of entities in the index for the given scope.
+     *
+     * @param scope The scope that the entities should be counted for.
+     * @return The amount of entities in the given scope.
+     */
+    int size(@Nonnull Scope scope) {
+        return tables[scope.ordinal()].size;
+    }
+
+    /**
+     * Gets an immutable list of all the entities in the index.
+     *
+     * @return An immutable list of all the entities in the index.
+     */
+    List<BlacklistEntity> getEntities() {
+        return entities;
+    }
+
+    private static class ScopeTable {
+
+        private final long[] keys;
+        private final BlacklistEntity[] values;
+        private final int mask;
+        private final int size;
+
+        ScopeTable(List<BlacklistEntity> entities) {
+            int capacity = 4;
+            while (capacity < entities.size() * 2) {
+                capacity <<= 1;
+            }
+
+            keys = new long[capacity];
+            values = new BlacklistEntity[capacity];
+            mask = capacity - 1;
+
+            int count = 0;
+            for (BlacklistEntity entity : entities) {
+                int slot = slot(entity.getId());
+                while (values[slot] != null && keys[slot] != entity.getId()) {
+                    slot = (slot + 1) & mask;
+                }
+
+                if (values[slot] == null) {
+                    count++;
+                }
+
+                keys[slot] = entity.getId();
+                values[slot] = entity;
+            }
+            size = count;
+        }
+
+        BlacklistEntity get(long id) {
+            int slot = slot(id);
+            while (values[slot] != null) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        void collect(List<BlacklistEntity> entities) {
+            for (BlacklistEntity value : values) {
+                if (value != null) {
+                    entities.add(value);
+                }
+            }
+        }
+
+        private int slot(long id) {
+            // Discord IDs are snowflakes, where the lower bits are mostly
+            // made up of worker and process IDs, so the bits are mixed
+            // to spread the IDs evenly across the table.
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -24,12 +24,9 @@ package com.avairebot.blacklist;
 import com.avairebot.contracts.blacklist.PunishmentLevel;
 import com.avairebot.factories.MessageFactory;
 import com.avairebot.middleware.ThrottleMiddleware;
+import com.avairebot.middleware.throttle.ThrottleKey;
 import com.avairebot.time.Carbon;
-import com.avairebot.utilities.CacheUtil;
 import com.avairebot.utilities.RestActionUtil;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 import org.slf4j.Logger;
@@ -38,10 +35,9 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Ratelimit {
 
@@ -53,22 +49,12 @@ public class Ratelimit {
     static final int hitLimit = 10;
 
     /**
-     * This represents the amount of time in milliseconds that each
-     * hit should be valid for, if all hit slots for a given user
-     * is taken up, but one of the times exceeds the hit time
-     * limit, the rate limit won't count it as exceeding
-     * the rate limit.
+     * This represents the amount of time in milliseconds that the
+     * hits are counted for, the timeframe starts with the first
+     * hit, once the timeframe is over the hits are reset.
      */
     static final long hitTime = 30 * 1000;
 
-    /**
-     * The cache loader for holding all the ratelimiter rates.
-     */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(Rate::new));
-
     /**
      * The slf4j logger instance.
      */
@@ -79,7 +65,7 @@ public class Ratelimit {
      * punishment level, with each offence, the punishment level(value) will go
      * up, increasing the time the user get auto-blacklisted for.
      */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
+    private static final Map<Long, Integer> punishments = new ConcurrentHashMap<>();
 
     /**
      * The punishment levels, each index of the levels list should be an
@@ -196,30 +182,20 @@ public class Ratelimit {
      */
     @Nullable
     public Carbon hit(ThrottleMiddleware.ThrottleType type, long id) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
+        // The hit limit includes the hit that triggers the blacklist,
+        // so the window is allowed to hold one less hit than that.
+        if (ThrottleMiddleware.engine.tryAcquire(ThrottleKey.forRatelimit(id), hitLimit - 1, hitTime) == 0) {
             return null;
         }
 
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
+        Scope scope = type.equals(ThrottleMiddleware.ThrottleType.USER) ? Scope.USER : Scope.GUILD;
 
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
+        // Checks if the user is already on the blacklist, the command handling process
+        // uses its own thread pool, because of that it's possible to have two commands
+        // come in from the same user in a very quick succession, instead of punishing
+        // the user twice, we just cancel the blacklist hit here instead.
+        BlacklistEntity entity = blacklist.getEntity(id, scope);
+        if (entity != null && entity.isBlacklisted()) {
             return null;
         }
 
@@ -230,8 +206,7 @@ public class Ratelimit {
         );
 
         blacklist.addIdToBlacklist(
-            type.equals(ThrottleMiddleware.ThrottleType.USER) ? Scope.USER : Scope.GUILD,
-            id, "Automatic blacklist due to excessive command usage.",
+            scope, id, "Automatic blacklist due to excessive command usage.",
             punishment
         );
 
@@ -246,11 +221,7 @@ public class Ratelimit {
      * @return The Carbon instance with the punishment expire time.
      */
     private Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
+        return getPunishment(punishments.merge(userId, 0, (level, ignored) -> level + 1));
     }
 
     /**
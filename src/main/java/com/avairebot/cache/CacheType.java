@@ -22,6 +22,7 @@
 package com.avairebot.cache;
 
 import com.avairebot.cache.adapters.FileAdapter;
+import com.avairebot.cache.adapters.LogAdapter;
 import com.avairebot.cache.adapters.MemoryAdapter;
 import com.avairebot.contracts.cache.CacheAdapter;
 import com.avairebot.shared.ExitCodes;
@@ -45,7 +46,15 @@ public enum CacheType {
      * something that may have to be accessed a lot,
      * or things that has a short lifespan.
      */
-    MEMORY("Memory", true, MemoryAdapter.class);
+    MEMORY("Memory", true, MemoryAdapter.class),
+
+    /**
+     * Represents a log cache type, can be used to store
+     * things that are persisted throughout restarts, like
+     * the file cache type, but keeps everything in a few
+     * large segment files instead of a file per item.
+     */
+    LOG("Log", false, LogAdapter.class);
 
     private static final EnumMap<CacheType, CacheAdapter> INSTANCES = new EnumMap<>(CacheType.class);
 
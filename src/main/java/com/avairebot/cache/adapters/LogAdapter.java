@@ -0,0 +1,584 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache.adapters;
+
+import com.avairebot.AvaIre;
+import com.avairebot.Constants;
+import com.avairebot.cache.CacheItem;
+import com.avairebot.contracts.cache.CacheAdapter;
+import com.avairebot.scheduler.ScheduleHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * The log cache adapter stores cache items in a few large append-only segment files
+ * instead of a file per cache item, every change is appended to the end of the
+ * active segment, while an in-memory index keeps track of where the latest
+ * version of each cache item is stored, so lookups never has to parse
+ * anything other than the value that is being looked up.
+ * <p>
+ * Segments are memory-mapped once they're full, and are compacted in the background
+ * once most of the records in them has been replaced, removed, or has expired.
+ * Each record is stored with a checksum, if the bot is killed while writing
+ * to a segment, the partially written record is discarded on startup.
+ */
+public class LogAdapter extends CacheAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(LogAdapter.class);
+
+    /**
+     * The default max size of each segment in bytes.
+     */
+    private static final long defaultSegmentSize = 16L * 1024L * 1024L;
+
+    private static final String segmentExtension = ".log";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    /**
+     * The size of the record header, the record length, checksum, type,
+     * expire time, key length and value length, in that order.
+     */
+    private static final int headerSize = 4 + 4 + 1 + 8 + 4 + 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    private final File storagePath;
+    private final long maxSegmentSize;
+    private final LongSupplier clock;
+
+    private Segment activeSegment;
+    private boolean loaded = false;
+
+    /**
+     * Creates the new log cache adapter, the log cache adapter will store things
+     * inside the log cache storage path, allowing Ava to store things that are
+     * persisted through restarts, the segments are compacted every 5 minutes.
+     */
+    public LogAdapter() {
+        this(new File(Constants.STORAGE_PATH, "cache-log"), defaultSegmentSize, System::currentTimeMillis);
+
+        ScheduleHandler.getScheduler().scheduleAtFixedRate(this::compact, 5, 5, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Creates the new log cache adapter using the given storage path, segment size,
+     * and clock, the segments are only loaded once the adapter is first used.
+     *
+     * @param storagePath    The folder the segments should be stored in.
+     * @param maxSegmentSize The max size of each segment in bytes.
+     * @param clock          The clock used to get the current time in milliseconds.
+     */
+    LogAdapter(File storagePath, long maxSegmentSize, LongSupplier clock) {
+        this.storagePath = storagePath;
+        this.maxSegmentSize = maxSegmentSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean put(String token, Object value, int seconds) {
+        return write(token, value, clock.getAsLong() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    @Override
+    public Object remember(String token, int seconds, Supplier<Object> closure) {
+        CacheItem item = getRaw(token);
+        if (item != null) {
+            return item.getValue();
+        }
+
+        try {
+            Object value = closure.get();
+            put(token, value, seconds);
+
+            return value;
+        } catch (Exception e) {
+            AvaIre.getLogger().error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean forever(String token, Object value) {
+        return write(token, value, -1);
+    }
+
+    @Override
+    public Object get(String token) {
+        CacheItem item = getRaw(token);
+        if (item == null) {
+            return null;
+        }
+        return item.getValue();
+    }
+
+    @Override
+    public CacheItem getRaw(String token) {
+        String key = normalizeKey(token);
+
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(key);
+            if (entry == null || entry.hasExpired(clock.getAsLong())) {
+                return null;
+            }
+
+            return new CacheItem(key, readValue(entry), entry.expireTime);
+        } catch (IOException e) {
+            log.error("Failed to read the cache item for {} from the log cache: {}", key, e.getMessage(), e);
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean has(String token) {
+        String key = normalizeKey(token);
+
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(key);
+
+            return entry != null && !entry.hasExpired(clock.getAsLong());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CacheItem forget(String token) {
+        CacheItem item = getRaw(token);
+        String key = normalizeKey(token);
+
+        lock.writeLock().lock();
+        try {
+            IndexEntry entry = index.remove(key);
+            if (entry != null) {
+                entry.segment.liveBytes -= entry.length;
+                append(DELETE, key, new byte[0], 0L);
+            }
+        } catch (IOException e) {
+            log.error("Failed to remove the cache item for {} from the log cache: {}", key, e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return item;
+    }
+
+    @Override
+    public boolean flush() {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.delete();
+            }
+
+            index.clear();
+            segments.clear();
+            activeSegment = createSegment(1);
+
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to flush the log cache: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes expired cache items from the index, and compacts the full segments where less
+     * than half of the segment is still in use, by copying the cache items that are still
+     * in use over to the active segment, and then deleting the old segment.
+     */
+    public void compact() {
+        if (!loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            long now = clock.getAsLong();
+            for (Iterator<IndexEntry> iterator = index.values().iterator(); iterator.hasNext(); ) {
+                IndexEntry entry = iterator.next();
+                if (entry.hasExpired(now)) {
+                    entry.segment.liveBytes -= entry.length;
+                    iterator.remove();
+                }
+            }
+
+            List<Segment> candidates = new ArrayList<>();
+            for (Segment segment : segments.values()) {
+                if (segment != activeSegment && segment.liveBytes * 2 < segment.size) {
+                    candidates.add(segment);
+                }
+            }
+
+            for (Segment segment : candidates) {
+                compactSegment(segment);
+            }
+        } catch (IOException e) {
+            log.error("Failed to compact the log cache: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of segments the log cache is currently using.
+     *
+     * @return The amount of segments currently in use.
+     */
+    int getSegmentCount() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean write(String token, Object value, long expireTime) {
+        String key = normalizeKey(token);
+        byte[] encodedValue = AvaIre.gson.toJson(value).getBytes(StandardCharsets.UTF_8);
+
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            IndexEntry entry = append(PUT, key, encodedValue, expireTime);
+
+            IndexEntry previous = index.put(key, entry);
+            if (previous != null) {
+                previous.segment.liveBytes -= previous.length;
+            }
+            entry.segment.liveBytes += entry.length;
+
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to write the cache item for {} to the log cache: {}", key, e.getMessage(), e);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private IndexEntry append(byte type, String key, byte[] value, long expireTime) throws IOException {
+        byte[] encodedKey = key.getBytes(StandardCharsets.UTF_8);
+        int length = headerSize + encodedKey.length + value.length;
+
+        if (activeSegment.size > 0 && activeSegment.size + length > maxSegmentSize) {
+            activeSegment.seal();
+            activeSegment = createSegment(segments.lastKey() + 1);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length - 4);
+        record.putInt(0);
+        record.put(type);
+        record.putLong(expireTime);
+        record.putInt(encodedKey.length);
+        record.putInt(value.length);
+        record.put(encodedKey);
+        record.put(value);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(record.array(), 8, length - 8);
+        record.putInt(4, (int) checksum.getValue());
+        record.flip();
+
+        long offset = activeSegment.size;
+        while (record.hasRemaining()) {
+            activeSegment.channel.write(record, offset + record.position());
+        }
+        activeSegment.size += length;
+
+        return new IndexEntry(activeSegment, offset, length, expireTime);
+    }
+
+    private Object readValue(IndexEntry entry) throws IOException {
+        ByteBuffer record = entry.segment.read(entry.offset, entry.length);
+
+        int keyLength = record.getInt(17);
+        int valueLength = record.getInt(21);
+
+        byte[] value = new byte[valueLength];
+        record.position(headerSize + keyLength);
+        record.get(value);
+
+        return AvaIre.gson.fromJson(new String(value, StandardCharsets.UTF_8), Object.class);
+    }
+
+    private void compactSegment(Segment segment) throws IOException {
+        // Tombstones have to be kept as long as there are older segments, otherwise the
+        // older versions of the removed cache items would be restored on startup.
+        boolean hasOlderSegments = segments.firstKey() < segment.id;
+        long now = clock.getAsLong();
+
+        ByteBuffer buffer = segment.read(0, (int) segment.size);
+        while (buffer.remaining() >= headerSize) {
+            int offset = buffer.position();
+            int length = buffer.getInt(offset) + 4;
+
+            byte type = buffer.get(offset + 8);
+            long expireTime = buffer.getLong(offset + 9);
+            byte[] key = new byte[buffer.getInt(offset + 17)];
+            byte[] value = new byte[buffer.getInt(offset + 21)];
+
+            buffer.position(offset + headerSize);
+            buffer.get(key).get(value);
+
+            String decodedKey = new String(key, StandardCharsets.UTF_8);
+            IndexEntry entry = index.get(decodedKey);
+
+            if (type == PUT && entry != null && entry.segment == segment && entry.offset == offset) {
+                IndexEntry copy = append(PUT, decodedKey, value, expireTime);
+                copy.segment.liveBytes += copy.length;
+                index.put(decodedKey, copy);
+            } else if (hasOlderSegments && entry == null && (type == DELETE || expireTime != -1 && expireTime <= now)) {
+                append(DELETE, decodedKey, new byte[0], 0L);
+            }
+        }
+
+        segments.remove(segment.id);
+        segment.delete();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+
+            if (!storagePath.exists() && !storagePath.mkdirs()) {
+                throw new IllegalStateException("Failed to create the log cache storage folder at " + storagePath.getAbsolutePath());
+            }
+
+            File[] files = storagePath.listFiles((dir, name) -> name.endsWith(segmentExtension));
+            if (files != null) {
+                for (File file : files) {
+                    int id = getSegmentId(file);
+                    if (id > 0) {
+                        segments.put(id, new Segment(id, file));
+                    }
+                }
+            }
+
+            for (Segment segment : segments.values()) {
+                recover(segment);
+            }
+
+            if (segments.isEmpty()) {
+                activeSegment = createSegment(1);
+            } else {
+                activeSegment = segments.lastEntry().getValue();
+                for (Segment segment : segments.headMap(activeSegment.id).values()) {
+                    segment.seal();
+                }
+            }
+
+            loaded = true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load the log cache segments", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover(Segment segment) throws IOException {
+        ByteBuffer buffer = segment.read(0, (int) segment.channel.size());
+
+        while (buffer.remaining() >= headerSize) {
+            int offset = buffer.position();
+            int length = buffer.getInt(offset) + 4;
+            if (length < headerSize || length > buffer.remaining()) {
+                break;
+            }
+
+            byte[] record = new byte[length];
+            buffer.get(record);
+
+            CRC32 checksum = new CRC32();
+            checksum.update(record, 8, length - 8);
+
+            ByteBuffer view = ByteBuffer.wrap(record);
+            if (view.getInt(4) != (int) checksum.getValue()) {
+                buffer.position(offset);
+                break;
+            }
+
+            byte type = view.get(8);
+            long expireTime = view.getLong(9);
+            String key = new String(record, headerSize, view.getInt(17), StandardCharsets.UTF_8);
+
+            IndexEntry previous = type == PUT
+                ? index.put(key, new IndexEntry(segment, offset, length, expireTime))
+                : index.remove(key);
+
+            if (previous != null) {
+                previous.segment.liveBytes -= previous.length;
+            }
+
+            if (type == PUT) {
+                segment.liveBytes += length;
+            }
+        }
+
+        segment.size = buffer.position();
+        if (segment.size < segment.channel.size()) {
+            log.warn("Discarding {} bytes of incomplete records at the end of log cache segment {}",
+                segment.channel.size() - segment.size, segment.id
+            );
+            segment.channel.truncate(segment.size);
+        }
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = new Segment(id, new File(storagePath, String.format("%08d%s", id, segmentExtension)));
+        segments.put(id, segment);
+
+        return segment;
+    }
+
+    private int getSegmentId(File file) {
+        String name = file.getName();
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - segmentExtension.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String normalizeKey(String token) {
+        return token.trim().toLowerCase();
+    }
+
+    private static class Segment {
+
+        private final int id;
+        private final File file;
+        private final FileChannel channel;
+
+        @Nullable
+        private MappedByteBuffer mappedBuffer;
+        private long size = 0;
+        private long liveBytes = 0;
+
+        Segment(int id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+        }
+
+        /**
+         * Seals the segment, the segment will no longer be written to,
+         * and is memory-mapped so future reads doesn't need syscalls.
+         */
+        void seal() throws IOException {
+            if (mappedBuffer == null && size > 0) {
+                mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+
+        ByteBuffer read(long offset, int length) throws IOException {
+            if (mappedBuffer != null) {
+                ByteBuffer buffer = mappedBuffer.duplicate();
+                buffer.position((int) offset);
+                buffer.limit((int) offset + length);
+
+                return buffer.slice();
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+
+            return buffer;
+        }
+
+        void delete() throws IOException {
+            mappedBuffer = null;
+            channel.close();
+
+            if (!file.delete()) {
+                log.warn("Failed to delete log cache segment {}", file.getAbsolutePath());
+            }
+        }
+    }
+
+    private static class IndexEntry {
+
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+        private final long expireTime;
+
+        IndexEntry(Segment segment, long offset, int length, long expireTime) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.expireTime = expireTime;
+        }
+
+        boolean hasExpired(long now) {
+            return expireTime != -1 && expireTime <= now;
+        }
+    }
+}
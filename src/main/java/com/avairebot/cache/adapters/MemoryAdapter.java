@@ -24,35 +24,90 @@ package com.avairebot.cache.adapters;
 import com.avairebot.AvaIre;
 import com.avairebot.cache.CacheItem;
 import com.avairebot.contracts.cache.CacheAdapter;
+import com.avairebot.scheduler.ScheduleHandler;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 public class MemoryAdapter extends CacheAdapter {
 
-    private final Map<String, CacheItem> cache = new WeakHashMap<>();
+    /**
+     * The default max weight of the cache, the weight of each cache item
+     * is a rough estimate of the amount of memory used by the item
+     * in bytes, so this limits the cache to roughly 64 MB.
+     */
+    private static final long defaultMaximumWeight = 64L * 1024L * 1024L;
+
+    private final Cache<String, CacheItem> cache;
+    private final TimerWheel timerWheel;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a new memory adapter using the default max weight, expired
+     * cache items are removed from the cache once every second.
+     */
+    public MemoryAdapter() {
+        this(defaultMaximumWeight, System::currentTimeMillis);
+
+        ScheduleHandler.getScheduler().scheduleAtFixedRate(this::cleanUp, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a new memory adapter using the given max weight and clock, expired
+     * cache items are only removed from the cache when {@link #cleanUp()} is
+     * called, or when they're accessed after they have expired.
+     *
+     * @param maximumWeight The max weight of all the cache items combined.
+     * @param clock         The clock used to get the current time in milliseconds.
+     */
+    MemoryAdapter(long maximumWeight, LongSupplier clock) {
+        this.clock = clock;
+        this.timerWheel = new TimerWheel(512, 1000L, clock.getAsLong());
+        this.cache = CacheBuilder.newBuilder()
+            .recordStats()
+            .concurrencyLevel(16)
+            .maximumWeight(maximumWeight)
+            .weigher((String key, CacheItem item) -> 64 + (key.length() * 2) + estimateWeight(item.getValue()))
+            .build();
+    }
 
     @Override
     public boolean put(String token, Object value, int seconds) {
-        cache.put(token, new CacheItem(token, value, System.currentTimeMillis() + (seconds * 1000)));
+        CacheItem item = new CacheItem(token, value, getExpireTime(seconds));
+
+        cache.put(token, item);
+        timerWheel.schedule(item);
+
         return true;
     }
 
     @Override
     public Object remember(String token, int seconds, Supplier<Object> closure) {
-        if (has(token)) {
-            return get(token);
+        CacheItem item = getRaw(token);
+        if (item != null) {
+            return item.getValue();
         }
 
         try {
-            CacheItem item = new CacheItem(token, closure.get(), System.currentTimeMillis() + (seconds * 1000));
-            cache.put(token, item);
-
-            return item.getValue();
-        } catch (Exception e) {
-            AvaIre.getLogger().error(e.getMessage(), e);
+            // Loading the item through the cache guarantees that the closure is only called
+            // once, any other threads asking for the same token while the closure is
+            // running will wait for it to finish, and then use its value instead.
+            return cache.get(token, () -> {
+                CacheItem loadedItem = new CacheItem(token, closure.get(), getExpireTime(seconds));
+                timerWheel.schedule(loadedItem);
+
+                return loadedItem;
+            }).getValue();
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            AvaIre.getLogger().error(e.getCause().getMessage(), e.getCause());
             return null;
         }
     }
@@ -66,10 +121,6 @@ public class MemoryAdapter extends CacheAdapter {
 
     @Override
     public Object get(String token) {
-        if (!has(token)) {
-            return null;
-        }
-
         CacheItem item = getRaw(token);
         if (item == null) {
             return null;
@@ -79,34 +130,98 @@ public class MemoryAdapter extends CacheAdapter {
 
     @Override
     public CacheItem getRaw(String token) {
-        if (!has(token)) {
+        CacheItem item = cache.getIfPresent(token);
+        if (item == null) {
+            return null;
+        }
+
+        if (hasExpired(item)) {
+            cache.asMap().remove(token, item);
             return null;
         }
-        return cache.getOrDefault(token, null);
+        return item;
     }
 
     @Override
     public boolean has(String token) {
-        return cache.containsKey(token) && cache.get(token).isExpired();
+        return getRaw(token) != null;
     }
 
     @Override
     public CacheItem forget(String token) {
-        return cache.remove(token);
+        return cache.asMap().remove(token);
     }
 
     @Override
     public boolean flush() {
-        cache.clear();
+        cache.invalidateAll();
         return true;
     }
 
+    /**
+     * Removes all the cache items that has expired from the cache, and
+     * performs any pending maintenance operations on the cache.
+     */
+    public void cleanUp() {
+        timerWheel.advance(clock.getAsLong(), (token, time) -> {
+            // The wheel only knows the key and expire time, so we make sure the item
+            // currently in the cache is the one that expired before removing it.
+            CacheItem item = cache.asMap().get(token);
+            if (item != null && item.getTime() == time) {
+                cache.asMap().remove(token, item);
+            }
+        });
+        cache.cleanUp();
+    }
+
     /**
      * Gets the cache keys currently in the memory cache.
      *
      * @return The cache keys currently in the memory cache.
      */
     public Set<String> getCacheKeys() {
-        return cache.keySet();
+        return cache.asMap().keySet();
+    }
+
+    /**
+     * Gets the underlying cache used to store the cache items, this is used
+     * to register the hit, miss and eviction stats for the memory cache.
+     *
+     * @return The underlying cache used to store the cache items.
+     */
+    public Cache<String, CacheItem> getCache() {
+        return cache;
+    }
+
+    private long getExpireTime(int seconds) {
+        return clock.getAsLong() + TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    private boolean hasExpired(CacheItem item) {
+        return !item.lastForever() && item.getTime() <= clock.getAsLong();
+    }
+
+    private int estimateWeight(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() * 2;
+        }
+
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size() * 16;
+        }
+
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size() * 32;
+        }
+
+        return 16;
     }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache.adapters;
+
+import com.avairebot.cache.CacheItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A hashed timer wheel used to expire cache items, each cache item is placed in
+ * the bucket matching the tick it expires on, so advancing the wheel only has
+ * to look at the buckets for the ticks that has passed since the last time
+ * the wheel was advanced, instead of looking at every single cache item.
+ * <p>
+ * The wheel only stores the key and expire time of the cache items, so items
+ * that are replaced or removed from the cache before they expire can still
+ * be garbage collected, it is up to the consumer given to
+ * {@link #advance(long, ObjLongConsumer)} to check that the
+ * item currently in the cache is the one that expired.
+ */
+class TimerWheel {
+
+    private final ConcurrentLinkedQueue<Timer>[] buckets;
+    private final long tickMillis;
+    private final int mask;
+
+    private volatile long currentTick;
+
+    /**
+     * Creates a new timer wheel with the given amount of buckets and tick duration.
+     *
+     * @param buckets    The amount of buckets in the wheel, must be a power of two.
+     * @param tickMillis The duration of each tick in milliseconds.
+     * @param now        The current time in milliseconds.
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(int buckets, long tickMillis, long now) {
+        if (buckets <= 0 || Integer.bitCount(buckets) != 1) {
+            throw new IllegalArgumentException("The amount of buckets must be a power of two");
+        }
+
+        this.buckets = new ConcurrentLinkedQueue[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.currentTick = now / tickMillis;
+    }
+
+    /**
+     * Schedules the given cache item to be expired once its expire time has
+     * passed, cache items that are set to last forever are ignored.
+     *
+     * @param item The cache item that should be scheduled.
+     */
+    void schedule(CacheItem item) {
+        if (item.lastForever()) {
+            return;
+        }
+
+        long tick = Math.max(item.getTime() / tickMillis, currentTick);
+
+        buckets[(int) (tick & mask)].add(new Timer(item.getKey(), item.getTime()));
+    }
+
+    /**
+     * Advances the wheel to the given time, expiring all the cache items
+     * in the buckets that were passed that has an expire time that
+     * is at or before the given time.
+     *
+     * @param now    The current time in milliseconds.
+     * @param expire The consumer that should be called with the key and
+     *               expire time of each expired cache item.
+     */
+    synchronized void advance(long now, ObjLongConsumer<String> expire) {
+        long targetTick = now / tickMillis;
+        if (targetTick < currentTick) {
+            return;
+        }
+
+        // If more time than a full rotation has passed we only
+        // need to go through each of the buckets once.
+        long ticks = Math.min(targetTick - currentTick + 1, buckets.length);
+
+        List<Timer> pending = new ArrayList<>();
+        for (long i = 0; i < ticks; i++) {
+            ConcurrentLinkedQueue<Timer> bucket = buckets[(int) ((currentTick + i) & mask)];
+
+            Timer timer;
+            while ((timer = bucket.poll()) != null) {
+                if (timer.time <= now) {
+                    expire.accept(timer.key, timer.time);
+                } else {
+                    pending.add(timer);
+                }
+            }
+
+            // Cache items that expires on a later rotation of the
+            // wheel are put back into the bucket they came from.
+            bucket.addAll(pending);
+            pending.clear();
+        }
+
+        currentTick = targetTick;
+    }
+
+    private static final class Timer {
+
+        private final String key;
+        private final long time;
+
+        Timer(String key, long time) {
+            this.key = key;
+            this.time = time;
+        }
+    }
+}
@@ -77,6 +77,19 @@ public class Category {
         });
     }
 
+    /**
+     * Forgets all the cached category prefixes for the guild with the given ID,
+     * forcing the prefixes to be loaded from the guild transformer again
+     * the next time a prefix is requested for the guild.
+     *
+     * @param guildId The ID of the guild the prefixes should be forgotten for.
+     */
+    public static void forgetCache(long guildId) {
+        for (Category category : CategoryHandler.getValues()) {
+            cache.invalidate(guildId + ":" + category.getName());
+        }
+    }
+
     public boolean hasCommands() {
         return CommandHandler.getCommands().stream().
             filter(container -> container.getCategory().equals(this))
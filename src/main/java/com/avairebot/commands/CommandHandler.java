@@ -45,6 +45,13 @@ public class CommandHandler {
 
     private static final Set<CommandContainer> COMMANDS = new HashSet<>();
 
+    /**
+     * The command index, used to lookup commands by their triggers, the index is
+     * rebuilt every time a command is registered or unregistered, so the index
+     * can be read by any number of threads without any locking.
+     */
+    private static volatile CommandIndex index = CommandIndex.EMPTY;
+
     /**
      * Get command container from the given command instance.
      *
@@ -68,12 +75,7 @@ public class CommandHandler {
      * @return Possibly-null, The registered command container instance.
      */
     public static CommandContainer getCommand(@Nonnull Class<? extends Command> command) {
-        for (CommandContainer container : COMMANDS) {
-            if (container.getCommand().getClass().getTypeName().equals(command.getTypeName())) {
-                return container;
-            }
-        }
-        return null;
+        return index.findByClass(command.getTypeName());
     }
 
     /**
@@ -131,17 +133,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority.
      */
     public static CommandContainer getCommand(Message message, @Nonnull String command) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            String commandPrefix = container.getCommand().generateCommandPrefix(message);
-            for (String trigger : container.getTriggers()) {
-                if (command.equalsIgnoreCase(commandPrefix + trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
-
-        return getHighPriorityCommandFromCommands(commands);
+        return getHighPriorityCommandFromCommands(index.find(message, command));
     }
 
     /**
@@ -157,17 +149,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority.
      */
     public static CommandContainer getRawCommand(@Nonnull String command) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            String commandPrefix = container.getDefaultPrefix();
-            for (String trigger : container.getTriggers()) {
-                if (command.equalsIgnoreCase(commandPrefix + trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
-
-        return getHighPriorityCommandFromCommands(commands);
+        return getHighPriorityCommandFromCommands(index.findRaw(command));
     }
 
     /**
@@ -221,20 +203,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command trigger with the highest priority.
      */
     public static CommandContainer getLazyCommand(@Nonnull String commandTrigger) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            if (container.getPriority().equals(CommandPriority.IGNORED)) {
-                continue;
-            }
-
-            for (String trigger : container.getTriggers()) {
-                if (commandTrigger.equalsIgnoreCase(trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
-
-        return getHighPriorityCommandFromCommands(commands);
+        return getHighPriorityCommandFromCommands(index.findLazy(commandTrigger));
     }
 
     /**
@@ -290,7 +259,7 @@ public class CommandHandler {
      * @param commands The list of commands matching some query.
      * @return Possibly-null, The command container with the highest priority.
      */
-    private static CommandContainer getHighPriorityCommandFromCommands(List<CommandContainer> commands) {
+    static CommandContainer getHighPriorityCommandFromCommands(List<CommandContainer> commands) {
         if (commands.isEmpty()) {
             return null;
         }
@@ -358,7 +327,10 @@ public class CommandHandler {
 
         Metrics.commandsExecuted.labels(command.getClass().getSimpleName()).inc(0D);
 
-        COMMANDS.add(new CommandContainer(command, category, commandUri));
+        synchronized (COMMANDS) {
+            COMMANDS.add(new CommandContainer(command, category, commandUri));
+            index = new CommandIndex(COMMANDS);
+        }
     }
 
     /**
@@ -376,6 +348,7 @@ public class CommandHandler {
                 CommandContainer container = iterator.next();
                 if (container.getCommand().getClass().getTypeName().equals(commandClass.getTypeName())) {
                     iterator.remove();
+                    index = new CommandIndex(COMMANDS);
 
                     return true;
                 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.commands;
+
+import net.dv8tion.jda.api.entities.Message;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * An immutable lookup table for the registered commands, the index is rebuilt
+ * whenever a command is registered or unregistered, allowing commands to
+ * be resolved by their trigger without looping through every command.
+ */
+class CommandIndex {
+
+    /**
+     * An empty command index, used before any commands are registered.
+     */
+    static final CommandIndex EMPTY = new CommandIndex(Collections.emptyList());
+
+    private final Map<Category, Map<String, List<CommandContainer>>> categoryTriggers;
+    private final Map<String, List<CommandContainer>> rawTriggers;
+    private final Map<String, List<CommandContainer>> lazyTriggers;
+    private final Map<String, CommandContainer> commandClasses;
+
+    /**
+     * Creates a new command index for the given command containers.
+     *
+     * @param containers The command containers that should be indexed.
+     */
+    CommandIndex(@Nonnull Collection<CommandContainer> containers) {
+        categoryTriggers = new LinkedHashMap<>();
+        rawTriggers = new HashMap<>();
+        lazyTriggers = new HashMap<>();
+        commandClasses = new HashMap<>();
+
+        for (CommandContainer container : containers) {
+            Map<String, List<CommandContainer>> triggers = categoryTriggers.computeIfAbsent(
+                container.getCategory(), category -> new HashMap<>()
+            );
+
+            for (String trigger : container.getTriggers()) {
+                String lowerTrigger = trigger.toLowerCase();
+
+                add(triggers, lowerTrigger, container);
+                add(rawTriggers, container.getDefaultPrefix().toLowerCase() + lowerTrigger, container);
+
+                if (!container.getPriority().equals(CommandPriority.IGNORED)) {
+                    add(lazyTriggers, lowerTrigger, container);
+                }
+            }
+
+            commandClasses.putIfAbsent(container.getCommand().getClass().getTypeName(), container);
+        }
+    }
+
+    /**
+     * Finds all the commands matching the given command string, the prefix for each
+     * category is only resolved once for the given message, and messages that
+     * doesn't start with any of the category prefixes are rejected without
+     * looking at any of the command triggers.
+     *
+     * @param message The JDA message object for the current message.
+     * @param command The command string that should be matched with the commands.
+     * @return A list of commands matching the given command string, or an empty list.
+     */
+    List<CommandContainer> find(@Nonnull Message message, @Nonnull String command) {
+        List<CommandContainer> commands = null;
+
+        for (Map.Entry<Category, Map<String, List<CommandContainer>>> entry : categoryTriggers.entrySet()) {
+            String prefix = entry.getKey().getPrefix(message);
+            if (!command.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                continue;
+            }
+
+            List<CommandContainer> containers = entry.getValue().get(
+                command.substring(prefix.length()).toLowerCase()
+            );
+
+            if (containers == null) {
+                continue;
+            }
+
+            if (commands == null) {
+                commands = new ArrayList<>(containers);
+            } else {
+                commands.addAll(containers);
+            }
+        }
+
+        return commands == null ? Collections.emptyList() : commands;
+    }
+
+    /**
+     * Finds all the commands matching the given command string using
+     * the default prefix of the category the command belongs to.
+     *
+     * @param command The command string that should be matched with the commands.
+     * @return A list of commands matching the given command string, or an empty list.
+     */
+    List<CommandContainer> findRaw(@Nonnull String command) {
+        return rawTriggers.getOrDefault(command.toLowerCase(), Collections.emptyList());
+    }
+
+    /**
+     * Finds all the commands matching the given command trigger, ignoring the
+     * command prefix, commands with an {@link CommandPriority#IGNORED ignored}
+     * priority are not included in the lazy lookup.
+     *
+     * @param trigger The command trigger that should be matched with the commands.
+     * @return A list of commands matching the given command trigger, or an empty list.
+     */
+    List<CommandContainer> findLazy(@Nonnull String trigger) {
+        return lazyTriggers.getOrDefault(trigger.toLowerCase(), Collections.emptyList());
+    }
+
+    /**
+     * Finds the command container for the command class with the given type name.
+     *
+     * @param typeName The type name of the command class.
+     * @return Possibly-null, the command container for the command class.
+     */
+    CommandContainer findByClass(@Nonnull String typeName) {
+        return commandClasses.get(typeName);
+    }
+
+    private void add(Map<String, List<CommandContainer>> map, String key, CommandContainer container) {
+        map.computeIfAbsent(key, k -> new ArrayList<>(1)).add(container);
+    }
+}
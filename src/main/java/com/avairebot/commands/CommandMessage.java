@@ -30,6 +30,8 @@ import com.avairebot.database.transformers.PlayerTransformer;
 import com.avairebot.factories.MessageFactory;
 import com.avairebot.handlers.DatabaseEventHolder;
 import com.avairebot.language.I18n;
+import com.avairebot.language.LanguageContainer;
+import com.avairebot.language.MessageTemplate;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
@@ -45,6 +47,7 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public class CommandMessage implements CommandContext {
 
@@ -60,6 +63,7 @@ public class CommandMessage implements CommandContext {
     private final DatabaseEventHolder databaseEventHolder;
 
     private YamlConfiguration i18n;
+    private LanguageContainer language;
     private String i18nCommandPrefix;
 
     public CommandMessage() {
@@ -275,11 +279,19 @@ public class CommandMessage implements CommandContext {
     @Nonnull
     public YamlConfiguration getI18n() {
         if (this.i18n == null) {
-            this.i18n = I18n.get(getGuild());
+            this.i18n = getLanguage().getConfig();
         }
         return this.i18n;
     }
 
+    @Nonnull
+    public LanguageContainer getLanguage() {
+        if (this.language == null) {
+            this.language = I18n.getLocale(getGuild());
+        }
+        return this.language;
+    }
+
     public CommandMessage setI18n(YamlConfiguration i18n) {
         this.i18n = i18n;
         return this;
@@ -305,25 +317,12 @@ public class CommandMessage implements CommandContext {
     @Override
     @CheckReturnValue
     public String i18nRaw(@Nonnull String key) {
-        if (getI18n().contains(key)) {
-            return getI18n().getString(key)
-                .replace("\\n", "\n")
-                .replace("\\t", "\t");
-        } else {
-            log.warn("Missing language entry for key {} in language {}", key, I18n.getLocale(getGuild()).getLanguage().getCode());
-            return I18n.getDefaultLanguage().getConfig().getString(key)
-                .replace("\\n", "\n")
-                .replace("\\t", "\t");
-        }
+        return getTemplate(key).getMessage();
     }
 
     @Override
     public String i18nRaw(@Nonnull String key, Object... args) {
-        String message = i18nRaw(key);
-        if (message == null) {
-            return null;
-        }
-        return I18n.format(message, args);
+        return getTemplate(key).format(args);
     }
 
     @Override
@@ -343,4 +342,28 @@ public class CommandMessage implements CommandContext {
                 + container.getCommand().getClass().getSimpleName()
         );
     }
+
+    /**
+     * Gets the message template for the given key from the selected language, falling back
+     * to the default language if the key is missing, if the key doesn't exist in the
+     * default language either, a null pointer exception is thrown, the same way
+     * missing language strings have always failed, so callers never
+     * end up sending a message with a missing string.
+     *
+     * @param key The full path of the language string, separated by dots.
+     * @return The unescaped message template for the given key.
+     * @throws NullPointerException If the key doesn't exist in the default language.
+     */
+    @Nonnull
+    private MessageTemplate getTemplate(@Nonnull String key) {
+        MessageTemplate template = getLanguage().getTemplate(key);
+        if (template == null) {
+            log.warn("Missing language entry for key {} in language {}", key, getLanguage().getLanguage().getCode());
+            template = I18n.getDefaultLanguage().getTemplate(key);
+        }
+
+        return Objects.requireNonNull(template,
+            "Missing language entry for key " + key + " in the default language"
+        ).getUnescaped();
+    }
 }
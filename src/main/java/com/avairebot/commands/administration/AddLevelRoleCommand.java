@@ -28,6 +28,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.NumberUtil;
 import com.avairebot.utilities.RoleUtil;
@@ -179,6 +180,7 @@ public class AddLevelRoleCommand extends Command {
                 .update(statement -> {
                     statement.set("level_roles", AvaIre.gson.toJson(transformer.getLevelRoles()), true);
                 });
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success"))
                 .set("slots", transformer.getType().getLimits().getLevelRoles() - transformer.getLevelRoles().size())
@@ -187,6 +189,7 @@ public class AddLevelRoleCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
         }
 
@@ -28,6 +28,7 @@ import com.avairebot.contracts.commands.CacheFingerprint;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.RoleUtil;
 import net.dv8tion.jda.api.entities.Role;
@@ -130,6 +131,7 @@ public class AddSelfAssignableRoleCommand extends Command {
                 .update(statement -> {
                     statement.set("claimable_roles", AvaIre.gson.toJson(transformer.getSelfAssignableRoles()), true);
                 });
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success"))
                 .set("slots", transformer.getType().getLimits().getSelfAssignableRoles() - transformer.getSelfAssignableRoles().size())
@@ -138,6 +140,7 @@ public class AddSelfAssignableRoleCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
         }
 
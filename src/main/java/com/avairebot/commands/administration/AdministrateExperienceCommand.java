@@ -33,6 +33,7 @@ import com.avairebot.database.collection.Collection;
 import com.avairebot.database.controllers.PlayerController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.database.transformers.PlayerTransformer;
+import com.avairebot.level.LeaderboardEntry;
 import com.avairebot.level.LevelManager;
 import com.avairebot.utilities.MentionableUtil;
 import com.avairebot.utilities.NumberUtil;
@@ -348,6 +349,7 @@ public class AdministrateExperienceCommand extends Command {
                 });
 
             PlayerController.forgetCacheForGuild(context.getGuild().getIdLong());
+            avaire.getLevelManager().getLeaderboardIndex().forget(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success.syncEveryone"))
                 .queue();
@@ -395,6 +397,7 @@ public class AdministrateExperienceCommand extends Command {
                 });
 
             PlayerController.forgetCacheForGuild(context.getGuild().getIdLong());
+            avaire.getLevelManager().getLeaderboardIndex().forget(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success.everything"))
                 .queue();
@@ -420,6 +423,14 @@ public class AdministrateExperienceCommand extends Command {
             return false;
         }
 
+        avaire.getLevelManager().getLeaderboardIndex().update(player.getGuildId(), new LeaderboardEntry(
+            player.getUserId(),
+            player.getUsername(),
+            player.getDiscriminator(),
+            player.getAvatar(),
+            player.getExperience()
+        ));
+
         return true;
     }
 
@@ -25,6 +25,7 @@ import com.avairebot.AvaIre;
 import com.avairebot.Constants;
 import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.ChannelTransformer;
 import com.avairebot.database.transformers.GuildTransformer;
 
@@ -90,11 +91,13 @@ public class AiCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .andWhere("id", context.getGuild().getId())
                 .update(statement -> statement.set("channels", guildTransformer.channelsToJson(), true));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("message"))
                 .set("status", context.i18n(channelTransformer.getAI().isEnabled() ? "status.enabled" : "status.disabled"))
                 .queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error(ex.getMessage(), ex);
 
             context.makeError("Failed to save the guild settings: " + ex.getMessage()).queue();
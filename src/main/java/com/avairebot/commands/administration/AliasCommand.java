@@ -29,6 +29,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import net.dv8tion.jda.api.entities.Message;
 
@@ -144,6 +145,7 @@ public class AliasCommand extends Command {
                 .queue();
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
             return false;
         }
@@ -164,6 +166,7 @@ public class AliasCommand extends Command {
                 .queue();
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
             return false;
         }
@@ -173,5 +176,6 @@ public class AliasCommand extends Command {
         avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
             .where("id", message.getGuild().getId())
             .update(statement -> statement.set("aliases", AvaIre.gson.toJson(transformer.getAliases()), true));
+        GuildController.forgetCache(message.getGuild().getIdLong());
     }
 }
@@ -28,6 +28,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.RoleUtil;
 import net.dv8tion.jda.api.entities.Role;
@@ -131,6 +132,7 @@ public class AutoAssignRoleCommand extends Command {
                 .set("role", role.getName())
                 .queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             ex.printStackTrace();
             AvaIre.getLogger().error(ex.getMessage(), ex);
         }
@@ -143,9 +145,11 @@ public class AutoAssignRoleCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("autorole", null));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeWarning(context.i18n("disabledNow")).queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             ex.printStackTrace();
             AvaIre.getLogger().error(ex.getMessage(), ex);
         }
@@ -163,6 +167,7 @@ public class AutoAssignRoleCommand extends Command {
             try {
                 updateAutorole(transformer, context, null);
             } catch (SQLException ex) {
+                GuildController.forgetCache(context.getGuild().getIdLong());
                 ex.printStackTrace();
                 AvaIre.getLogger().error(ex.getMessage(), ex);
             }
@@ -178,5 +183,6 @@ public class AutoAssignRoleCommand extends Command {
         avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
             .where("id", context.getGuild().getId())
             .update(statement -> statement.set("autorole", value));
+        GuildController.forgetCache(context.getGuild().getIdLong());
     }
 }
@@ -30,6 +30,7 @@ import com.avairebot.commands.CommandPriority;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 
 import javax.annotation.Nonnull;
@@ -141,6 +142,7 @@ public class ChangePrefixCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
         }
 
@@ -176,6 +178,7 @@ public class ChangePrefixCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
         }
         return false;
@@ -200,5 +203,8 @@ public class ChangePrefixCommand extends Command {
             .update(statement -> {
                 statement.set("prefixes", AvaIre.gson.toJson(transformer.getPrefixes()), true);
             });
+        GuildController.forgetCache(context.getGuild().getIdLong());
+
+        Category.forgetCache(context.getGuild().getIdLong());
     }
 }
@@ -29,6 +29,7 @@ import com.avairebot.contracts.commands.CacheFingerprint;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.ChannelTransformer;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
@@ -121,6 +122,7 @@ public class GoodbyeCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .andWhere("id", context.getGuild().getId())
                 .update(statement -> statement.set("channels", guildTransformer.channelsToJson(), true));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             String note = "";
             if (channelTransformer.getGoodbye().isEnabled()) {
@@ -135,6 +137,7 @@ public class GoodbyeCommand extends Command {
                 ))
                 .queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error("Failed to update the goodbye status", ex);
 
             context.makeError("Failed to save the guild settings: " + ex.getMessage()).queue();
@@ -28,6 +28,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.language.Language;
 import com.avairebot.utilities.NumberUtil;
@@ -117,12 +118,14 @@ public class LanguageCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("local", language.getCode()));
+            GuildController.forgetCache(context.getGuild().getIdLong());
             transformer.setLocale(language.getCode());
 
             context.makeSuccess(context.i18n("changed"))
                 .set("name", language.getNativeName())
                 .queue();
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error("Failed to update the language for a server({}), error: " + e.getMessage(),
                 context.getGuild().getId()
             );
@@ -29,6 +29,7 @@ import com.avairebot.commands.utility.RankCommand;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
 
@@ -140,6 +141,7 @@ public class LevelAlertsCommand extends Command {
                     .set("level_alerts", guildTransformer.isLevelAlerts())
                     .set("level_channel", guildTransformer.getLevelChannel())
                 );
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("message"))
                 .set("status", context.i18n("status." + (status ? "enabled" : "disabled")))
@@ -148,6 +150,7 @@ public class LevelAlertsCommand extends Command {
 
             return true;
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error("Failed to update the guilds level column", ex);
 
             context.makeError("Failed to save the guild settings: " + ex.getMessage()).queue();
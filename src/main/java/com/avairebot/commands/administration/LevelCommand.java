@@ -28,6 +28,7 @@ import com.avairebot.commands.utility.RankCommand;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
 
@@ -115,6 +116,7 @@ public class LevelCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .andWhere("id", context.getGuild().getId())
                 .update(statement -> statement.set("levels", guildTransformer.isLevels()));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             String note = "";
             if (guildTransformer.isLevels()) {
@@ -129,6 +131,7 @@ public class LevelCommand extends Command {
                 .set("note", note)
                 .queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error(ex.getMessage(), ex);
 
             context.makeError("Failed to save the guild settings: " + ex.getMessage()).queue();
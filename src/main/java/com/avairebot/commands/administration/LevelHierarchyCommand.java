@@ -28,6 +28,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
 
@@ -124,6 +125,7 @@ public class LevelHierarchyCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getIdLong())
                 .update(statement -> statement.set("hierarchy", type.getValue() ? "1" : "0"));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             guildTransformer.setLevelHierarchy(type.getValue());
 
@@ -135,6 +137,7 @@ public class LevelHierarchyCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error("Error while saving the hierarchy status: " + e.getMessage(), e);
 
             return sendErrorMessage(context, "Error while saving the hierarchy status: " + e.getMessage());
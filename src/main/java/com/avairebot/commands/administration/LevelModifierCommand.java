@@ -29,6 +29,7 @@ import com.avairebot.commands.utility.RankCommand;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.level.LevelManager;
 import com.avairebot.utilities.ComparatorUtil;
@@ -206,11 +207,13 @@ public class LevelModifierCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("level_modifier", value < 0 ? null : value));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             transformer.setLevelModifier(value);
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             log.error("A SQLException was thrown while trying to update the level modifier for {}, error: {}",
                 context.getGuild().getId(), e.getMessage(), e
             );
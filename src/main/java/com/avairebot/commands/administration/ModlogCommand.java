@@ -28,6 +28,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
 import com.avairebot.utilities.MentionableUtil;
@@ -134,6 +135,7 @@ public class ModlogCommand extends Command {
                 .set("modlog", ((TextChannel) channel).getAsMention())
                 .queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error(ex.getMessage(), ex);
         }
 
@@ -147,6 +149,7 @@ public class ModlogCommand extends Command {
             context.makeSuccess(context.i18n("disable"))
                 .queue();
         } catch (SQLException ex) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error(ex.getMessage(), ex);
         }
 
@@ -163,6 +166,7 @@ public class ModlogCommand extends Command {
             try {
                 updateModlog(transformer, context, null);
             } catch (SQLException ex) {
+                GuildController.forgetCache(context.getGuild().getIdLong());
                 AvaIre.getLogger().error(ex.getMessage(), ex);
             }
             return context.makeInfo(context.i18n("disabled"));
@@ -177,5 +181,6 @@ public class ModlogCommand extends Command {
         avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
             .where("id", context.getGuild().getId())
             .update(statement -> statement.set("modlog", value));
+        GuildController.forgetCache(context.getGuild().getIdLong());
     }
 }
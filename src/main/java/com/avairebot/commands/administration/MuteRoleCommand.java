@@ -27,6 +27,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.time.Carbon;
 import com.avairebot.utilities.MentionableUtil;
@@ -190,6 +191,7 @@ public class MuteRoleCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error(e.getMessage(), e);
             context.makeError("Failed to save the guild settings: " + e.getMessage()).queue();
         }
@@ -217,6 +219,7 @@ public class MuteRoleCommand extends Command {
 
                 return true;
             } catch (SQLException e) {
+                GuildController.forgetCache(context.getGuild().getIdLong());
                 AvaIre.getLogger().error(e.getMessage(), e);
                 context.makeError("Failed to save the guild settings: " + e.getMessage()).queue();
 
@@ -259,6 +262,7 @@ public class MuteRoleCommand extends Command {
                         .set("role", role.getAsMention())
                         .queue();
                 } catch (SQLException e) {
+                    GuildController.forgetCache(context.getGuild().getIdLong());
                     AvaIre.getLogger().error(e.getMessage(), e);
                     context.makeError("Failed to save the guild settings: " + e.getMessage()).queue();
                 }
@@ -351,6 +355,7 @@ public class MuteRoleCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error(e.getMessage(), e);
             context.makeError("Failed to save the guild settings: " + e.getMessage()).queue();
         }
@@ -372,6 +377,7 @@ public class MuteRoleCommand extends Command {
         avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
             .where("id", context.getGuild().getId())
             .update(statement -> statement.set("mute_role", value));
+        GuildController.forgetCache(context.getGuild().getIdLong());
 
         guildTransformer.setMuteRole(value);
     }
@@ -29,6 +29,7 @@ import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandContext;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.NumberUtil;
 import com.avairebot.utilities.RoleUtil;
@@ -156,6 +157,7 @@ public class RemoveLevelRoleCommand extends Command {
                 .update(statement -> {
                     statement.set("level_roles", AvaIre.gson.toJson(transformer.getLevelRoles()), true);
                 });
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("message"))
                 .set("slots", transformer.getType().getLimits().getLevelRoles() - transformer.getLevelRoles().size())
@@ -164,6 +166,7 @@ public class RemoveLevelRoleCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
         }
 
@@ -29,6 +29,7 @@ import com.avairebot.commands.utility.RankCommand;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
 import com.avairebot.utilities.MentionableUtil;
@@ -195,6 +196,7 @@ public class RoleLevelCommand extends Command {
                         guildTransformer.getLevelExemptRoles()
                     ), true);
                 });
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success"))
                 .set("role", role.getAsMention())
@@ -203,6 +205,7 @@ public class RoleLevelCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             log.error("Failed to save the level exempt roles to the database for guild {}, error: {}",
                 context.getGuild().getId(), e.getMessage(), e
             );
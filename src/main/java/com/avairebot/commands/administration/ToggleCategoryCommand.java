@@ -30,6 +30,7 @@ import com.avairebot.commands.CommandPriority;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.ChannelTransformer;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.ComparatorUtil;
@@ -177,6 +178,7 @@ public class ToggleCategoryCommand extends Command {
                 .set("status", context.i18n("status." + (status ? "enabled" : "disabled")))
                 .queue();
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
             return false;
         }
@@ -190,6 +192,7 @@ public class ToggleCategoryCommand extends Command {
             .update(statement -> {
                 statement.set("modules", AvaIre.gson.toJson(transformer.getCategories()));
             });
+        GuildController.forgetCache(context.getGuild().getIdLong());
     }
 
     private String getStatusMessage(CommandMessage context, String channelId) {
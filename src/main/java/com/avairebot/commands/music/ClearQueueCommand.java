@@ -103,7 +103,10 @@ public class ClearQueueCommand extends Command {
             ))
             .queue(message -> message.delete().queueAfter(1, TimeUnit.MINUTES, null, RestActionUtil.ignore));
 
-        musicManager.getScheduler().getQueue().clear();
+        synchronized (musicManager.getScheduler().getQueue()) {
+            musicManager.getScheduler().getQueue().clear();
+            musicManager.getScheduler().syncQueueJournal();
+        }
 
         return true;
     }
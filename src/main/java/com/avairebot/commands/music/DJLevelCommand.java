@@ -29,6 +29,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.factories.MessageFactory;
 
@@ -131,6 +132,7 @@ public class DJLevelCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("dj_level", level.getId()));
+            GuildController.forgetCache(context.getGuild().getIdLong());
             transformer.setDJLevel(level);
 
             context.makeSuccess("The `DJ Level` status has changed to **:type**.\n:info")
@@ -138,6 +140,7 @@ public class DJLevelCommand extends Command {
                 .set("info", getLevelInformation(context, level))
                 .queue();
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             e.printStackTrace();
             AvaIre.getLogger().error(e.getMessage(), e);
         }
@@ -27,6 +27,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.RoleUtil;
 import net.dv8tion.jda.api.entities.Role;
@@ -122,9 +123,11 @@ public class DjRoleCommand extends Command {
                 .update(statement -> {
                     statement.set("dj_role", role.getId());
                 });
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             guildTransformer.setDjRole(role.getId());
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error("Failed to update the DJ role for {}", context.getGuild().getId(), e);
 
             context.makeError("Failed to save the guild settings: " + e.getMessage()).queue();
@@ -169,9 +172,11 @@ public class DjRoleCommand extends Command {
                     .update(statement -> {
                         statement.set("dj_role", null);
                     });
+                GuildController.forgetCache(context.getGuild().getIdLong());
 
                 guildTransformer.setDjRole(null);
             } catch (SQLException e) {
+                GuildController.forgetCache(context.getGuild().getIdLong());
                 AvaIre.getLogger().error("Failed to update the DJ role for {}", context.getGuild().getId(), e);
 
                 context.makeError("Failed to save the guild settings: " + e.getMessage()).queue();
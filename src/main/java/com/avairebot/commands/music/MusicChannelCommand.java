@@ -27,6 +27,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.utilities.MentionableUtil;
 import net.dv8tion.jda.api.entities.GuildChannel;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -169,9 +170,9 @@ public class MusicChannelCommand extends Command {
     private void updateDatabase(CommandMessage context, Type type, GuildChannel value) {
         try {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
-                .useAsync(true)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set(type.getField(), value == null ? null : value.getId()));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             String status = null;
             if (value != null) {
@@ -187,9 +188,9 @@ public class MusicChannelCommand extends Command {
                     : context.i18n("status.enabled", status)
                 )
                 .queue();
-        } catch (SQLException ignored) {
-            // Since we're running the query as async we won't really need to
-            // check for errors since that is handled by the database thread.
+        } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
+            AvaIre.getLogger().error(e.getMessage(), e);
         }
     }
 
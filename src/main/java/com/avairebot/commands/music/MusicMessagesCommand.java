@@ -27,6 +27,7 @@ import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.utilities.ComparatorUtil;
 
 import javax.annotation.Nonnull;
@@ -106,14 +107,14 @@ public class MusicMessagesCommand extends Command {
             context.getGuildTransformer().setMusicMessages(type.getValue());
 
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
-                .useAsync(true)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("music_messages", type.getValue()));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             return sendSuccessMessage(context, type);
         } catch (SQLException e) {
-            // Since we're running the query as async we won't really need to
-            // check for errors since that is handled by the database thread.
+            GuildController.forgetCache(context.getGuild().getIdLong());
+            AvaIre.getLogger().error(e.getMessage(), e);
         }
 
         return false;
@@ -145,48 +145,63 @@ public class RemoveSongFromQueueCommand extends Command {
     }
 
     private boolean removeSingle(CommandMessage context, GuildMusicManager musicManager, int index) {
-        Iterator<AudioTrackContainer> iterator = musicManager.getScheduler().getQueue().iterator();
+        AudioTrackContainer removedTrack = null;
 
-        int counter = 0;
-        while (iterator.hasNext()) {
-            AudioTrackContainer next = iterator.next();
+        synchronized (musicManager.getScheduler().getQueue()) {
+            Iterator<AudioTrackContainer> iterator = musicManager.getScheduler().getQueue().iterator();
 
-            if (++counter != index) {
-                continue;
+            int counter = 0;
+            while (iterator.hasNext()) {
+                AudioTrackContainer next = iterator.next();
+
+                if (++counter != index) {
+                    continue;
+                }
+
+                removedTrack = next;
+                iterator.remove();
+                musicManager.getScheduler().syncQueueJournal();
+                break;
             }
+        }
 
-            AudioTrackInfo track = next.getAudioTrack().getInfo();
-            context.makeInfo(context.i18n("success"))
-                .set("song", String.format("[%s](%s)",
-                    track.title, track.uri
-                ))
+        if (removedTrack == null) {
+            context.makeError(context.i18n("failedToRemoveSong"))
+                .set("index", index)
                 .queue(message -> message.delete().queueAfter(1, TimeUnit.MINUTES, null, RestActionUtil.ignore));
 
-            iterator.remove();
-            return true;
+            return false;
         }
 
-        context.makeError(context.i18n("failedToRemoveSong"))
-            .set("index", index)
+        AudioTrackInfo track = removedTrack.getAudioTrack().getInfo();
+        context.makeInfo(context.i18n("success"))
+            .set("song", String.format("[%s](%s)",
+                track.title, track.uri
+            ))
             .queue(message -> message.delete().queueAfter(1, TimeUnit.MINUTES, null, RestActionUtil.ignore));
 
-        return false;
+        return true;
     }
 
     private boolean removeMultiple(CommandMessage context, GuildMusicManager musicManager, int startIndex, int endIndex) {
-        Iterator<AudioTrackContainer> iterator = musicManager.getScheduler().getQueue().iterator();
-
         List<String> removedTracks = new ArrayList<>();
-        for (int counter = 0; counter < endIndex; counter++) {
-            AudioTrackContainer trackContainer = iterator.next();
-
-            if (counter >= startIndex - 1) {
-                AudioTrackInfo track = trackContainer.getAudioTrack().getInfo();
-                removedTracks.add(String.format("**%d** [%s](%s)",
-                    counter + 1, track.title, track.uri
-                ));
-                iterator.remove();
+
+        synchronized (musicManager.getScheduler().getQueue()) {
+            Iterator<AudioTrackContainer> iterator = musicManager.getScheduler().getQueue().iterator();
+
+            for (int counter = 0; counter < endIndex && iterator.hasNext(); counter++) {
+                AudioTrackContainer trackContainer = iterator.next();
+
+                if (counter >= startIndex - 1) {
+                    AudioTrackInfo track = trackContainer.getAudioTrack().getInfo();
+                    removedTracks.add(String.format("**%d** [%s](%s)",
+                        counter + 1, track.title, track.uri
+                    ));
+                    iterator.remove();
+                }
             }
+
+            musicManager.getScheduler().syncQueueJournal();
         }
 
         context.makeInfo(context.i18n("successMultiple"))
@@ -28,6 +28,7 @@ import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandContext;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.shared.DiscordConstants;
 import com.avairebot.utilities.NumberUtil;
@@ -120,6 +121,7 @@ public class SetDefaultVolumeCommand extends Command {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> statement.set("default_volume", vol));
+            GuildController.forgetCache(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("changedVolume"))
                 .set("volume", vol)
@@ -127,6 +129,7 @@ public class SetDefaultVolumeCommand extends Command {
 
             return true;
         } catch (SQLException e) {
+            GuildController.forgetCache(context.getGuild().getIdLong());
             AvaIre.getLogger().error("Failed to store the default volume in the database due to a SQLException: ", e);
             context.makeError(context.i18n("failedToSave", e.getMessage())).queue();
         }
@@ -89,10 +89,13 @@ public class ShuffleCommand extends Command {
         }
 
         List<AudioTrackContainer> queue = new ArrayList<>();
-        musicManager.getScheduler().getQueue().drainTo(queue);
+        synchronized (musicManager.getScheduler().getQueue()) {
+            musicManager.getScheduler().getQueue().drainTo(queue);
 
-        Collections.shuffle(queue);
-        musicManager.getScheduler().getQueue().addAll(queue);
+            Collections.shuffle(queue);
+            musicManager.getScheduler().getQueue().addAll(queue);
+            musicManager.getScheduler().syncQueueJournal();
+        }
 
         context.makeSuccess(context.i18n("success"))
             .set("amount", NumberUtil.formatNicely(queue.size()))
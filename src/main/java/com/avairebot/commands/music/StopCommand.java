@@ -98,7 +98,10 @@ public class StopCommand extends Command {
 
         musicManager.setRepeatState(GuildMusicManager.RepeatState.LOOPOFF);
         musicManager.getPlayer().stopTrack();
-        musicManager.getScheduler().getQueue().clear();
+        synchronized (musicManager.getScheduler().getQueue()) {
+            musicManager.getScheduler().getQueue().clear();
+            musicManager.getScheduler().syncQueueJournal();
+        }
 
         MusicActivityTask.missingListener.remove(guildId);
         MusicActivityTask.playerPaused.remove(guildId);
@@ -25,6 +25,7 @@ import com.avairebot.AvaIre;
 import com.avairebot.Constants;
 import com.avairebot.audio.AudioHandler;
 import com.avairebot.audio.TrackRequestContext;
+import com.avairebot.audio.cache.AudioTrackSerializer;
 import com.avairebot.audio.exceptions.SearchingException;
 import com.avairebot.audio.searcher.SearchTrackResultHandler;
 import com.avairebot.commands.CommandMessage;
@@ -98,7 +99,8 @@ public class AddSongToPlaylist extends PlaylistSubCommand {
         playlist.addSong(
             track.getInfo().title,
             NumberUtil.formatTime(track.getDuration()),
-            track.getInfo().uri
+            track.getInfo().uri,
+            AudioTrackSerializer.encodeTrack(track)
         );
 
         try {
@@ -22,26 +22,56 @@
 package com.avairebot.commands.music.playlist;
 
 import com.avairebot.AvaIre;
+import com.avairebot.Constants;
 import com.avairebot.audio.AudioHandler;
+import com.avairebot.audio.GuildMusicManager;
 import com.avairebot.audio.TrackRequestContext;
 import com.avairebot.audio.VoiceConnectStatus;
+import com.avairebot.audio.cache.AudioTrackSerializer;
 import com.avairebot.audio.exceptions.InvalidSearchProviderException;
 import com.avairebot.audio.exceptions.SearchingException;
 import com.avairebot.audio.searcher.SearchTrackResultHandler;
 import com.avairebot.commands.CommandMessage;
 import com.avairebot.commands.music.PlaylistCommand;
 import com.avairebot.contracts.commands.playlist.PlaylistSubCommand;
+import com.avairebot.database.collection.Collection;
+import com.avairebot.database.controllers.PlaylistController;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.database.transformers.PlaylistTransformer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 
+import javax.annotation.Nullable;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class LoadPlaylist extends PlaylistSubCommand {
 
+    /**
+     * The maximum amount of songs from a single playlist that
+     * can be searched for at the same time while loading.
+     */
+    private static final int maxParallelLookups = 4;
+
+    /**
+     * The executor used to search for songs that doesn't have an encoded
+     * audio track stored yet, the executor is shared between all the
+     * playlists being loaded, limiting the total amount of searches.
+     */
+    private static final ExecutorService lookupService = Executors.newFixedThreadPool(8,
+        new ThreadFactoryBuilder()
+            .setNameFormat("avaire-playlist-lookup-%d")
+            .setDaemon(true)
+            .build()
+    );
+
     public LoadPlaylist(AvaIre avaire, PlaylistCommand command) {
         super(avaire, command);
     }
@@ -54,62 +84,206 @@ public class LoadPlaylist extends PlaylistSubCommand {
             return false;
         }
 
-        List<AudioTrack> tracks = new ArrayList<>();
-        AudioHandler.getDefaultAudioHandler().getGuildAudioPlayer(context.getGuild()).setLastActiveMessage(context);
+        GuildMusicManager musicManager = AudioHandler.getDefaultAudioHandler().getGuildAudioPlayer(context.getGuild());
+        musicManager.setLastActiveMessage(context);
 
-        int index = 0;
-        for (PlaylistTransformer.PlaylistSong song : playlist.getSongs()) {
-            if (index++ == playlist.getSongs().size() - 1) {
-                loadSong(song, tracks, audioTracks -> {
-                    loadedPlaylist(context, playlist, tracks);
-                });
+        new PlaylistLoader(context, musicManager, playlist).loadNext();
 
-                return true;
+        return true;
+    }
+
+    private void saveEncodedTracks(CommandMessage context, PlaylistTransformer playlist, Map<String, byte[]> resolvedTracks) {
+        try {
+            // The playlist may have been edited while the songs were being searched for, so the
+            // songs are loaded again, and only the songs that still doesn't have an encoded
+            // track gets the track that was found for their link, that way we don't
+            // overwrite any songs that were added, moved, or removed meanwhile.
+            Collection result = avaire.getDatabase().newQueryBuilder(Constants.MUSIC_PLAYLIST_TABLE_NAME)
+                .where("id", playlist.getId()).andWhere("guild_id", context.getGuild().getId())
+                .get();
+
+            if (result.isEmpty()) {
+                return;
             }
-            loadSong(song, tracks, null);
-        }
 
-        context.makeWarning(context.i18n("failedToLoadPlaylist"))
-            .set("playlist", playlist.getName())
-            .queue();
+            PlaylistTransformer currentPlaylist = new PlaylistTransformer(result.first());
 
-        return true;
-    }
+            boolean hasChanges = false;
+            for (PlaylistTransformer.PlaylistSong song : currentPlaylist.getSongs()) {
+                byte[] encodedTrack = resolvedTracks.get(song.getLink());
+                if (encodedTrack != null && !song.hasEncodedTrack()) {
+                    song.setEncodedTrack(encodedTrack);
+                    hasChanges = true;
+                }
+            }
+
+            if (!hasChanges) {
+                return;
+            }
 
-    private void loadedPlaylist(CommandMessage context, PlaylistTransformer playlist, List<AudioTrack> tracks) {
-        if (tracks.isEmpty()) {
-            context.makeWarning(context.i18n("failedToLoadPlaylist"))
-                .set("playlist", playlist.getName())
-                .queue();
+            avaire.getDatabase().newQueryBuilder(Constants.MUSIC_PLAYLIST_TABLE_NAME)
+                .where("id", playlist.getId()).andWhere("guild_id", context.getGuild().getId())
+                .update(statement -> {
+                    statement.set("songs", AvaIre.gson.toJson(currentPlaylist.getSongs()), true);
+                });
 
-            return;
+            PlaylistController.forgetCache(context.getGuild().getIdLong());
+        } catch (SQLException e) {
+            AvaIre.getLogger().error("Failed to store the encoded tracks for the {} playlist: {}",
+                playlist.getName(), e.getMessage(), e
+            );
         }
+    }
 
-        AudioHandler.getDefaultAudioHandler().getGuildAudioPlayer(context.getGuild())
-            .getScheduler().queue(playlist, tracks, context.getAuthor());
-
-        AudioHandler.getDefaultAudioHandler().getGuildAudioPlayer(context.getGuild())
-            .registerDefaultVolume();
+    private CompletableFuture<AudioTrack> lookupSong(PlaylistTransformer.PlaylistSong song) {
+        return CompletableFuture.supplyAsync(() -> loadSong(song), lookupService);
     }
 
-    private void loadSong(PlaylistTransformer.PlaylistSong song, final List<AudioTrack> tracks, Consumer<List<AudioTrack>> success) {
+    @Nullable
+    private AudioTrack loadSong(PlaylistTransformer.PlaylistSong song) {
         TrackRequestContext requestContext = AudioHandler.getDefaultAudioHandler()
             .createTrackRequestContext(null, song.getLink().split(" "));
 
         try {
             AudioPlaylist playlist = new SearchTrackResultHandler(requestContext).searchSync();
             if (playlist.getTracks() != null && !playlist.getTracks().isEmpty()) {
-                tracks.add(playlist.getTracks().get(0));
+                return playlist.getTracks().get(0);
             }
         } catch (InvalidSearchProviderException ignored) {
             // We can just ignore this since we can't load the song due to the
             // music provider that it's using is disabled at the moment.
         } catch (SearchingException e) {
             AvaIre.getLogger().error("Searching exception were thrown while loading a playlist: {}", e.getMessage(), e);
+        } catch (Exception e) {
+            AvaIre.getLogger().error("Something went wrong while loading a song from a playlist: {}", e.getMessage(), e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Loads the songs for a single playlist in the same order they're stored in the playlist,
+     * songs that has to be searched for are chained onto the lookup futures instead of
+     * waiting for them, so the command thread is never blocked by the searches.
+     */
+    private class PlaylistLoader {
+
+        private final CommandMessage context;
+        private final GuildMusicManager musicManager;
+        private final PlaylistTransformer playlist;
+
+        private final List<PlaylistTransformer.PlaylistSong> songs;
+        private final List<CompletableFuture<AudioTrack>> pendingTracks;
+        private final boolean[] lookups;
+
+        private final List<AudioTrack> tracks = new ArrayList<>();
+        private final Map<String, byte[]> resolvedTracks = new HashMap<>();
+
+        private boolean hasQueuedTracks = false;
+        private int index = 0;
+        private int nextLookup = 0;
+        private int runningLookups = 0;
+
+        PlaylistLoader(CommandMessage context, GuildMusicManager musicManager, PlaylistTransformer playlist) {
+            this.context = context;
+            this.musicManager = musicManager;
+            this.playlist = playlist;
+
+            songs = new ArrayList<>(playlist.getSongs());
+            pendingTracks = new ArrayList<>(songs.size());
+            lookups = new boolean[songs.size()];
+
+            // Songs with an encoded audio track can be decoded locally, so only
+            // the songs that are missing their encoded track are searched for.
+            for (PlaylistTransformer.PlaylistSong song : songs) {
+                AudioTrack track = AudioTrackSerializer.decodeTrack(song.getEncodedTrack());
+                pendingTracks.add(track == null ? null : CompletableFuture.completedFuture(track));
+            }
+        }
+
+        /**
+         * Adds all the songs that has been loaded to the queue, until a song that is
+         * still being searched for is found, the loader will then continue from
+         * that song once the search for it has finished.
+         */
+        void loadNext() {
+            for (; index < songs.size(); index++) {
+                // Keeps searching for the songs ahead of the song currently being loaded, that way
+                // the searches runs in parallel while the tracks are still added to the queue
+                // in the same order they're stored in the playlist.
+                for (; nextLookup < songs.size() && runningLookups < maxParallelLookups; nextLookup++) {
+                    if (pendingTracks.get(nextLookup) == null) {
+                        pendingTracks.set(nextLookup, lookupSong(songs.get(nextLookup)));
+                        lookups[nextLookup] = true;
+                        runningLookups++;
+                    }
+                }
+
+                CompletableFuture<AudioTrack> pendingTrack = pendingTracks.get(index);
+
+                // If we have to wait for the song to be found we'll queue the tracks that
+                // are already loaded first, so the music can start playing right away.
+                if (!pendingTrack.isDone()) {
+                    if (!tracks.isEmpty()) {
+                        queueTracks();
+                    }
+
+                    pendingTrack.whenComplete((track, throwable) -> {
+                        loadTrack(track);
+                        index++;
+                        loadNext();
+                    });
+                    return;
+                }
+
+                loadTrack(pendingTrack.getNow(null));
+            }
+
+            finish();
+        }
+
+        private void loadTrack(@Nullable AudioTrack track) {
+            if (lookups[index]) {
+                runningLookups--;
+
+                if (track != null) {
+                    resolvedTracks.put(songs.get(index).getLink(), AudioTrackSerializer.encodeTrack(track));
+                }
+            }
+
+            if (track != null) {
+                tracks.add(track);
+            }
         }
 
-        if (success != null) {
-            success.accept(tracks);
+        private void finish() {
+            if (!tracks.isEmpty()) {
+                queueTracks();
+            }
+
+            if (!hasQueuedTracks) {
+                context.makeWarning(context.i18n("failedToLoadPlaylist"))
+                    .set("playlist", playlist.getName())
+                    .queue();
+            }
+
+            if (!resolvedTracks.isEmpty()) {
+                saveEncodedTracks(context, playlist, resolvedTracks);
+            }
+        }
+
+        private void queueTracks() {
+            if (hasQueuedTracks) {
+                for (AudioTrack track : tracks) {
+                    musicManager.getScheduler().queue(track, context.getAuthor());
+                }
+            } else {
+                musicManager.getScheduler().queue(playlist, tracks, playlist.getSongs().size(), context.getAuthor());
+                musicManager.registerDefaultVolume();
+            }
+
+            hasQueuedTracks = true;
+            tracks.clear();
         }
     }
 }
@@ -22,7 +22,6 @@
 package com.avairebot.commands.utility;
 
 import com.avairebot.AvaIre;
-import com.avairebot.Constants;
 import com.avairebot.chat.PlaceholderMessage;
 import com.avairebot.chat.SimplePaginator;
 import com.avairebot.commands.CommandHandler;
@@ -32,35 +31,21 @@ import com.avairebot.contracts.commands.CacheFingerprint;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
-import com.avairebot.database.collection.Collection;
-import com.avairebot.database.collection.DataRow;
 import com.avairebot.database.transformers.GuildTransformer;
-import com.avairebot.utilities.CacheUtil;
+import com.avairebot.level.GuildLeaderboard;
+import com.avairebot.level.LeaderboardEntry;
 import com.avairebot.utilities.NumberUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Member;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 @CacheFingerprint(name = "leaderboard-command")
 public class LeaderboardCommand extends Command {
 
-    public static final Cache<String, Collection> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
-
-    private static final Logger log = LoggerFactory.getLogger(GlobalLeaderboardCommand.class);
-
     public LeaderboardCommand(AvaIre avaire) {
         super(avaire, false);
     }
@@ -122,28 +107,30 @@ public class LeaderboardCommand extends Command {
             );
         }
 
-        Collection collection = loadTop100From(context);
-        if (collection == null || collection.isEmpty()) {
+        GuildLeaderboard leaderboard = avaire.getLevelManager().getLeaderboardIndex()
+            .getLeaderboard(context.getGuild().getIdLong());
+
+        if (leaderboard == null || leaderboard.isEmpty()) {
             context.makeWarning(context.i18n("noData")).queue();
             return false;
         }
 
         List<String> messages = new ArrayList<>();
-        SimplePaginator<DataRow> paginator = new SimplePaginator<>(collection.getItems(), 10);
+        SimplePaginator<LeaderboardEntry> paginator = new SimplePaginator<>(leaderboard.getTop(100), 10);
         if (args.length > 0) {
             paginator.setCurrentPage(NumberUtil.parseInt(args[0], 1));
         }
 
         long zeroExperience = avaire.getLevelManager().getExperienceFromLevel(transformer, 0) - 100;
 
-        paginator.forEach((index, key, row) -> {
-            Member member = context.getGuild().getMemberById(row.getLong("user_id"));
-            String username = row.getString("username") + "#" + row.getString("discriminator");
+        paginator.forEach((index, key, entry) -> {
+            Member member = context.getGuild().getMemberById(entry.getUserId());
+            String username = entry.getUsername() + "#" + entry.getDiscriminator();
             if (member != null) {
                 username = member.getUser().getName() + "#" + member.getUser().getDiscriminator();
             }
 
-            long experience = row.getLong("experience", 100);
+            long experience = entry.getExperience();
 
             messages.add(context.i18n("line")
                 .replace(":num", "" + (index + 1))
@@ -162,21 +149,18 @@ public class LeaderboardCommand extends Command {
             )
             .requestedBy(context.getMember());
 
-        Collection userRank = loadUserRank(context);
-        if (userRank != null && !userRank.isEmpty()) {
-            int rank = userRank.first().getInt("rank", -1);
-            if (++rank > 0) {
-                message.addField("➡ " + context.i18n("yourRank"), context.i18n("line")
-                        .replace(":num", NumberUtil.formatNicely(rank))
-                        .replace(":username", context.getAuthor().getName() + "#" + context.getAuthor().getDiscriminator())
-                        .replace(":level", NumberUtil.formatNicely(avaire.getLevelManager().getLevelFromExperience(
-                            context.getGuildTransformer(), context.getPlayerTransformer().getExperience() + zeroExperience
-                        )))
-                        .replace(":experience", NumberUtil.formatNicely(context.getPlayerTransformer().getExperience() - 100))
-                        + "\n\n" + paginator.generateFooter(context.getGuild(), generateCommandTrigger(context.getMessage())),
-                    false
-                );
-            }
+        int rank = leaderboard.getRank(context.getAuthor().getIdLong());
+        if (rank > 0) {
+            message.addField("➡ " + context.i18n("yourRank"), context.i18n("line")
+                    .replace(":num", NumberUtil.formatNicely(rank))
+                    .replace(":username", context.getAuthor().getName() + "#" + context.getAuthor().getDiscriminator())
+                    .replace(":level", NumberUtil.formatNicely(avaire.getLevelManager().getLevelFromExperience(
+                        context.getGuildTransformer(), context.getPlayerTransformer().getExperience() + zeroExperience
+                    )))
+                    .replace(":experience", NumberUtil.formatNicely(context.getPlayerTransformer().getExperience() - 100))
+                    + "\n\n" + paginator.generateFooter(context.getGuild(), generateCommandTrigger(context.getMessage())),
+                false
+            );
         }
 
         if (message.build().getFields().isEmpty()) {
@@ -188,44 +172,4 @@ public class LeaderboardCommand extends Command {
 
         return true;
     }
-
-    private Collection loadTop100From(CommandMessage context) {
-        return (Collection) CacheUtil.getUncheckedUnwrapped(cache, asKey(context, false), () -> {
-            try {
-                return avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                    .where("guild_id", context.getGuild().getId())
-                    .where("active", 1)
-                    .orderBy("experience", "desc")
-                    .take(100)
-                    .get();
-            } catch (SQLException e) {
-                log.error("Failed to fetch leaderboard data for server: " + context.getGuild().getId(), e);
-
-                return Collection.EMPTY_COLLECTION;
-            }
-        });
-    }
-
-    private Collection loadUserRank(CommandMessage context) {
-        return (Collection) CacheUtil.getUncheckedUnwrapped(cache, asKey(context, true), () -> {
-            try {
-                return avaire.getDatabase().query(String.format(
-                    "SELECT COUNT(*) AS rank FROM (" +
-                        "    SELECT `user_id` FROM `experiences` WHERE `guild_id` = '%s' AND `active` = 1 GROUP BY `user_id` HAVING SUM(`experience`) > (" +
-                        "        SELECT SUM(`experience`) FROM `experiences` WHERE `user_id` = '%s' AND `guild_id` = '%s' AND `active` = 1" +
-                        "    )" +
-                        ") t;",
-                    context.getGuild().getId(), context.getAuthor().getId(), context.getGuild().getId()
-                ));
-            } catch (SQLException e) {
-                log.error("Failed to fetch leaderboard data for user: " + context.getGuild().getId(), e);
-
-                return Collection.EMPTY_COLLECTION;
-            }
-        });
-    }
-
-    private String asKey(CommandMessage context, boolean isUser) {
-        return context.getGuild().getId() + (isUser ? "." + context.getAuthor().getId() : "");
-    }
 }
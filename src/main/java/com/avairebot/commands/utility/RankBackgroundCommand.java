@@ -33,6 +33,7 @@ import com.avairebot.database.controllers.PurchaseController;
 import com.avairebot.database.transformers.PlayerTransformer;
 import com.avairebot.imagegen.RankBackground;
 import com.avairebot.imagegen.RankBackgroundHandler;
+import com.avairebot.imagegen.RenderCache;
 import com.avairebot.imagegen.renders.RankBackgroundRender;
 import com.avairebot.shared.DiscordConstants;
 import com.avairebot.utilities.ComparatorUtil;
@@ -47,7 +48,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -238,18 +238,24 @@ public class RankBackgroundCommand extends Command {
             .setColor(background.getBackgroundColors().getExperienceForegroundColor());
         message.setEmbed(embed.build());
 
-        try {
-            //noinspection ConstantConditions
-            context.getMessageChannel().sendMessage(message.build()).addFile(
-                new ByteArrayInputStream(render.renderToBytes()),
-                "rank-background.png"
-            ).queue();
-        } catch (IOException e) {
-            log.error("Failed to render background image: {}", e.getMessage(), e);
-            return sendErrorMessage(context, context.i18n("failedToSendExampleMessage",
-                background.getName(), e.getMessage()
+        RenderCache.renderToBytes(context.getGuild().getIdLong(), render).whenComplete((bytes, throwable) -> {
+            if (throwable == null && bytes != null) {
+                context.getMessageChannel().sendMessage(message.build()).addFile(
+                    new ByteArrayInputStream(bytes),
+                    "rank-background.png"
+                ).queue();
+                return;
+            }
+
+            String error = throwable == null ? "Render returned no image" : throwable.getMessage();
+            if (throwable != null) {
+                log.error("Failed to render background image: {}", error, throwable);
+            }
+
+            sendErrorMessage(context, context.i18n("failedToSendExampleMessage",
+                background.getName(), error
             ));
-        }
+        });
 
         return true;
     }
@@ -30,7 +30,6 @@ import com.avairebot.commands.administration.LevelCommand;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.commands.CommandGroup;
 import com.avairebot.contracts.commands.CommandGroups;
-import com.avairebot.database.collection.Collection;
 import com.avairebot.database.collection.DataRow;
 import com.avairebot.database.controllers.PlayerController;
 import com.avairebot.database.transformers.GuildTransformer;
@@ -38,13 +37,12 @@ import com.avairebot.database.transformers.PlayerTransformer;
 import com.avairebot.factories.MessageFactory;
 import com.avairebot.imagegen.RankBackground;
 import com.avairebot.imagegen.RankBackgroundHandler;
+import com.avairebot.imagegen.RenderCache;
 import com.avairebot.imagegen.renders.RankBackgroundRender;
 import com.avairebot.language.I18n;
-import com.avairebot.utilities.CacheUtil;
+import com.avairebot.level.GuildLeaderboard;
 import com.avairebot.utilities.MentionableUtil;
 import com.avairebot.utilities.NumberUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.MessageBuilder;
 import net.dv8tion.jda.api.entities.Guild;
@@ -55,22 +53,15 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
 
 public class RankCommand extends Command {
 
-    public static final Cache<Long, Collection> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(120, TimeUnit.SECONDS)
-        .build();
-
     private static final Logger log = LoggerFactory.getLogger(RankCommand.class);
 
     public RankCommand(AvaIre avaire) {
@@ -290,14 +281,20 @@ public class RankCommand extends Command {
             .setColor(background.getBackgroundColors().getExperienceForegroundColor());
         message.setEmbed(embed.build());
 
-        try {
-            //noinspection ConstantConditions
-            context.getMessageChannel().sendMessage(message.build()).addFile(
-                new ByteArrayInputStream(render.renderToBytes()),
-                attachmentName
-            ).queue();
-        } catch (IOException e) {
-            log.error("Failed to generate the rank background: {}", e.getMessage(), e);
+        RenderCache.renderToBytes(context.getGuild().getIdLong(), render).whenComplete((bytes, throwable) -> {
+            if (throwable == null && bytes != null) {
+                context.getMessageChannel().sendMessage(message.build()).addFile(
+                    new ByteArrayInputStream(bytes),
+                    attachmentName
+                ).queue();
+                return;
+            }
+
+            // Renders that are shed because the render pool is saturated
+            // are already tracked by the executor metrics.
+            if (throwable != null && !(throwable instanceof RejectedExecutionException)) {
+                log.error("Failed to generate the rank background: {}", throwable.getMessage(), throwable);
+            }
 
             sendEmbeddedMessage(
                 context, author,
@@ -307,7 +304,7 @@ public class RankCommand extends Command {
                 percentage,
                 properties
             );
-        }
+        });
     }
 
     private CompletableFuture<DatabaseProperties> loadProperties(CommandMessage context, User author) {
@@ -324,7 +321,7 @@ public class RankCommand extends Command {
 
                 long total = data == null ? (player == null ? 0 : player.getExperience()) : data.getLong("total");
 
-                return new DatabaseProperties(player, total, getScore(context, author.getId()));
+                return new DatabaseProperties(player, total, getScore(context, author.getIdLong()));
             } catch (SQLException e) {
                 log.error("Error getting player experience : {}", e.getMessage(), e);
                 return null;
@@ -332,20 +329,13 @@ public class RankCommand extends Command {
         });
     }
 
-    private String getScore(CommandMessage context, String userId) throws SQLException {
-        Collection users = (Collection) CacheUtil.getUncheckedUnwrapped(cache, context.getGuild().getIdLong(), () ->
-            avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                .select("user_id as id")
-                .orderBy("experience", "desc")
-                .where("guild_id", context.getGuild().getId())
-                .where("active", 1)
-                .get()
-        );
+    private String getScore(CommandMessage context, long userId) {
+        GuildLeaderboard leaderboard = avaire.getLevelManager().getLeaderboardIndex()
+            .getLeaderboard(context.getGuild().getIdLong());
 
-        for (int i = 0; i < users.size(); i++) {
-            if (Objects.equals(users.get(i).getString("id"), userId)) {
-                return "" + (i + 1);
-            }
+        int rank = leaderboard == null ? -1 : leaderboard.getRank(userId);
+        if (rank > 0) {
+            return "" + rank;
         }
 
         return context.i18n("unranked");
@@ -22,10 +22,12 @@
 package com.avairebot.contracts.commands;
 
 import com.avairebot.AvaIre;
+import com.avairebot.Constants;
 import com.avairebot.commands.CommandContainer;
 import com.avairebot.commands.CommandHandler;
 import com.avairebot.commands.CommandMessage;
 import com.avairebot.commands.CommandPriority;
+import com.avairebot.contracts.commands.interactions.InteractionImageStore;
 import com.avairebot.contracts.commands.interactions.Lottery;
 import com.avairebot.language.I18n;
 import com.avairebot.metrics.Metrics;
@@ -37,13 +39,14 @@ import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.MessageBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.awt.*;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -62,6 +65,17 @@ public abstract class InteractionCommand extends Command {
         .expireAfterAccess(5, TimeUnit.MINUTES)
         .build();
 
+    /**
+     * The image store, used to store the interaction images on disk and in
+     * memory, so interactions doesn't have to download their image
+     * every time the interaction is used.
+     *
+     * @see #getImageStore() Image store getter.
+     */
+    private static InteractionImageStore imageStore;
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionCommand.class);
+
     /**
      * Creates a new interaction command instance.
      *
@@ -160,26 +174,71 @@ public abstract class InteractionCommand extends Command {
 
         int imageIndex = lottery.getWinner();
 
-        MessageBuilder messageBuilder = new MessageBuilder();
-        EmbedBuilder embedBuilder = context.makeEmbeddedMessage()
-            .setImage("attachment://" + getClass().getSimpleName() + "-" + imageIndex + ".gif")
-            .setDescription(buildMessage(context, user, target))
-            .setColor(getInteractionColor())
-            .requestedBy(context)
-            .build();
+        String imageUrl = interactionImages.get(imageIndex);
+        String attachmentName = getClass().getSimpleName() + "-" + imageIndex + ".gif";
+        String message = buildMessage(context, user, target);
 
-        messageBuilder.setEmbed(embedBuilder.build());
+        getImageStore().fetch(imageUrl).whenComplete((bytes, throwable) -> {
+            MessageBuilder messageBuilder = new MessageBuilder();
+            EmbedBuilder embedBuilder = context.makeEmbeddedMessage()
+                .setImage(throwable == null ? "attachment://" + attachmentName : imageUrl)
+                .setDescription(message)
+                .setColor(getInteractionColor())
+                .requestedBy(context)
+                .build();
 
-        try {
-            InputStream stream = new URL(interactionImages.get(imageIndex)).openStream();
+            messageBuilder.setEmbed(embedBuilder.build());
+
+            // If the image couldn't be fetched we send the embed with the image URL
+            // instead, letting Discord load the image from the remote host.
+            if (throwable != null) {
+                log.warn("Failed to fetch interaction image {}: {}", imageUrl, throwable.getMessage());
+
+                context.getChannel().sendMessage(messageBuilder.build()).queue();
+                return;
+            }
+
+            context.getChannel().sendMessage(messageBuilder.build()).addFile(bytes, attachmentName).queue();
+        });
 
-            context.getChannel().sendMessage(messageBuilder.build()).addFile(stream, getClass().getSimpleName() + "-" + imageIndex + ".gif").queue();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
         return true;
     }
 
+    /**
+     * Gets the image store used to store the interaction images, the store
+     * is created the first time it is requested, using the sizes
+     * set in the interaction images section of the config.
+     *
+     * @return The interaction image store.
+     */
+    public static synchronized InteractionImageStore getImageStore() {
+        if (imageStore == null) {
+            imageStore = new InteractionImageStore(
+                new File(Constants.STORAGE_PATH, "interactions"),
+                AvaIre.getInstance().getConfig().getLong("interaction-images.memory-size", 64) * 1024 * 1024,
+                AvaIre.getInstance().getConfig().getLong("interaction-images.disk-size", 512) * 1024 * 1024
+            );
+        }
+        return imageStore;
+    }
+
+    /**
+     * Warms up the image store by fetching the images for every registered
+     * interaction command that haven't already been stored on disk.
+     */
+    public static void warmupImageStore() {
+        List<String> images = new ArrayList<>();
+        for (CommandContainer container : CommandHandler.getCommands()) {
+            if (container.getCommand() instanceof InteractionCommand) {
+                images.addAll(((InteractionCommand) container.getCommand()).getInteractionImages());
+            }
+        }
+
+        log.info("Warming up the interaction image store with {} images", images.size());
+
+        getImageStore().warmup(images);
+    }
+
     private String buildMessage(CommandMessage context, User user, User target) {
         return I18n.format(
             getInteraction(context, false),
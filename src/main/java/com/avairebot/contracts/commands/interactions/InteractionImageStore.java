@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.contracts.commands.interactions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+public class InteractionImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionImageStore.class);
+
+    /**
+     * The name of the index file, the index maps the image
+     * URLs to the hash of the content they point to.
+     */
+    private static final String indexName = "index";
+
+    /**
+     * The file extension used for the stored images.
+     */
+    private static final String imageExtension = ".gif";
+
+    private final File directory;
+    private final long maxDiskSize;
+    private final ImageDownloader downloader;
+    private final Executor executor;
+
+    /**
+     * The in-memory cache of image bytes, mapped by the image URL, the cache
+     * is bounded by the total size of the images stored in it.
+     */
+    private final Cache<String, byte[]> cache;
+
+    /**
+     * The content hash for each image URL that has been stored on disk.
+     */
+    private final Map<String, String> index = new ConcurrentHashMap<>();
+
+    /**
+     * The fetches that are currently in progress, mapped by the image URL, concurrent
+     * requests for the same image will share the same fetch, so an image
+     * is only ever downloaded once at a time.
+     */
+    private final Map<String, CompletableFuture<byte[]>> inflight = new ConcurrentHashMap<>();
+
+    private final Object diskLock = new Object();
+    private boolean loaded = false;
+
+    /**
+     * Creates a new interaction image store, storing images in the given directory.
+     *
+     * @param directory     The directory the images should be stored in.
+     * @param maxMemorySize The max amount of bytes that can be cached in memory.
+     * @param maxDiskSize   The max amount of bytes that can be stored on disk.
+     */
+    public InteractionImageStore(@Nonnull File directory, long maxMemorySize, long maxDiskSize) {
+        this(directory, maxMemorySize, maxDiskSize, InteractionImageStore::download, Executors.newFixedThreadPool(4,
+            new ThreadFactoryBuilder()
+                .setNameFormat("avaire-interaction-image-%d")
+                .setDaemon(true)
+                .build()
+        ));
+    }
+
+    InteractionImageStore(File directory, long maxMemorySize, long maxDiskSize, ImageDownloader downloader, Executor executor) {
+        this.directory = directory;
+        this.maxDiskSize = maxDiskSize;
+        this.downloader = downloader;
+        this.executor = executor;
+
+        this.cache = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumWeight(maxMemorySize)
+            .weigher((String key, byte[] bytes) -> bytes.length)
+            .build();
+    }
+
+    /**
+     * Fetches the image with the given URL, the image is loaded from the memory
+     * cache if possible, otherwise from the disk, and if the image haven't
+     * been stored on disk yet, it will be downloaded and stored.
+     *
+     * @param url The URL of the image that should be fetched.
+     * @return The future that is completed with the bytes of the image.
+     */
+    public CompletableFuture<byte[]> fetch(@Nonnull String url) {
+        byte[] bytes = cache.getIfPresent(url);
+        if (bytes != null) {
+            return CompletableFuture.completedFuture(bytes);
+        }
+
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inflight.putIfAbsent(url, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(load(url));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inflight.remove(url, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inflight.remove(url, future);
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Fetches all the images with the given URLs that haven't been stored
+     * on disk yet, this is used to warmup the store on startup, so
+     * the first use of each interaction doesn't have to wait.
+     *
+     * @param urls The URLs of the images that should be stored.
+     * @return The future that is completed once all the images has been fetched.
+     */
+    public CompletableFuture<Void> warmup(@Nonnull Collection<String> urls) {
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (String url : new LinkedHashSet<>(urls)) {
+            futures.add(fetch(url).exceptionally(throwable -> {
+                log.warn("Failed to warmup interaction image {}: {}", url, throwable.getMessage());
+                return null;
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Gets the in-memory cache used by the image store.
+     *
+     * @return The in-memory image cache.
+     */
+    public Cache<String, byte[]> getCache() {
+        return cache;
+    }
+
+    private byte[] load(String url) throws IOException {
+        byte[] bytes = readFromDisk(url);
+        if (bytes == null) {
+            bytes = downloader.download(url);
+            writeToDisk(url, bytes);
+        }
+
+        cache.put(url, bytes);
+
+        return bytes;
+    }
+
+    private byte[] readFromDisk(String url) throws IOException {
+        synchronized (diskLock) {
+            ensureLoaded();
+
+            String hash = index.get(url);
+            if (hash == null) {
+                return null;
+            }
+
+            File file = new File(directory, hash + imageExtension);
+            if (!file.exists()) {
+                index.remove(url);
+                return null;
+            }
+
+            // Touches the file so the least recently used images
+            // are the first to be deleted once the store is full.
+            file.setLastModified(System.currentTimeMillis());
+
+            return Files.readAllBytes(file.toPath());
+        }
+    }
+
+    private void writeToDisk(String url, byte[] bytes) throws IOException {
+        String hash = hash(bytes);
+
+        synchronized (diskLock) {
+            ensureLoaded();
+
+            // Images are stored by the hash of their content, so the same image
+            // used by multiple URLs or commands are only stored once.
+            File file = new File(directory, hash + imageExtension);
+            if (!file.exists()) {
+                File temporaryFile = new File(directory, hash + imageExtension + ".tmp");
+                Files.write(temporaryFile.toPath(), bytes);
+                Files.move(temporaryFile.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+                );
+            }
+
+            index.put(url, hash);
+            Files.write(new File(directory, indexName).toPath(),
+                (hash + " " + url + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND
+            );
+
+            evictIfFull(hash);
+        }
+    }
+
+    private void evictIfFull(String keepHash) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(imageExtension));
+        if (files == null) {
+            return;
+        }
+
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+
+        if (size <= maxDiskSize) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+
+        Set<String> removed = new HashSet<>();
+        for (File file : files) {
+            if (size <= maxDiskSize) {
+                break;
+            }
+
+            String hash = file.getName().substring(0, file.getName().length() - imageExtension.length());
+            if (hash.equals(keepHash)) {
+                continue;
+            }
+
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+                removed.add(hash);
+            }
+        }
+
+        index.values().removeAll(removed);
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (loaded) {
+            return;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the interaction image directory: " + directory);
+        }
+
+        File indexFile = new File(directory, indexName);
+        if (indexFile.exists()) {
+            for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ", 2);
+                if (parts.length == 2 && new File(directory, parts[0] + imageExtension).exists()) {
+                    index.put(parts[1], parts[0]);
+                }
+            }
+
+            // Rewrites the index so entries for images that has since
+            // been deleted, or replaced, doesn't pile up over time.
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                builder.append(entry.getValue()).append(" ").append(entry.getKey()).append("\n");
+            }
+            Files.write(indexFile.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        loaded = true;
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest) {
+                builder.append(Integer.toString((b & 0xff) + 0x100, 16).substring(1));
+            }
+
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The SHA-256 algorithm is not available", e);
+        }
+    }
+
+    private static byte[] download(String url) throws IOException {
+        URLConnection connection = new URL(url).openConnection();
+        connection.setRequestProperty("User-Agent", "AvaIre-Discord-Bot");
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(10000);
+
+        try (InputStream stream = connection.getInputStream()) {
+            return ByteStreams.toByteArray(stream);
+        }
+    }
+
+    @FunctionalInterface
+    interface ImageDownloader {
+
+        /**
+         * Downloads the image with the given URL.
+         *
+         * @param url The URL of the image that should be downloaded.
+         * @return The bytes of the downloaded image.
+         * @throws IOException If the image fails to download.
+         */
+        byte[] download(String url) throws IOException;
+    }
+}
@@ -23,11 +23,12 @@ package com.avairebot.contracts.database;
 
 import com.avairebot.contracts.database.grammar.AlterGrammar;
 import com.avairebot.contracts.database.grammar.Grammarable;
+import com.avairebot.contracts.database.grammar.IndexGrammar;
 import com.avairebot.contracts.database.grammar.TableGrammar;
 import com.avairebot.database.DatabaseManager;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.schema.Blueprint;
-import com.avairebot.metrics.Metrics;
+import com.avairebot.database.schema.Index;
 import com.mysql.jdbc.exceptions.jdbc4.MySQLNonTransientConnectionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -123,6 +124,16 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      */
     public abstract String prepareDataValueString(String str);
 
+    /**
+     * Opens a brand new connection to the database, the connection is not
+     * tracked by the database instance, and is used by the connection
+     * pool to open new connections for concurrent queries.
+     *
+     * @return The newly opened database connection.
+     * @throws SQLException if a database access error occurs, or the connection could not be opened
+     */
+    public abstract Connection createConnection() throws SQLException;
+
     /**
      * Attempts to close the database connection.
      *
@@ -229,10 +240,27 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     @Nullable
     @WillCloseWhenClosed
     public final ResultSet query(String query) throws SQLException {
-        return handleQuery(() -> {
+        return query(getConnection(), query);
+    }
+
+    /**
+     * Queries the database with the given query using the given connection,
+     * the query should be a <code>SELECT</code> query.
+     *
+     * @param connection The connection the query should be sent through.
+     * @param query      The query to run.
+     * @return the current result as a <code>ResultSet</code> object or
+     * <code>null</code> if the result is an update count or there are no more results
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @Nullable
+    @WillCloseWhenClosed
+    public final ResultSet query(Connection connection, String query) throws SQLException {
+        return handleQuery(connection, () -> {
             queryValidation(getStatement(query));
 
-            Statement statement = createPreparedStatement(query);
+            Statement statement = createPreparedStatement(connection, query);
             statement.closeOnCompletion();
 
             if (statement.execute(query)) {
@@ -290,7 +318,7 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     @Nullable
     @WillNotClose
     public final ResultSet query(PreparedStatement query, StatementInterface statement) throws SQLException {
-        return handleQuery(() -> {
+        return handleQuery(query.getConnection(), () -> {
             queryValidation(statement);
 
             if (query.execute()) {
@@ -320,6 +348,63 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return ps;
     }
 
+    /**
+     * Prepares a query as a prepared statement using the given connection, unlike
+     * {@link #prepare(String)} the statement is not tracked by the database
+     * instance, and must be closed by the caller once it has been used.
+     *
+     * @param connection The connection the statement should be prepared on.
+     * @param query      The query to prepare.
+     * @return The JDBC prepared statement object for the given query.
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @WillNotClose
+    public final Statement prepare(Connection connection, String query) throws SQLException {
+        return createPreparedStatement(connection, query);
+    }
+
+    /**
+     * Prepares a parameterized query as a prepared statement that is meant to be re-used for
+     * many executions, database implementations that supports it can override this method
+     * to have the statement prepared by the database server, so the query only has
+     * to be parsed once for as long as the statement is kept open.
+     *
+     * @param connection          The connection the statement should be prepared on.
+     * @param query               The parameterized query to prepare.
+     * @param returnGeneratedKeys Whether the statement should return the auto-generated keys.
+     * @return The JDBC prepared statement object for the given query.
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public PreparedStatement prepareReusableStatement(Connection connection, String query, boolean returnGeneratedKeys) throws SQLException {
+        return connection.prepareStatement(query, returnGeneratedKeys
+            ? Statement.RETURN_GENERATED_KEYS
+            : Statement.NO_GENERATED_KEYS
+        );
+    }
+
+    /**
+     * Prepares a parameterized query as a forward-only, read-only prepared statement, that
+     * should read the rows from the database in batches of the given fetch size, instead
+     * of loading the entire result into memory when the statement is executed,
+     * database implementations can override this method if the driver
+     * requires something else to stream results.
+     *
+     * @param connection The connection the statement should be prepared on.
+     * @param query      The parameterized query to prepare.
+     * @param fetchSize  The amount of rows that should be fetched from the database at a time.
+     * @return The JDBC prepared statement object for the given query.
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public PreparedStatement prepareStreamingStatement(Connection connection, String query, int fetchSize) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+
+        return statement;
+    }
+
     /**
      * Executes the provided SQL statement as a <code>PreparedStatement</code> object,
      * which must be an SQL Data Manipulation Language (DML) statement, such as <code>INSERT</code>, <code>UPDATE</code> or
@@ -388,7 +473,7 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     @Nullable
-    private ResultSet handleQuery(SupplierWithSQL<ResultSet> callback) throws SQLException {
+    private ResultSet handleQuery(Connection queryConnection, SupplierWithSQL<ResultSet> callback) throws SQLException {
         try {
             return callback.get();
         } catch (MySQLNonTransientConnectionException e) {
@@ -398,21 +483,25 @@ public abstract class Database implements DatabaseConnection, Grammarable {
                 // The connection should already be closed, we're just forcefully close the
                 // connection here so that the database manage can see that connection is
                 // closed, and so the connection can be reopened on the next request.
-                close();
+                if (queryConnection == null || queryConnection == connection) {
+                    close();
+                } else {
+                    queryConnection.close();
+                }
             }
             return null;
         }
     }
 
     protected Statement createPreparedStatement(String query) throws SQLException {
-        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+        return createPreparedStatement(getConnection(), query);
+    }
 
-        return getConnection().prepareStatement(query);
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException {
+        return connection.prepareStatement(query);
     }
 
     private PreparedStatement createPreparedStatement(String query, int autoGeneratedKeys) throws SQLException {
-        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
-
         return getConnection().prepareStatement(query, autoGeneratedKeys);
     }
 
@@ -420,7 +509,10 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         grammar.setDBM(manager);
         grammar.setOptions(options);
 
-        return grammar.format(builder);
+        String query = grammar.format(builder);
+        builder.setBindings(grammar.getBindings());
+
+        return query;
     }
 
     protected String setupAndRun(AlterGrammar grammar, Blueprint blueprint, DatabaseManager manager, Map<String, Boolean> options) {
@@ -430,6 +522,13 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return grammar.format(blueprint);
     }
 
+    protected String setupAndRun(IndexGrammar grammar, Blueprint blueprint, Index index, DatabaseManager manager, Map<String, Boolean> options) {
+        grammar.setDBM(manager);
+        grammar.setOptions(options);
+
+        return grammar.format(blueprint, index);
+    }
+
     public enum QueryType {
         SELECT,
         INSERT,
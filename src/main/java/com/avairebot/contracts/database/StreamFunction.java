@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.contracts.database;
+
+import com.avairebot.database.DatabaseManager;
+import com.avairebot.database.collection.DataRow;
+import com.avairebot.database.query.QueryBuilder;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface StreamFunction {
+
+    /**
+     * Runs the stream function for a single row streamed through the
+     * {@link DatabaseManager#stream(QueryBuilder, int, StreamFunction) database stream method},
+     * the next row is only read from the database once the function returns, and the
+     * given data row is re-used for every row, so it should be copied if it
+     * needs to be kept around after the function has returned.
+     *
+     * @param row The data row for the current row.
+     * @return <code>True</code> to continue streaming rows, <code>False</code> to stop the stream.
+     * @throws SQLException If an error occurred
+     */
+    boolean run(DataRow row) throws SQLException;
+}
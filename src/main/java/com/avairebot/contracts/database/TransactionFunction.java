@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.contracts.database;
+
+import com.avairebot.database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface TransactionFunction {
+
+    /**
+     * Runs the transaction function with the connection leased through the
+     * {@link DatabaseManager#transaction(TransactionFunction) database transaction method},
+     * auto commit is disabled for the connection, and the transaction will be committed
+     * once the function returns, or rolled back if an exception is thrown.
+     *
+     * @param connection The connection the transaction is running on.
+     * @throws SQLException If an error occurred
+     */
+    void run(Connection connection) throws SQLException;
+}
@@ -23,6 +23,7 @@ package com.avairebot.contracts.database.grammar;
 
 import com.avairebot.database.DatabaseManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,13 @@ public abstract class Grammar {
      */
     protected String query;
 
+    /**
+     * The list of values bound to the placeholders in the query, values are only
+     * bound when the grammar is running in prepared mode, in which case all
+     * the values are replaced by question marks(?) in the query string.
+     */
+    protected final List<Object> bindings = new ArrayList<>();
+
     public void setDBM(DatabaseManager dbm) {
         this.dbm = dbm;
     }
@@ -68,6 +76,40 @@ public abstract class Grammar {
         return query;
     }
 
+    /**
+     * Gets the list of values bound to the query placeholders, in the
+     * same order as the placeholders appear in the query.
+     *
+     * @return The list of bound values.
+     */
+    public List<Object> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * Checks if the grammar should generate a parameterized query, where all the values are
+     * replaced by question marks(?) and added to the bindings instead of the query.
+     *
+     * @return either (1) <code>TRUE</code> if the query should be parameterized
+     * or (2) <code>FALSE</code> if values should be rendered into the query
+     */
+    protected boolean isPrepared() {
+        return options != null && options.getOrDefault("prepared", Boolean.FALSE);
+    }
+
+    /**
+     * Adds the given value to the bindings list, and returns the
+     * placeholder that should be used in place of the value.
+     *
+     * @param value The value that should be bound to the query.
+     * @return the placeholder for the value.
+     */
+    protected String bind(Object value) {
+        bindings.add(value);
+
+        return "?";
+    }
+
     /**
      * Checks to see if a string is numeric, this will help
      * determine how to format values into the query.
@@ -25,6 +25,7 @@ import com.avairebot.contracts.database.Database;
 import com.avairebot.database.DatabaseManager;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -42,6 +43,17 @@ public interface Grammarable {
      */
     String create(DatabaseManager manager, Blueprint blueprint, @Nonnull Map<String, Boolean> options);
 
+    /**
+     * Creates a create index grammar instance with the provided settings.
+     *
+     * @param manager   The database manager instance.
+     * @param blueprint The blueprint the index belongs to.
+     * @param index     The index that should be used for generating the grammar query.
+     * @param options   The options that should be parsed to the grammar generator.
+     * @return The database query that was generated by the index.
+     */
+    String createIndex(DatabaseManager manager, Blueprint blueprint, Index index, @Nonnull Map<String, Boolean> options);
+
     /**
      * Creates a {@link Database.QueryType#DELETE create} grammar instance with the provided settings.
      *
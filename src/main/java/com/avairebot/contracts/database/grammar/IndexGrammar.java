@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.contracts.database.grammar;
+
+import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
+
+public abstract class IndexGrammar extends Grammar {
+
+    /**
+     * Creates the index query grammar by preparing
+     * the {@link #query} parameter.
+     */
+    public IndexGrammar() {
+        query = "CREATE ";
+    }
+
+    /**
+     * The query formatter method, this is called by the schema
+     * builder when the index query should be built.
+     *
+     * @param blueprint The blueprint the index belongs to.
+     * @param index     The index to build the query from.
+     * @return the formatted SQL query
+     */
+    public abstract String format(Blueprint blueprint, Index index);
+
+    /**
+     * Builds the list of the indexed fields, separated by commas.
+     *
+     * @param index The index to build the field list from.
+     * @return the formatted list of fields.
+     */
+    protected String formatFields(Index index) {
+        StringBuilder fields = new StringBuilder();
+        for (String field : index.getFields()) {
+            fields.append(formatField(field)).append(", ");
+        }
+
+        return fields.substring(0, fields.length() - 2);
+    }
+}
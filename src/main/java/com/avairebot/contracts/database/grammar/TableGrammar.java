@@ -81,8 +81,12 @@ public abstract class TableGrammar extends Grammar {
                     continue;
                 }
 
+                if (first) {
+                    addPart(" (");
+                } else {
+                    addPart(" %s (", nestedClause.getOperator());
+                }
                 first = true;
-                addPart(" %s (", nestedClause.getOperator());
 
                 for (QueryClause temp : nestedClause.getWhereClauses()) {
                     if (!(temp instanceof Clause)) {
@@ -113,9 +117,14 @@ public abstract class TableGrammar extends Grammar {
             );
         }
 
-        String field = clause.getTwo().toString();
-        if (!isNumeric(field)) {
-            field = String.format("'%s'", field);
+        String field;
+        if (isPrepared()) {
+            field = bind(clause.getTwo());
+        } else {
+            field = clause.getTwo().toString();
+            if (!isNumeric(field)) {
+                field = String.format("'%s'", field);
+            }
         }
 
         String stringClause = String.format("%s %s %s", formatField(clause.getOne()), clause.getIdentifier(), field);
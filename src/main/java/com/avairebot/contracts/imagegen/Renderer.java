@@ -42,6 +42,18 @@ public abstract class Renderer {
      */
     public abstract boolean canRender();
 
+    /**
+     * Gets the key the finished render should be cached under, the key must
+     * include everything that affects the look of the render, renders
+     * that returns <code>NULL</code> will never be cached.
+     *
+     * @return The cache key for the render, or <code>NULL</code> if the render shouldn't be cached.
+     */
+    @Nullable
+    public String getCacheKey() {
+        return null;
+    }
+
     /**
      * Handles the rendering process.
      *
@@ -23,6 +23,7 @@ package com.avairebot.contracts.scheduler;
 
 import com.avairebot.AvaIre;
 import com.avairebot.contracts.reflection.Reflectional;
+import com.avairebot.scheduler.ScheduleHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -136,19 +137,40 @@ public abstract class Job extends TimerTask implements Reflectional {
     }
 
     /**
-     * Handles the given tasks by invoking them one by one within a try-catch
-     * statement, if a exception is thrown nothing should fail.
+     * Gets the policy used when the job is due while the previous
+     * run of the job is still going, by default the late run
+     * is skipped in favour of the next scheduled run.
+     *
+     * @return The overrun policy for the job.
+     */
+    public OverrunPolicy getOverrunPolicy() {
+        return OverrunPolicy.SKIP;
+    }
+
+    /**
+     * Handles the given tasks by dispatching each of them to the scheduler, every
+     * task runs on its own, so a slow task can't delay the other tasks, and
+     * a task that is still running when it's due again follows its
+     * {@link Task#getOverrunPolicy() overrun policy} instead.
+     * <p>
+     * Lambdas and anonymous tasks are part of the job creating them, and are
+     * invoked directly instead, since the job is already run on its own.
      *
      * @param tasks The tasks that should be handled.
      */
     protected void handleTask(Task... tasks) {
         for (Task task : tasks) {
+            if (!task.getClass().isSynthetic() && !task.getClass().isAnonymousClass()) {
+                ScheduleHandler.dispatchTask(avaire, task);
+                continue;
+            }
+
             try {
                 log.trace("Invoking {}#handle(avaire)", task.getClass().getName());
                 task.handle(avaire);
             } catch (Exception ex) {
                 log.error("An error occurred while running the {} class, message: {}",
-                    task.getClass().getSimpleName(), ex.getMessage(), ex
+                    getClass().getSimpleName(), ex.getMessage(), ex
                 );
             }
         }
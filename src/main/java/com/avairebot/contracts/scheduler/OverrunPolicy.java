@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.contracts.scheduler;
+
+public enum OverrunPolicy {
+
+    /**
+     * Skip, the run is dropped if the previous run is still going when
+     * the job or task is due again, the next run will then happen
+     * at the next scheduled time like nothing happened.
+     */
+    SKIP,
+
+    /**
+     * Catch up, the run is delayed until the previous run is done, and then
+     * invoked right after it, missed runs are combined into a single run
+     * so the job or task can never pile up more than one run behind.
+     */
+    CATCH_UP
+}
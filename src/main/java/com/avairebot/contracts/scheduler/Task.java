@@ -31,4 +31,15 @@ public interface Task {
      * @param avaire The AvaIre class instance.
      */
     void handle(AvaIre avaire);
+
+    /**
+     * Gets the policy used when the task is due while the previous
+     * run of the task is still going, by default the late run
+     * is skipped in favour of the next scheduled run.
+     *
+     * @return The overrun policy for the task.
+     */
+    default OverrunPolicy getOverrunPolicy() {
+        return OverrunPolicy.SKIP;
+    }
 }
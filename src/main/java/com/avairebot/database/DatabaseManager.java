@@ -24,11 +24,18 @@ package com.avairebot.database;
 import com.avairebot.AvaIre;
 import com.avairebot.contracts.database.BatchQueryFunction;
 import com.avairebot.contracts.database.Database;
+import com.avairebot.contracts.database.StreamFunction;
+import com.avairebot.contracts.database.TransactionFunction;
 import com.avairebot.database.collection.Collection;
+import com.avairebot.database.collection.DataRowCursor;
 import com.avairebot.database.connections.MySQL;
 import com.avairebot.database.connections.SQLite;
 import com.avairebot.database.exceptions.DatabaseException;
 import com.avairebot.database.migrate.Migrations;
+import com.avairebot.database.pool.ConnectionPool;
+import com.avairebot.database.pool.ConnectionPoolSettings;
+import com.avairebot.database.pool.PooledConnection;
+import com.avairebot.database.query.PreparedQuery;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.schema.Schema;
 import com.avairebot.database.seeder.SeederManager;
@@ -41,8 +48,8 @@ import org.slf4j.MDC;
 import javax.annotation.WillClose;
 import java.sql.*;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseManager {
@@ -59,6 +66,7 @@ public class DatabaseManager {
 
     private int queryRetries = 5;
     private Database connection = null;
+    private ConnectionPool pool = null;
 
     public DatabaseManager(AvaIre avaire) {
         this.avaire = avaire;
@@ -67,7 +75,7 @@ public class DatabaseManager {
         this.seeder = new SeederManager();
 
         this.batchIncrementer = new AtomicInteger(0);
-        this.runningBatchRequests = new HashSet<>();
+        this.runningBatchRequests = ConcurrentHashMap.newKeySet();
     }
 
     public AvaIre getAvaire() {
@@ -113,6 +121,65 @@ public class DatabaseManager {
         return connection;
     }
 
+    /**
+     * Gets the connection pool used for running queries, if the pool
+     * haven't been created yet it will be created using the
+     * pool settings from the config.
+     *
+     * @return The connection pool used for running queries.
+     * @throws SQLException      if the database connection could not be opened.
+     * @throws DatabaseException if an invalid database type is set in the config.
+     */
+    public synchronized ConnectionPool getPool() throws SQLException, DatabaseException {
+        if (pool == null) {
+            Database database = getConnection();
+
+            // SQLite only allows a single writer at a time, so we default to a single
+            // pooled connection to avoid having queries failing due to the
+            // database file being locked by another connection.
+            pool = new ConnectionPool(database::createConnection, ConnectionPoolSettings.fromConfig(
+                avaire.getConfig(), database instanceof SQLite ? 1 : 10
+            ));
+            pool.fill();
+
+            QueryMetrics.setSlowQueryThreshold(
+                avaire.getConfig().getLong("database.slow-query-threshold", 0)
+            );
+        }
+        return pool;
+    }
+
+    /**
+     * Leases a connection from the connection pool, the connection is reserved for
+     * the caller until the returned pooled connection is closed, which will
+     * return the connection to the pool so it can be re-used.
+     * <p>
+     * <strong>Example:</strong>
+     * <pre><code>
+     * try (PooledConnection lease = databaseManager.leaseConnection()) {
+     *     Connection connection = lease.getConnection();
+     *     // Use the connection...
+     * }
+     * </code></pre>
+     *
+     * @return The leased pooled connection.
+     * @throws SQLException if a database access error occurs, or no connection
+     *                      became available within the borrow timeout.
+     */
+    public PooledConnection leaseConnection() throws SQLException {
+        return getPool().lease();
+    }
+
+    /**
+     * Shuts down the connection pool, closing all the pooled connections.
+     */
+    public synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
     public void setRetries(int retries) {
         this.queryRetries = retries;
     }
@@ -144,7 +211,11 @@ public class DatabaseManager {
         log.debug("query(String query) was called with the following SQL query.\nSQL: " + query);
         MDC.put("query", query);
 
-        return runQuery(query, queryRetries);
+        long start = System.nanoTime();
+        Collection collection = runQuery(query, queryRetries);
+        QueryMetrics.observe(query, System.nanoTime() - start, collection.size());
+
+        return collection;
     }
 
     /**
@@ -167,7 +238,73 @@ public class DatabaseManager {
      */
     @WillClose
     public Collection query(QueryBuilder query) throws SQLException {
-        return query(query.toSQL());
+        PreparedQuery preparedQuery = prepareQuery(query);
+        log.debug("query(QueryBuilder query) was called with the following SQL query.\nSQL: " + preparedQuery.getQuery());
+        MDC.put("query", preparedQuery.getQuery());
+
+        long start = System.nanoTime();
+        Collection collection = runPreparedQuery(preparedQuery, queryRetries);
+        QueryMetrics.observe(preparedQuery, System.nanoTime() - start, collection.size());
+
+        return collection;
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder, and streams the result through the given
+     * stream function one row at a time, the rows are read from the database in batches of the given
+     * fetch size as the stream function consumes them, so the entire result is never loaded into
+     * memory at once, and the stream function is able to stop the stream early by returning false.
+     * <p>
+     * The leased connection is kept open until the stream is done, so the stream function should
+     * avoid doing slow work for each row, large tables should be streamed in chunks using the
+     * {@link QueryBuilder#chunkByKey(int, StreamFunction, String...) chunk by key method}.
+     * <p>
+     * Queries run by the stream function lease their own connection, except for SQLite where the
+     * pool only has a single connection, the queries will then re-use the connection that is
+     * held by the stream, since waiting for another connection would never succeed.
+     * <p>
+     * <strong>Example:</strong>
+     * <pre><code>
+     * databaseManager.stream(query, 500, row -> {
+     *     long userId = row.getLong("user_id");
+     *     // Use the row...
+     *     return true;
+     * });
+     * </code></pre>
+     *
+     * @param query     a QueryBuilder instance that should be sent to the database, typically a
+     *                  static SQL <code>SELECT</code> statement
+     * @param fetchSize the amount of rows that should be fetched from the database at a time
+     * @param stream    the function that should be called for each row
+     * @return the amount of rows that was passed to the stream function
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object, or the stream function throws an exception
+     */
+    public long stream(QueryBuilder query, int fetchSize, StreamFunction stream) throws SQLException {
+        PreparedQuery preparedQuery = prepareQuery(query);
+        log.debug("stream(QueryBuilder query) was called with the following SQL query.\nSQL: " + preparedQuery.getQuery());
+        MDC.put("query", preparedQuery.getQuery());
+
+        long start = System.nanoTime();
+
+        try (PooledConnection lease = leaseConnection();
+             PreparedStatement statement = getConnection().prepareStreamingStatement(lease.getConnection(), preparedQuery.getQuery(), fetchSize)) {
+            preparedQuery.bind(statement);
+
+            try (DataRowCursor cursor = new DataRowCursor(statement.executeQuery())) {
+                while (cursor.next()) {
+                    if (!stream.run(cursor.getRow())) {
+                        break;
+                    }
+                }
+
+                QueryMetrics.observe(preparedQuery, System.nanoTime() - start, (int) Math.min(cursor.getPosition(), Integer.MAX_VALUE));
+
+                return cursor.getPosition();
+            }
+        }
     }
 
     /**
@@ -191,7 +328,11 @@ public class DatabaseManager {
         log.debug("queryUpdate(String query) was called with the following SQL query.\nSQL: " + query);
         MDC.put("query", query);
 
-        return runQueryUpdate(query, queryRetries);
+        long start = System.nanoTime();
+        int rows = runQueryUpdate(query, queryRetries);
+        QueryMetrics.observe(query, System.nanoTime() - start, rows);
+
+        return rows;
     }
 
     /**
@@ -213,7 +354,15 @@ public class DatabaseManager {
      */
     @WillClose
     public int queryUpdate(QueryBuilder query) throws SQLException {
-        return queryUpdate(query.toSQL());
+        PreparedQuery preparedQuery = prepareQuery(query);
+        log.debug("queryUpdate(QueryBuilder query) was called with the following SQL query.\nSQL: " + preparedQuery.getQuery());
+        MDC.put("query", preparedQuery.getQuery());
+
+        long start = System.nanoTime();
+        int rows = runPreparedQueryUpdate(preparedQuery, queryRetries);
+        QueryMetrics.observe(preparedQuery, System.nanoTime() - start, rows);
+
+        return rows;
     }
 
     /**
@@ -234,14 +383,17 @@ public class DatabaseManager {
     @WillClose
     public Set<Integer> queryInsert(String query) throws SQLException {
         log.debug("queryInsert(String query) was called with the following SQL query.\nSQL: " + query);
-        Metrics.databaseQueries.labels("INSERT").inc();
         MDC.put("query", query);
 
         if (!query.toUpperCase().startsWith("INSERT INTO")) {
             throw new DatabaseException("queryInsert was called with a query without an INSERT statement!");
         }
 
-        return runQueryInsert(query, queryRetries);
+        long start = System.nanoTime();
+        Set<Integer> ids = runQueryInsert(query, queryRetries);
+        QueryMetrics.observe(query, System.nanoTime() - start, ids.size());
+
+        return ids;
     }
 
     /**
@@ -262,20 +414,19 @@ public class DatabaseManager {
      */
     @WillClose
     public Set<Integer> queryInsert(QueryBuilder queryBuilder) throws SQLException {
-        String query = queryBuilder.toSQL();
-        log.debug("queryInsert(QueryBuilder queryBuilder) was called with the following SQL query.\nSQL: " + query);
-        Metrics.databaseQueries.labels("INSERT").inc();
-        MDC.put("query", query);
-
-        if (query == null) {
-            throw new SQLException("null query was generated, null can not be used as a valid query");
-        }
+        PreparedQuery query = prepareQuery(queryBuilder);
+        log.debug("queryInsert(QueryBuilder queryBuilder) was called with the following SQL query.\nSQL: " + query.getQuery());
+        MDC.put("query", query.getQuery());
 
-        if (!query.toUpperCase().startsWith("INSERT INTO")) {
+        if (!query.getQuery().toUpperCase().startsWith("INSERT INTO")) {
             throw new DatabaseException("queryInsert was called with a query without an INSERT statement!");
         }
 
-        return runQueryInsert(queryBuilder, queryRetries);
+        long start = System.nanoTime();
+        Set<Integer> ids = runPreparedQueryInsert(query, queryRetries);
+        QueryMetrics.observe(query, System.nanoTime() - start, ids.size());
+
+        return ids;
     }
 
     /**
@@ -316,6 +467,34 @@ public class DatabaseManager {
         runQueryBatch(query, queryFunction, batchIncrementer.getAndIncrement(), queryRetries);
     }
 
+    /**
+     * Runs the given transaction function on its own leased connection with auto commit
+     * disabled, once the function returns the transaction will be committed, if an
+     * exception is thrown the transaction will be rolled back instead, and the
+     * exception is passed on to the caller, if the transaction is rolled
+     * back by the database due to a deadlock it will be retried.
+     * <p>
+     * <strong>Example:</strong>
+     * <pre><code>
+     * databaseManager.transaction(connection -> {
+     *     try (Statement statement = connection.createStatement()) {
+     *         statement.executeUpdate("DELETE FROM `some_table` WHERE `id` = 1");
+     *         statement.executeUpdate("DELETE FROM `other_table` WHERE `some_id` = 1");
+     *     }
+     * });
+     * </code></pre>
+     *
+     * @param transaction The function that should be run within the transaction.
+     * @throws SQLException        if a database access error occurs, or the transaction fails.
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public void transaction(TransactionFunction transaction) throws SQLException {
+        runTransaction(transaction, queryRetries);
+    }
+
     /**
      * Checks if there are any running batch query requests running right now.
      *
@@ -327,11 +506,13 @@ public class DatabaseManager {
 
     @WillClose
     private Collection runQuery(String query, int retriesLeft) throws SQLException {
-        try (ResultSet resultSet = getConnection().query(query)) {
+        try (PooledConnection lease = leaseConnection();
+             ResultSet resultSet = getConnection().query(lease.getConnection(), query)) {
             return new Collection(resultSet);
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
-                return runQuery(query, --retriesLeft);
+                Metrics.databaseQueryRetries.labels(QueryMetrics.getType(query)).inc();
+                return runQuery(query, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
                 e.getMessage(), e.getSQLState(), e.getErrorCode()
@@ -341,7 +522,8 @@ public class DatabaseManager {
 
     @WillClose
     private int runQueryUpdate(String query, int retriesLeft) throws SQLException {
-        try (Statement stmt = getConnection().prepare(query)) {
+        try (PooledConnection lease = leaseConnection();
+             Statement stmt = getConnection().prepare(lease.getConnection(), query)) {
             if (stmt instanceof PreparedStatement) {
                 return ((PreparedStatement) stmt).executeUpdate();
             }
@@ -349,6 +531,7 @@ public class DatabaseManager {
             return stmt.executeUpdate(query);
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
+                Metrics.databaseQueryRetries.labels(QueryMetrics.getType(query)).inc();
                 return runQueryUpdate(query, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
@@ -359,7 +542,8 @@ public class DatabaseManager {
 
     @WillClose
     private Set<Integer> runQueryInsert(String query, int retriesLeft) throws SQLException {
-        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try (PooledConnection lease = leaseConnection();
+             PreparedStatement stmt = lease.getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             stmt.executeUpdate();
 
             Set<Integer> ids = new HashSet<>();
@@ -372,6 +556,7 @@ public class DatabaseManager {
             return ids;
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
+                Metrics.databaseQueryRetries.labels(QueryMetrics.getType(query)).inc();
                 return runQueryInsert(query, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
@@ -381,43 +566,58 @@ public class DatabaseManager {
     }
 
     @WillClose
-    private Set<Integer> runQueryInsert(QueryBuilder queryBuilder, int retriesLeft) throws SQLException {
-        String query = queryBuilder.toSQL();
-
-        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            int preparedIndex = 1;
-            for (Map<String, Object> row : queryBuilder.getItems()) {
-                for (Map.Entry<String, Object> item : row.entrySet()) {
-                    if (item.getValue() == null) {
-                        continue;
-                    }
-
-                    String value = item.getValue().toString();
+    private Collection runPreparedQuery(PreparedQuery query, int retriesLeft) throws SQLException {
+        try (PooledConnection lease = leaseConnection()) {
+            PreparedStatement stmt = prepareReusableStatement(lease, query, false);
 
-                    if (value.startsWith("RAW:") ||
-                        value.equalsIgnoreCase("true") ||
-                        value.equalsIgnoreCase("false") ||
-                        value.matches("[-+]?\\d*\\.?\\d+")) {
-                        continue;
-                    }
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                return new Collection(resultSet);
+            }
+        } catch (MySQLTransactionRollbackException e) {
+            if (--retriesLeft > 0) {
+                Metrics.databaseQueryRetries.labels(query.getType().name()).inc();
+                return runPreparedQuery(query, retriesLeft);
+            }
+            throw new MySQLTransactionRollbackException(
+                e.getMessage(), e.getSQLState(), e.getErrorCode()
+            );
+        }
+    }
 
-                    stmt.setString(preparedIndex++, value);
-                }
+    @WillClose
+    private int runPreparedQueryUpdate(PreparedQuery query, int retriesLeft) throws SQLException {
+        try (PooledConnection lease = leaseConnection()) {
+            return prepareReusableStatement(lease, query, false).executeUpdate();
+        } catch (MySQLTransactionRollbackException e) {
+            if (--retriesLeft > 0) {
+                Metrics.databaseQueryRetries.labels(query.getType().name()).inc();
+                return runPreparedQueryUpdate(query, retriesLeft);
             }
+            throw new MySQLTransactionRollbackException(
+                e.getMessage(), e.getSQLState(), e.getErrorCode()
+            );
+        }
+    }
 
+    @WillClose
+    private Set<Integer> runPreparedQueryInsert(PreparedQuery query, int retriesLeft) throws SQLException {
+        try (PooledConnection lease = leaseConnection()) {
+            PreparedStatement stmt = prepareReusableStatement(lease, query, true);
             stmt.executeUpdate();
 
             Set<Integer> ids = new HashSet<>();
 
-            ResultSet keys = stmt.getGeneratedKeys();
-            while (keys.next()) {
-                ids.add(keys.getInt(1));
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getInt(1));
+                }
             }
 
             return ids;
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
-                return runQueryInsert(query, retriesLeft);
+                Metrics.databaseQueryRetries.labels(query.getType().name()).inc();
+                return runPreparedQueryInsert(query, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
                 e.getMessage(), e.getSQLState(), e.getErrorCode()
@@ -425,46 +625,93 @@ public class DatabaseManager {
         }
     }
 
+    private PreparedQuery prepareQuery(QueryBuilder queryBuilder) throws SQLException {
+        PreparedQuery query = queryBuilder.toPreparedSQL();
+        if (query == null) {
+            throw new SQLException("null query was generated, null can not be used as a valid query");
+        }
+        return query;
+    }
+
+    private PreparedStatement prepareReusableStatement(PooledConnection lease, PreparedQuery query, boolean returnGeneratedKeys) throws SQLException {
+        Database database = getConnection();
+
+        // The statements are cached on the leased connection using the query as the key, since
+        // the query only depends on the shape of the query builder, the same statement will
+        // be re-used for all the queries with the same shape, only the values are re-bound.
+        PreparedStatement statement = lease.prepareCachedStatement(query.getQuery(), returnGeneratedKeys, () ->
+            database.prepareReusableStatement(lease.getConnection(), query.getQuery(), returnGeneratedKeys)
+        );
+        query.bind(statement);
+
+        return statement;
+    }
+
     private void runQueryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction, int batchId, int retriesLeft) throws SQLException {
         log.debug("Running batch query with the following values:\n - Query: {}\n - Batch ID: {}\n - Retries Left: {}",
             query, batchId, retriesLeft
         );
 
-        Connection connection = getConnection().getConnection();
-
-        if (!runningBatchRequests.contains(batchId)) {
-            runningBatchRequests.add(batchId);
-        }
+        runningBatchRequests.add(batchId);
 
         try {
-            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            int[] batchSize = new int[]{0};
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-                queryFunction.run(preparedStatement);
+            runTransaction(connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    queryFunction.run(preparedStatement);
 
-                preparedStatement.executeBatch();
-            }
+                    batchSize[0] = preparedStatement.executeBatch().length;
+                }
+            }, retriesLeft);
+
+            QueryMetrics.observeBatch(query, System.nanoTime() - start, batchSize[0]);
         } catch (SQLException e) {
             log.error("An SQL exception was thrown while running a batch query: {}", query, e);
 
-            try {
-                connection.rollback();
-            } catch (SQLException e1) {
-                log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
-            }
+            // The exception is passed on so the caller knows the batch was rolled back,
+            // allowing them to retry or restore whatever the batch was meant to store.
+            throw e;
         } finally {
+            runningBatchRequests.remove(batchId);
+        }
+    }
+
+    private void runTransaction(TransactionFunction transaction, int retriesLeft) throws SQLException {
+        try (PooledConnection lease = leaseConnection()) {
+            Connection connection = lease.getConnection();
+            connection.setAutoCommit(false);
+
             try {
+                transaction.run(connection);
                 connection.commit();
 
-                runningBatchRequests.remove(batchId);
-                if (runningBatchRequests.isEmpty()) {
-                    connection.setAutoCommit(true);
-                }
+                return;
             } catch (MySQLTransactionRollbackException e) {
-                if (--retriesLeft > 0) {
-                    runQueryBatch(query, queryFunction, batchId, retriesLeft);
+                rollback(connection);
+
+                if (--retriesLeft <= 0) {
+                    throw e;
                 }
+                Metrics.databaseQueryRetries.labels("TRANSACTION").inc();
+            } catch (SQLException | RuntimeException e) {
+                rollback(connection);
+
+                throw e;
             }
         }
+
+        // The connection is returned to the pool before we retry the transaction,
+        // so we don't end up holding onto more than one connection at a time.
+        runTransaction(transaction, retriesLeft);
+    }
+
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.error("An SQL exception was thrown while attempting to rollback a transaction", e);
+        }
     }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database;
+
+import com.avairebot.database.query.PreparedQuery;
+import com.avairebot.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class QueryMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetrics.class);
+
+    /**
+     * The pattern used to find the table name in raw SQL queries, the
+     * first table after a FROM, INTO, UPDATE, or TABLE keyword.
+     */
+    private static final Pattern tablePattern = Pattern.compile(
+        "\\b(?:FROM|INTO|UPDATE|TABLE)\\s+(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?[`\"]?([\\w]+)[`\"]?", Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * The pattern used to match string literals in raw SQL queries, including escaped quotes.
+     */
+    private static final Pattern stringLiteralPattern = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+
+    /**
+     * The pattern used to match numeric literals in raw SQL queries, numbers
+     * that are part of an identifier, like "table_2", are not matched.
+     */
+    private static final Pattern numberLiteralPattern = Pattern.compile("(?<![\\w`])[-+]?\\d+(?:\\.\\d+)?(?![\\w`])");
+
+    /**
+     * The amount of time in nanoseconds a query can take before it's
+     * logged as a slow query, zero disables the slow query log.
+     */
+    private static volatile long slowQueryThreshold = 0L;
+
+    /**
+     * Sets the amount of time a query can take before it's logged
+     * as a slow query, zero or less disables the log.
+     *
+     * @param threshold The threshold in milliseconds.
+     */
+    public static void setSlowQueryThreshold(long threshold) {
+        slowQueryThreshold = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, threshold));
+    }
+
+    /**
+     * Records the given prepared query in the database metrics, and logs
+     * the query if it exceeded the slow query threshold.
+     *
+     * @param query The prepared query that was executed.
+     * @param time  The time in nanoseconds the query took.
+     * @param rows  The amount of rows returned or affected by the query.
+     */
+    static void observe(@Nonnull PreparedQuery query, long time, int rows) {
+        record(query.getType().name(), getTableOrUnknown(query.getTable()), time, rows, query::getQuery);
+    }
+
+    /**
+     * Records the given raw SQL query in the database metrics, and logs the
+     * shape of the query if it exceeded the slow query threshold.
+     *
+     * @param query The raw SQL query that was executed.
+     * @param time  The time in nanoseconds the query took.
+     * @param rows  The amount of rows returned or affected by the query.
+     */
+    static void observe(@Nonnull String query, long time, int rows) {
+        record(getType(query), getTable(query), time, rows, () -> toShape(query));
+    }
+
+    /**
+     * Records the given batch query in the database metrics, and logs the
+     * query if it exceeded the slow query threshold.
+     *
+     * @param query The query used for every statement in the batch.
+     * @param time  The time in nanoseconds the batch took.
+     * @param size  The amount of statements sent in the batch.
+     */
+    static void observeBatch(@Nonnull String query, long time, int size) {
+        String table = getTable(query);
+
+        Metrics.databaseBatchSize.labels(table).observe(size);
+        record("BATCH", table, time, size, () -> toShape(query));
+    }
+
+    private static void record(String type, String table, long time, int rows, Supplier<String> shape) {
+        Metrics.databaseQueries.labels(type).inc();
+        Metrics.databaseQueryTime.labels(type, table).observe(time / 1E9D);
+        Metrics.databaseQueryRows.labels(type).observe(rows);
+
+        if (slowQueryThreshold > 0L && time >= slowQueryThreshold) {
+            log.warn("Slow {} query on {} took {}ms and returned or affected {} rows: {}",
+                type, table, TimeUnit.NANOSECONDS.toMillis(time), rows, shape.get()
+            );
+        }
+    }
+
+    /**
+     * Gets the type of the given raw SQL query from the first keyword in the query.
+     *
+     * @param query The raw SQL query.
+     * @return The type of the query in upper case, or {@code OTHER} if the query is empty.
+     */
+    static String getType(@Nonnull String query) {
+        String trimmed = query.trim();
+
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+
+        return end == 0 ? "OTHER" : trimmed.substring(0, end).toUpperCase();
+    }
+
+    /**
+     * Gets the table the given raw SQL query is run against.
+     *
+     * @param query The raw SQL query.
+     * @return The name of the table, or {@code unknown} if no table could be found.
+     */
+    static String getTable(@Nonnull String query) {
+        Matcher matcher = tablePattern.matcher(query);
+
+        return matcher.find() ? matcher.group(1) : "unknown";
+    }
+
+    /**
+     * Gets the table name that should be used for the query metrics.
+     *
+     * @param table The table name, or {@code NULL}.
+     * @return The table name, or {@code unknown} if the table is {@code NULL}.
+     */
+    static String getTableOrUnknown(@Nullable String table) {
+        return table == null || table.isEmpty() ? "unknown" : table;
+    }
+
+    /**
+     * Converts the given raw SQL query to its shape, replacing all the string
+     * and number literals with question marks(?), so queries that only
+     * differs in their values are logged the same way.
+     *
+     * @param query The raw SQL query.
+     * @return The shape of the query.
+     */
+    static String toShape(@Nonnull String query) {
+        String shape = stringLiteralPattern.matcher(query).replaceAll("?");
+
+        return numberLiteralPattern.matcher(shape).replaceAll("?");
+    }
+}
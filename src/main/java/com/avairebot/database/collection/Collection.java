@@ -126,14 +126,15 @@ public class Collection implements Cloneable, Iterable<DataRow> {
             keys.put(meta.getColumnLabel(i), meta.getColumnClassName(i));
         }
 
-        while (result.next()) {
-            Map<String, Object> array = new HashMap<>();
+        // All the rows shares the same column index, so each row only
+        // has to store its own values, and none of the column names.
+        ColumnIndex columns = ColumnIndex.fromMetaData(meta);
 
-            for (String key : keys.keySet()) {
-                array.put(key, result.getString(key));
-            }
+        while (result.next()) {
+            DataRow row = new DataRow(columns);
+            row.load(result);
 
-            items.add(new DataRow(array));
+            items.add(row);
         }
 
         if (!result.isClosed()) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.collection;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The column index is the shared header for all the data rows created from
+ * the same result set, it maps the column names to their position in
+ * the data rows, and keeps track of how each column is stored.
+ */
+final class ColumnIndex {
+
+    private final String[] names;
+    private final ColumnType[] types;
+    private final Map<String, Integer> positions;
+    private final Set<String> keys;
+
+    private ColumnIndex(String[] names, ColumnType[] types) {
+        this.names = names;
+        this.types = types;
+        this.positions = new HashMap<>(names.length * 4);
+
+        TreeSet<String> keys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = names.length - 1; i >= 0; i--) {
+            positions.put(names[i], i);
+            positions.put(names[i].toLowerCase(), i);
+            keys.add(names[i]);
+        }
+        this.keys = Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Creates a column index from the given result set meta data.
+     *
+     * @param meta The result set meta data the column index should be created from.
+     * @return The column index for the given meta data.
+     * @throws SQLException if a database access error occurs.
+     */
+    static ColumnIndex fromMetaData(ResultSetMetaData meta) throws SQLException {
+        String[] names = new String[meta.getColumnCount()];
+        ColumnType[] types = new ColumnType[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            names[i] = meta.getColumnLabel(i + 1);
+            types[i] = ColumnType.fromSqlType(meta.getColumnType(i + 1), meta.isSigned(i + 1));
+        }
+
+        return new ColumnIndex(names, types);
+    }
+
+    /**
+     * Gets the position of the column with the given name, the
+     * column names are matched case-insensitively.
+     *
+     * @param name The name of the column.
+     * @return The position of the column, or <code>-1</code> if there are no column with the given name.
+     */
+    int indexOf(String name) {
+        Integer position = positions.get(name);
+        if (position == null) {
+            position = positions.get(name.toLowerCase());
+        }
+        return position == null ? -1 : position;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String getName(int index) {
+        return names[index];
+    }
+
+    ColumnType getType(int index) {
+        return types[index];
+    }
+
+    Set<String> keySet() {
+        return keys;
+    }
+
+    enum ColumnType {
+
+        /**
+         * Integer columns, stored as primitive longs.
+         */
+        LONG,
+
+        /**
+         * Binary columns, stored as raw bytes.
+         */
+        BINARY,
+
+        /**
+         * Every other column, stored as strings.
+         */
+        STRING;
+
+        static ColumnType fromSqlType(int type, boolean signed) {
+            switch (type) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                    return LONG;
+
+                case Types.BIGINT:
+                    // Unsigned big integers can be larger than what fits in a long.
+                    return signed ? LONG : STRING;
+
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return BINARY;
+
+                default:
+                    return STRING;
+            }
+        }
+    }
+}
@@ -27,7 +27,9 @@ import com.avairebot.time.Carbon;
 import com.avairebot.utilities.NumberUtil;
 import com.google.gson.Gson;
 
-import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Base64;
 import java.util.Map;
 import java.util.Set;
@@ -36,8 +38,22 @@ import java.util.TreeMap;
 @SuppressWarnings("WeakerAccess")
 public class DataRow {
 
-    private final Map<String, Object> items;
-    private final Map<String, String> decodedItems;
+    /**
+     * The shared column index for rows created from a result set, rows created from
+     * a result set stores their values in the typed arrays below, positioned by
+     * the column index, while all other rows stores their values in the map.
+     */
+    @Nullable
+    private final ColumnIndex columns;
+    @Nullable
+    private final long[] primitives;
+    @Nullable
+    private final Object[] values;
+    @Nullable
+    private boolean[] nulls;
+
+    private Map<String, Object> items;
+    private Map<String, String> decodedItems;
 
     /**
      * Creates a new data row object from the provided data row.
@@ -45,7 +61,18 @@ public class DataRow {
      * @param row The row to generate the data row from.
      */
     public DataRow(DataRow row) {
-        this(row.items);
+        if (row.columns == null) {
+            this.columns = null;
+            this.primitives = null;
+            this.values = null;
+            this.items = copyItems(row.items);
+            return;
+        }
+
+        this.columns = row.columns;
+        this.primitives = row.primitives.clone();
+        this.values = row.values.clone();
+        this.nulls = row.nulls == null ? null : row.nulls.clone();
     }
 
     /**
@@ -54,12 +81,54 @@ public class DataRow {
      * @param items The map to generate the data row from.
      */
     public DataRow(Map<String, Object> items) {
-        this.items = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        this.decodedItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.columns = null;
+        this.primitives = null;
+        this.values = null;
+        this.items = copyItems(items);
+    }
 
-        for (Map.Entry<String, Object> item : items.entrySet()) {
-            this.items.put(item.getKey(), item.getValue());
+    /**
+     * Creates a new empty data row object using the given column index, the
+     * row values can then be loaded from a result set using
+     * the {@link #load(ResultSet)} method.
+     *
+     * @param columns The column index for the result set the row belongs to.
+     */
+    DataRow(ColumnIndex columns) {
+        this.columns = columns;
+        this.primitives = new long[columns.size()];
+        this.values = new Object[columns.size()];
+    }
+
+    /**
+     * Loads the values for the current row of the given result set into the data row,
+     * replacing any values that was previously loaded, integer columns are read
+     * as primitives, binary columns as raw bytes, and everything else as strings.
+     *
+     * @param result The result set to load the current row from.
+     * @throws SQLException if a database access error occurs.
+     */
+    void load(ResultSet result) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            switch (columns.getType(i)) {
+                case LONG:
+                    primitives[i] = result.getLong(i + 1);
+                    setNull(i, result.wasNull());
+                    break;
+
+                case BINARY:
+                    // Binary columns are kept as raw bytes, converting them to
+                    // strings would corrupt any bytes that isn't valid text.
+                    values[i] = result.getBytes(i + 1);
+                    break;
+
+                default:
+                    values[i] = result.getString(i + 1);
+            }
         }
+
+        items = null;
+        decodedItems = null;
     }
 
     /**
@@ -82,11 +151,22 @@ public class DataRow {
      * or (2) the default value given.
      */
     public Object get(String name, Object def) {
-        if (has(name)) {
-            return items.get(name);
+        if (columns == null) {
+            return items.containsKey(name) ? items.get(name) : def;
         }
 
-        return def;
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            return def;
+        }
+
+        if (columns.getType(index) != ColumnIndex.ColumnType.LONG) {
+            return values[index];
+        }
+
+        // Integer columns are returned as strings, like every other column
+        // is, so rows created from result sets behaves the same as before.
+        return isNull(index) ? null : String.valueOf(primitives[index]);
     }
 
     /**
@@ -109,6 +189,11 @@ public class DataRow {
      * or (2) the default value given.
      */
     public boolean getBoolean(String name, boolean def) {
+        int index = indexOfLongColumn(name);
+        if (index >= 0) {
+            return isNull(index) ? def : primitives[index] != 0;
+        }
+
         Object value = get(name, def);
 
         if (isNull(value)) {
@@ -121,7 +206,11 @@ public class DataRow {
             return isEqual(str, "1", "true");
         }
 
-        return (boolean) value;
+        if (value instanceof Boolean) {
+            return (boolean) value;
+        }
+
+        return def;
     }
 
     /**
@@ -144,6 +233,11 @@ public class DataRow {
      * or (2) the default value given.
      */
     public double getDouble(String name, double def) {
+        int index = indexOfLongColumn(name);
+        if (index >= 0) {
+            return isNull(index) ? def : primitives[index];
+        }
+
         Object value = get(name, def);
 
         if (isNull(value)) {
@@ -160,25 +254,11 @@ public class DataRow {
             }
         }
 
-        switch (getType(value)) {
-            case "Integer":
-                value = ((Integer) value).doubleValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).doubleValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).doubleValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
         }
 
-        try {
-            return (double) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -201,6 +281,11 @@ public class DataRow {
      * or (2) the default value given.
      */
     public int getInt(String name, int def) {
+        int index = indexOfLongColumn(name);
+        if (index >= 0) {
+            return isNull(index) ? def : (int) primitives[index];
+        }
+
         Object value = get(name, def);
 
         if (isNull(value)) {
@@ -213,25 +298,11 @@ public class DataRow {
             return NumberUtil.parseInt(str, def);
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).intValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).intValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).intValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
         }
 
-        try {
-            return (int) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -254,6 +325,11 @@ public class DataRow {
      * or (2) the default value given.
      */
     public long getLong(String name, long def) {
+        int index = indexOfLongColumn(name);
+        if (index >= 0) {
+            return isNull(index) ? def : primitives[index];
+        }
+
         Object value = get(name, def);
 
         if (isNull(value)) {
@@ -270,25 +346,11 @@ public class DataRow {
             }
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).longValue();
-                break;
-
-            case "Integer":
-                value = ((Integer) value).longValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).longValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
         }
 
-        try {
-            return (long) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -311,6 +373,11 @@ public class DataRow {
      * or (2) the default value given.
      */
     public float getFloat(String name, float def) {
+        int index = indexOfLongColumn(name);
+        if (index >= 0) {
+            return isNull(index) ? def : primitives[index];
+        }
+
         Object value = get(name, def);
 
         if (isNull(value)) {
@@ -327,25 +394,11 @@ public class DataRow {
             }
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).floatValue();
-                break;
-
-            case "Integer":
-                value = ((Integer) value).floatValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).floatValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
         }
 
-        try {
-            return (float) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -380,7 +433,9 @@ public class DataRow {
             return string;
         }
 
-        if (decodedItems.containsKey(name)) {
+        if (decodedItems == null) {
+            decodedItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        } else if (decodedItems.containsKey(name)) {
             return decodedItems.get(name);
         }
 
@@ -396,6 +451,38 @@ public class DataRow {
         }
     }
 
+    /**
+     * Gets a byte array from the data rows item list, binary columns are stored
+     * as raw bytes, while strings encoded with base64 will be decoded.
+     *
+     * @param name The index(name) to get.
+     * @return either (1) The bytes of the index given,
+     * or (2) <code>NULL</code> if the index doesn't exists, or isn't binary data.
+     */
+    @Nullable
+    public byte[] getBytes(String name) {
+        Object value = get(name, null);
+
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+
+        if (isNull(value)) {
+            return null;
+        }
+
+        String string = String.valueOf(value);
+        if (!string.startsWith("base64:")) {
+            return null;
+        }
+
+        try {
+            return Base64.getDecoder().decode(string.substring(7));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
     /**
      * Gets a carbon timestamp object from the data rows item list.
      *
@@ -435,7 +522,10 @@ public class DataRow {
      * @return true if the index exists, otherwise it will return false.
      */
     public boolean has(String name) {
-        return items.containsKey(name);
+        if (columns == null) {
+            return items.containsKey(name);
+        }
+        return columns.indexOf(name) >= 0;
     }
 
     /**
@@ -444,7 +534,10 @@ public class DataRow {
      * @return All the keys from the data row.
      */
     public Set<String> keySet() {
-        return items.keySet();
+        if (columns == null) {
+            return items.keySet();
+        }
+        return columns.keySet();
     }
 
     /**
@@ -453,6 +546,12 @@ public class DataRow {
      * @return The raw data of the data row.
      */
     public Map<String, Object> getRaw() {
+        if (items == null) {
+            items = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < columns.size(); i++) {
+                items.put(columns.getName(i), get(columns.getName(i)));
+            }
+        }
         return items;
     }
 
@@ -467,20 +566,48 @@ public class DataRow {
      * @return the JSON collection string
      */
     public String toJson() {
-        return AvaIre.gson.toJson(items);
+        return AvaIre.gson.toJson(getRaw());
     }
 
-    private boolean isString(Object name) {
-        return getType(name).equalsIgnoreCase("string");
+    private Map<String, Object> copyItems(Map<String, Object> items) {
+        Map<String, Object> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(items);
+
+        return copy;
     }
 
-    private boolean isNull(Object object) {
-        return object == null || object == "null";
+    private int indexOfLongColumn(String name) {
+        if (columns == null) {
+            return -1;
+        }
+
+        int index = columns.indexOf(name);
+        if (index < 0 || columns.getType(index) != ColumnIndex.ColumnType.LONG) {
+            return -1;
+        }
+        return index;
+    }
+
+    private void setNull(int index, boolean isNull) {
+        if (nulls == null) {
+            if (!isNull) {
+                return;
+            }
+            nulls = new boolean[primitives.length];
+        }
+        nulls[index] = isNull;
     }
 
-    @Nonnull
-    private String getType(Object name) {
-        return name == null ? "unknown-type" : name.getClass().getSimpleName();
+    private boolean isNull(int index) {
+        return nulls != null && nulls[index];
+    }
+
+    private boolean isString(Object value) {
+        return value instanceof String;
+    }
+
+    private boolean isNull(Object object) {
+        return object == null || object == "null";
     }
 
     private boolean isEqual(String name, String... items) {
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.collection;
+
+import javax.annotation.Nonnull;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * The data row cursor is a forward-only view of a result set, allowing large results
+ * to be read one row at a time, instead of loading every row into a collection.
+ * <p>
+ * The cursor re-uses the same data row for every row in the result set, so the
+ * row returned by {@link #getRow()} is only valid until the cursor is moved
+ * to the next row, use {@link DataRow#DataRow(DataRow)} to keep a copy.
+ * <p>
+ * <strong>Example:</strong>
+ * <pre><code>
+ * try (DataRowCursor cursor = new DataRowCursor(resultSet)) {
+ *     while (cursor.next()) {
+ *         long userId = cursor.getRow().getLong("user_id");
+ *         // Use the row...
+ *     }
+ * }
+ * </code></pre>
+ */
+public class DataRowCursor implements AutoCloseable {
+
+    private final ResultSet result;
+    private final ColumnIndex columns;
+    private final DataRow row;
+
+    private long position = 0;
+
+    /**
+     * Creates a new data row cursor for the given result set, the
+     * result set will be closed when the cursor is closed.
+     *
+     * @param result The result set the cursor should read from.
+     * @throws SQLException if a database access error occurs while reading the result set meta data.
+     */
+    public DataRowCursor(@Nonnull ResultSet result) throws SQLException {
+        this.result = result;
+        this.columns = ColumnIndex.fromMetaData(result.getMetaData());
+        this.row = new DataRow(columns);
+    }
+
+    /**
+     * Moves the cursor to the next row in the result set, and
+     * loads the values of the row into the cursors data row.
+     *
+     * @return <code>True</code> if the cursor was moved to the next row,
+     * <code>False</code> if there are no more rows in the result set.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean next() throws SQLException {
+        if (!result.next()) {
+            return false;
+        }
+
+        row.load(result);
+        position++;
+
+        return true;
+    }
+
+    /**
+     * Gets the data row for the current row of the cursor, the same data row
+     * instance is returned for every row, and the values will be replaced
+     * when the cursor is moved to the next row.
+     *
+     * @return The data row for the current row.
+     */
+    public DataRow getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the amount of rows the cursor has read so far.
+     *
+     * @return The amount of rows the cursor has read so far.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the names of the columns in the result set.
+     *
+     * @return The column names.
+     */
+    public Set<String> getKeys() {
+        return columns.keySet();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!result.isClosed()) {
+            result.close();
+        }
+    }
+}
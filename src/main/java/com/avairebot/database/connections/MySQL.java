@@ -28,16 +28,24 @@ import com.avairebot.database.DatabaseManager;
 import com.avairebot.database.grammar.mysql.*;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
 import com.avairebot.language.I18n;
 import com.avairebot.utilities.NumberUtil;
 
 import javax.annotation.Nonnull;
 import java.sql.*;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class MySQL extends HostnameDatabase {
 
+    /**
+     * The executor used by the JDBC driver to abort connections that
+     * exceeds the network timeout, shared between all connections.
+     */
+    private static final ExecutorService networkTimeoutExecutor = Executors.newCachedThreadPool();
+
     /**
      * Creates a MySQL database connection instance with the parsed information,
      * the port used will default to <code>3306</code>.
@@ -84,30 +92,69 @@ public class MySQL extends HostnameDatabase {
 
     @Override
     public boolean open() throws SQLException {
+        if (initialize()) {
+            connection = createConnection();
+
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Connection createConnection() throws SQLException {
         try {
             String url = String.format("jdbc:mysql://%s:%d/%s?autoReconnect=true&verifyServerCertificate=%s&useSSL=true",
                 getHostname(), getPort(), getDatabase(),
                 dbm.getAvaire().getConfig().getBoolean("database.verifyServerCertificate", true) ? "true" : "false"
             );
 
-            if (initialize()) {
-                connection = DriverManager.getConnection(url, getUsername(), getPassword());
+            Connection connection = DriverManager.getConnection(url, getUsername(), getPassword());
 
-                // Sets a timeout of 20 seconds(This is an extremely long time, however the default
-                // is around 10 minutes so this should give some improvements with the threads
-                // not being blocked for ages due to hanging database queries.
-                connection.setNetworkTimeout(Executors.newCachedThreadPool(), 1000 * 20);
+            // Sets a timeout of 20 seconds(This is an extremely long time, however the default
+            // is around 10 minutes so this should give some improvements with the threads
+            // not being blocked for ages due to hanging database queries.
+            connection.setNetworkTimeout(networkTimeoutExecutor, 1000 * 20);
 
-                return true;
-            }
+            return connection;
         } catch (SQLException ex) {
             String reason = "Could not establish a MySQL connection, SQLException: " + ex.getMessage();
 
             AvaIre.getLogger().error(reason, ex);
             throw new SQLException(reason);
         }
+    }
+
+    @Override
+    public PreparedStatement prepareReusableStatement(Connection connection, String query, boolean returnGeneratedKeys) throws SQLException {
+        int autoGeneratedKeys = returnGeneratedKeys
+            ? Statement.RETURN_GENERATED_KEYS
+            : Statement.NO_GENERATED_KEYS;
+
+        try {
+            // Server side prepared statements are parsed once by the MySQL server, and then
+            // only the bound values are sent for each execution, since the statements
+            // are cached on the pooled connections, this saves the server from
+            // having to re-parse the same query shape over and over again.
+            return connection.unwrap(com.mysql.jdbc.Connection.class)
+                .serverPrepareStatement(query, autoGeneratedKeys);
+        } catch (SQLException e) {
+            AvaIre.getLogger().debug("Failed to create server side prepared statement, falling back to client side: {}", e.getMessage());
+
+            return connection.prepareStatement(query, autoGeneratedKeys);
+        }
+    }
 
-        return false;
+    @Override
+    public PreparedStatement prepareStreamingStatement(Connection connection, String query, int fetchSize) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+        // The MySQL driver ignores positive fetch sizes unless cursor fetching is enabled for the
+        // connection, and will read the entire result into memory instead, setting the fetch
+        // size to the min integer value tells the driver to stream the rows one at a time.
+        statement.setFetchSize(Integer.MIN_VALUE);
+
+        return statement;
     }
 
     @Override
@@ -208,6 +255,11 @@ public class MySQL extends HostnameDatabase {
         return setupAndRun(new Create(), blueprint, manager, options);
     }
 
+    @Override
+    public String createIndex(DatabaseManager manager, Blueprint blueprint, Index index, @Nonnull Map<String, Boolean> options) {
+        return setupAndRun(new CreateIndex(), blueprint, index, manager, options);
+    }
+
     @Override
     public String delete(DatabaseManager manager, QueryBuilder query, Map<String, Boolean> options) {
         return setupAndRun(new Delete(), query, manager, options);
@@ -29,8 +29,8 @@ import com.avairebot.database.exceptions.DatabaseException;
 import com.avairebot.database.grammar.sqlite.*;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
 import com.avairebot.language.I18n;
-import com.avairebot.metrics.Metrics;
 
 import javax.annotation.Nonnull;
 import java.sql.*;
@@ -84,21 +84,26 @@ public class SQLite extends FilenameDatabase {
     @Override
     public boolean open() throws SQLException {
         if (initialize()) {
-            try {
-                connection = DriverManager.getConnection("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()));
+            connection = createConnection();
 
-                return true;
-            } catch (SQLException ex) {
-                String reason = "DBM - Could not establish an SQLite connection, SQLException: " + ex.getMessage();
-
-                AvaIre.getLogger().error(reason, ex);
-                throw new SQLException(reason);
-            }
+            return true;
         }
 
         return false;
     }
 
+    @Override
+    public Connection createConnection() throws SQLException {
+        try {
+            return DriverManager.getConnection("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()));
+        } catch (SQLException ex) {
+            String reason = "DBM - Could not establish an SQLite connection, SQLException: " + ex.getMessage();
+
+            AvaIre.getLogger().error(reason, ex);
+            throw new SQLException(reason);
+        }
+    }
+
     @Override
     protected void queryValidation(StatementInterface paramStatement) throws SQLException {
         // This does nothing for SQLite
@@ -175,10 +180,8 @@ public class SQLite extends FilenameDatabase {
     }
 
     @Override
-    protected Statement createPreparedStatement(String query) throws SQLException {
-        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
-
-        Statement statement = getConnection().createStatement();
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException {
+        Statement statement = connection.createStatement();
 
         statement.setQueryTimeout(5);
         statement.setMaxRows(25000);
@@ -196,6 +199,11 @@ public class SQLite extends FilenameDatabase {
         return setupAndRun(new Create(), blueprint, manager, options);
     }
 
+    @Override
+    public String createIndex(DatabaseManager manager, Blueprint blueprint, Index index, @Nonnull Map<String, Boolean> options) {
+        return setupAndRun(new CreateIndex(), blueprint, index, manager, options);
+    }
+
     @Override
     public String delete(DatabaseManager manager, QueryBuilder query, Map<String, Boolean> options) {
         return setupAndRun(new Delete(), query, manager, options);
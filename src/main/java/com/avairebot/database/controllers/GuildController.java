@@ -23,30 +23,86 @@ package com.avairebot.database.controllers;
 
 import com.avairebot.AvaIre;
 import com.avairebot.Constants;
+import com.avairebot.commands.Category;
+import com.avairebot.database.collection.DataRow;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.utilities.CacheUtil;
-import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckReturnValue;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class GuildController {
 
-    public static final Cache<Long, GuildTransformer> cache = CacheBuilder.newBuilder()
+    /**
+     * The executor used to reload guild transformers in the background
+     * when they're refreshed, and to warm up the cache when a shard
+     * is ready, so the message threads never has to wait for it.
+     */
+    private static final ExecutorService refreshService = Executors.newFixedThreadPool(2,
+        new ThreadFactoryBuilder()
+            .setNameFormat("avaire-guild-refresh-%d")
+            .setDaemon(true)
+            .build()
+    );
+
+    /**
+     * The amount of times each guild has been forgotten, used by the cache loader to
+     * detect if the guild settings were changed while the guild was being loaded,
+     * so a reload that was started before the change can't store the old settings.
+     */
+    private static final Map<Long, Long> invalidations = new ConcurrentHashMap<>();
+
+    /**
+     * The guild transformer cache, guilds are refreshed in the background a few minutes
+     * after they were loaded, while the old transformer is still being served, so
+     * active guilds never block on the database, guilds that are not used for
+     * a while are evicted completely, and will be loaded again on demand.
+     */
+    public static final LoadingCache<Long, GuildTransformer> cache = CacheBuilder.newBuilder()
         .recordStats()
-        .expireAfterAccess(5, TimeUnit.MINUTES)
-        .build();
+        .refreshAfterWrite(5, TimeUnit.MINUTES)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build(new CacheLoader<Long, GuildTransformer>() {
+            @Override
+            public GuildTransformer load(Long guildId) throws Exception {
+                return loadGuildFromDatabase(guildId);
+            }
+
+            @Override
+            public ListenableFuture<GuildTransformer> reload(Long guildId, GuildTransformer oldValue) {
+                ListenableFutureTask<GuildTransformer> task = ListenableFutureTask.create(
+                    () -> loadGuildFromDatabase(guildId)
+                );
+                refreshService.execute(task);
+                return task;
+            }
+        });
 
     private static final Logger log = LoggerFactory.getLogger(GuildController.class);
 
+    /**
+     * The amount of guilds that should be loaded in a single query when the cache is warmed up.
+     */
+    private static final int warmupChunkSize = 250;
+
     private static final String[] requiredGuildColumns = new String[]{
         "guild_types.name as type_name", "guild_types.limits as type_limits", "guilds.id", "guilds.partner", "guilds.name", "guilds.icon",
         "guilds.local", "guilds.channels", "guilds.modules", "guilds.level_roles", "guilds.level_modifier", "guilds.claimable_roles",
@@ -82,7 +138,11 @@ public class GuildController {
      */
     @CheckReturnValue
     public static GuildTransformer fetchGuild(AvaIre avaire, Guild guild) {
-        return (GuildTransformer) CacheUtil.getUncheckedUnwrapped(cache, guild.getIdLong(), () -> loadGuildFromDatabase(avaire, guild));
+        try {
+            return CacheUtil.getUncheckedUnwrapped(cache, guild.getIdLong());
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
     public static String buildChannelData(List<TextChannel> textChannels) {
@@ -122,8 +182,124 @@ public class GuildController {
         return AvaIre.gson.toJson(rolesMap);
     }
 
+    /**
+     * Forgets the cached guild transformer for the guild with the given ID, along with
+     * any category prefixes that was cached for the guild, this should be called by
+     * any command that changes the guild settings once the change has been saved,
+     * or if the guild transformer no longer matches what is in the database.
+     *
+     * @param guildId The ID of the guild that should be forgotten.
+     */
     public static void forgetCache(long guildId) {
+        invalidations.merge(guildId, 1L, Long::sum);
         cache.invalidate(guildId);
+        Category.forgetCache(guildId);
+    }
+
+    /**
+     * Warms up the guild cache for all the guilds on the given shard that are not already
+     * cached, the guilds are loaded in bulk on a background thread, guilds that doesn't
+     * have any data in the database yet will be created on demand when they're used.
+     *
+     * @param avaire The avaire instance, used to talking to the database.
+     * @param jda    The JDA shard that the guilds should be loaded from.
+     */
+    public static void warmCache(AvaIre avaire, JDA jda) {
+        refreshService.submit(() -> {
+            List<Guild> guilds = new ArrayList<>();
+            for (Guild guild : jda.getGuilds()) {
+                if (cache.getIfPresent(guild.getIdLong()) == null) {
+                    guilds.add(guild);
+                }
+            }
+
+            if (guilds.isEmpty()) {
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            int loaded = 0;
+
+            for (int i = 0; i < guilds.size(); i += warmupChunkSize) {
+                try {
+                    loaded += warmCacheChunk(avaire, guilds.subList(i, Math.min(i + warmupChunkSize, guilds.size())));
+                } catch (Exception ex) {
+                    log.error("Failed to warm up the guild cache for shard {}, error: {}",
+                        jda.getShardInfo().getShardId(), ex.getMessage(), ex
+                    );
+                    return;
+                }
+            }
+
+            log.debug("Warmed up the guild cache for shard {} with {} guilds in {} ms",
+                jda.getShardInfo().getShardId(), loaded, System.currentTimeMillis() - start
+            );
+        });
+    }
+
+    private static int warmCacheChunk(AvaIre avaire, List<Guild> guilds) throws SQLException {
+        Map<Long, Guild> guildsById = new HashMap<>();
+        Map<Long, Long> invalidated = new HashMap<>();
+        for (Guild guild : guilds) {
+            guildsById.put(guild.getIdLong(), guild);
+            invalidated.put(guild.getIdLong(), invalidations.getOrDefault(guild.getIdLong(), 0L));
+        }
+
+        List<DataRow> rows = avaire.getDatabase()
+            .newQueryBuilder(Constants.GUILD_TABLE_NAME)
+            .select(requiredGuildColumns)
+            .leftJoin("guild_types", "guilds.type", "guild_types.id")
+            .where(clause -> {
+                for (Guild guild : guilds) {
+                    clause.orWhere("guilds.id", guild.getId());
+                }
+            })
+            .get().getItems();
+
+        int loaded = 0;
+        for (DataRow row : rows) {
+            Guild guild = guildsById.get(row.getLong("id"));
+            if (guild == null) {
+                continue;
+            }
+
+            // Guilds that was changed while the chunk was being loaded
+            // are skipped, they'll be loaded again when they're used.
+            if (!invalidated.get(guild.getIdLong()).equals(invalidations.getOrDefault(guild.getIdLong(), 0L))) {
+                continue;
+            }
+
+            // Guilds that was loaded by a message while the cache was being
+            // warmed up is left alone, since they might've been changed.
+            if (cache.asMap().putIfAbsent(guild.getIdLong(), new GuildTransformer(guild, row)) == null) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    private static GuildTransformer loadGuildFromDatabase(long guildId) throws Exception {
+        AvaIre avaire = AvaIre.getInstance();
+
+        Guild guild = avaire.getShardManager().getGuildById(guildId);
+        if (guild == null) {
+            throw new IllegalStateException("Failed to find a guild with an ID of " + guildId);
+        }
+
+        while (true) {
+            long invalidated = invalidations.getOrDefault(guildId, 0L);
+
+            GuildTransformer transformer = loadGuildFromDatabase(avaire, guild);
+            if (transformer == null) {
+                throw new IllegalStateException("Failed to load the guild transformer for " + guildId);
+            }
+
+            // If the guild was forgotten while it was being loaded the settings might have been
+            // changed after we read them, so we load them again instead of caching them.
+            if (invalidated == invalidations.getOrDefault(guildId, 0L)) {
+                return transformer;
+            }
+        }
     }
 
     private static GuildTransformer loadGuildFromDatabase(AvaIre avaire, Guild guild) {
@@ -24,7 +24,6 @@ package com.avairebot.database.controllers;
 import com.avairebot.AvaIre;
 import com.avairebot.Constants;
 import com.avairebot.database.transformers.PlayerTransformer;
-import com.avairebot.level.ExperienceEntity;
 import com.avairebot.utilities.CacheUtil;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -127,14 +126,12 @@ public class PlayerController {
     }
 
     private static PlayerTransformer mergeWithExperienceEntity(AvaIre avaire, PlayerTransformer transformer) {
-        List<ExperienceEntity> entities = avaire.getLevelManager().getExperienceEntities(transformer);
-        if (entities.isEmpty()) {
+        long pendingExperience = avaire.getLevelManager().getPendingExperience(transformer);
+        if (pendingExperience == 0) {
             return transformer;
         }
 
-        transformer.incrementExperienceBy(
-            entities.stream().mapToInt(ExperienceEntity::getExperience).sum()
-        );
+        transformer.incrementExperienceBy(pendingExperience);
 
         return transformer;
     }
@@ -24,7 +24,11 @@ package com.avairebot.database.controllers;
 import com.avairebot.AvaIre;
 import com.avairebot.Constants;
 import com.avairebot.audio.TrackRequestContext;
+import com.avairebot.audio.exceptions.SearchingException;
+import com.avairebot.audio.cache.AudioTrackSerializer;
+import com.avairebot.audio.cache.EncodedAudioPlaylist;
 import com.avairebot.audio.searcher.SearchProvider;
+import com.avairebot.config.Configuration;
 import com.avairebot.contracts.database.Database;
 import com.avairebot.database.collection.Collection;
 import com.avairebot.database.transformers.SearchResultTransformer;
@@ -35,7 +39,6 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
-import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,13 +46,13 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.Base64;
-import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public class SearchController {
 
     public static final Cache<String, SearchResultTransformer> cache;
+    public static final Cache<String, Boolean> emptyResultCache;
+    public static final Cache<String, SearchingException> failedResultCache;
     private static final long defaultMaxCacheAge;
 
     private static final Logger log = LoggerFactory.getLogger(SearchController.class);
@@ -63,13 +66,101 @@ public class SearchController {
             )
         );
 
+        // The in-memory cache is weighted by the amount of tracks in each playlist, that
+        // way a handful of large playlists can't push hundreds of single track
+        // search results out of the cache, while still bounding the memory.
         cache = CacheBuilder.newBuilder()
             .recordStats()
-            .maximumSize(AvaIre.getInstance().getConfig()
-                .getInt("audio-cache.maximum-cache-size", 1000)
+            .maximumWeight(getMaximumCacheWeight())
+            .weigher((String key, SearchResultTransformer value) ->
+                1 + value.getEncodedAudioPlaylist().getTrackCount()
             )
             .expireAfterAccess(30, TimeUnit.MINUTES)
             .build();
+
+        emptyResultCache = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumSize(5000)
+            .expireAfterWrite(Math.max(0, AvaIre.getInstance().getConfig()
+                .getLong("audio-cache.empty-result-cache-age", 60)
+            ), TimeUnit.SECONDS)
+            .build();
+
+        failedResultCache = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumSize(5000)
+            .expireAfterWrite(Math.max(0, AvaIre.getInstance().getConfig()
+                .getLong("audio-cache.failed-result-cache-age", 10)
+            ), TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * Gets the max weight of the in-memory search cache, falling back to the
+     * old {@code audio-cache.maximum-cache-size} option if the config
+     * hasn't been updated to use the new option yet.
+     *
+     * @return The max weight of the in-memory search cache.
+     */
+    private static long getMaximumCacheWeight() {
+        Configuration config = AvaIre.getInstance().getConfig();
+        if (!config.isSet("audio-cache.maximum-cache-weight") && config.isSet("audio-cache.maximum-cache-size")) {
+            log.warn("The \"audio-cache.maximum-cache-size\" config option is deprecated and will be removed in a future version, "
+                + "use \"audio-cache.maximum-cache-weight\" instead, the cache is now weighted by the amount of tracks in each search result.");
+
+            return config.getLong("audio-cache.maximum-cache-size", 25000);
+        }
+
+        return config.getLong("audio-cache.maximum-cache-weight", 25000);
+    }
+
+    /**
+     * Checks if the given track request context recently returned no
+     * results, and is therefore still stored in the negative cache.
+     *
+     * @param context The track request context that should be checked.
+     * @return {@code True} if the request recently returned no results, {@code False} otherwise.
+     */
+    public static boolean isEmptySearchResult(TrackRequestContext context) {
+        return emptyResultCache.getIfPresent(context.getFullQueryString()) != null;
+    }
+
+    /**
+     * Gets the exception the given track request context recently failed
+     * with, if the request hasn't failed recently {@code NULL} is returned.
+     *
+     * @param context The track request context that should be checked.
+     * @return The exception the request recently failed with, or {@code NULL}.
+     */
+    @Nullable
+    public static SearchingException fetchFailedSearchResult(TrackRequestContext context) {
+        return failedResultCache.getIfPresent(context.getFullQueryString());
+    }
+
+    /**
+     * Stores the given track request context in the short lived negative cache for
+     * empty search results, empty results are never stored in the in-memory or
+     * database cache, since the provider could return results shortly after.
+     *
+     * @param context The track request context that returned no results.
+     * @return The encoded empty audio playlist.
+     */
+    public static EncodedAudioPlaylist cacheEmptySearchResult(TrackRequestContext context) {
+        emptyResultCache.put(context.getFullQueryString(), Boolean.TRUE);
+
+        return EncodedAudioPlaylist.fromEncodedTracks("No matches", true, null, new byte[0][]);
+    }
+
+    /**
+     * Stores the given exception in the short lived negative cache for failed
+     * search results, preventing the same request from being sent to the
+     * search provider again until the failed result cache age expires.
+     *
+     * @param context   The track request context that failed.
+     * @param exception The exception the request failed with.
+     */
+    public static void cacheFailedSearchResult(TrackRequestContext context, SearchingException exception) {
+        failedResultCache.put(context.getFullQueryString(), exception);
     }
 
     /**
@@ -147,34 +238,42 @@ public class SearchController {
      *
      * @param context  The context the cache key should be created by.
      * @param playlist The audio playlist that should be saved in the cache.
+     * @return The encoded version of the given audio playlist.
      */
-    public static void cacheSearchResult(TrackRequestContext context, AudioPlaylist playlist) {
-        cache.put(context.getFullQueryString(), new SearchResultTransformer(context, playlist));
+    public static EncodedAudioPlaylist cacheSearchResult(TrackRequestContext context, AudioPlaylist playlist) {
+        // Each track is only encoded once, and is then re-used for both the playlist
+        // and the URL cache entries for the individual tracks below.
+        final byte[][] encodedTracks = new byte[playlist.getTracks().size()][];
+        for (int i = 0; i < encodedTracks.length; i++) {
+            encodedTracks[i] = AudioTrackSerializer.encodeTrack(playlist.getTracks().get(i));
+        }
+
+        EncodedAudioPlaylist encodedAudioPlaylist = EncodedAudioPlaylist.fromEncodedTracks(
+            playlist.getName(),
+            playlist.isSearchResult(),
+            AudioTrackSerializer.encodeTrack(playlist.getSelectedTrack()),
+            encodedTracks
+        );
+
+        cache.put(context.getFullQueryString(), new SearchResultTransformer(context, encodedAudioPlaylist));
 
         final Carbon time = Carbon.now();
+        final String query = I18n.format(
+            "INSERT INTO `{0}` (`provider`, `query`, `playlist`, `created_at`) " +
+                "SELECT * FROM (SELECT ? AS `provider`, ? AS `query`, ? AS `playlist`, ? AS `created_at`) AS tmp " +
+                "WHERE NOT EXISTS (" +
+                " SELECT `provider`, `query` FROM `{0}` WHERE `provider` = ? AND `query` = ?" +
+                ") LIMIT 1;",
+            Constants.MUSIC_SEARCH_CACHE_TABLE_NAME
+        );
 
         try {
-            // Creates the insert query using the proper formats
-            // and prepared values replaced into the query.
-            final String query = I18n.format(
-                "INSERT INTO `{0}` (`provider`, `query`, `result`, `created_at`) " +
-                    "SELECT * FROM (SELECT {1}, {2}, {3}, {4}) AS tmp " +
-                    "WHERE NOT EXISTS (" +
-                    " SELECT `provider`, `query` FROM `{0}` WHERE `provider` = {1} AND `query` = {2}" +
-                    ") LIMIT 1;",
-                Constants.MUSIC_SEARCH_CACHE_TABLE_NAME,
-                prepareStringForQuery(String.valueOf(context.getProvider().getId())),
-                prepareStringForQuery(context.getQuery()),
-                prepareStringForQuery("base64:" + new String(
-                    Base64.getEncoder().encode(
-                        new SearchResultTransformer.SerializableAudioPlaylist(playlist)
-                            .toString().getBytes()
-                    )
-                )),
-                prepareStringForQuery(time.toString())
-            );
-
-            AvaIre.getInstance().getDatabase().queryUpdate(query);
+            AvaIre.getInstance().getDatabase().transaction(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(query)) {
+                    setCacheEntryValues(statement, context.getProvider().getId(), context.getQuery(), encodedAudioPlaylist, time);
+                    statement.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             log.error("Failed to create audio track record for query \"{}\" using provider {}, error: {}",
                 context.getQuery(), context.getProvider().name(), e.getMessage(), e
@@ -182,41 +281,25 @@ public class SearchController {
         }
 
         if (!context.getProvider().isSearchable()) {
-            return;
+            return encodedAudioPlaylist;
         }
 
         ScheduleHandler.getScheduler().submit(() -> {
             try {
-                AvaIre.getInstance().getDatabase().queryBatch(I18n.format(
-                    "INSERT INTO `{0}` (`provider`, `query`, `result`, `created_at`) " +
-                        "SELECT * FROM (SELECT ?, ?, ?, ?) AS tmp " +
-                        "WHERE NOT EXISTS (" +
-                        " SELECT `provider`, `query` FROM `{0}` WHERE `provider` = ? AND `query` = ?" +
-                        ") LIMIT 1;",
-                    Constants.MUSIC_SEARCH_CACHE_TABLE_NAME
-                ), (PreparedStatement statement) -> {
-                    for (AudioTrack track : playlist.getTracks()) {
-                        BasicAudioPlaylist audioPlaylist = new BasicAudioPlaylist(
-                            track.getInfo().title,
-                            Collections.singletonList(track),
-                            null,
-                            false
+                AvaIre.getInstance().getDatabase().queryBatch(query, (PreparedStatement statement) -> {
+                    for (int i = 0; i < encodedTracks.length; i++) {
+                        if (encodedTracks[i] == null) {
+                            continue;
+                        }
+
+                        AudioTrack track = playlist.getTracks().get(i);
+
+                        setCacheEntryValues(statement, SearchProvider.URL.getId(), track.getInfo().uri,
+                            EncodedAudioPlaylist.fromEncodedTracks(
+                                track.getInfo().title, false, null, new byte[][]{encodedTracks[i]}
+                            ), time
                         );
 
-                        String serializedAudioPlaylist = new SearchResultTransformer.SerializableAudioPlaylist(audioPlaylist).toString();
-
-                        // Sets the search provider
-                        statement.setInt(1, SearchProvider.URL.getId());
-                        statement.setInt(5, SearchProvider.URL.getId());
-                        // Sets the search query
-                        statement.setString(2, track.getInfo().uri);
-                        statement.setString(6, track.getInfo().uri);
-
-                        statement.setString(3, "base64:" + new String(
-                            Base64.getEncoder().encode(serializedAudioPlaylist.getBytes())
-                        ));
-                        statement.setString(4, time.toString());
-
                         statement.addBatch();
                     }
                 });
@@ -226,6 +309,20 @@ public class SearchController {
                 );
             }
         });
+
+        return encodedAudioPlaylist;
+    }
+
+    private static void setCacheEntryValues(PreparedStatement statement, int provider, String query, EncodedAudioPlaylist playlist, Carbon time) throws SQLException {
+        // Sets the search provider
+        statement.setInt(1, provider);
+        statement.setInt(5, provider);
+        // Sets the search query
+        statement.setString(2, query);
+        statement.setString(6, query);
+
+        statement.setBytes(3, playlist.encode());
+        statement.setString(4, time.toString());
     }
 
     @SuppressWarnings("StringBufferReplaceableByString")
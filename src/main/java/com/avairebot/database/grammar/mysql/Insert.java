@@ -87,7 +87,16 @@ public class Insert extends InsertGrammar {
                 }
 
                 if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-                    addPart(String.format("%s, ", value.equalsIgnoreCase("true") ? 1 : 0));
+                    addPart(String.format("%s, ", isPrepared()
+                        ? bind(value.equalsIgnoreCase("true"))
+                        : value.equalsIgnoreCase("true") ? 1 : 0
+                    ));
+
+                    continue;
+                }
+
+                if (isPrepared()) {
+                    addPart(String.format("%s, ", bind(row.get(key))));
 
                     continue;
                 }
@@ -80,7 +80,16 @@ public class Update extends UpdateGrammar {
                 }
 
                 if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-                    addPart(String.format(" %s = %s, ", formatKey, value.equalsIgnoreCase("true") ? 1 : 0));
+                    addPart(String.format(" %s = %s, ", formatKey, isPrepared()
+                        ? bind(value.equalsIgnoreCase("true"))
+                        : value.equalsIgnoreCase("true") ? 1 : 0
+                    ));
+
+                    continue;
+                }
+
+                if (isPrepared()) {
+                    addPart(String.format(" %s = %s, ", formatKey, bind(row.get(key))));
 
                     continue;
                 }
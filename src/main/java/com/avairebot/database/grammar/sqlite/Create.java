@@ -129,6 +129,9 @@ public class Create extends CreateGrammar {
             case DOUBLE:
                 return "REAL";
 
+            case LONGBLOB:
+                return "BLOB";
+
             default:
                 return type.getName();
         }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.grammar.sqlite;
+
+import com.avairebot.contracts.database.grammar.IndexGrammar;
+import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
+
+public class CreateIndex extends IndexGrammar {
+
+    @Override
+    public String format(Blueprint blueprint, Index index) {
+        if (index.isUnique()) {
+            addPart(" UNIQUE");
+        }
+
+        addPart(" INDEX IF NOT EXISTS %s ON %s (%s);",
+            formatField(index.getName(blueprint.getTable())),
+            formatField(blueprint.getTable()),
+            formatFields(index)
+        );
+
+        return query;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.migrate.migrations;
+
+import com.avairebot.Constants;
+import com.avairebot.contracts.database.migrations.Migration;
+import com.avairebot.database.schema.Schema;
+
+import java.sql.SQLException;
+
+public class AddIndexesToFrequentlyQueriedTablesMigration implements Migration {
+
+    @Override
+    public String created_at() {
+        return "Sat, Oct 17, 2026 4:30 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        schema.index(Constants.PLAYER_EXPERIENCE_TABLE_NAME, table -> {
+            // Used when looking up a single player, and by the experience sync batch updates.
+            table.Index("guild_id", "user_id");
+
+            // Covers the leaderboard and rank queries, which filters by the guild and the
+            // active state, and sorts by the experience, so the rows can be read from
+            // the index in order without having to sort the whole guild.
+            table.Index("guild_id", "active", "experience");
+        });
+
+        if (hasColumns(schema, Constants.BLACKLIST_TABLE_NAME, "id", "expires_in")) {
+            schema.index(Constants.BLACKLIST_TABLE_NAME, table -> {
+                table.Index("id");
+                table.Index("expires_in");
+            });
+        }
+
+        schema.index(Constants.MUTE_TABLE_NAME, table -> {
+            table.Index("guild_id", "modlog_id");
+        });
+
+        schema.index(Constants.LOG_TABLE_NAME, table -> {
+            table.Index("guild_id", "modlogCase");
+            table.Index("guild_id", "target_id", "type");
+        });
+
+        schema.index(Constants.REACTION_ROLES_TABLE_NAME, table -> {
+            table.Index("guild_id", "message_id");
+            table.Index("channel_id");
+        });
+
+        return true;
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        schema.dropIndexIfExists(Constants.PLAYER_EXPERIENCE_TABLE_NAME, "experiences_guild_id_user_id_index");
+        schema.dropIndexIfExists(Constants.PLAYER_EXPERIENCE_TABLE_NAME, "experiences_guild_id_active_experience_index");
+
+        schema.dropIndexIfExists(Constants.BLACKLIST_TABLE_NAME, "blacklists_id_index");
+        schema.dropIndexIfExists(Constants.BLACKLIST_TABLE_NAME, "blacklists_expires_in_index");
+
+        schema.dropIndexIfExists(Constants.MUTE_TABLE_NAME, "mutes_guild_id_modlog_id_index");
+
+        schema.dropIndexIfExists(Constants.LOG_TABLE_NAME, "logs_guild_id_modlogcase_index");
+        schema.dropIndexIfExists(Constants.LOG_TABLE_NAME, "logs_guild_id_target_id_type_index");
+
+        schema.dropIndexIfExists(Constants.REACTION_ROLES_TABLE_NAME, "reaction_roles_guild_id_message_id_index");
+        schema.dropIndexIfExists(Constants.REACTION_ROLES_TABLE_NAME, "reaction_roles_channel_id_index");
+
+        return true;
+    }
+
+    private boolean hasColumns(Schema schema, String table, String... columns) throws SQLException {
+        for (String column : columns) {
+            if (!schema.hasColumn(table, column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
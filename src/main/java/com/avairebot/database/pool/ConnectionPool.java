@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.pool;
+
+import com.avairebot.contracts.database.SupplierWithSQL;
+import com.avairebot.scheduler.ScheduleHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /**
+     * The amount of time in milliseconds a connection can sit idle before it
+     * has to be validated again before it's handed out to a caller.
+     */
+    private static final long validationInterval = 5000L;
+
+    private final SupplierWithSQL<Connection> factory;
+    private final ConnectionPoolSettings settings;
+
+    private final LinkedBlockingDeque<PooledConnection> idle;
+    private final Semaphore permits;
+    private final AtomicInteger size;
+    private final ScheduledFuture<?> evictionTask;
+
+    /**
+     * The last connection leased by each thread, used to hand the same connection
+     * back to a thread that is already holding the only connection in the pool.
+     */
+    private final ThreadLocal<PooledConnection> leases = new ThreadLocal<>();
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new connection pool using the given factory to open new connections.
+     *
+     * @param factory  The factory that should be used to open new JDBC connections.
+     * @param settings The settings the pool should follow.
+     */
+    public ConnectionPool(SupplierWithSQL<Connection> factory, ConnectionPoolSettings settings) {
+        this.factory = factory;
+        this.settings = settings;
+
+        this.idle = new LinkedBlockingDeque<>();
+        this.permits = new Semaphore(settings.getMaximumSize(), true);
+        this.size = new AtomicInteger(0);
+
+        this.evictionTask = ScheduleHandler.getScheduler().scheduleWithFixedDelay(
+            this::evictIdleConnections, 30, 30, TimeUnit.SECONDS
+        );
+    }
+
+    /**
+     * Opens connections until the pool has reached its minimum size.
+     */
+    public void fill() {
+        while (!shutdown && size.get() < settings.getMinimumSize()) {
+            try {
+                idle.offerLast(createConnection());
+            } catch (SQLException e) {
+                log.warn("Failed to open a new pooled database connection: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Leases a connection from the pool, if no idle connections are available a new
+     * connection will be opened, if the pool is already at its maximum size the
+     * call will block until a connection is returned, or the borrow timeout
+     * is reached, the returned connection must be closed after use.
+     * <p>
+     * If the pool only has a single connection, and the calling thread is already holding
+     * it, the same connection is returned again instead of waiting for a connection
+     * that will never be returned, the connection is then returned to the pool
+     * once both of the leases has been closed.
+     *
+     * @return The leased connection.
+     * @throws SQLException        If a new connection could not be opened.
+     * @throws SQLTimeoutException If no connection became available within the borrow timeout.
+     */
+    public PooledConnection lease() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("The database connection pool has been shutdown.");
+        }
+
+        if (settings.getMaximumSize() == 1) {
+            PooledConnection connection = leases.get();
+            if (connection != null && connection.isLeasedBy(Thread.currentThread())) {
+                connection.reenter();
+                return connection;
+            }
+        }
+
+        try {
+            if (!permits.tryAcquire(settings.getBorrowTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException(String.format(
+                    "Timed out after %sms waiting for a database connection, all %s connections are in use.",
+                    settings.getBorrowTimeout(), settings.getMaximumSize()
+                ));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (validate(connection)) {
+                    connection.lease();
+                    leases.set(connection);
+                    return connection;
+                }
+                destroy(connection);
+            }
+
+            connection = createConnection();
+            connection.lease();
+            leases.set(connection);
+
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the total amount of connections that are currently open, both idle and leased.
+     *
+     * @return The total amount of open connections.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Gets the amount of connections that are currently sitting idle in the pool.
+     *
+     * @return The amount of idle connections.
+     */
+    public int getIdleSize() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the amount of connections that are currently leased out.
+     *
+     * @return The amount of leased connections.
+     */
+    public int getActiveSize() {
+        return settings.getMaximumSize() - permits.availablePermits();
+    }
+
+    /**
+     * Gets the settings used by the connection pool.
+     *
+     * @return The connection pool settings.
+     */
+    public ConnectionPoolSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Shuts down the pool, closing all the idle connections, connections
+     * that are currently leased out will be closed once they're
+     * returned to the pool.
+     */
+    public void shutdown() {
+        shutdown = true;
+        evictionTask.cancel(false);
+
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            destroy(connection);
+        }
+    }
+
+    /**
+     * Returns the given connection to the pool, broken or closed
+     * connections are discarded instead of being re-used.
+     *
+     * @param connection The connection that should be returned.
+     */
+    void release(PooledConnection connection) {
+        if (leases.get() == connection) {
+            leases.remove();
+        }
+
+        try {
+            if (shutdown || connection.isBroken() || connection.getConnection().isClosed()) {
+                destroy(connection);
+                return;
+            }
+
+            connection.reset();
+            idle.offerFirst(connection);
+        } catch (SQLException e) {
+            log.debug("Failed to reset pooled database connection, discarding it: {}", e.getMessage());
+            destroy(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Connection connection = factory.get();
+        if (connection == null) {
+            throw new SQLException("The connection factory failed to open a new database connection.");
+        }
+
+        size.incrementAndGet();
+
+        return new PooledConnection(this, connection, settings.getStatementCacheSize());
+    }
+
+    private boolean validate(PooledConnection connection) {
+        // Connections that were returned to the pool very recently is more or
+        // less guaranteed to still be alive, so we skip validating them
+        // to avoid a round trip to the database for every lease.
+        if (System.currentTimeMillis() - connection.getLastUsed() < validationInterval) {
+            return true;
+        }
+
+        try {
+            if (connection.getConnection().isClosed()) {
+                return false;
+            }
+
+            if (settings.getValidationQuery() == null) {
+                return connection.getConnection().isValid(2);
+            }
+
+            try (Statement statement = connection.getConnection().createStatement()) {
+                statement.setQueryTimeout(2);
+                statement.execute(settings.getValidationQuery());
+            }
+
+            return true;
+        } catch (SQLException e) {
+            log.debug("Pooled database connection failed validation: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection connection) {
+        size.decrementAndGet();
+        connection.destroy();
+    }
+
+    private void evictIdleConnections() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Connections are returned to the head of the queue, so the least recently
+            // used connections are at the tail, we walk backwards from there and
+            // close connections until we reach the minimum size of the pool.
+            Iterator<PooledConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext() && size.get() > settings.getMinimumSize()) {
+                PooledConnection connection = iterator.next();
+
+                if (now - connection.getLastUsed() < settings.getIdleTimeout()) {
+                    continue;
+                }
+
+                if (idle.removeLastOccurrence(connection)) {
+                    destroy(connection);
+                }
+            }
+
+            fill();
+        } catch (Exception e) {
+            log.error("An exception was thrown while evicting idle database connections: {}", e.getMessage(), e);
+        }
+    }
+}
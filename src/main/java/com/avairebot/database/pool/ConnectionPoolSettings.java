@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.pool;
+
+import com.avairebot.config.Configuration;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class ConnectionPoolSettings {
+
+    private final int minimumSize;
+    private final int maximumSize;
+    private final long idleTimeout;
+    private final long borrowTimeout;
+    private final String validationQuery;
+    private final int statementCacheSize;
+
+    /**
+     * Creates a new connection pool settings instance.
+     *
+     * @param minimumSize        The minimum amount of connections the pool should keep open.
+     * @param maximumSize        The maximum amount of connections the pool is allowed to open.
+     * @param idleTimeout        The time in milliseconds a connection can be idle before it's evicted.
+     * @param borrowTimeout      The time in milliseconds to wait for a free connection before giving up.
+     * @param validationQuery    The query used to validate connections, or {@code NULL} to use the JDBC driver validation.
+     * @param statementCacheSize The maximum amount of prepared statements each connection should keep cached.
+     */
+    public ConnectionPoolSettings(int minimumSize, int maximumSize, long idleTimeout, long borrowTimeout, @Nullable String validationQuery, int statementCacheSize) {
+        this.maximumSize = Math.max(1, maximumSize);
+        this.minimumSize = Math.max(0, Math.min(minimumSize, this.maximumSize));
+        this.idleTimeout = Math.max(1000L, idleTimeout);
+        this.borrowTimeout = Math.max(0L, borrowTimeout);
+        this.validationQuery = validationQuery == null || validationQuery.trim().isEmpty()
+            ? null : validationQuery.trim();
+        this.statementCacheSize = Math.max(1, statementCacheSize);
+    }
+
+    /**
+     * Creates the connection pool settings from the "database.pool" section of the given config.
+     *
+     * @param config             The config the settings should be loaded from.
+     * @param defaultMaximumSize The default maximum pool size if none is given in the config.
+     * @return The connection pool settings loaded from the config.
+     */
+    public static ConnectionPoolSettings fromConfig(@Nonnull Configuration config, int defaultMaximumSize) {
+        return new ConnectionPoolSettings(
+            config.getInt("database.pool.minimum-size", 1),
+            config.getInt("database.pool.maximum-size", defaultMaximumSize),
+            config.getLong("database.pool.idle-timeout", 300) * 1000L,
+            config.getLong("database.pool.borrow-timeout", 10) * 1000L,
+            config.getString("database.pool.validation-query", null),
+            config.getInt("database.pool.statement-cache-size", 64)
+        );
+    }
+
+    /**
+     * Gets the minimum amount of connections the pool should keep open.
+     *
+     * @return The minimum amount of connections the pool should keep open.
+     */
+    public int getMinimumSize() {
+        return minimumSize;
+    }
+
+    /**
+     * Gets the maximum amount of connections the pool is allowed to open at the same time.
+     *
+     * @return The maximum amount of connections the pool is allowed to open.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the time in milliseconds a connection is allowed to sit idle in
+     * the pool before it's closed, as long as the pool stays above
+     * the minimum size.
+     *
+     * @return The idle timeout in milliseconds.
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Gets the time in milliseconds a caller will wait for a free
+     * connection before the lease attempt fails.
+     *
+     * @return The borrow timeout in milliseconds.
+     */
+    public long getBorrowTimeout() {
+        return borrowTimeout;
+    }
+
+    /**
+     * Gets the query that should be used to validate connections before they're
+     * handed out, if the query is {@code NULL} the JDBC driver validation
+     * via {@link java.sql.Connection#isValid(int)} should be used instead.
+     *
+     * @return The validation query, or {@code NULL}.
+     */
+    @Nullable
+    public String getValidationQuery() {
+        return validationQuery;
+    }
+
+    /**
+     * Gets the maximum amount of prepared statements each pooled connection should keep
+     * cached, statements are cached by their query, so queries with the same shape
+     * re-uses the same statement instead of being parsed again.
+     *
+     * @return The maximum amount of cached statements per connection.
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+}
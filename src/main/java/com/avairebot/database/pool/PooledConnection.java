@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.pool;
+
+import com.avairebot.contracts.database.SupplierWithSQL;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final AtomicBoolean leased;
+    private final Map<String, PreparedStatement> statements;
+
+    private volatile long lastUsed;
+    private volatile boolean broken;
+    private volatile Thread owner;
+    private int holds;
+
+    /**
+     * Creates a new pooled connection for the given pool and JDBC connection.
+     *
+     * @param pool               The pool the connection belongs to.
+     * @param connection         The JDBC connection that is being pooled.
+     * @param statementCacheSize The maximum amount of prepared statements to keep cached.
+     */
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.leased = new AtomicBoolean(false);
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+
+                closeStatement(eldest.getValue());
+                return true;
+            }
+        };
+
+        this.lastUsed = System.currentTimeMillis();
+        this.broken = false;
+    }
+
+    /**
+     * Gets the JDBC connection that was leased from the pool, the connection
+     * should never be closed directly, instead the pooled connection
+     * should be closed to return the connection to the pool.
+     *
+     * @return The leased JDBC connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Gets the cached prepared statement for the given query, or creates it using the
+     * given factory if the query haven't been prepared on the connection yet, cached
+     * statements are owned by the pooled connection, and must <strong>not</strong>
+     * be closed by the caller, the least recently used statements are closed
+     * when the cache grows beyond its maximum size.
+     *
+     * @param query               The query the statement is prepared for.
+     * @param returnGeneratedKeys Whether the statement returns the auto-generated keys.
+     * @param factory             The factory used to prepare the statement if it isn't cached.
+     * @return The cached prepared statement for the query.
+     * @throws SQLException if the statement could not be prepared.
+     */
+    public PreparedStatement prepareCachedStatement(String query, boolean returnGeneratedKeys, SupplierWithSQL<PreparedStatement> factory) throws SQLException {
+        String key = returnGeneratedKeys ? "keys:" + query : query;
+
+        PreparedStatement statement = statements.get(key);
+        if (statement != null && !statement.isClosed()) {
+            return statement;
+        }
+
+        statement = factory.get();
+        statements.put(key, statement);
+
+        return statement;
+    }
+
+    /**
+     * Marks the connection as broken, broken connections are closed
+     * when they're returned instead of being handed out again.
+     */
+    public void markBroken() {
+        broken = true;
+    }
+
+    /**
+     * Checks if the connection has been marked as broken.
+     *
+     * @return {@code True} if the connection is broken, {@code False} otherwise.
+     */
+    public boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Gets the last time in milliseconds the connection was returned to the pool.
+     *
+     * @return The last time the connection was used.
+     */
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * Marks the connection as leased, preventing it from being returned twice.
+     */
+    void lease() {
+        owner = Thread.currentThread();
+        holds = 0;
+        leased.set(true);
+    }
+
+    /**
+     * Checks if the connection is currently leased by the given thread.
+     *
+     * @param thread The thread that should be checked.
+     * @return {@code True} if the connection is leased by the thread, {@code False} otherwise.
+     */
+    boolean isLeasedBy(Thread thread) {
+        return owner == thread && leased.get();
+    }
+
+    /**
+     * Leases the connection again for the thread that is already holding it, the
+     * connection is only returned to the pool once every lease has been closed.
+     */
+    void reenter() {
+        holds++;
+    }
+
+    /**
+     * Resets the connection back to its default state, rolling back any
+     * transaction that was left open by the last user of the connection.
+     *
+     * @throws SQLException If the connection fails to reset.
+     */
+    void reset() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Closes the underlying JDBC connection, ignoring any errors.
+     */
+    void destroy() {
+        statements.clear();
+
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is being discarded anyway.
+        }
+    }
+
+    private void closeStatement(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is being discarded anyway.
+        }
+    }
+
+    /**
+     * Returns the connection back to the pool it was leased from.
+     */
+    @Override
+    public void close() {
+        if (holds > 0 && owner == Thread.currentThread()) {
+            holds--;
+            return;
+        }
+
+        if (!leased.compareAndSet(true, false)) {
+            return;
+        }
+
+        owner = null;
+        lastUsed = System.currentTimeMillis();
+        pool.release(this);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.query;
+
+import com.avairebot.contracts.database.Database.QueryType;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class PreparedQuery {
+
+    /**
+     * The pattern used to match whole numbers, numbers matching the
+     * pattern will be bound as longs if they fit within a long.
+     */
+    private static final Pattern integerPattern = Pattern.compile("[-+]?\\d+");
+
+    /**
+     * The pattern used to match decimal numbers, matches the same
+     * numbers that the grammars renders as numeric literals.
+     */
+    private static final Pattern decimalPattern = Pattern.compile("[-+]?\\d*\\.?\\d+");
+
+    private final QueryType type;
+    private final String table;
+    private final String query;
+    private final List<Object> bindings;
+
+    /**
+     * Creates a new prepared query with the given query and bindings.
+     *
+     * @param type     The type of query.
+     * @param query    The parameterized query, with question marks(?) as placeholders.
+     * @param bindings The values that should be bound to the placeholders, in order.
+     */
+    public PreparedQuery(QueryType type, String query, List<Object> bindings) {
+        this(type, null, query, bindings);
+    }
+
+    /**
+     * Creates a new prepared query with the given table, query and bindings.
+     *
+     * @param type     The type of query.
+     * @param table    The table the query is run against, or {@code NULL} if it's unknown.
+     * @param query    The parameterized query, with question marks(?) as placeholders.
+     * @param bindings The values that should be bound to the placeholders, in order.
+     */
+    public PreparedQuery(QueryType type, String table, String query, List<Object> bindings) {
+        this.type = type;
+        this.table = table;
+        this.query = query;
+        this.bindings = bindings == null ? Collections.emptyList() : bindings;
+    }
+
+    /**
+     * Gets the type of the query.
+     *
+     * @return The query type.
+     */
+    public QueryType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the table the query is run against.
+     *
+     * @return The table the query is run against, or {@code NULL} if it's unknown.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the parameterized query, the query only depends on the shape of the
+     * query builder, and not the values used, making it suitable for
+     * caching and re-using prepared statements.
+     *
+     * @return The parameterized query.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets the values that should be bound to the query placeholders.
+     *
+     * @return The list of values bound to the query.
+     */
+    public List<Object> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * Binds all the values to the given prepared statement, any parameters
+     * already set on the statement will be cleared before binding.
+     *
+     * @param statement The statement the values should be bound to.
+     * @throws SQLException if a parameter index does not correspond to a parameter
+     *                      marker in the SQL statement, or if the statement is closed.
+     */
+    public void bind(PreparedStatement statement) throws SQLException {
+        statement.clearParameters();
+
+        for (int i = 0; i < bindings.size(); i++) {
+            bindValue(statement, i + 1, bindings.get(i));
+        }
+    }
+
+    private void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.NULL);
+        } else if (value instanceof Boolean) {
+            statement.setBoolean(index, (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            statement.setInt(index, ((Number) value).intValue());
+        } else if (value instanceof Long) {
+            statement.setLong(index, (Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            statement.setDouble(index, ((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            statement.setBigDecimal(index, (BigDecimal) value);
+        } else if (value instanceof byte[]) {
+            statement.setBytes(index, (byte[]) value);
+        } else {
+            bindString(statement, index, value.toString());
+        }
+    }
+
+    private void bindString(PreparedStatement statement, int index, String value) throws SQLException {
+        // Numeric strings are bound as numbers to match how they're rendered
+        // when the query is built as a raw SQL string, where numbers are
+        // written without quotes, this is mostly used for Discord IDs.
+        if (integerPattern.matcher(value).matches()) {
+            try {
+                statement.setLong(index, Long.parseLong(value));
+                return;
+            } catch (NumberFormatException ignored) {
+                // The number is too big to fit in a long, so it's bound as a decimal instead.
+            }
+        }
+
+        if (decimalPattern.matcher(value).matches()) {
+            statement.setBigDecimal(index, new BigDecimal(value));
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return query;
+    }
+}
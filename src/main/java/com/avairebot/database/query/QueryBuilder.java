@@ -21,9 +21,9 @@
 
 package com.avairebot.database.query;
 
-import com.avairebot.contracts.database.Database;
 import com.avairebot.contracts.database.Database.QueryType;
 import com.avairebot.contracts.database.QueryClause;
+import com.avairebot.contracts.database.StreamFunction;
 import com.avairebot.contracts.database.query.ChangeableClosure;
 import com.avairebot.contracts.database.query.ClauseConsumer;
 import com.avairebot.database.DatabaseManager;
@@ -31,7 +31,6 @@ import com.avairebot.database.collection.Collection;
 import com.avairebot.scheduler.ScheduleHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -71,6 +70,12 @@ public final class QueryBuilder {
      */
     private final List<Map<String, Object>> items = new ArrayList<>();
 
+    /**
+     * The list of values bound to the placeholders of the last generated
+     * query, the list is populated by the grammar generator.
+     */
+    private List<Object> bindings = new ArrayList<>();
+
     /**
      * The query type that's being preformed.
      */
@@ -751,13 +756,85 @@ public final class QueryBuilder {
                     return dbm.getConnection().delete(dbm, this, null);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            log.error("Failed to build the {} query for the {} table: {}", type, table, e.getMessage(), e);
         }
         return null;
     }
 
     /**
-     * Runs the {@link Database#query(String)} method with the generated query.
+     * Creates the grammar instance and builds a parameterized SQL query, where all
+     * the values are replaced with question marks(?) and returned as a list
+     * of bindings alongside the query, if an error occurs while building
+     * the query <code>NULL</code> will be returned instead.
+     *
+     * @return either (1) the generated prepared query
+     * or (2) <code>NULL</code> if an error occurred.
+     */
+    public PreparedQuery toPreparedSQL() {
+        return toPreparedSQL(type);
+    }
+
+    /**
+     * Creates the grammar instance and builds a parameterized SQL query using the given query
+     * type, where all the values are replaced with question marks(?) and returned as a list
+     * of bindings alongside the query, if an error occurs while building the query
+     * <code>NULL</code> will be returned instead.
+     *
+     * @param type The type of query that should be generated.
+     * @return either (1) the generated prepared query
+     * or (2) <code>NULL</code> if an error occurred.
+     */
+    public PreparedQuery toPreparedSQL(QueryType type) {
+        Map<String, Boolean> options = new HashMap<>();
+        options.put("prepared", true);
+
+        try {
+            String query = null;
+            switch (type) {
+                case SELECT:
+                    query = dbm.getConnection().select(dbm, this, options);
+                    break;
+                case INSERT:
+                    query = dbm.getConnection().insert(dbm, this, options);
+                    break;
+                case UPDATE:
+                    query = dbm.getConnection().update(dbm, this, options);
+                    break;
+                case DELETE:
+                    query = dbm.getConnection().delete(dbm, this, options);
+                    break;
+            }
+
+            if (query != null) {
+                return new PreparedQuery(type, table, query, new ArrayList<>(bindings));
+            }
+        } catch (SQLException e) {
+            log.error("Failed to build the prepared {} query for the {} table: {}", type, table, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the values bound to the placeholders of the last generated query.
+     *
+     * @return the list of bound values.
+     */
+    public List<Object> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * Sets the values bound to the placeholders of the generated query,
+     * this is called by the grammar generator once the query is built.
+     *
+     * @param bindings The list of bound values.
+     */
+    public void setBindings(List<Object> bindings) {
+        this.bindings = bindings;
+    }
+
+    /**
+     * Runs the {@link com.avairebot.database.DatabaseManager#query(QueryBuilder)} method with the generated query.
      *
      * @return a <code>Collection</code> object that contains the data produced
      * by the given query; never <code>null</code>@exception
@@ -768,16 +845,126 @@ public final class QueryBuilder {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public Collection get() throws SQLException {
-        String query = toSQL();
+        log.debug("QueryBuilder#get() was called for the {} table", table);
+
+        // Note: The DBM query method leases its own connection from the connection pool, and
+        // builds the collection before the result set and the connection is released, so
+        // the collection is still able to read the meta data from the result set.
+        return dbm.query(this);
+    }
+
+    /**
+     * Runs the {@link com.avairebot.database.DatabaseManager#stream(QueryBuilder, int, StreamFunction)} method
+     * with the generated query, streaming the result through the given stream function one row at a time.
+     *
+     * @param fetchSize The amount of rows that should be fetched from the database at a time.
+     * @param stream    The function that should be called for each row.
+     * @return the amount of rows that was passed to the stream function.
+     * @throws SQLException if a database access error occurs, or the stream function throws an exception.
+     */
+    public long stream(int fetchSize, StreamFunction stream) throws SQLException {
+        log.debug("QueryBuilder#stream() was called for the {} table", table);
 
-        log.debug("QueryBuilder#get() was called with the following SQL query.\nSQL: " + query);
-        MDC.put("query", query);
+        return dbm.stream(this, fetchSize, stream);
+    }
 
-        // Note: When parsing the result to a collection, we can't use the DBM query method since it auto closes the result,
-        // and the collection still needs to communicated with the result set to get meta data so it can build the keysets
-        // for the column names, this isn't possible if we close the result before parsing it to the collection, instead
-        // we use the direct connection and have the collection close the connection instead.
-        return new Collection(dbm.getConnection().query(query));
+    /**
+     * Streams the result of the query in chunks using keyset pagination, each chunk is loaded
+     * using a separate query that picks up right after the last row of the previous chunk,
+     * ordered by the given key columns, this way each query only holds on to a connection
+     * for a single chunk, and the database can use the index for the key columns to
+     * find the start of the chunk, instead of skipping over all the previous rows.
+     * <p>
+     * The given key columns must be non-null and uniquely identify each row, otherwise rows
+     * that shares the same key as the last row of a chunk will be skipped.
+     *
+     * @param chunkSize The amount of rows that should be loaded in each chunk.
+     * @param stream    The function that should be called for each row.
+     * @param keys      The columns that uniquely identifies each row, in the order they should be sorted.
+     * @return the amount of rows that was passed to the stream function.
+     * @throws SQLException if a database access error occurs, or the stream function throws an exception.
+     */
+    public long chunkByKey(int chunkSize, StreamFunction stream, String... keys) throws SQLException {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("At least one key column must be given to chunk the query by");
+        }
+
+        List<QueryClause> originalWheres = new ArrayList<>(wheres);
+        List<QueryOrder> originalOrder = new ArrayList<>(order);
+        int originalTake = take;
+
+        order.clear();
+        for (String key : keys) {
+            orderBy(key);
+        }
+        take(chunkSize);
+
+        try {
+            Object[] lastKeys = null;
+            long total = 0;
+
+            while (true) {
+                wheres.clear();
+                wheres.addAll(originalWheres);
+                if (lastKeys != null) {
+                    whereAfterKeys(keys, lastKeys);
+                }
+
+                Object[] chunkKeys = new Object[keys.length];
+                boolean[] stopped = new boolean[]{false};
+
+                long rows = dbm.stream(this, chunkSize, row -> {
+                    if (!stream.run(row)) {
+                        stopped[0] = true;
+                        return false;
+                    }
+
+                    for (int i = 0; i < keys.length; i++) {
+                        chunkKeys[i] = row.get(keys[i]);
+                    }
+                    return true;
+                });
+
+                total += rows;
+                if (stopped[0] || rows < chunkSize) {
+                    return total;
+                }
+                lastKeys = chunkKeys;
+            }
+        } finally {
+            wheres.clear();
+            wheres.addAll(originalWheres);
+            order.clear();
+            order.addAll(originalOrder);
+            take = originalTake;
+        }
+    }
+
+    /**
+     * Adds a nested where clause matching all the rows that comes after the given key values,
+     * for the keys <code>a, b</code> this generates <code>a > ? OR a = ? AND b > ?</code>.
+     *
+     * @param keys   The key columns.
+     * @param values The key values of the last row.
+     */
+    private void whereAfterKeys(String[] keys, Object[] values) {
+        where(clause -> {
+            for (int i = 0; i < keys.length; i++) {
+                for (int j = 0; j < i; j++) {
+                    if (j == 0) {
+                        clause.orWhere(keys[j], values[j]);
+                    } else {
+                        clause.andWhere(keys[j], values[j]);
+                    }
+                }
+
+                if (i == 0) {
+                    clause.where(keys[i], ">", values[i]);
+                } else {
+                    clause.andWhere(keys[i], ">", values[i]);
+                }
+            }
+        });
     }
 
     /**
@@ -21,13 +21,16 @@
 
 package com.avairebot.database.schema;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Blueprint {
 
     private final String table;
     private final LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
+    private final List<Index> indexes = new ArrayList<>();
     private String engine = DatabaseEngine.InnoDB.toString();
 
     /**
@@ -85,6 +88,15 @@ public class Blueprint {
         return fields;
     }
 
+    /**
+     * Gets the indexes created by the blueprint.
+     *
+     * @return the indexes created by the blueprint.
+     */
+    public List<Index> getIndexes() {
+        return indexes;
+    }
+
     /**
      * Creates a {@link FieldType#INTEGER} column of the given name that
      * is {@link Field#unsigned() } and {@link Field#autoIncrement() }.
@@ -330,6 +342,16 @@ public class Blueprint {
         return makeField(field, FieldType.TEXT);
     }
 
+    /**
+     * Creates a {@link FieldType#LONGBLOB} column with the provided name.
+     *
+     * @param field The name of the column that should be created
+     * @return the field instance.
+     */
+    public Field LongBlob(String field) {
+        return makeField(field, FieldType.LONGBLOB);
+    }
+
     /**
      * Creates two {@link FieldType#DATETIME } timestamps, one called <i>created_at</i> that
      * gets used when a row is first created, and another called <i>updated_at</i> which will
@@ -343,6 +365,46 @@ public class Blueprint {
         makeField("updated_at", FieldType.DATETIME).defaultValue(new DefaultSQLAction("CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP"));
     }
 
+    /**
+     * Creates an index for the given fields, if more than one field is given a composite
+     * index is created, ordered by the fields in the order they're given, so the index
+     * can be used by queries that filters by the first field, the first two fields,
+     * and so on, or by queries that only selects the indexed fields.
+     *
+     * @param fields The fields that should be included in the index
+     * @return the index instance.
+     */
+    public Index Index(String... fields) {
+        return makeIndex(false, fields);
+    }
+
+    /**
+     * Creates an unique index for the given fields, the database will reject any row
+     * that has the same values for all the given fields as another row.
+     *
+     * @param fields The fields that should be included in the index
+     * @return the index instance.
+     * @see #Index(String...)
+     */
+    public Index Unique(String... fields) {
+        return makeIndex(true, fields);
+    }
+
+    /**
+     * Creates a new index object for the given fields.
+     *
+     * @param unique Determines if the index should be unique
+     * @param fields The fields that should be included in the index
+     * @return the index instance.
+     */
+    private Index makeIndex(boolean unique, String... fields) {
+        Index index = new Index(unique, fields);
+
+        indexes.add(index);
+
+        return index;
+    }
+
     /**
      * Creates a new field object of the given type.
      *
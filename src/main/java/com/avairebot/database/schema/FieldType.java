@@ -35,7 +35,8 @@ public enum FieldType {
     LONGTEXT("LONGTEXT", false, 0, false),
     MEDIUMTEXT("MEDIUMTEXT", false, 0, false),
     SMALLTEXT("TINYTEXT", false, 0, false),
-    TEXT("TEXT", false, 0, false);
+    TEXT("TEXT", false, 0, false),
+    LONGBLOB("LONGBLOB", false, 0, false);
 
     private final String name;
     private final boolean arguments;
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.schema;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Index {
+
+    private final List<String> fields;
+    private final boolean unique;
+    private String name = null;
+
+    /**
+     * Creates a new index for the given fields, the index will
+     * be ordered by the fields in the order they're given.
+     *
+     * @param unique Determines if the index should be unique.
+     * @param fields The fields that should be included in the index.
+     */
+    Index(boolean unique, String... fields) {
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("An index must include at least one field");
+        }
+
+        this.unique = unique;
+        this.fields = Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Sets the name of the index, if no name is given the name will be generated
+     * from the table name, the fields, and the index type, for example, an index
+     * for the fields <code>a</code> and <code>b</code> on the table <code>t</code>
+     * will be called <code>t_a_b_index</code>.
+     *
+     * @param name The name of the index.
+     * @return the index instance.
+     */
+    public Index name(String name) {
+        this.name = name;
+
+        return this;
+    }
+
+    /**
+     * Gets the name of the index for the given table.
+     *
+     * @param table The table the index belongs to.
+     * @return The name of the index.
+     */
+    @Nonnull
+    public String getName(String table) {
+        if (name != null) {
+            return name;
+        }
+
+        return String.format("%s_%s_%s",
+            table, String.join("_", fields), unique ? "unique" : "index"
+        ).toLowerCase();
+    }
+
+    /**
+     * Gets the fields included in the index, in the order they're indexed by.
+     *
+     * @return The fields included in the index.
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Checks if the index is an unique index.
+     *
+     * @return <code>True</code> if the index is unique, <code>False</code> otherwise.
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+}
@@ -23,12 +23,13 @@ package com.avairebot.database.schema;
 
 import com.avairebot.contracts.database.schema.DatabaseClosure;
 import com.avairebot.database.DatabaseManager;
-import com.avairebot.metrics.Metrics;
+import com.avairebot.database.connections.SQLite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
@@ -68,8 +69,6 @@ public class Schema {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public boolean hasTable(String table) throws SQLException {
-        Metrics.databaseQueries.labels("SELECT").inc();
-
         return dbm.getConnection().hasTable(table);
     }
 
@@ -111,11 +110,13 @@ public class Schema {
 
         log.debug("Schema create was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
-        }
+        boolean created = stmt instanceof PreparedStatement
+            ? !((PreparedStatement) stmt).execute()
+            : !stmt.execute(query);
 
-        return !stmt.execute(query);
+        createIndexes(blueprint, options);
+
+        return created;
     }
 
     /**
@@ -143,11 +144,90 @@ public class Schema {
 
         log.debug("Schema createIfNotExists was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
+        boolean created = stmt instanceof PreparedStatement
+            ? !((PreparedStatement) stmt).execute()
+            : !stmt.execute(query);
+
+        createIndexes(blueprint, options);
+
+        return created;
+    }
+
+    /**
+     * Creates the indexes defined by the {@link DatabaseClosure} for an existing table,
+     * indexes that already exists on the table are skipped, so the method can be
+     * used to add new indexes to tables created by older migrations.
+     *
+     * @param table   The table the indexes should be created for
+     * @param closure The database closure that defines the indexes using the blueprint
+     * @return <code>TRUE</code> if the table exists, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object, the method is called on a
+     *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
+     */
+    public boolean index(String table, DatabaseClosure closure) throws SQLException {
+        if (!hasTable(table)) {
+            return false;
         }
 
-        return !stmt.execute(query);
+        Blueprint blueprint = createAndRunBlueprint(table, closure);
+        blueprint.getIndexes().removeIf(index -> {
+            try {
+                return hasIndex(table, index.getName(table));
+            } catch (SQLException e) {
+                return false;
+            }
+        });
+
+        createIndexes(blueprint, new HashMap<>());
+
+        return true;
+    }
+
+    /**
+     * Checks if the default connection has an index with the provided name for the given table.
+     *
+     * @param table The table to use
+     * @param index The name of the index to check if exists
+     * @return <code>TRUE</code> if the index exists, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean hasIndex(String table, String index) throws SQLException {
+        try (ResultSet indexes = getMetaData().getIndexInfo(null, null, table, false, true)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the index with the provided name from the given table if it exists.
+     *
+     * @param table The table the index belongs to
+     * @param index The name of the index that should be dropped
+     * @return <code>TRUE</code> if the index was dropped successfully, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object, the method is called on a
+     *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
+     */
+    public boolean dropIndexIfExists(String table, String index) throws SQLException {
+        if (!hasIndex(table, index)) {
+            return false;
+        }
+
+        log.debug("Schema dropIndexIfExists was called for index {} on table: {}", index, table);
+
+        if (dbm.getConnection() instanceof SQLite) {
+            return alterQuery(format("DROP INDEX `%s`;", index));
+        }
+        return alterQuery(format("DROP INDEX `%s` ON `%s`;", index, table));
     }
 
     /**
@@ -165,6 +245,25 @@ public class Schema {
         return blueprint;
     }
 
+    /**
+     * Creates all the indexes defined by the given blueprint, each index is
+     * created using its own query since SQLite doesn't support creating
+     * indexes as part of the create table query.
+     *
+     * @param blueprint The blueprint the indexes should be created from
+     * @param options   The options that should be parsed to the grammar generator
+     * @throws SQLException if a database access error occurs.
+     */
+    private void createIndexes(Blueprint blueprint, Map<String, Boolean> options) throws SQLException {
+        for (Index index : blueprint.getIndexes()) {
+            String query = dbm.getConnection().createIndex(dbm, blueprint, index, options);
+
+            log.debug("Schema createIndex was called with: {}", query);
+
+            alterQuery(query);
+        }
+    }
+
     /**
      * Drops the provided table, if the table doesn't exist an exception will be thrown.
      *
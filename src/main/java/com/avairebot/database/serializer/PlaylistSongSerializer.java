@@ -39,6 +39,10 @@ public class PlaylistSongSerializer implements JsonSerializer<PlaylistTransforme
         song.addProperty("duration", src.getDuration());
         song.addProperty("link", src.getLink());
 
+        if (src.hasEncodedTrack()) {
+            song.addProperty("track", src.getTrack());
+        }
+
         return song;
     }
 }
@@ -28,7 +28,9 @@ import com.avairebot.database.collection.DataRow;
 import com.google.gson.reflect.TypeToken;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 public class PlaylistTransformer extends Transformer {
@@ -85,11 +87,16 @@ public class PlaylistTransformer extends Transformer {
     }
 
     public void addSong(@Nonnull String title, @Nonnull String duration, @Nonnull String link) {
+        addSong(title, duration, link, null);
+    }
+
+    public void addSong(@Nonnull String title, @Nonnull String duration, @Nonnull String link, @Nullable byte[] encodedTrack) {
         PlaylistSong song = new PlaylistSong();
 
         song.title = title;
         song.duration = duration;
         song.link = link;
+        song.setEncodedTrack(encodedTrack);
 
         songs.add(song);
     }
@@ -98,6 +105,7 @@ public class PlaylistTransformer extends Transformer {
         private String title;
         private String duration;
         private String link;
+        private String track;
 
         public String getTitle() {
             return title;
@@ -110,5 +118,55 @@ public class PlaylistTransformer extends Transformer {
         public String getLink() {
             return link;
         }
+
+        /**
+         * Gets the base64 encoded LavaPlayer audio track for the song, songs added
+         * before the audio tracks were stored alongside the song won't
+         * have an encoded track until the playlist is loaded.
+         *
+         * @return The base64 encoded audio track, or {@code NULL}.
+         */
+        @Nullable
+        public String getTrack() {
+            return track;
+        }
+
+        /**
+         * Checks if the song has an encoded LavaPlayer audio track stored, allowing
+         * the song to be loaded without having to search for it first.
+         *
+         * @return {@code True} if the song has an encoded track, {@code False} otherwise.
+         */
+        public boolean hasEncodedTrack() {
+            return track != null && !track.isEmpty();
+        }
+
+        /**
+         * Gets the encoded LavaPlayer audio track for the song.
+         *
+         * @return The encoded audio track, or {@code NULL} if the song has no
+         * encoded track, or the stored track is not valid base64.
+         */
+        @Nullable
+        public byte[] getEncodedTrack() {
+            if (!hasEncodedTrack()) {
+                return null;
+            }
+
+            try {
+                return Base64.getDecoder().decode(track);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Sets the encoded LavaPlayer audio track for the song.
+         *
+         * @param encodedTrack The encoded audio track, or {@code NULL} to remove it.
+         */
+        public void setEncodedTrack(@Nullable byte[] encodedTrack) {
+            track = encodedTrack == null ? null : Base64.getEncoder().encodeToString(encodedTrack);
+        }
     }
 }
@@ -23,20 +23,21 @@ package com.avairebot.database.transformers;
 
 import com.avairebot.AvaIre;
 import com.avairebot.audio.TrackRequestContext;
-import com.avairebot.audio.cache.AudioTrackSerializer;
+import com.avairebot.audio.cache.EncodedAudioPlaylist;
 import com.avairebot.audio.searcher.SearchProvider;
 import com.avairebot.contracts.database.transformers.Transformer;
 import com.avairebot.database.collection.DataRow;
 import com.avairebot.exceptions.InvalidStateException;
 import com.google.gson.reflect.TypeToken;
 import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
-import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
+
+import java.io.IOException;
 
 public class SearchResultTransformer extends Transformer {
 
     private SearchProvider provider;
     private String query;
-    private SerializableAudioPlaylist serializableAudioPlaylist;
+    private EncodedAudioPlaylist encodedAudioPlaylist;
 
     /**
      * Creates a new search result transformer for
@@ -50,32 +51,35 @@ public class SearchResultTransformer extends Transformer {
         if (hasData()) {
             provider = SearchProvider.fromId(data.getInt("provider", -1));
             query = data.getString("query");
-            serializableAudioPlaylist = AvaIre.gson.fromJson(
-                data.getString("result"), new TypeToken<SerializableAudioPlaylist>() {
-                }.getType()
-            );
 
-            if (serializableAudioPlaylist == null) {
-                throw new InvalidStateException("The serializable audio playlist is null, this should not happen for cached results");
+            byte[] playlist = data.getBytes("playlist");
+            if (playlist != null) {
+                try {
+                    encodedAudioPlaylist = EncodedAudioPlaylist.decode(playlist);
+                } catch (IOException e) {
+                    throw new InvalidStateException("The encoded audio playlist could not be decoded: " + e.getMessage());
+                }
+            } else {
+                encodedAudioPlaylist = decodeLegacyPlaylist(data.getString("result"));
             }
         }
     }
 
     /**
      * Creates a new search result transformer for the given
-     * track request context and audio playlist.
+     * track request context and encoded audio playlist.
      *
      * @param context  The track request context that should be used
      *                 in the search result transformer.
-     * @param playlist The Audio Playlist that should be used in
-     *                 the search result transformer.
+     * @param playlist The encoded audio playlist that should be used
+     *                 in the search result transformer.
      */
-    public SearchResultTransformer(TrackRequestContext context, AudioPlaylist playlist) {
+    public SearchResultTransformer(TrackRequestContext context, EncodedAudioPlaylist playlist) {
         super(null);
 
         this.provider = context.getProvider();
         this.query = context.getQuery();
-        this.serializableAudioPlaylist = new SerializableAudioPlaylist(playlist);
+        this.encodedAudioPlaylist = playlist;
     }
 
     /**
@@ -97,65 +101,57 @@ public class SearchResultTransformer extends Transformer {
     }
 
     /**
-     * Gets the serializable audio playlist instance, this will contain all
-     * the audio tracks contained in the result as a byte array,
+     * Gets the encoded audio playlist instance, this will contain all the
+     * audio tracks contained in the result in their encoded form,
      * as-well-as some information about the playlist like
      * it's name and search status.
      *
-     * @return The serializable audio playlist instance.
+     * @return The encoded audio playlist instance.
      */
-    public SerializableAudioPlaylist getSerializableAudioPlaylist() {
-        return serializableAudioPlaylist;
+    public EncodedAudioPlaylist getEncodedAudioPlaylist() {
+        return encodedAudioPlaylist;
     }
 
     /**
      * Gets the audio playlist instance, this will create a completely new audio playlist
-     * instance from the {@link #getSerializableAudioPlaylist() serialized playlist}.
+     * instance from the {@link #getEncodedAudioPlaylist() encoded playlist}, the tracks
+     * in the playlist are only decoded once they're requested from the playlist.
      *
      * @return The audio playlist instance stored in the cache.
      */
     public AudioPlaylist getAudioPlaylist() {
-        return new BasicAudioPlaylist(
-            serializableAudioPlaylist.name,
-            AudioTrackSerializer.decodeTracks(serializableAudioPlaylist.tracks),
-            AudioTrackSerializer.decodeTrack(serializableAudioPlaylist.selectedTrack),
-            serializableAudioPlaylist.isSearchResult
+        return encodedAudioPlaylist.toAudioPlaylist();
+    }
+
+    private EncodedAudioPlaylist decodeLegacyPlaylist(String result) {
+        SerializableAudioPlaylist legacyPlaylist = AvaIre.gson.fromJson(
+            result, new TypeToken<SerializableAudioPlaylist>() {
+            }.getType()
+        );
+
+        if (legacyPlaylist == null) {
+            throw new InvalidStateException("The serializable audio playlist is null, this should not happen for cached results");
+        }
+
+        return EncodedAudioPlaylist.fromEncodedTracks(
+            legacyPlaylist.name,
+            legacyPlaylist.isSearchResult,
+            legacyPlaylist.selectedTrack,
+            legacyPlaylist.tracks
         );
     }
 
-    public static class SerializableAudioPlaylist {
+    /**
+     * The legacy JSON format search results were stored in before the binary
+     * {@link EncodedAudioPlaylist encoded playlist} format was introduced,
+     * the format is only used to read old cache entries that haven't
+     * been refreshed or deleted from the database yet.
+     */
+    private static class SerializableAudioPlaylist {
 
         private String name;
         private boolean isSearchResult;
         private byte[] selectedTrack;
         private byte[][] tracks;
-
-        public SerializableAudioPlaylist(AudioPlaylist playlist) {
-            this.name = playlist.getName();
-            this.isSearchResult = playlist.isSearchResult();
-            this.selectedTrack = AudioTrackSerializer.encodeTrack(playlist.getSelectedTrack());
-            this.tracks = AudioTrackSerializer.encodeTracks(playlist.getTracks());
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public byte[] getSelectedTrack() {
-            return selectedTrack;
-        }
-
-        public byte[][] getTracks() {
-            return tracks;
-        }
-
-        public boolean isSearchResult() {
-            return isSearchResult;
-        }
-
-        @Override
-        public String toString() {
-            return AvaIre.gson.toJson(this);
-        }
     }
 }
@@ -23,6 +23,7 @@ package com.avairebot.handlers;
 
 import com.avairebot.AvaIre;
 import com.avairebot.contracts.handlers.EventHandler;
+import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.controllers.PlayerController;
 import com.avairebot.handlers.adapter.*;
 import com.avairebot.metrics.Metrics;
@@ -119,6 +120,7 @@ public class MainEventHandler extends EventHandler {
     @Override
     public void onReady(ReadyEvent event) {
         jdaStateEventAdapter.onConnectToShard(event.getJDA());
+        GuildController.warmCache(avaire, event.getJDA());
     }
 
     @Override
@@ -129,6 +131,7 @@ public class MainEventHandler extends EventHandler {
     @Override
     public void onReconnect(ReconnectedEvent event) {
         jdaStateEventAdapter.onConnectToShard(event.getJDA());
+        GuildController.warmCache(avaire, event.getJDA());
     }
 
     @Override
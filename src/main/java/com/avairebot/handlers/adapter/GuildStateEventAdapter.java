@@ -174,6 +174,8 @@ public class GuildStateEventAdapter extends EventAdapter {
             musicManager.getPlayer().stopTrack();
             musicManager.getScheduler().getQueue().clear();
 
+            AudioHandler.getDefaultAudioHandler().getQueueJournal().remove(guildId);
+
             MusicActivityTask.missingListener.remove(guildId);
             MusicActivityTask.playerPaused.remove(guildId);
             MusicActivityTask.emptyQueue.remove(guildId);
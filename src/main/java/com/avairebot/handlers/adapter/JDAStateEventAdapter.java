@@ -55,7 +55,10 @@ import org.slf4j.LoggerFactory;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
 
 public class JDAStateEventAdapter extends EventAdapter {
 
@@ -86,7 +89,7 @@ public class JDAStateEventAdapter extends EventAdapter {
         );
 
         int connectedChannels = 0;
-        for (AudioState state : getAudioStates()) {
+        for (AudioState state : getAudioStates(jda)) {
             if (state == null) {
                 continue;
             }
@@ -176,17 +179,41 @@ public class JDAStateEventAdapter extends EventAdapter {
         );
     }
 
-    private List<AudioState> getAudioStates() {
+    private List<AudioState> getAudioStates(JDA jda) {
+        // Guilds that already has music playing are skipped, this prevents the queue
+        // from being restored again if the shard reconnects or resumes the session.
+        LongPredicate shouldRestore = guildId -> jda.getGuildById(guildId) != null
+            && !AudioHandler.getDefaultAudioHandler().musicManagers.containsKey(guildId);
+
+        List<AudioState> audioStates = new ArrayList<>(
+            AudioHandler.getDefaultAudioHandler().getQueueJournal().restore(shouldRestore)
+        );
+
+        // Audio states cached by older versions during shutdown are still restored
+        // for the guilds that doesn't have a journal yet, the cache entry
+        // expires on its own, and is no longer written to.
         Object rawAudioState = avaire.getCache().getAdapter(CacheType.FILE).get("audio.state");
         if (rawAudioState == null) {
-            return new ArrayList<>();
+            return audioStates;
         }
 
-        return AvaIre.gson.fromJson(
+        Set<Long> restoredGuilds = audioStates.stream()
+            .map(AudioState::getGuildId)
+            .collect(Collectors.toSet());
+
+        List<AudioState> cachedAudioStates = AvaIre.gson.fromJson(
             String.valueOf(rawAudioState),
             new TypeToken<List<AudioState>>() {
             }.getType()
         );
+
+        for (AudioState state : cachedAudioStates) {
+            if (state != null && !restoredGuilds.contains(state.getGuildId()) && shouldRestore.test(state.getGuildId())) {
+                audioStates.add(state);
+            }
+        }
+
+        return audioStates;
     }
 
     private void handleAutoroleTask(JDA jda) {
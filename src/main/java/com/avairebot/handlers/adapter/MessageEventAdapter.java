@@ -38,12 +38,15 @@ import com.avairebot.database.transformers.ChannelTransformer;
 import com.avairebot.database.transformers.GuildTransformer;
 import com.avairebot.factories.MessageFactory;
 import com.avairebot.handlers.DatabaseEventHolder;
+import com.avairebot.handlers.executor.BoundedExecutor;
+import com.avairebot.handlers.executor.ExecutorSettings;
 import com.avairebot.language.I18n;
+import com.avairebot.metrics.CommandTrace;
 import com.avairebot.middleware.MiddlewareStack;
 import com.avairebot.shared.DiscordConstants;
 import com.avairebot.utilities.ArrayUtil;
 import com.avairebot.utilities.RestActionUtil;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
@@ -56,8 +59,6 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -65,12 +66,6 @@ public class MessageEventAdapter extends EventAdapter {
 
     public static final Set<Long> hasReceivedInfoMessageInTheLastMinute = new HashSet<>();
 
-    private static final ExecutorService commandService = Executors.newCachedThreadPool(
-        new ThreadFactoryBuilder()
-            .setNameFormat("avaire-command-thread-%d")
-            .build()
-    );
-
     private static final Logger log = LoggerFactory.getLogger(MessageEventAdapter.class);
     private static final Pattern userRegEX = Pattern.compile("<@(!|)+[0-9]{16,}+>", Pattern.CASE_INSENSITIVE);
     private static final String mentionMessage = String.join("\n", Arrays.asList(
@@ -86,6 +81,9 @@ public class MessageEventAdapter extends EventAdapter {
         "https://discordbots.org/bot/avaire/vote"
     ));
 
+    private final BoundedExecutor databaseService;
+    private final BoundedExecutor commandService;
+
     /**
      * Instantiates the event adapter and sets the avaire class instance.
      *
@@ -93,6 +91,17 @@ public class MessageEventAdapter extends EventAdapter {
      */
     public MessageEventAdapter(AvaIre avaire) {
         super(avaire);
+
+        this.databaseService = new BoundedExecutor("database", ExecutorSettings.fromConfig(
+            avaire.getConfig(), "command-executor.database", new ExecutorSettings(8, 1000, 50)
+        ));
+        this.commandService = new BoundedExecutor("command", ExecutorSettings.fromConfig(
+            avaire.getConfig(), "command-executor.command", new ExecutorSettings(32, 500, 25)
+        ));
+
+        CommandTrace.setSlowCommandThreshold(
+            avaire.getConfig().getLong("command-executor.slow-command-threshold", 0)
+        );
     }
 
     public void onMessageReceived(MessageReceivedEvent event) {
@@ -108,21 +117,26 @@ public class MessageEventAdapter extends EventAdapter {
             return;
         }
 
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
+        final CommandTrace trace = new CommandTrace();
+
+        loadDatabasePropertiesIntoMemory(event, trace).thenAccept(databaseEventHolder -> {
             if (databaseEventHolder.getGuild() != null && databaseEventHolder.getPlayer() != null) {
                 avaire.getLevelManager().rewardPlayer(event, databaseEventHolder.getGuild(), databaseEventHolder.getPlayer());
+                trace.lap(CommandTrace.PIPELINE, "reward-player");
             }
 
             CommandContainer container = CommandHandler.getCommand(avaire, event.getMessage(), event.getMessage().getContentRaw());
             if (container != null && canExecuteCommand(event, container)) {
-                invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder));
+                trace.lap(CommandTrace.PIPELINE, "resolve-command");
+                invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, false, trace));
                 return;
             }
 
             if (isMentionableAction(event)) {
                 container = CommandHandler.getLazyCommand(ArrayUtil.toArguments(event.getMessage().getContentRaw())[1]);
                 if (container != null && canExecuteCommand(event, container)) {
-                    invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, true));
+                    trace.lap(CommandTrace.PIPELINE, "resolve-command");
+                    invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, true, trace));
                     return;
                 }
 
@@ -152,7 +166,13 @@ public class MessageEventAdapter extends EventAdapter {
     }
 
     private void invokeMiddlewareStack(MiddlewareStack stack) {
-        commandService.submit(stack::next);
+        commandService.submit(getExecutionKey(stack.getMessage()), stack::next);
+    }
+
+    private long getExecutionKey(Message message) {
+        return message.getChannelType().isGuild()
+            ? message.getGuild().getIdLong()
+            : message.getAuthor().getIdLong();
     }
 
     private boolean canExecuteCommand(MessageReceivedEvent event, CommandContainer container) {
@@ -254,21 +274,30 @@ public class MessageEventAdapter extends EventAdapter {
         }
     }
 
-    private CompletableFuture<DatabaseEventHolder> loadDatabasePropertiesIntoMemory(final MessageReceivedEvent event) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!event.getChannelType().isGuild()) {
-                return new DatabaseEventHolder(null, null);
-            }
+    private CompletableFuture<DatabaseEventHolder> loadDatabasePropertiesIntoMemory(final MessageReceivedEvent event, final CommandTrace trace) {
+        return databaseService.supply(getExecutionKey(event.getMessage()), () -> {
+            trace.lap(CommandTrace.PIPELINE, "database-queue");
 
-            GuildTransformer guild = GuildController.fetchGuild(avaire, event.getMessage());
+            DatabaseEventHolder databaseEventHolder = loadDatabaseEventHolder(event);
+            trace.lap(CommandTrace.PIPELINE, "database");
 
-            if (guild == null || !guild.isLevels() || event.getAuthor().isBot()) {
-                return new DatabaseEventHolder(guild, null);
-            }
-            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()));
+            return databaseEventHolder;
         });
     }
 
+    private DatabaseEventHolder loadDatabaseEventHolder(final MessageReceivedEvent event) {
+        if (!event.getChannelType().isGuild()) {
+            return new DatabaseEventHolder(null, null);
+        }
+
+        GuildTransformer guild = GuildController.fetchGuild(avaire, event.getMessage());
+
+        if (guild == null || !guild.isLevels() || event.getAuthor().isBot()) {
+            return new DatabaseEventHolder(guild, null);
+        }
+        return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()));
+    }
+
     public void onMessageDelete(TextChannel channel, List<String> messageIds) {
         Collection reactions = ReactionController.fetchReactions(avaire, channel.getGuild());
         if (reactions == null || reactions.isEmpty()) {
@@ -29,8 +29,6 @@ import com.avairebot.database.collection.DataRow;
 import com.avairebot.database.controllers.ReactionController;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.transformers.ReactionTransformer;
-import com.avairebot.scheduler.tasks.DrainReactionRoleQueueTask;
-import com.avairebot.utilities.RoleUtil;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Role;
@@ -103,16 +101,13 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
             return;
         }
 
-        if (RoleUtil.hasRole(event.getMember(), role) || !event.getGuild().getSelfMember().canInteract(role)) {
+        // The role is checked against the members current roles when the action is sent
+        // to Discord, so an add followed by a remove cancels out while still pending.
+        if (!event.getGuild().getSelfMember().canInteract(role)) {
             return;
         }
 
-        DrainReactionRoleQueueTask.queueReactionActionEntity(new DrainReactionRoleQueueTask.ReactionActionEntity(
-            event.getGuild().getIdLong(),
-            event.getMember().getUser().getIdLong(),
-            role.getIdLong(),
-            DrainReactionRoleQueueTask.ReactionActionType.ADD
-        ));
+        avaire.getRoleActionManager().addRole(event.getGuild(), event.getMember(), role);
     }
 
     @SuppressWarnings("ConstantConditions")
@@ -130,16 +125,11 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
             return;
         }
 
-        if (!RoleUtil.hasRole(event.getMember(), role) || !event.getGuild().getSelfMember().canInteract(role)) {
+        if (!event.getGuild().getSelfMember().canInteract(role)) {
             return;
         }
 
-        DrainReactionRoleQueueTask.queueReactionActionEntity(new DrainReactionRoleQueueTask.ReactionActionEntity(
-            event.getGuild().getIdLong(),
-            event.getMember().getUser().getIdLong(),
-            role.getIdLong(),
-            DrainReactionRoleQueueTask.ReactionActionType.REMOVE
-        ));
+        avaire.getRoleActionManager().removeRole(event.getGuild(), event.getMember(), role);
     }
 
     private ReactionTransformer getReactionTransformerFromMessageIdAndCheckPermissions(@Nonnull Guild guild, @Nonnull String messageId, long emoteId) {
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.handlers.executor;
+
+import com.avairebot.metrics.Metrics;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+public class BoundedExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedExecutor.class);
+
+    private final String name;
+    private final ExecutorSettings settings;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, Integer> pending;
+
+    /**
+     * Creates a new bounded executor with the given name and settings.
+     *
+     * @param name     The name of the executor, used for thread names and metrics.
+     * @param settings The settings the executor should follow.
+     */
+    public BoundedExecutor(@Nonnull String name, @Nonnull ExecutorSettings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.pending = new ConcurrentHashMap<>();
+
+        this.executor = new ThreadPoolExecutor(
+            settings.getThreads(), settings.getThreads(),
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(settings.getQueueSize()),
+            new ThreadFactoryBuilder()
+                .setNameFormat("avaire-" + name + "-thread-%d")
+                .setDaemon(true)
+                .build(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Submits the given task to the executor, if the guild already has too many
+     * tasks queued, or the executor queue is full, the task is shed instead
+     * of being queued, so the caller doesn't block during spikes.
+     *
+     * @param guildId The ID of the guild the task belongs to, or the user ID for direct messages.
+     * @param task    The task that should be executed.
+     * @return {@code True} if the task was queued, {@code False} if it was shed.
+     */
+    public boolean submit(long guildId, @Nonnull Runnable task) {
+        if (!reserve(guildId)) {
+            reject("guild-limit", guildId);
+            return false;
+        }
+
+        final long queuedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                Metrics.executorWaitTime.labels(name).observe((System.nanoTime() - queuedAt) / 1E9D);
+                Metrics.executorQueueSize.labels(name).set(executor.getQueue().size());
+                Metrics.executorActiveThreads.labels(name).inc();
+
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("An exception was thrown while running a task on the {} executor: {}",
+                        name, e.getMessage(), e
+                    );
+                } finally {
+                    Metrics.executorActiveThreads.labels(name).dec();
+                    release(guildId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release(guildId);
+            reject("saturated", guildId);
+            return false;
+        }
+
+        Metrics.executorQueueSize.labels(name).set(executor.getQueue().size());
+
+        return true;
+    }
+
+    /**
+     * Runs the given supplier on the executor, the returned future is completed
+     * with the result of the supplier, if the task is shed the future
+     * is completed exceptionally with a rejected execution exception.
+     *
+     * @param guildId  The ID of the guild the task belongs to, or the user ID for direct messages.
+     * @param supplier The supplier that should be executed.
+     * @param <T>      The type of the value returned by the supplier.
+     * @return The future that is completed with the result of the supplier.
+     */
+    public <T> CompletableFuture<T> supply(long guildId, @Nonnull Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        boolean queued = submit(guildId, () -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        if (!queued) {
+            future.completeExceptionally(new RejectedExecutionException(
+                "The " + name + " executor is saturated, the task was shed."
+            ));
+        }
+
+        return future;
+    }
+
+    /**
+     * Gets the name of the executor.
+     *
+     * @return The name of the executor.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the settings used by the executor.
+     *
+     * @return The executor settings.
+     */
+    public ExecutorSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Gets the amount of tasks currently waiting for a free thread.
+     *
+     * @return The amount of queued tasks.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the amount of threads that are currently running a task.
+     *
+     * @return The amount of active threads.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Shuts down the executor, tasks that are already queued will
+     * still be executed, but no new tasks will be accepted.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean reserve(long guildId) {
+        boolean[] reserved = new boolean[]{false};
+
+        pending.compute(guildId, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= settings.getPerGuildLimit()) {
+                return count;
+            }
+
+            reserved[0] = true;
+            return current + 1;
+        });
+
+        return reserved[0];
+    }
+
+    private void release(long guildId) {
+        pending.computeIfPresent(guildId, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private void reject(String reason, long guildId) {
+        Metrics.executorRejected.labels(name, reason).inc();
+
+        log.debug("Shed task on the {} executor for {} ({}), queue size: {}, active threads: {}",
+            name, guildId, reason, executor.getQueue().size(), executor.getActiveCount()
+        );
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.handlers.executor;
+
+import com.avairebot.config.Configuration;
+
+import javax.annotation.Nonnull;
+
+public class ExecutorSettings {
+
+    private final int threads;
+    private final int queueSize;
+    private final int perGuildLimit;
+
+    /**
+     * Creates a new executor settings instance.
+     *
+     * @param threads       The maximum amount of threads the executor can use.
+     * @param queueSize     The maximum amount of tasks that can wait in the queue.
+     * @param perGuildLimit The maximum amount of tasks a single guild can have queued or running.
+     */
+    public ExecutorSettings(int threads, int queueSize, int perGuildLimit) {
+        this.threads = Math.max(1, threads);
+        this.queueSize = Math.max(1, queueSize);
+        this.perGuildLimit = Math.max(1, perGuildLimit);
+    }
+
+    /**
+     * Creates the executor settings from the given section of the config.
+     *
+     * @param config   The config the settings should be loaded from.
+     * @param path     The path to the section the settings are stored in.
+     * @param defaults The default settings used for values missing from the config.
+     * @return The executor settings loaded from the config.
+     */
+    public static ExecutorSettings fromConfig(@Nonnull Configuration config, @Nonnull String path, @Nonnull ExecutorSettings defaults) {
+        return new ExecutorSettings(
+            config.getInt(path + ".threads", defaults.getThreads()),
+            config.getInt(path + ".queue-size", defaults.getQueueSize()),
+            config.getInt(path + ".per-guild-limit", defaults.getPerGuildLimit())
+        );
+    }
+
+    /**
+     * Gets the maximum amount of threads the executor is allowed to use.
+     *
+     * @return The maximum amount of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the maximum amount of tasks that can be waiting for a free thread,
+     * tasks submitted while the queue is full are rejected.
+     *
+     * @return The maximum queue size.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Gets the maximum amount of tasks a single guild can have queued or running at
+     * the same time, this prevents a single busy guild from filling up the
+     * queue and starving every other guild on the bot.
+     *
+     * @return The maximum amount of tasks per guild.
+     */
+    public int getPerGuildLimit() {
+        return perGuildLimit;
+    }
+}
@@ -26,6 +26,8 @@ import com.avairebot.exceptions.FailedToLoadResourceException;
 import java.awt.*;
 import java.io.IOException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Fonts {
 
@@ -57,6 +59,14 @@ public class Fonts {
      */
     public static final Font extraBold;
 
+    /**
+     * The fonts that have been derived from the base fonts, mapped by the font
+     * name and size, the renders only ever use a handful of font sizes,
+     * so the cache stays small while saving the derive call for
+     * every piece of text that is drawn.
+     */
+    private static final Map<String, Font> derivedFonts = new ConcurrentHashMap<>();
+
     static {
         boolean isWindows = System.getProperty("os.name", "generic")
             .toLowerCase(Locale.ENGLISH)
@@ -68,6 +78,21 @@ public class Fonts {
         extraBold = loadFont("Poppins-ExtraBold." + (isWindows ? "ttf" : "otf"));
     }
 
+    /**
+     * Derives a plain version of the given font with the given size, derived
+     * fonts are cached, so deriving the same font and size multiple
+     * times will always return the same font instance.
+     *
+     * @param font The font that should be derived.
+     * @param size The size of the derived font.
+     * @return The derived font with the given size.
+     */
+    public static Font derive(Font font, float size) {
+        return derivedFonts.computeIfAbsent(font.getFontName() + ":" + size,
+            key -> font.deriveFont(Font.PLAIN, size)
+        );
+    }
+
     private static Font loadFont(String resourceName) {
         try {
             return Font.createFont(
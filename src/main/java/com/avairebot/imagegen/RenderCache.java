@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.imagegen;
+
+import com.avairebot.AvaIre;
+import com.avairebot.contracts.imagegen.Renderer;
+import com.avairebot.handlers.executor.BoundedExecutor;
+import com.avairebot.handlers.executor.ExecutorSettings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class RenderCache {
+
+    /**
+     * The decoded and scaled background images, mapped by the background file
+     * name and the size they were scaled to, the cache is bounded by the
+     * amount of memory the decoded pixels takes up.
+     */
+    public static final Cache<String, BufferedImage> backgrounds = CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumWeight(32 * 1024 * 1024)
+        .weigher((String key, BufferedImage image) -> getPixelSize(image))
+        .build();
+
+    /**
+     * The decoded and scaled user avatars, mapped by the avatar URL and the
+     * size they were scaled to, avatar URLs includes the avatar hash,
+     * so changing avatar will also change the cache key.
+     */
+    public static final Cache<String, BufferedImage> avatars = CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumWeight(16 * 1024 * 1024)
+        .weigher((String key, BufferedImage image) -> getPixelSize(image))
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * The finished PNG encoded renders, mapped by the cache key of the renderer
+     * that created them, requesting the same render multiple times will
+     * just return the encoded image without rendering it again.
+     */
+    public static final Cache<String, byte[]> renders = CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumWeight(32 * 1024 * 1024)
+        .weigher((String key, byte[] bytes) -> bytes.length)
+        .expireAfterWrite(10, TimeUnit.MINUTES)
+        .build();
+
+    private static BoundedExecutor executor;
+
+    /**
+     * Renders the given renderer to a PNG encoded byte array on the render pool, if the
+     * renderer has a cache key, and the same render has already been made, the
+     * cached image will be returned instead without rendering it again.
+     * <p>
+     * If the render pool is saturated the future will be completed exceptionally
+     * with a rejected execution exception, so the caller can fallback to
+     * sending the information without an image instead.
+     *
+     * @param guildId  The ID of the guild the render was requested in, or the user ID for direct messages.
+     * @param renderer The renderer that should be rendered.
+     * @return The future that is completed with the rendered image.
+     */
+    public static CompletableFuture<byte[]> renderToBytes(long guildId, @Nonnull Renderer renderer) {
+        String cacheKey = renderer.getCacheKey();
+        if (cacheKey != null) {
+            byte[] bytes = renders.getIfPresent(cacheKey);
+            if (bytes != null) {
+                return CompletableFuture.completedFuture(bytes);
+            }
+        }
+
+        return getExecutor().supply(guildId, () -> {
+            try {
+                byte[] bytes = renderer.renderToBytes();
+                if (bytes != null && cacheKey != null) {
+                    renders.put(cacheKey, bytes);
+                }
+                return bytes;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static synchronized BoundedExecutor getExecutor() {
+        if (executor == null) {
+            executor = new BoundedExecutor("render", ExecutorSettings.fromConfig(
+                AvaIre.getInstance().getConfig(), "command-executor.render", new ExecutorSettings(2, 100, 5)
+            ));
+        }
+        return executor;
+    }
+
+    private static int getPixelSize(BufferedImage image) {
+        return image.getWidth() * image.getHeight() * 4;
+    }
+}
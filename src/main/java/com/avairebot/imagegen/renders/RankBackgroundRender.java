@@ -24,6 +24,10 @@ package com.avairebot.imagegen.renders;
 import com.avairebot.contracts.imagegen.Renderer;
 import com.avairebot.imagegen.Fonts;
 import com.avairebot.imagegen.RankBackground;
+import com.avairebot.imagegen.RenderCache;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.dv8tion.jda.api.entities.User;
 
 import javax.annotation.Nonnull;
@@ -33,8 +37,11 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 @SuppressWarnings("FieldCanBeLocal")
 public class RankBackgroundRender extends Renderer {
@@ -186,11 +193,20 @@ public class RankBackgroundRender extends Renderer {
     }
 
     @Override
-    protected BufferedImage handleRender() throws IOException {
-        URL url = new URL(avatarUrl);
-        URLConnection urlConnection = url.openConnection();
-        urlConnection.setRequestProperty("User-Agent", "AvaIre-Discord-Bot");
+    public String getCacheKey() {
+        if (background == null) {
+            return null;
+        }
+
+        return String.join("|",
+            "rank", username, discriminator, avatarUrl, String.valueOf(background.getId()),
+            rank, level, currentXpInLevel, totalXpInLevel, serverExperience, globalExperience,
+            String.valueOf(percentage)
+        );
+    }
 
+    @Override
+    protected BufferedImage handleRender() throws IOException {
         final String xpBarText = String.format("%s out of %s xp", currentXpInLevel, totalXpInLevel);
 
         BufferedImage backgroundImage = loadAndBuildBackground();
@@ -205,7 +221,7 @@ public class RankBackgroundRender extends Renderer {
         }
 
         // Draws the avatar image on top of the background.
-        graphics.drawImage(resize(ImageIO.read(urlConnection.getInputStream()), 95, 95), 25, 15, null);
+        graphics.drawImage(loadAvatar(), 25, 15, null);
 
         createUserGraphics(graphics);
         createBackgroundGraphics(graphics, xpBarText);
@@ -215,12 +231,34 @@ public class RankBackgroundRender extends Renderer {
         return backgroundImage;
     }
 
+    private BufferedImage loadAvatar() throws IOException {
+        return loadCached(RenderCache.avatars, avatarUrl + "@95x95", () -> {
+            URLConnection urlConnection = new URL(avatarUrl).openConnection();
+            urlConnection.setRequestProperty("User-Agent", "AvaIre-Discord-Bot");
+
+            try (InputStream stream = urlConnection.getInputStream()) {
+                return resize(ImageIO.read(stream), 95, 95);
+            }
+        });
+    }
+
     private BufferedImage loadAndBuildBackground() throws IOException {
         if (background.getBackgroundFile() != null) {
-            return resize(
-                ImageIO.read(new FileInputStream("backgrounds/" + background.getBackgroundFile())),
-                200, 600
-            );
+            BufferedImage cachedImage = loadCached(RenderCache.backgrounds, background.getBackgroundFile() + "@600x200", () -> {
+                try (InputStream stream = new FileInputStream("backgrounds/" + background.getBackgroundFile())) {
+                    return resize(ImageIO.read(stream), 200, 600);
+                }
+            });
+
+            // The cached background is shared between renders, so we draw it onto
+            // a new image instead, since the render draws directly on the image.
+            BufferedImage backgroundImage = new BufferedImage(600, 200, BufferedImage.TYPE_INT_ARGB);
+
+            Graphics2D backgroundGraphics = backgroundImage.createGraphics();
+            backgroundGraphics.drawImage(cachedImage, 0, 0, null);
+            backgroundGraphics.dispose();
+
+            return backgroundImage;
         }
 
         BufferedImage backgroundImage = new BufferedImage(600, 200, BufferedImage.TYPE_INT_ARGB);
@@ -232,15 +270,26 @@ public class RankBackgroundRender extends Renderer {
         return backgroundImage;
     }
 
+    private BufferedImage loadCached(Cache<String, BufferedImage> cache, String key, Callable<BufferedImage> loader) throws IOException {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+
+            throw new IOException(e.getCause());
+        }
+    }
+
     private void createUserGraphics(Graphics2D graphics) {
-        graphics.setFont(Fonts.bold.deriveFont(Font.PLAIN, 26F));
+        graphics.setFont(Fonts.derive(Fonts.bold, 26F));
         graphics.setColor(background.getBackgroundColors().getMainTextColor());
 
         graphics.drawString(username, startingX + 5, startingY);
 
         FontMetrics fontMetrics = graphics.getFontMetrics();
 
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 17));
+        graphics.setFont(Fonts.derive(Fonts.medium, 17));
         graphics.setColor(background.getBackgroundColors().getSecondaryTextColor());
 
         graphics.drawString("#" + discriminator, startingX + 5 + fontMetrics.stringWidth(username), startingY);
@@ -261,7 +310,7 @@ public class RankBackgroundRender extends Renderer {
         // Create the text that should be displayed in the middle of the XP bar
         graphics.setColor(background.getBackgroundColors().getExperienceTextColor());
 
-        Font smallText = Fonts.medium.deriveFont(Font.PLAIN, 20F);
+        Font smallText = Fonts.derive(Fonts.medium, 20F);
         graphics.setFont(smallText);
 
         FontMetrics fontMetrics = graphics.getFontMetrics(smallText);
@@ -272,11 +321,11 @@ public class RankBackgroundRender extends Renderer {
         graphics.setColor(background.getBackgroundColors().getMainTextColor());
 
         // Create Level text
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 28));
+        graphics.setFont(Fonts.derive(Fonts.medium, 28));
         graphics.drawString("LEVEL", 35, 140);
 
         FontMetrics infoTextGraphicsFontMetricsLarge = graphics.getFontMetrics();
-        graphics.setFont(Fonts.extraBold.deriveFont(Font.PLAIN, 48));
+        graphics.setFont(Fonts.derive(Fonts.extraBold, 48));
 
         FontMetrics infoTextGraphicsFontMetricsSmall = graphics.getFontMetrics();
         graphics.drawString(level, 35 + (
@@ -284,9 +333,9 @@ public class RankBackgroundRender extends Renderer {
         ), 185);
 
         // Create Score Text
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 28));
+        graphics.setFont(Fonts.derive(Fonts.medium, 28));
         graphics.drawString("RANK", 165, 140);
-        graphics.setFont(Fonts.extraBold.deriveFont(Font.PLAIN, 48));
+        graphics.setFont(Fonts.derive(Fonts.extraBold, 48));
         graphics.drawString(rank, 165 + (
             (infoTextGraphicsFontMetricsLarge.stringWidth("RANK") - infoTextGraphicsFontMetricsSmall.stringWidth(rank)) / 2
         ), 185);
@@ -295,11 +344,11 @@ public class RankBackgroundRender extends Renderer {
     private void createExperienceGraphics(Graphics2D graphics) {
         graphics.setColor(background.getBackgroundColors().getMainTextColor());
 
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 26F));
+        graphics.setFont(Fonts.derive(Fonts.medium, 26F));
         graphics.drawString("Server XP:", 300, 140);
         graphics.drawString("Global XP:", 300, 180);
 
-        graphics.setFont(Fonts.regular.deriveFont(Font.PLAIN, 24F));
+        graphics.setFont(Fonts.derive(Fonts.regular, 24F));
         graphics.setColor(background.getBackgroundColors().getSecondaryTextColor());
         graphics.drawString(serverExperience, 455, 140);
         graphics.drawString(globalExperience, 455, 180);
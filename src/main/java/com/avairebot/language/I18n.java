@@ -25,22 +25,37 @@ import com.avairebot.AvaIre;
 import com.avairebot.config.YamlConfiguration;
 import com.avairebot.database.controllers.GuildController;
 import com.avairebot.database.transformers.GuildTransformer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.text.MessageFormat;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 public class I18n {
 
     static final Set<LanguageContainer> languages = new HashSet<>();
+    private static final Map<Language, LanguageContainer> languagesByType = new EnumMap<>(Language.class);
+    private static final Map<String, LanguageContainer> languagesByCode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     private static final LanguageContainer defaultLanguage = new LanguageContainer(Language.EN_US);
     private static final Logger log = LoggerFactory.getLogger(I18n.class);
 
+    /**
+     * The compiled message templates used by {@link #format(String, Object...)}, most of
+     * the formatted messages are either constant strings, or strings loaded from
+     * the language files, so the same messages are formatted over and over.
+     */
+    private static final Cache<String, MessageTemplate> formatTemplates = CacheBuilder.newBuilder()
+        .maximumSize(2048)
+        .build();
+
     private static AvaIre avaire;
 
     /**
@@ -62,6 +77,13 @@ public class I18n {
             languages.add(new LanguageContainer(language));
         }
 
+        languagesByType.clear();
+        languagesByCode.clear();
+        for (LanguageContainer locale : languages) {
+            languagesByType.put(locale.getLanguage(), locale);
+            languagesByCode.put(locale.getLanguage().getCode(), locale);
+        }
+
         log.info("Loaded " + languages.size() + " languages: " + languages);
     }
 
@@ -92,11 +114,11 @@ public class I18n {
      */
     @Nullable
     public static String getString(@Nonnull Guild guild, String string, Object... args) {
-        String message = getString(guild, string);
-        if (message == null) {
+        MessageTemplate template = getTemplate(guild, string);
+        if (template == null) {
             return null;
         }
-        return format(message, args);
+        return template.format(args);
     }
 
     /**
@@ -113,10 +135,36 @@ public class I18n {
      */
     @Nullable
     public static String getString(@Nullable Guild guild, String string) {
+        MessageTemplate template = getTemplate(guild, string);
+        if (template == null) {
+            return null;
+        }
+        return template.getMessage();
+    }
+
+    /**
+     * Gets the compiled {@link MessageTemplate message template} for the given string from
+     * the guilds selected language, if no template was found for the guilds selected
+     * language, the default language will be used instead, if no matches was found
+     * there either, then <code>NULL</code> will be returned instead.
+     *
+     * @param guild  The JDA guild instance that should be used for loading the language.
+     * @param string The string that should be loaded from the language files.
+     * @return The message template from the given guilds selected language, or the default
+     * language if it doesn't exists in the guilds selected language, or
+     * <code>NULL</code> if it doesn't exist anywhere.
+     */
+    @Nullable
+    public static MessageTemplate getTemplate(@Nullable Guild guild, String string) {
         if (string == null) {
             return null;
         }
-        return get(guild).getString(string, defaultLanguage.getConfig().getString(string, null));
+
+        MessageTemplate template = getLocale(guild).getTemplate(string);
+        if (template == null) {
+            return defaultLanguage.getTemplate(string);
+        }
+        return template;
     }
 
     /**
@@ -180,10 +228,8 @@ public class I18n {
     @Nonnull
     public static LanguageContainer getLocale(@Nonnull GuildTransformer transformer) {
         try {
-            for (LanguageContainer locale : languages) {
-                if (locale.getLanguage().getCode().equalsIgnoreCase(transformer.getLocale())) {
-                    return locale;
-                }
+            if (transformer.getLocale() != null) {
+                return languagesByCode.getOrDefault(transformer.getLocale(), defaultLanguage);
             }
         } catch (Exception e) {
             log.error("Error when reading entity", e);
@@ -201,12 +247,7 @@ public class I18n {
      */
     @Nonnull
     public static LanguageContainer getLocale(Language language) {
-        for (LanguageContainer locale : languages) {
-            if (locale.getLanguage().equals(language)) {
-                return locale;
-            }
-        }
-        return defaultLanguage;
+        return languagesByType.getOrDefault(language, defaultLanguage);
     }
 
     /**
@@ -225,25 +266,21 @@ public class I18n {
      * failed due to an invalid argument exception.
      */
     public static String format(@Nonnull String message, Object... args) {
-        int num = 0;
-        Object[] arguments = new Object[args.length];
-        for (Object arg : args) {
-            if (arg == null) {
-                continue;
-            }
-            arguments[num++] = arg.toString();
+        MessageTemplate template = formatTemplates.getIfPresent(message);
+        if (template == null) {
+            template = findOrCompileTemplate(message);
+            formatTemplates.put(message, template);
         }
+        return template.format(args);
+    }
 
-        try {
-            return MessageFormat.format(
-                message.replace("'", "''"), arguments
-            );
-        } catch (IllegalArgumentException ex) {
-            log.error(
-                "An exception was thrown while formatting \"{}\", error: {}",
-                message, ex.getMessage(), ex
-            );
-            return message;
+    private static MessageTemplate findOrCompileTemplate(@Nonnull String message) {
+        for (LanguageContainer locale : languages) {
+            MessageTemplate template = locale.getTemplateForMessage(message);
+            if (template != null) {
+                return template;
+            }
         }
+        return new MessageTemplate(message, false);
     }
 }
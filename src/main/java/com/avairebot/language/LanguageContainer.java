@@ -22,14 +22,20 @@
 package com.avairebot.language;
 
 import com.avairebot.config.YamlConfiguration;
+import com.avairebot.contracts.config.ConfigurationSection;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
 
 public class LanguageContainer {
 
     private final Language language;
     private final YamlConfiguration config;
+    private final Map<String, MessageTemplate> templates;
+    private final Map<String, MessageTemplate> templatesByMessage;
 
     LanguageContainer(@Nonnull Language language) {
         this.language = language;
@@ -37,6 +43,14 @@ public class LanguageContainer {
         config = YamlConfiguration.loadConfiguration(new InputStreamReader(
             getClass().getClassLoader().getResourceAsStream(("langs/" + language.getCode() + ".yml"))
         ));
+
+        templates = compile(config);
+
+        templatesByMessage = new HashMap<>(templates.size() * 8 / 3 + 1);
+        for (MessageTemplate template : templates.values()) {
+            templatesByMessage.putIfAbsent(template.getMessage(), template);
+            templatesByMessage.putIfAbsent(template.getUnescaped().getMessage(), template.getUnescaped());
+        }
     }
 
     /**
@@ -60,8 +74,65 @@ public class LanguageContainer {
         return config;
     }
 
+    /**
+     * Gets the compiled message template for the given key, the templates are compiled
+     * from the language configuration when the language is loaded, so looking up
+     * a string doesn't require walking through the configuration sections.
+     *
+     * @param key The full path of the language string, separated by dots.
+     * @return Possibly-null, the compiled message template for the given key, or
+     * {@code NULL} if the key doesn't point to a string in the language.
+     */
+    @Nullable
+    public MessageTemplate getTemplate(@Nonnull String key) {
+        return templates.get(key);
+    }
+
+    /**
+     * Gets the compiled message template for the given message, this allows messages that
+     * has already been loaded from the language to be formatted using the template
+     * that was compiled when the language was loaded.
+     *
+     * @param message The message that should be matched with the language strings.
+     * @return Possibly-null, the compiled message template for the given message, or
+     * {@code NULL} if the message doesn't match any of the strings in the language.
+     */
+    @Nullable
+    MessageTemplate getTemplateForMessage(@Nonnull String message) {
+        return templatesByMessage.get(message);
+    }
+
+    /**
+     * Gets the language string for the given key.
+     *
+     * @param key The full path of the language string, separated by dots.
+     * @return Possibly-null, the language string for the given key, or
+     * {@code NULL} if the key doesn't point to a string in the language.
+     */
+    @Nullable
+    public String getString(@Nonnull String key) {
+        MessageTemplate template = templates.get(key);
+        return template == null ? null : template.getMessage();
+    }
+
     @Override
     public String toString() {
         return language.getNativeName();
     }
+
+    private static Map<String, MessageTemplate> compile(YamlConfiguration config) {
+        Map<String, Object> values = config.getValues(true);
+
+        Map<String, MessageTemplate> templates = new HashMap<>(values.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() instanceof ConfigurationSection) {
+                continue;
+            }
+
+            // The keys are the same across every language, interning them allows
+            // each language to share the same key instances in their tables.
+            templates.put(entry.getKey().intern(), MessageTemplate.compile(entry.getValue().toString()));
+        }
+        return templates;
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.language;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MessageTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageTemplate.class);
+
+    private final String message;
+    private final String[] literals;
+    private final int[] arguments;
+    private final MessageTemplate unescaped;
+
+    MessageTemplate(@Nonnull String message, boolean unescape) {
+        this.message = message;
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        if (parse(message, literals, arguments)) {
+            this.literals = literals.toArray(new String[0]);
+            this.arguments = arguments.stream().mapToInt(Integer::intValue).toArray();
+        } else {
+            this.literals = null;
+            this.arguments = null;
+        }
+
+        String unescapedMessage = message.indexOf('\\') == -1 ? message : message
+            .replace("\\n", "\n")
+            .replace("\\t", "\t");
+
+        this.unescaped = !unescape || unescapedMessage.equals(message)
+            ? this : new MessageTemplate(unescapedMessage, false);
+    }
+
+    /**
+     * Compiles the given message into a message template, placeholders using the
+     * <code>{index number}</code> format are parsed once, so formatting the
+     * template later is just a matter of joining the parts together.
+     *
+     * @param message The message that should be compiled.
+     * @return The compiled message template.
+     */
+    public static MessageTemplate compile(@Nonnull String message) {
+        return new MessageTemplate(message, true);
+    }
+
+    /**
+     * Gets the message the template was compiled from.
+     *
+     * @return The original message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the template with escaped new lines and tabs, <code>\n</code>
+     * and <code>\t</code>, replaced with their actual characters, if the
+     * message doesn't contain any escaped characters, the current
+     * template instance will be returned instead.
+     *
+     * @return The template with the escaped characters replaced.
+     */
+    public MessageTemplate getUnescaped() {
+        return unescaped;
+    }
+
+    /**
+     * Formats the template with the given arguments, following the same rules as
+     * {@link I18n#format(String, Object...)}, if the message uses anything other
+     * than <code>{index number}</code> placeholders, the message will be
+     * formatted through a {@link MessageFormat message format} instead.
+     *
+     * @param args The arguments that should be replaced in the template.
+     * @return The formatted string, or the original string if the formatting process
+     * failed due to an invalid argument exception.
+     */
+    public String format(Object... args) {
+        int num = 0;
+        Object[] values = new Object[args.length];
+        for (Object arg : args) {
+            if (arg == null) {
+                continue;
+            }
+            values[num++] = arg.toString();
+        }
+
+        if (literals == null) {
+            try {
+                return MessageFormat.format(
+                    message.replace("'", "''"), values
+                );
+            } catch (IllegalArgumentException ex) {
+                log.error(
+                    "An exception was thrown while formatting \"{}\", error: {}",
+                    message, ex.getMessage(), ex
+                );
+                return message;
+            }
+        }
+
+        if (arguments.length == 0) {
+            return message;
+        }
+
+        StringBuilder builder = new StringBuilder(message.length() + 16 * arguments.length);
+        for (int i = 0; i < arguments.length; i++) {
+            builder.append(literals[i]);
+
+            int index = arguments[i];
+            if (index < values.length) {
+                builder.append(values[index]);
+            } else {
+                builder.append('{').append(index).append('}');
+            }
+        }
+        return builder.append(literals[arguments.length]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+
+    /**
+     * Splits the message into the literal parts and the argument indexes in between them,
+     * if the message has any braces that are not part of a plain index placeholder,
+     * the message can't be split and must be formatted by a message format.
+     *
+     * @param message   The message that should be parsed.
+     * @param literals  The list the literal parts should be added to.
+     * @param arguments The list the argument indexes should be added to.
+     * @return {@code True} if the message could be split, {@code False} otherwise.
+     */
+    private static boolean parse(String message, List<String> literals, List<Integer> arguments) {
+        int start = 0;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '}') {
+                return false;
+            }
+
+            if (c != '{') {
+                continue;
+            }
+
+            int end = message.indexOf('}', i);
+            if (end == -1 || end == i + 1 || end - i > 10) {
+                return false;
+            }
+
+            for (int j = i + 1; j < end; j++) {
+                if (message.charAt(j) < '0' || message.charAt(j) > '9') {
+                    return false;
+                }
+            }
+
+            literals.add(message.substring(start, i));
+            arguments.add(Integer.parseInt(message.substring(i + 1, end)));
+
+            start = end + 1;
+            i = end;
+        }
+
+        literals.add(message.substring(start));
+        return true;
+    }
+}
@@ -26,16 +26,22 @@ public class ExperienceEntity {
     private final long userId;
     private final long guildId;
     private final boolean excludeLocal;
-    private int experience;
+    private final long experience;
+    private final long localExperience;
 
-    ExperienceEntity(long userId, long guildId, int experience, boolean excludeLocal) {
+    ExperienceEntity(long userId, long guildId, long experience, long localExperience, boolean excludeLocal) {
         this.userId = userId;
         this.guildId = guildId;
         this.experience = experience;
+        this.localExperience = localExperience;
         this.excludeLocal = excludeLocal;
     }
 
-    ExperienceEntity(long userId, long guildId, int experience) {
+    ExperienceEntity(long userId, long guildId, int experience, boolean excludeLocal) {
+        this(userId, guildId, experience, excludeLocal ? 0 : experience, excludeLocal);
+    }
+
+    public ExperienceEntity(long userId, long guildId, int experience) {
         this(userId, guildId, experience, false);
     }
 
@@ -58,23 +64,24 @@ public class ExperienceEntity {
     }
 
     /**
-     * The amount of experience the user has in total for the set guild.
+     * The amount of experience the user has been given since the
+     * last time the entity was synced with the database.
      *
-     * @return The total amount of experience the user has for the set guild.
+     * @return The amount of experience that should be added to the user.
      */
-    public int getExperience() {
+    public long getExperience() {
         return experience;
     }
 
     /**
-     * Sets the amount of experience that the user should be have after
-     * the experience entity is consumed and synced with the database.
+     * The amount of local server based experience the user has been given
+     * since the last sync, experience rewards that was given while the
+     * user was at the XP cap are not included in the local experience.
      *
-     * @param experience The amount of experience the user should have after
-     *                   the entity is synced with the database.
+     * @return The amount of local experience that should be added to the user.
      */
-    public void setExperience(int experience) {
-        this.experience = experience;
+    public long getLocalExperience() {
+        return localExperience;
     }
 
     /**
@@ -88,10 +95,27 @@ public class ExperienceEntity {
         return excludeLocal;
     }
 
+    /**
+     * Merges the given experience entity with the current entity, creating a new
+     * entity with the experience of both, the entities are immutable so they
+     * can safely be shared between the message threads and the sync task.
+     *
+     * @param entity The entity that should be merged with the current entity.
+     * @return The new merged experience entity.
+     */
+    ExperienceEntity merge(ExperienceEntity entity) {
+        return new ExperienceEntity(
+            userId, guildId,
+            experience + entity.getExperience(),
+            localExperience + entity.getLocalExperience(),
+            excludeLocal || entity.isExcludeLocal()
+        );
+    }
+
     @Override
     public String toString() {
-        return String.format("[userId:%s, guildId:%s, experience:%s]",
-            userId, guildId, experience
+        return String.format("[userId:%s, guildId:%s, experience:%s, localExperience:%s]",
+            userId, guildId, experience, localExperience
         );
     }
 }
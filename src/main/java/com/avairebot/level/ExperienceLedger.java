@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ExperienceLedger {
+
+    /**
+     * The pending experience for each player, experience rewards for the same player
+     * is merged into a single entity, so the ledger only ever holds one entry
+     * per player, no matter how many messages they send between syncs.
+     */
+    private final Map<PlayerKey, ExperienceEntity> ledger = new ConcurrentHashMap<>();
+
+    /**
+     * The lock used to sync the ledger with the database, the write lock is held while the
+     * ledger is drained and written to the database, and the read lock is held by anything
+     * that reads database records together with the pending experience, so they always
+     * see the experience in either the database or the ledger, never neither.
+     */
+    private final ReadWriteLock syncLock = new ReentrantReadWriteLock();
+
+    /**
+     * Records the given experience entity in the ledger, if the player already has
+     * pending experience, the entity will be merged with the existing entry.
+     *
+     * @param entity The experience entity that should be recorded.
+     */
+    public void record(@Nonnull ExperienceEntity entity) {
+        ledger.merge(new PlayerKey(entity.getGuildId(), entity.getUserId()), entity, ExperienceEntity::merge);
+    }
+
+    /**
+     * Records all the given experience entities in the ledger, this is used to put
+     * entities back into the ledger if they failed to sync with the database.
+     *
+     * @param entities The experience entities that should be recorded.
+     */
+    public void recordAll(@Nonnull Collection<ExperienceEntity> entities) {
+        for (ExperienceEntity entity : entities) {
+            record(entity);
+        }
+    }
+
+    /**
+     * Gets the amount of experience the given player has been rewarded
+     * that have yet to be synced with the database.
+     *
+     * @param guildId The ID of the guild the player belongs to.
+     * @param userId  The ID of the user the player belongs to.
+     * @return The amount of pending experience for the player, or {@code 0} if there is none.
+     */
+    public long getPendingExperience(long guildId, long userId) {
+        ExperienceEntity entity = ledger.get(new PlayerKey(guildId, userId));
+
+        return entity == null ? 0L : entity.getExperience();
+    }
+
+    /**
+     * Drains the ledger, removing every pending experience entity and returning them, each
+     * entry is removed atomically, so experience rewarded while the ledger is being
+     * drained will either be part of the returned list, or the next drain.
+     *
+     * @return The list of experience entities that was removed from the ledger.
+     */
+    public List<ExperienceEntity> drain() {
+        List<ExperienceEntity> entities = new ArrayList<>(ledger.size());
+
+        Iterator<PlayerKey> iterator = ledger.keySet().iterator();
+        while (iterator.hasNext()) {
+            ExperienceEntity entity = ledger.remove(iterator.next());
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+
+        return entities;
+    }
+
+    /**
+     * Gets the lock used to sync the ledger with the database.
+     *
+     * @return The ledger sync lock.
+     */
+    public ReadWriteLock getSyncLock() {
+        return syncLock;
+    }
+
+    /**
+     * Gets the amount of players that currently have pending experience.
+     *
+     * @return The amount of players with pending experience.
+     */
+    public int size() {
+        return ledger.size();
+    }
+
+    /**
+     * Checks if the ledger is empty.
+     *
+     * @return {@code True} if no players has pending experience, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return ledger.isEmpty();
+    }
+
+    private static final class PlayerKey {
+
+        private final long guildId;
+        private final long userId;
+
+        PlayerKey(long guildId, long userId) {
+            this.guildId = guildId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof PlayerKey)) {
+                return false;
+            }
+
+            PlayerKey other = (PlayerKey) obj;
+            return guildId == other.guildId && userId == other.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(guildId) + Long.hashCode(userId);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The guild leaderboard keeps every active player for a single guild ranked
+ * by their experience, the players are stored in a treap where each node
+ * keeps track of the size of its subtree, this allows the leaderboard
+ * to look up the rank of a player, and the player at a given rank,
+ * in O(log n) time, while still allowing players to be moved
+ * around the leaderboard as they're rewarded experience.
+ * <p>
+ * Players are ordered by their experience in descending order, players
+ * with the same amount of experience are ordered by their user ID.
+ */
+public class GuildLeaderboard {
+
+    /**
+     * The entries that are currently on the leaderboard, mapped by their user
+     * ID, this is used to find the node for a player in the tree when they
+     * are moved or removed, since the tree is ordered by experience.
+     */
+    private final Map<Long, LeaderboardEntry> entries = new HashMap<>();
+
+    /**
+     * The random generator used to generate the node priorities.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The root node of the tree, or {@code NULL} if the leaderboard is empty.
+     */
+    private Node root = null;
+
+    /**
+     * Adds the given entry to the leaderboard, if the player is already
+     * on the leaderboard their existing entry will be replaced.
+     *
+     * @param entry The entry that should be added to the leaderboard.
+     */
+    public synchronized void put(@Nonnull LeaderboardEntry entry) {
+        LeaderboardEntry previous = entries.put(entry.getUserId(), entry);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+
+        root = insert(root, new Node(entry, random.nextInt()));
+    }
+
+    /**
+     * Removes the player with the given user ID from the leaderboard.
+     *
+     * @param userId The ID of the user that should be removed.
+     * @return {@code True} if the player was on the leaderboard, {@code False} otherwise.
+     */
+    public synchronized boolean remove(long userId) {
+        LeaderboardEntry previous = entries.remove(userId);
+        if (previous == null) {
+            return false;
+        }
+
+        root = delete(root, previous);
+
+        return true;
+    }
+
+    /**
+     * Gets the leaderboard entry for the user with the given ID.
+     *
+     * @param userId The ID of the user that the entry should be returned for.
+     * @return The entry for the given user, or {@code NULL} if the user is not on the leaderboard.
+     */
+    @Nullable
+    public synchronized LeaderboardEntry get(long userId) {
+        return entries.get(userId);
+    }
+
+    /**
+     * Gets the rank of the user with the given ID, the rank is one more than the amount of
+     * players that have more experience than the user, so players with the same
+     * amount of experience will share the same rank on the leaderboard.
+     *
+     * @param userId The ID of the user that the rank should be returned for.
+     * @return The rank of the user, starting from 1, or {@code -1} if the user is not on the leaderboard.
+     */
+    public synchronized int getRank(long userId) {
+        LeaderboardEntry entry = entries.get(userId);
+        if (entry == null) {
+            return -1;
+        }
+
+        int rank = 1;
+        Node node = root;
+        while (node != null) {
+            if (node.entry.getExperience() > entry.getExperience()) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Gets the given amount of entries from the leaderboard, starting at the
+     * given offset, the entries are returned in order of their rank.
+     *
+     * @param offset The amount of entries that should be skipped.
+     * @param limit  The max amount of entries that should be returned.
+     * @return The list of entries within the given range of the leaderboard.
+     */
+    public synchronized List<LeaderboardEntry> getEntries(int offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset >= size(root)) {
+            return Collections.emptyList();
+        }
+
+        List<LeaderboardEntry> result = new ArrayList<>(Math.min(limit, size(root) - offset));
+        collect(root, offset, offset + limit, result);
+
+        return result;
+    }
+
+    /**
+     * Gets the given amount of entries from the top of the leaderboard.
+     *
+     * @param limit The max amount of entries that should be returned.
+     * @return The list of entries at the top of the leaderboard.
+     */
+    public List<LeaderboardEntry> getTop(int limit) {
+        return getEntries(0, limit);
+    }
+
+    /**
+     * Gets the amount of players that are currently on the leaderboard.
+     *
+     * @return The amount of players on the leaderboard.
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Checks if the leaderboard is empty.
+     *
+     * @return {@code True} if there are no players on the leaderboard, {@code False} otherwise.
+     */
+    public synchronized boolean isEmpty() {
+        return root == null;
+    }
+
+    private void collect(Node node, int from, int to, List<LeaderboardEntry> result) {
+        // The from and to indexes are relative to the subtree of the given node, so
+        // any subtree that doesn't overlap with the range can be skipped entirely.
+        if (node == null || from >= node.size || to <= 0) {
+            return;
+        }
+
+        int leftSize = size(node.left);
+
+        collect(node.left, from, to, result);
+        if (from <= leftSize && leftSize < to) {
+            result.add(node.entry);
+        }
+        collect(node.right, from - leftSize - 1, to - leftSize - 1, result);
+    }
+
+    private Node insert(Node node, Node target) {
+        if (node == null) {
+            return target;
+        }
+
+        if (target.priority > node.priority) {
+            split(node, target.entry, target);
+            return target.update();
+        }
+
+        if (compare(target.entry, node.entry) < 0) {
+            node.left = insert(node.left, target);
+        } else {
+            node.right = insert(node.right, target);
+        }
+
+        return node.update();
+    }
+
+    private Node delete(Node node, LeaderboardEntry entry) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(entry, node.entry);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+
+        if (comparison < 0) {
+            node.left = delete(node.left, entry);
+        } else {
+            node.right = delete(node.right, entry);
+        }
+
+        return node.update();
+    }
+
+    /**
+     * Splits the given subtree into the nodes that are ordered before the given
+     * entry, and the nodes ordered after it, the two halves are stored as
+     * the left and right children of the given target node.
+     */
+    private void split(Node node, LeaderboardEntry entry, Node target) {
+        if (node == null) {
+            target.left = null;
+            target.right = null;
+            return;
+        }
+
+        if (compare(node.entry, entry) < 0) {
+            split(node.right, entry, target);
+            node.right = target.left;
+            target.left = node.update();
+        } else {
+            split(node.left, entry, target);
+            node.left = target.right;
+            target.right = node.update();
+        }
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private int compare(LeaderboardEntry a, LeaderboardEntry b) {
+        int comparison = Long.compare(b.getExperience(), a.getExperience());
+        if (comparison != 0) {
+            return comparison;
+        }
+        return Long.compare(a.getUserId(), b.getUserId());
+    }
+
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private final class Node {
+
+        private final LeaderboardEntry entry;
+        private final int priority;
+
+        private Node left = null;
+        private Node right = null;
+        private int size = 1;
+
+        Node(LeaderboardEntry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+
+        Node update() {
+            size = size(left) + size(right) + 1;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import javax.annotation.Nullable;
+
+public class LeaderboardEntry {
+
+    private final long userId;
+    private final String username;
+    private final String discriminator;
+    private final String avatar;
+    private final long experience;
+
+    public LeaderboardEntry(long userId, String username, String discriminator, @Nullable String avatar, long experience) {
+        this.userId = userId;
+        this.username = username;
+        this.discriminator = discriminator;
+        this.avatar = avatar;
+        this.experience = experience;
+    }
+
+    /**
+     * The ID of the user the entry belongs to.
+     *
+     * @return The ID of the user the entry belongs to.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * The username of the user the entry belongs to, the username is
+     * always stored in its decoded form, even if it was loaded
+     * from a base64 encoded database record.
+     *
+     * @return The username of the user the entry belongs to.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * The discriminator of the user the entry belongs to.
+     *
+     * @return The discriminator of the user the entry belongs to.
+     */
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
+    /**
+     * The avatar ID of the user the entry belongs to.
+     *
+     * @return The avatar ID of the user, or {@code NULL} if the user is using the default avatar.
+     */
+    @Nullable
+    public String getAvatar() {
+        return avatar;
+    }
+
+    /**
+     * The total amount of server experience the user has, including any
+     * experience that is still pending in the experience ledger.
+     *
+     * @return The total amount of server experience the user has.
+     */
+    public long getExperience() {
+        return experience;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[userId:%s, username:%s, experience:%s]",
+            userId, username, experience
+        );
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.AvaIre;
+import com.avairebot.Constants;
+import com.avairebot.utilities.CacheUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+public class LeaderboardIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    /**
+     * The amount of player records that should be fetched from
+     * the database at a time when a leaderboard is loaded.
+     */
+    private static final int fetchSize = 1000;
+
+    /**
+     * The hard cap for XP represented as a big integer, used to clamp
+     * experience values loaded from the database that are too
+     * large to be represented as a long.
+     */
+    private static final BigInteger hardCap = BigInteger.valueOf(LevelManager.getHardCap());
+
+    /**
+     * The leaderboards for each guild, leaderboards are loaded the first time they're
+     * requested, and kept in sync with the experience rewarded to players while
+     * they're cached, leaderboards are evicted 15 minutes after they were
+     * loaded, so every leaderboard is periodically re-loaded from the
+     * database, correcting any drift from changes made elsewhere.
+     */
+    private final Cache<Long, GuildLeaderboard> cache = CacheBuilder.newBuilder()
+        .recordStats()
+        .expireAfterWrite(15, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * The leaderboards that are currently being loaded, mapped by the guild ID, updates
+     * for guilds that are still loading are applied to the loading leaderboard, so
+     * experience rewarded while the players are loaded isn't lost.
+     */
+    private final Map<Long, LoadingLeaderboard> loading = new ConcurrentHashMap<>();
+
+    private final LeaderboardLoader loader;
+
+    /**
+     * Creates a new leaderboard index that loads the guild
+     * leaderboards from the player experiences table.
+     */
+    public LeaderboardIndex() {
+        this(LeaderboardIndex::loadFromDatabase);
+    }
+
+    LeaderboardIndex(LeaderboardLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Gets the leaderboard for the guild with the given ID, if the leaderboard
+     * isn't cached already it will be loaded before it is returned.
+     *
+     * @param guildId The ID of the guild the leaderboard should be returned for.
+     * @return The leaderboard for the given guild, or {@code NULL} if the leaderboard failed to load.
+     */
+    @Nullable
+    public GuildLeaderboard getLeaderboard(long guildId) {
+        try {
+            return (GuildLeaderboard) CacheUtil.getUncheckedUnwrapped(cache, guildId, () -> {
+                LoadingLeaderboard state = new LoadingLeaderboard();
+                loading.put(guildId, state);
+
+                loader.load(guildId, state::load);
+
+                return state.leaderboard;
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to load the leaderboard for server: {}", guildId, e);
+
+            return null;
+        } finally {
+            // The loading state is only removed once the leaderboard has been stored in
+            // the cache, so updates always find the leaderboard in one or the other.
+            loading.remove(guildId);
+        }
+    }
+
+    /**
+     * Updates the given entry on the leaderboard for the guild with the given ID,
+     * if the leaderboard for the guild is still loading, the entry will replace
+     * the record loaded from the database for the user, if the leaderboard
+     * isn't loaded at all the update will be ignored, since the
+     * leaderboard will be loaded with the change anyway.
+     *
+     * @param guildId The ID of the guild the entry should be updated for.
+     * @param entry   The entry that should be updated.
+     */
+    public void update(long guildId, @Nonnull LeaderboardEntry entry) {
+        GuildLeaderboard leaderboard = cache.getIfPresent(guildId);
+        if (leaderboard != null) {
+            leaderboard.put(entry);
+            return;
+        }
+
+        LoadingLeaderboard state = loading.get(guildId);
+        if (state != null) {
+            state.update(entry);
+        }
+    }
+
+    /**
+     * Removes the user with the given ID from the leaderboard for the guild
+     * with the given ID, if the leaderboard for the guild is loaded.
+     *
+     * @param guildId The ID of the guild the user should be removed from.
+     * @param userId  The ID of the user that should be removed.
+     */
+    public void remove(long guildId, long userId) {
+        GuildLeaderboard leaderboard = cache.getIfPresent(guildId);
+        if (leaderboard != null) {
+            leaderboard.remove(userId);
+            return;
+        }
+
+        LoadingLeaderboard state = loading.get(guildId);
+        if (state != null) {
+            state.remove(userId);
+        }
+    }
+
+    /**
+     * Forgets the leaderboard for the guild with the given ID, forcing it
+     * to be re-loaded the next time it's requested, this should be used
+     * when the experience for many players is changed at once.
+     *
+     * @param guildId The ID of the guild the leaderboard should be forgotten for.
+     */
+    public void forget(long guildId) {
+        cache.invalidate(guildId);
+    }
+
+    /**
+     * Gets the cache used to store the guild leaderboards.
+     *
+     * @return The cache used to store the guild leaderboards.
+     */
+    public Cache<Long, GuildLeaderboard> getCache() {
+        return cache;
+    }
+
+    private static void loadFromDatabase(long guildId, Consumer<LeaderboardEntry> consumer) throws SQLException {
+        ExperienceLedger ledger = AvaIre.getInstance().getLevelManager().getExperienceLedger();
+
+        // Holds the sync lock while the players are loaded, so the ledger can't be
+        // flushed to the database in the middle of the load, which would cause
+        // the flushed experience to be missing from both the rows and ledger.
+        Lock lock = ledger.getSyncLock().readLock();
+        lock.lock();
+
+        try {
+            AvaIre.getInstance().getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+                .select("user_id", "username", "discriminator", "avatar", "experience")
+                .where("guild_id", guildId)
+                .where("active", 1)
+                .stream(fetchSize, row -> {
+                    long userId = row.getLong("user_id");
+
+                    BigInteger experience = new BigInteger(row.getString("experience", "100"));
+                    experience = experience.add(BigInteger.valueOf(ledger.getPendingExperience(guildId, userId)));
+
+                    consumer.accept(new LeaderboardEntry(
+                        userId,
+                        row.getString("username"),
+                        row.getString("discriminator"),
+                        row.getString("avatar"),
+                        experience.min(hardCap).longValue()
+                    ));
+
+                    return true;
+                });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    interface LeaderboardLoader {
+
+        /**
+         * Loads the players for the guild with the given ID, passing each player to the given consumer.
+         *
+         * @param guildId  The ID of the guild the leaderboard belongs to.
+         * @param consumer The consumer the loaded players should be passed to.
+         * @throws SQLException If the players fails to load from the database.
+         */
+        void load(long guildId, Consumer<LeaderboardEntry> consumer) throws SQLException;
+    }
+
+    private static final class LoadingLeaderboard {
+
+        private final GuildLeaderboard leaderboard = new GuildLeaderboard();
+
+        /**
+         * The IDs of the users that has been updated or removed while the leaderboard
+         * was loading, the updates are newer than the database records, so records
+         * loaded for these users afterwards are ignored.
+         */
+        private final Set<Long> changed = new HashSet<>();
+
+        synchronized void load(LeaderboardEntry entry) {
+            if (!changed.contains(entry.getUserId())) {
+                leaderboard.put(entry);
+            }
+        }
+
+        synchronized void update(LeaderboardEntry entry) {
+            changed.add(entry.getUserId());
+            leaderboard.put(entry);
+        }
+
+        synchronized void remove(long userId) {
+            changed.add(userId);
+            leaderboard.remove(userId);
+        }
+    }
+}
@@ -49,9 +49,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class LevelManager {
@@ -70,11 +68,19 @@ public class LevelManager {
         .build();
 
     /**
-     * The experience queue, users who have been rewarded experience will
-     * be added to the queue, the queue is then consumed once a minute
+     * The experience ledger, users who have been rewarded experience will
+     * be added to the ledger, the ledger is then drained once a minute
      * to sync the database with the user data.
      */
-    private static final List<ExperienceEntity> experienceQueue = new CopyOnWriteArrayList<>();
+    private static final ExperienceLedger experienceLedger = new ExperienceLedger();
+
+    /**
+     * The leaderboard index, holds the ranked leaderboards for guilds that
+     * have recently been requested, the leaderboards are updated as
+     * players are rewarded experience, so they can be used to
+     * look up ranks without querying the database.
+     */
+    private static final LeaderboardIndex leaderboardIndex = new LeaderboardIndex();
 
     /**
      * The experience modifier as an percentage.
@@ -305,13 +311,21 @@ public class LevelManager {
             player.setExperience(getHardCap());
         }
 
-        experienceQueue.add(new ExperienceEntity(
+        experienceLedger.record(new ExperienceEntity(
             user.getIdLong(),
             message.getGuild().getIdLong(),
             amount,
             exclude
         ));
 
+        leaderboardIndex.update(message.getGuild().getIdLong(), new LeaderboardEntry(
+            user.getIdLong(),
+            user.getName(),
+            user.getDiscriminator(),
+            user.getAvatarId(),
+            player.getExperience()
+        ));
+
         if (getLevelFromExperience(guild, player.getExperience() + zxp) > lvl) {
             long newLevel = getLevelFromExperience(guild, player.getExperience() + zxp);
 
@@ -386,32 +400,42 @@ public class LevelManager {
                     rolesToRemove.remove(highestRole);
                 }
 
-                message.getGuild().modifyMemberRoles(message.getMember(), rolesToAdd, rolesToRemove).queue();
+                AvaIre.getInstance().getRoleActionManager().modifyMemberRoles(
+                    message.getGuild(), message.getMember(), rolesToAdd, rolesToRemove
+                );
             }
         }
     }
 
     /**
-     * Gets the experience queue, any user who has received experience and
-     * have yet to be updated in the database are stored in this queue.
+     * Gets the experience ledger, any user who has received experience and
+     * have yet to be updated in the database are stored in the ledger.
+     *
+     * @return The experience ledger.
+     */
+    public ExperienceLedger getExperienceLedger() {
+        return experienceLedger;
+    }
+
+    /**
+     * Gets the leaderboard index, the index holds the ranked leaderboards
+     * for guilds, and is kept in sync with the experience ledger.
      *
-     * @return The experience queue.
+     * @return The leaderboard index.
      */
-    public List<ExperienceEntity> getExperienceQueue() {
-        return experienceQueue;
+    public LeaderboardIndex getLeaderboardIndex() {
+        return leaderboardIndex;
     }
 
     /**
-     * Gets all the experience entities that belongs to the given player
-     * transformer, or an empty list of no entities were found.
+     * Gets the amount of experience the given player transformer has been
+     * rewarded that have yet to be synced with the database.
      *
-     * @param transformer The transformer that should be matched with the experience eateries.
-     * @return A list of experience entities that belongs to the given player transformer.
+     * @param transformer The transformer that should be matched with the experience ledger.
+     * @return The amount of pending experience for the given player transformer.
      */
-    public List<ExperienceEntity> getExperienceEntities(@Nonnull PlayerTransformer transformer) {
-        return experienceQueue.stream()
-            .filter(entity -> entity.getUserId() == transformer.getUserId() && entity.getGuildId() == transformer.getGuildId())
-            .collect(Collectors.toList());
+    public long getPendingExperience(@Nonnull PlayerTransformer transformer) {
+        return experienceLedger.getPendingExperience(transformer.getGuildId(), transformer.getUserId());
     }
 
     /**
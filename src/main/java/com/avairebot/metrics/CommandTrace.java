@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class CommandTrace {
+
+    /**
+     * The stage label used for the steps in the message pipeline
+     * that happens before the middleware stack is invoked.
+     */
+    public static final String PIPELINE = "pipeline";
+
+    /**
+     * The stage label used for the middlewares in the middleware stack, the
+     * time recorded for each middleware excludes the time spent in the
+     * middlewares that comes after it in the stack.
+     */
+    public static final String MIDDLEWARE = "middleware";
+
+    private static final Logger log = LoggerFactory.getLogger(CommandTrace.class);
+
+    /**
+     * The amount of time in nanoseconds a command can take before its stage
+     * breakdown is logged as a slow command, zero disables the log.
+     */
+    private static volatile long slowCommandThreshold = 0L;
+
+    private final List<Stage> stages = new ArrayList<>(8);
+    private final long startedAt;
+
+    private long lastLap;
+    private boolean finished = false;
+
+    /**
+     * Creates a new command trace, starting the clock for the first lap.
+     */
+    public CommandTrace() {
+        this.startedAt = System.nanoTime();
+        this.lastLap = startedAt;
+    }
+
+    /**
+     * Sets the amount of time a command can take before the breakdown
+     * of its stages is logged, zero or less disables the log.
+     *
+     * @param threshold The threshold in milliseconds.
+     */
+    public static void setSlowCommandThreshold(long threshold) {
+        slowCommandThreshold = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, threshold));
+    }
+
+    /**
+     * Records the time since the last lap, or since the trace was
+     * created if this is the first lap, as the given stage.
+     *
+     * @param stage The stage the time should be recorded for.
+     * @param name  The name of the step within the stage.
+     */
+    public void lap(@Nonnull String stage, @Nonnull String name) {
+        long now = System.nanoTime();
+
+        record(stage, name, now - lastLap);
+        lastLap = now;
+    }
+
+    /**
+     * Records the given amount of time as the given stage.
+     *
+     * @param stage The stage the time should be recorded for.
+     * @param name  The name of the step within the stage.
+     * @param nanos The time in nanoseconds spent in the step.
+     */
+    public void record(@Nonnull String stage, @Nonnull String name, long nanos) {
+        if (!finished) {
+            stages.add(new Stage(stage, name, Math.max(0L, nanos)));
+        }
+    }
+
+    /**
+     * Finishes the trace, exporting all the recorded stages to the stage
+     * histogram for the given command, and logs the breakdown of the
+     * stages if the command exceeded the slow command threshold.
+     *
+     * @param command The simple name of the command class the trace was for.
+     */
+    public void finish(@Nonnull String command) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        for (Stage stage : stages) {
+            Metrics.commandStageTime.labels(stage.stage, stage.name, command).observe(stage.nanos / 1E9D);
+        }
+
+        long total = getElapsedTime();
+        if (slowCommandThreshold > 0L && total >= slowCommandThreshold) {
+            log.warn("Slow command {} took {}ms: {}",
+                command, TimeUnit.NANOSECONDS.toMillis(total), buildBreakdown()
+            );
+        }
+    }
+
+    /**
+     * Gets the time in nanoseconds since the trace was created.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedTime() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Builds the breakdown of the recorded stages in the order they
+     * were recorded in, with the time spent in each stage.
+     *
+     * @return The breakdown of the recorded stages.
+     */
+    String buildBreakdown() {
+        StringBuilder builder = new StringBuilder();
+        for (Stage stage : stages) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+
+            builder.append(stage.name)
+                .append("=")
+                .append(Math.round(stage.nanos / 1E4D) / 100D)
+                .append("ms");
+        }
+        return builder.toString();
+    }
+
+    private static class Stage {
+
+        private final String stage;
+        private final String name;
+        private final long nanos;
+
+        Stage(String stage, String name, long nanos) {
+            this.stage = stage;
+            this.name = name;
+            this.nanos = nanos;
+        }
+    }
+}
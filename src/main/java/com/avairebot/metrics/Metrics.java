@@ -23,19 +23,18 @@ package com.avairebot.metrics;
 
 import ch.qos.logback.classic.LoggerContext;
 import com.avairebot.AvaIre;
-import com.avairebot.blacklist.Ratelimit;
+import com.avairebot.cache.CacheType;
+import com.avairebot.cache.adapters.MemoryAdapter;
 import com.avairebot.commands.Category;
 import com.avairebot.commands.administration.MuteRoleCommand;
 import com.avairebot.commands.utility.GlobalLeaderboardCommand;
-import com.avairebot.commands.utility.LeaderboardCommand;
-import com.avairebot.commands.utility.RankCommand;
 import com.avairebot.contracts.commands.InteractionCommand;
 import com.avairebot.contracts.middleware.Middleware;
 import com.avairebot.database.controllers.*;
 import com.avairebot.handlers.adapter.JDAStateEventAdapter;
+import com.avairebot.imagegen.RenderCache;
 import com.avairebot.level.LevelManager;
 import com.avairebot.metrics.routes.GetMetrics;
-import com.avairebot.middleware.ThrottleMiddleware;
 import com.avairebot.scheduler.jobs.LavalinkGarbageNodeCollectorJob;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
@@ -165,6 +164,12 @@ public class Metrics {
         .labelNames("class")
         .register();
 
+    public static final Histogram commandStageTime = Histogram.build()
+        .name("avaire_command_stage_duration_seconds")
+        .help("Time spent in each stage of the message pipeline and middleware stack, middlewares excludes the time spent in the middlewares after them")
+        .labelNames("stage", "name", "class") // pipeline or middleware, name of the step, simple name of the command class
+        .register();
+
     public static final Counter commandExceptions = Counter.build()
         .name("avaire_commands_exceptions_total")
         .help("Total uncaught exceptions thrown by command invocation")
@@ -177,6 +182,32 @@ public class Metrics {
         .labelNames("class")
         .register();
 
+    // Command Executors
+
+    public static final Gauge executorQueueSize = Gauge.build()
+        .name("avaire_executor_queue_size")
+        .help("The amount of tasks waiting for a free thread in the executor")
+        .labelNames("executor") // database, command
+        .register();
+
+    public static final Gauge executorActiveThreads = Gauge.build()
+        .name("avaire_executor_active_threads")
+        .help("The amount of threads currently running a task in the executor")
+        .labelNames("executor")
+        .register();
+
+    public static final Histogram executorWaitTime = Histogram.build()
+        .name("avaire_executor_wait_duration_seconds")
+        .help("The time tasks spent in the executor queue before they started running")
+        .labelNames("executor")
+        .register();
+
+    public static final Counter executorRejected = Counter.build()
+        .name("avaire_executor_rejected_total")
+        .help("Total tasks shed by the executor because it was saturated or the guild had too many pending tasks")
+        .labelNames("executor", "reason") // guild-limit, saturated
+        .register();
+
     // AI Requests
 
     public static final Counter aiRequestsReceived = Counter.build()
@@ -200,7 +231,33 @@ public class Metrics {
 
     public static final Counter databaseQueries = Counter.build()
         .name("avaire_database_queries")
-        .help("Total prepared statements created for the given type")
+        .help("Total queries sent to the database for the given type")
+        .labelNames("type")
+        .register();
+
+    public static final Histogram databaseQueryTime = Histogram.build()
+        .name("avaire_database_query_duration_seconds")
+        .help("Database query time, including waiting for a pooled connection and retries")
+        .labelNames("type", "table") // SELECT, UPDATE, INSERT, DELETE, BATCH etc
+        .register();
+
+    public static final Histogram databaseQueryRows = Histogram.build()
+        .name("avaire_database_query_rows")
+        .help("The amount of rows returned or affected by database queries")
+        .buckets(0, 1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000)
+        .labelNames("type")
+        .register();
+
+    public static final Histogram databaseBatchSize = Histogram.build()
+        .name("avaire_database_batch_size")
+        .help("The amount of statements sent in each batch query")
+        .buckets(1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000)
+        .labelNames("table")
+        .register();
+
+    public static final Counter databaseQueryRetries = Counter.build()
+        .name("avaire_database_query_retries_total")
+        .help("Total queries retried after being rolled back by the database due to a deadlock")
         .labelNames("type")
         .register();
 
@@ -225,6 +282,36 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    // Throttle
+
+    public static final Gauge throttleWindows = Gauge.build()
+        .name("avaire_throttle_windows_current")
+        .help("The amount of command throttle and blacklist ratelimit windows currently stored, updated by the garbage collector")
+        .register();
+
+    // Scheduler
+
+    public static final Histogram schedulerTaskDuration = Histogram.build()
+        .name("avaire_scheduler_task_duration_seconds")
+        .help("The time it took to run each scheduled job and task")
+        .buckets(0.001, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30, 60, 300)
+        .labelNames("task")
+        .register();
+
+    public static final Counter schedulerTaskOverruns = Counter.build()
+        .name("avaire_scheduler_task_overruns_total")
+        .help("Total times a scheduled job or task was due while it was still running, or was shed by the executor")
+        .labelNames("task", "action") // skipped, delayed, shed
+        .register();
+
+    // Role actions
+
+    public static final Counter roleActions = Counter.build()
+        .name("avaire_role_actions_total")
+        .help("Total role actions handled by the role action manager")
+        .labelNames("type") // requests, cancelled, skipped
+        .register();
+
     // ################################################################################
     // ##                           Method Stuff
     // ################################################################################
@@ -259,17 +346,21 @@ public class Metrics {
         cacheMetrics.addCache("playlists", PlaylistController.cache);
         cacheMetrics.addCache("categoryPrefixes", Category.cache);
         cacheMetrics.addCache("reaction-roles", ReactionController.cache);
-        cacheMetrics.addCache("throttleCommands", ThrottleMiddleware.cache);
         cacheMetrics.addCache("middlewareThrottleMessages", Middleware.messageCache);
         cacheMetrics.addCache("autorole", JDAStateEventAdapter.cache);
         cacheMetrics.addCache("muterole", MuteRoleCommand.cache);
-        cacheMetrics.addCache("rankScores", RankCommand.cache);
-        cacheMetrics.addCache("leaderboard", LeaderboardCommand.cache);
+        cacheMetrics.addCache("leaderboard", avaire.getLevelManager().getLeaderboardIndex().getCache());
         cacheMetrics.addCache("global-leaderboard", GlobalLeaderboardCommand.cache);
+        cacheMetrics.addCache("render-backgrounds", RenderCache.backgrounds);
+        cacheMetrics.addCache("render-avatars", RenderCache.avatars);
+        cacheMetrics.addCache("render-images", RenderCache.renders);
         cacheMetrics.addCache("interaction-lottery", InteractionCommand.cache);
-        cacheMetrics.addCache("blacklist-ratelimit", Ratelimit.cache);
+        cacheMetrics.addCache("interaction-images", InteractionCommand.getImageStore().getCache());
         cacheMetrics.addCache("lavalink-destroy-cleanup", LavalinkGarbageNodeCollectorJob.cache);
         cacheMetrics.addCache("music-search-results", SearchController.cache);
+        cacheMetrics.addCache("memory-adapter", ((MemoryAdapter) CacheType.MEMORY.getAdapter()).getCache());
+        cacheMetrics.addCache("music-search-empty-results", SearchController.emptyResultCache);
+        cacheMetrics.addCache("music-search-failed-results", SearchController.failedResultCache);
 
         if (!avaire.getConfig().getBoolean("web-servlet.metrics",
             avaire.getConfig().getBoolean("metrics.enabled", true)
@@ -25,19 +25,24 @@ import com.avairebot.contracts.middleware.Middleware;
 
 class MiddlewareContainer {
 
+    private final String name;
     private final Middleware middleware;
     private final String[] arguments;
 
-    MiddlewareContainer(Middleware middleware) {
-        this.middleware = middleware;
-        this.arguments = new String[0];
+    MiddlewareContainer(String name, Middleware middleware) {
+        this(name, middleware, new String[0]);
     }
 
-    MiddlewareContainer(Middleware middleware, String[] arguments) {
+    MiddlewareContainer(String name, Middleware middleware, String[] arguments) {
+        this.name = name;
         this.middleware = middleware;
         this.arguments = arguments;
     }
 
+    String getName() {
+        return name;
+    }
+
     Middleware getMiddleware() {
         return middleware;
     }
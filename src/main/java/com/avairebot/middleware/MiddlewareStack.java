@@ -26,6 +26,7 @@ import com.avairebot.commands.CommandContainer;
 import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.middleware.Middleware;
 import com.avairebot.handlers.DatabaseEventHolder;
+import com.avairebot.metrics.CommandTrace;
 import com.avairebot.metrics.Metrics;
 import com.avairebot.middleware.global.IncrementMetricsForCommand;
 import com.avairebot.middleware.global.IsCategoryEnabled;
@@ -47,25 +48,32 @@ public class MiddlewareStack {
     private final List<MiddlewareContainer> middlewares = new ArrayList<>();
     private final DatabaseEventHolder databaseEventHolder;
     private final boolean mentionableCommand;
+    private final CommandTrace trace;
 
     private int index = -1;
+    private long[] nestedTime;
 
-    public MiddlewareStack(Message message, CommandContainer command, DatabaseEventHolder databaseEventHolder, boolean mentionableCommand) {
+    public MiddlewareStack(Message message, CommandContainer command, DatabaseEventHolder databaseEventHolder, boolean mentionableCommand, CommandTrace trace) {
         this.message = message;
         this.command = command;
         this.mentionableCommand = mentionableCommand;
         this.databaseEventHolder = databaseEventHolder;
+        this.trace = trace;
 
-        middlewares.add(new MiddlewareContainer(processCommand));
+        middlewares.add(new MiddlewareContainer("processCommand", processCommand));
 
         buildMiddlewareStack();
 
-        middlewares.add(new MiddlewareContainer(isCategoryEnabled));
-        middlewares.add(new MiddlewareContainer(incrementMetricsForCommand));
+        middlewares.add(new MiddlewareContainer("isCategoryEnabled", isCategoryEnabled));
+        middlewares.add(new MiddlewareContainer("incrementMetricsForCommand", incrementMetricsForCommand));
 
         Metrics.commandAttempts.labels(command.getClass().getSimpleName()).inc();
     }
 
+    public MiddlewareStack(Message message, CommandContainer command, DatabaseEventHolder databaseEventHolder, boolean mentionableCommand) {
+        this(message, command, databaseEventHolder, mentionableCommand, new CommandTrace());
+    }
+
     public MiddlewareStack(Message message, CommandContainer command, DatabaseEventHolder databaseEventHolder) {
         this(message, command, databaseEventHolder, false);
     }
@@ -101,10 +109,10 @@ public class MiddlewareStack {
             }
 
             if (split.length == 1) {
-                middlewares.add(new MiddlewareContainer(middlewareReference));
+                middlewares.add(new MiddlewareContainer(split[0], middlewareReference));
                 continue;
             }
-            middlewares.add(new MiddlewareContainer(middlewareReference, split[1].split(",")));
+            middlewares.add(new MiddlewareContainer(split[0], middlewareReference, split[1].split(",")));
         }
     }
 
@@ -118,13 +126,62 @@ public class MiddlewareStack {
     public boolean next() {
         if (index == -1) {
             index = middlewares.size();
+            nestedTime = new long[middlewares.size()];
+
+            trace.lap(CommandTrace.PIPELINE, "command-queue");
         }
 
-        MiddlewareContainer middlewareContainer = middlewares.get(--index);
+        int level = --index;
+        MiddlewareContainer middlewareContainer = middlewares.get(level);
 
-        return middlewareContainer
-            .getMiddleware()
-            .handle(message, this, middlewareContainer.getArguments());
+        long start = System.nanoTime();
+        try {
+            return middlewareContainer
+                .getMiddleware()
+                .handle(message, this, middlewareContainer.getArguments());
+        } finally {
+            recordMiddlewareTime(level, middlewareContainer, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the time spent in the middleware at the given level of the stack, since
+     * middlewares invokes the next middleware from within their own handle method,
+     * the time spent in the nested middlewares are subtracted before it's
+     * recorded, once the outermost middleware is done the trace is finished.
+     *
+     * @param level     The level in the stack the middleware is at.
+     * @param container The container for the middleware.
+     * @param time      The total time in nanoseconds spent in the middleware.
+     */
+    private void recordMiddlewareTime(int level, MiddlewareContainer container, long time) {
+        trace.record(CommandTrace.MIDDLEWARE, container.getName(), time - nestedTime[level]);
+
+        if (level + 1 < middlewares.size()) {
+            nestedTime[level + 1] += time;
+            return;
+        }
+
+        trace.finish(getCommand().getClass().getSimpleName());
+    }
+
+    /**
+     * Gets the {@link Message message} that invoked the middleware stack.
+     *
+     * @return The {@link Message message} that invoked the middleware stack.
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the {@link CommandTrace trace} used to record the time spent
+     * in each stage of the pipeline and the middleware stack.
+     *
+     * @return The {@link CommandTrace trace} for the command.
+     */
+    public CommandTrace getTrace() {
+        return trace;
     }
 
     /**
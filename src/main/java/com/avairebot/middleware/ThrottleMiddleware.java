@@ -24,27 +24,36 @@ package com.avairebot.middleware;
 import com.avairebot.AvaIre;
 import com.avairebot.commands.CommandMessage;
 import com.avairebot.contracts.commands.CacheFingerprint;
+import com.avairebot.contracts.commands.Command;
 import com.avairebot.contracts.middleware.Middleware;
 import com.avairebot.contracts.middleware.ThrottleMessage;
 import com.avairebot.factories.MessageFactory;
 import com.avairebot.metrics.Metrics;
+import com.avairebot.middleware.throttle.ThrottleEngine;
+import com.avairebot.middleware.throttle.ThrottleKey;
 import com.avairebot.time.Carbon;
-import com.avairebot.utilities.CacheUtil;
 import com.avairebot.utilities.NumberUtil;
 import com.avairebot.utilities.RestActionUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Message;
 
 import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class ThrottleMiddleware extends Middleware {
 
-    public static final Cache<String, ThrottleEntity> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
+    /**
+     * The throttle engine used to keep track of command throttles, the engine
+     * is shared with the blacklist ratelimit, so all the rate limiting
+     * is done through a single structure.
+     */
+    public static final ThrottleEngine engine = new ThrottleEngine();
+
+    /**
+     * The command IDs used in the throttle keys, mapped by the command class.
+     */
+    private static final Map<Class<? extends Command>, Integer> commandIds = new ConcurrentHashMap<>();
 
     public ThrottleMiddleware(AvaIre avaire) {
         super(avaire);
@@ -72,10 +81,10 @@ public class ThrottleMiddleware extends Middleware {
             int maxAttempts = NumberUtil.parseInt(args[1], 2);
             int decaySeconds = NumberUtil.parseInt(args[2], 5);
 
-            String fingerprint = type.generateCacheString(message, stack);
+            ThrottleKey key = type.generateThrottleKey(message, stack);
 
-            ThrottleEntity entity = getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-            if (entity.getHits() >= maxAttempts) {
+            long retryAfter = engine.tryAcquire(key, maxAttempts, decaySeconds * 1000L);
+            if (retryAfter > 0) {
                 Carbon expires = type.equals(ThrottleType.USER)
                     ? avaire.getBlacklist().getRatelimit().hit(type, message.getAuthor().getIdLong())
                     : avaire.getBlacklist().getRatelimit().hit(type, message.getGuild().getIdLong());
@@ -87,13 +96,13 @@ public class ThrottleMiddleware extends Middleware {
                     return false;
                 }
 
-                return cancelCommandThrottleRequest(message, stack, entity);
+                return cancelCommandThrottleRequest(message, stack, retryAfter);
             }
 
             boolean response = stack.next();
 
-            if (response) {
-                entity.incrementHit();
+            if (!response) {
+                engine.release(key);
             }
 
             return response;
@@ -105,7 +114,7 @@ public class ThrottleMiddleware extends Middleware {
         return false;
     }
 
-    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, ThrottleEntity entity) {
+    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, long retryAfter) {
         Metrics.commandsRatelimited.labels(stack.getCommand().getClass().getSimpleName()).inc();
 
         return runMessageCheck(message, () -> {
@@ -122,7 +131,7 @@ public class ThrottleMiddleware extends Middleware {
 
             MessageFactory.makeWarning(message, throttleMessage)
                 .set("command", stack.getCommand().getName())
-                .set("time", ((entity.getTime() - System.currentTimeMillis()) / 1000) + 1)
+                .set("time", (retryAfter / 1000) + 1)
                 .set("prefix", stack.getCommand().generateCommandPrefix(message))
                 .queue(newMessage -> newMessage.delete().queueAfter(45, TimeUnit.SECONDS, null, RestActionUtil.ignore));
 
@@ -130,31 +139,16 @@ public class ThrottleMiddleware extends Middleware {
         });
     }
 
-    private ThrottleEntity getEntityFromCache(String fingerprint, int maxAttempts, int decaySeconds) {
-        ThrottleEntity entity = (ThrottleEntity) CacheUtil.getUncheckedUnwrapped(cache, fingerprint,
-            () -> new ThrottleEntity(maxAttempts, decaySeconds)
-        );
-
-        if (entity.hasExpired()) {
-            cache.invalidate(fingerprint);
-            return getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-        }
-
-        return entity;
-    }
-
     public enum ThrottleType {
 
-        USER("user", "throttle.user.%s.%s.%s"),
-        CHANNEL("channel", "throttle.channel.%s.%s.%s"),
-        GUILD("guild", "throttle.guild.%s.%s");
+        USER("user"),
+        CHANNEL("channel"),
+        GUILD("guild");
 
         private final String name;
-        private final String cache;
 
-        ThrottleType(String name, String cache) {
+        ThrottleType(String name) {
             this.name = name;
-            this.cache = cache;
         }
 
         public static ThrottleType fromName(String name) {
@@ -170,33 +164,36 @@ public class ThrottleMiddleware extends Middleware {
             return name;
         }
 
-        public String generateCacheString(Message message, MiddlewareStack stack) {
+        public ThrottleKey generateThrottleKey(Message message, MiddlewareStack stack) {
             if (!this.equals(ThrottleType.USER) && !message.isFromGuild()) {
-                return USER.generateCacheString(message, stack);
+                return USER.generateThrottleKey(message, stack);
             }
 
-            String cacheFingerprint = generateCacheFingerprint(stack);
+            Integer commandId = commandIds.get(stack.getCommand().getClass());
+            if (commandId == null) {
+                commandId = commandIds.computeIfAbsent(stack.getCommand().getClass(),
+                    ignored -> engine.getCommandId(generateCacheFingerprint(stack))
+                );
+            }
 
             switch (this) {
-                case USER:
-                    return String.format(cache,
-                        message.isFromGuild() ? message.getGuild().getId() : "private",
-                        message.getAuthor().getId(),
-                        cacheFingerprint);
-
                 case CHANNEL:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        message.getChannel().getId(),
-                        cacheFingerprint);
+                    return ThrottleKey.forCommand(this,
+                        message.getGuild().getIdLong(),
+                        message.getChannel().getIdLong(),
+                        commandId);
 
                 case GUILD:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        cacheFingerprint);
+                    return ThrottleKey.forCommand(this,
+                        message.getGuild().getIdLong(),
+                        0L,
+                        commandId);
 
                 default:
-                    return ThrottleType.USER.generateCacheString(message, stack);
+                    return ThrottleKey.forCommand(USER,
+                        message.isFromGuild() ? message.getGuild().getIdLong() : 0L,
+                        message.getAuthor().getIdLong(),
+                        commandId);
             }
         }
 
@@ -210,37 +207,4 @@ public class ThrottleMiddleware extends Middleware {
             return annotation.name();
         }
     }
-
-    private static class ThrottleEntity {
-
-        private final int maxAttempts;
-        private final long time;
-        private int hit;
-
-        ThrottleEntity(int maxAttempts, int decaySeconds) {
-            this.time = System.currentTimeMillis() + (decaySeconds * 1000);
-            this.maxAttempts = maxAttempts;
-            this.hit = 0;
-        }
-
-        public int getHits() {
-            return hit;
-        }
-
-        public void incrementHit() {
-            hit++;
-        }
-
-        public int getMaxAttempts() {
-            return maxAttempts;
-        }
-
-        public long getTime() {
-            return time;
-        }
-
-        public boolean hasExpired() {
-            return System.currentTimeMillis() > time;
-        }
-    }
 }
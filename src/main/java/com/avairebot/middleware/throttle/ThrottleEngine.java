@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.avairebot.middleware.throttle;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed window rate limit engine, each {@link ThrottleKey throttle key} gets its own window
+ * that starts when the key is first hit, and lasts for the given amount of time, the
+ * state of each window is packed into a single atomic long, holding both when
+ * the window expires and the amount of hits within it, so the window can
+ * be updated with a single compare-and-set without any locking.
+ */
+public class ThrottleEngine {
+
+    /**
+     * The amount of bits used to store the hits in the window state, the
+     * remaining bits are used to store the window expire time.
+     */
+    private static final int HIT_BITS = 16;
+
+    /**
+     * The maximum amount of hits that can be stored in a window.
+     */
+    private static final long MAX_HITS = (1L << HIT_BITS) - 1;
+
+    private final Map<ThrottleKey, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, Integer> commandIds = new ConcurrentHashMap<>();
+    private final AtomicInteger commandIdCounter = new AtomicInteger();
+
+    /**
+     * Tries to acquire a hit for the given key, if the key haven't been hit yet, or the
+     * window for the key has expired, a new window will be started for the key, if
+     * the window has reached the limit, the hit will be rejected instead.
+     *
+     * @param key          The key that should be hit.
+     * @param limit        The maximum amount of hits allowed within the window.
+     * @param windowMillis The length of the window in milliseconds.
+     * @return {@code 0} if the hit was acquired, otherwise the amount of
+     * milliseconds until the window expires, and the key can be hit again.
+     */
+    public long tryAcquire(@Nonnull ThrottleKey key, int limit, long windowMillis) {
+        return tryAcquire(key, limit, windowMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Releases a hit that was acquired for the given key, this is used to give back
+     * a hit if the action that was throttled didn't go through after all.
+     *
+     * @param key The key that the hit should be released for.
+     */
+    public void release(@Nonnull ThrottleKey key) {
+        Window window = windows.get(key);
+        if (window == null) {
+            return;
+        }
+
+        long state;
+        do {
+            state = window.state.get();
+            if ((state & MAX_HITS) == 0) {
+                return;
+            }
+        } while (!window.state.compareAndSet(state, state - 1));
+    }
+
+    /**
+     * Gets the amount of hits within the current window for the given key.
+     *
+     * @param key The key that the hits should be returned for.
+     * @return The amount of hits in the current window, or {@code 0} if the window has expired.
+     */
+    public int getHits(@Nonnull ThrottleKey key) {
+        Window window = windows.get(key);
+        if (window == null) {
+            return 0;
+        }
+
+        long state = window.state.get();
+        if (System.currentTimeMillis() >= expiresAt(state)) {
+            return 0;
+        }
+        return (int) (state & MAX_HITS);
+    }
+
+    /**
+     * Gets the ID for the given command fingerprint, the same
+     * fingerprint will always return the same command ID.
+     *
+     * @param fingerprint The command fingerprint.
+     * @return The ID for the command fingerprint.
+     */
+    public int getCommandId(@Nonnull String fingerprint) {
+        Integer id = commandIds.get(fingerprint);
+        if (id != null) {
+            return id;
+        }
+        return commandIds.computeIfAbsent(fingerprint, ignored -> commandIdCounter.incrementAndGet());
+    }
+
+    /**
+     * Removes all the windows that has expired.
+     */
+    public void cleanup() {
+        cleanup(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the amount of windows currently stored in the engine,
+     * this includes windows that has expired, but haven't
+     * been removed by a {@link #cleanup()} yet.
+     *
+     * @return The amount of windows stored in the engine.
+     */
+    public int size() {
+        return windows.size();
+    }
+
+    long tryAcquire(ThrottleKey key, int limit, long windowMillis, long now) {
+        Window window = windows.get(key);
+        if (window == null) {
+            window = windows.computeIfAbsent(key, ignored -> new Window());
+        }
+
+        while (true) {
+            long state = window.state.get();
+            long expiresAt = expiresAt(state);
+
+            if (now >= expiresAt) {
+                if (window.state.compareAndSet(state, pack(now + windowMillis, 1))) {
+                    return 0L;
+                }
+                continue;
+            }
+
+            long hits = state & MAX_HITS;
+            if (hits >= Math.min(limit, MAX_HITS)) {
+                return expiresAt - now;
+            }
+
+            if (window.state.compareAndSet(state, state + 1)) {
+                return 0L;
+            }
+        }
+    }
+
+    void cleanup(long now) {
+        Iterator<Map.Entry<ThrottleKey, Window>> iterator = windows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            // A thread could be hitting the window while it's being removed, in which case
+            // the hit is lost, since the window has already expired the hit would've
+            // started a new window anyway, so at worst one extra hit is allowed.
+            if (now >= expiresAt(iterator.next().getValue().state.get())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long pack(long expiresAt, long hits) {
+        return (expiresAt << HIT_BITS) | hits;
+    }
+
+    private static long expiresAt(long state) {
+        return state >>> HIT_BITS;
+    }
+
+    private static class Window {
+
+        private final AtomicLong state = new AtomicLong();
+    }
+}
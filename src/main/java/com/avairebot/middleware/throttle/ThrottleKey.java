@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.avairebot.middleware.throttle;
+
+import com.avairebot.middleware.ThrottleMiddleware;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A compact key used to identify a throttle window in the {@link ThrottleEngine throttle engine},
+ * the key is made up of the kind of throttle, up to two Discord IDs, and the ID of the
+ * command the throttle belongs to, allowing keys to be created without having
+ * to build a string fingerprint for every single command invocation.
+ */
+public final class ThrottleKey {
+
+    /**
+     * The kind used for the blacklist ratelimit keys, command keys uses
+     * the ordinal of their {@link ThrottleMiddleware.ThrottleType throttle type}.
+     */
+    private static final int RATELIMIT_KIND = 16;
+
+    private final int kind;
+    private final long first;
+    private final long second;
+    private final int command;
+
+    private ThrottleKey(int kind, long first, long second, int command) {
+        this.kind = kind;
+        this.first = first;
+        this.second = second;
+        this.command = command;
+    }
+
+    /**
+     * Creates a new throttle key for a command throttle.
+     *
+     * @param type    The type of throttle the key is for.
+     * @param first   The first ID the throttle is scoped to, usually the guild ID.
+     * @param second  The second ID the throttle is scoped to, like the user or channel ID.
+     * @param command The ID of the command the throttle is for.
+     * @return The throttle key for the command throttle.
+     */
+    public static ThrottleKey forCommand(@Nonnull ThrottleMiddleware.ThrottleType type, long first, long second, int command) {
+        return new ThrottleKey(type.ordinal(), first, second, command);
+    }
+
+    /**
+     * Creates a new throttle key for the blacklist ratelimit.
+     *
+     * @param id The ID of the user or guild that is hitting the ratelimit.
+     * @return The throttle key for the blacklist ratelimit.
+     */
+    public static ThrottleKey forRatelimit(long id) {
+        return new ThrottleKey(RATELIMIT_KIND, id, 0L, 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ThrottleKey)) {
+            return false;
+        }
+
+        ThrottleKey other = (ThrottleKey) obj;
+        return kind == other.kind
+            && first == other.first
+            && second == other.second
+            && command == other.command;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = kind;
+        result = 31 * result + Long.hashCode(first);
+        result = 31 * result + Long.hashCode(second);
+        result = 31 * result + command;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ThrottleKey[kind:%s, first:%s, second:%s, command:%s]",
+            kind, first, second, command
+        );
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roles;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+class GuildRoleQueue {
+
+    /**
+     * The pending role changes for the guild, mapped by the user ID, members
+     * are handled in the order their first pending action was queued.
+     */
+    private final LinkedHashMap<Long, RoleChange> changes = new LinkedHashMap<>();
+
+    /**
+     * The time in milliseconds the current request was sent to Discord,
+     * or {@code -1} if there is no request in-flight for the guild.
+     */
+    private long inflightSince = -1;
+
+    /**
+     * The token of the role change that is currently in-flight, each polled
+     * change gets a new token, so a late completion for a request that
+     * has already timed out can't clear the marker for a newer one.
+     */
+    private long inflightToken = -1;
+    private long nextToken = 0;
+
+    /**
+     * Queues the given role actions for the user with the given ID, the actions
+     * are merged with any other pending actions for the same member.
+     *
+     * @param userId The ID of the user the actions are for.
+     * @param add    The IDs of the roles that should be added to the member.
+     * @param remove The IDs of the roles that should be removed from the member.
+     * @return The amount of pending actions the given actions cancelled out.
+     */
+    synchronized int queue(long userId, Collection<Long> add, Collection<Long> remove) {
+        RoleChange change = changes.computeIfAbsent(userId, RoleChange::new);
+
+        int cancelled = 0;
+        for (long roleId : add) {
+            if (change.set(roleId, true)) {
+                cancelled++;
+            }
+        }
+
+        for (long roleId : remove) {
+            if (change.set(roleId, false)) {
+                cancelled++;
+            }
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Polls the next role change from the queue, and marks the guild as having a
+     * request in-flight, if the guild already has a request in-flight that
+     * is younger than the given timeout, nothing will be returned, the
+     * returned change is given a token that must be used to complete it.
+     *
+     * @param now     The current time in milliseconds.
+     * @param timeout The time in milliseconds before an in-flight request is considered lost.
+     * @return The next role change, or {@code NULL} if the queue is empty, or has a request in-flight.
+     */
+    @Nullable
+    synchronized RoleChange poll(long now, long timeout) {
+        if (inflightSince > -1 && now - inflightSince < timeout) {
+            return null;
+        }
+
+        Iterator<RoleChange> iterator = changes.values().iterator();
+        if (!iterator.hasNext()) {
+            inflightSince = -1;
+            inflightToken = -1;
+            return null;
+        }
+
+        RoleChange change = iterator.next();
+        iterator.remove();
+
+        inflightSince = now;
+        inflightToken = nextToken++;
+        change.setToken(inflightToken);
+
+        return change;
+    }
+
+    /**
+     * Marks the in-flight request with the given token as completed, allowing the next
+     * role change to be polled, if the given token doesn't belong to the request
+     * that is currently in-flight, the completion is ignored.
+     *
+     * @param token The token of the role change that was completed.
+     * @return {@code True} if the in-flight request was completed, {@code False} otherwise.
+     */
+    synchronized boolean complete(long token) {
+        if (inflightToken == -1 || inflightToken != token) {
+            return false;
+        }
+
+        inflightSince = -1;
+        inflightToken = -1;
+
+        return true;
+    }
+
+    /**
+     * Checks if the queue is idle, meaning it has no pending
+     * role changes, and no request in-flight.
+     *
+     * @return {@code True} if the queue is idle, {@code False} otherwise.
+     */
+    synchronized boolean isIdle() {
+        return inflightSince == -1 && changes.isEmpty();
+    }
+
+    /**
+     * Gets the amount of members with pending role changes.
+     *
+     * @return The amount of members with pending role changes.
+     */
+    synchronized int size() {
+        return changes.size();
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roles;
+
+import com.avairebot.AvaIre;
+import com.avairebot.metrics.Metrics;
+import com.avairebot.scheduler.ScheduleHandler;
+import com.avairebot.utilities.RoleUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class RoleActionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleActionManager.class);
+
+    /**
+     * The time in milliseconds before an in-flight request is considered lost,
+     * allowing the next role change for the guild to be sent, this prevents
+     * a guild from getting stuck if a request never completes.
+     */
+    private static final long inflightTimeout = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The roles we expect each member to have after the last role change that was sent
+     * for them, mapped by the guild and user ID, JDA only updates the member roles
+     * once Discord sends the member update event, so until then the cached
+     * roles can't be trusted to filter out role changes that does nothing.
+     */
+    private final Cache<String, Map<Long, Boolean>> expectedRoles = CacheBuilder.newBuilder()
+        .expireAfterWrite(inflightTimeout, TimeUnit.MILLISECONDS)
+        .build();
+
+    private final AvaIre avaire;
+    private final Map<Long, GuildRoleQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the role action manager instance with the given AvaIre application instance.
+     *
+     * @param avaire The main AvaIre instance.
+     */
+    public RoleActionManager(AvaIre avaire) {
+        this.avaire = avaire;
+    }
+
+    /**
+     * Queues the given role to be added to the given member.
+     *
+     * @param guild  The guild the member belongs to.
+     * @param member The member the role should be added to.
+     * @param role   The role that should be added.
+     */
+    public void addRole(@Nonnull Guild guild, @Nonnull Member member, @Nonnull Role role) {
+        modifyMemberRoles(guild, member, Collections.singletonList(role), null);
+    }
+
+    /**
+     * Queues the given role to be removed from the given member.
+     *
+     * @param guild  The guild the member belongs to.
+     * @param member The member the role should be removed from.
+     * @param role   The role that should be removed.
+     */
+    public void removeRole(@Nonnull Guild guild, @Nonnull Member member, @Nonnull Role role) {
+        modifyMemberRoles(guild, member, null, Collections.singletonList(role));
+    }
+
+    /**
+     * Queues the given roles to be added and removed from the given member, the actions are
+     * merged with any other pending actions for the member, so all the pending changes
+     * are sent to Discord in a single request, and actions that cancels each other
+     * out, like adding and then removing the same role, are never sent at all.
+     * <p>
+     * Each guild only ever has a single request in-flight at a time, once the
+     * request completes the next member in the queue is handled, pacing the
+     * requests by the guilds own rate-limit bucket instead of a global rate.
+     *
+     * @param guild         The guild the member belongs to.
+     * @param member        The member the roles should be modified for.
+     * @param rolesToAdd    The roles that should be added to the member, or {@code NULL}.
+     * @param rolesToRemove The roles that should be removed from the member, or {@code NULL}.
+     */
+    public void modifyMemberRoles(@Nonnull Guild guild, @Nonnull Member member, @Nullable Collection<Role> rolesToAdd, @Nullable Collection<Role> rolesToRemove) {
+        queue(guild.getIdLong(), member.getUser().getIdLong(), toIds(rolesToAdd), toIds(rolesToRemove));
+    }
+
+    /**
+     * Gets the amount of members with pending role changes for the given guild.
+     *
+     * @param guildId The ID of the guild the pending changes should be counted for.
+     * @return The amount of members with pending role changes.
+     */
+    public int getPendingChanges(long guildId) {
+        GuildRoleQueue queue = queues.get(guildId);
+
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void queue(long guildId, long userId, List<Long> add, List<Long> remove) {
+        int[] cancelled = new int[]{0};
+
+        queues.compute(guildId, (key, queue) -> {
+            if (queue == null) {
+                queue = new GuildRoleQueue();
+            }
+
+            cancelled[0] = queue.queue(userId, add, remove);
+
+            return queue;
+        });
+
+        if (cancelled[0] > 0) {
+            Metrics.roleActions.labels("cancelled").inc(cancelled[0]);
+        }
+
+        dispatch(guildId);
+    }
+
+    private void dispatch(long guildId) {
+        GuildRoleQueue queue = queues.get(guildId);
+        if (queue == null) {
+            return;
+        }
+
+        while (true) {
+            RoleChange change = queue.poll(System.currentTimeMillis(), inflightTimeout);
+            if (change == null) {
+                // Removes the queue if it's idle, this is done in a compute call
+                // so actions can't be queued while the queue is being removed.
+                queues.computeIfPresent(guildId, (key, value) -> value.isIdle() ? null : value);
+                return;
+            }
+
+            if (send(guildId, change)) {
+                return;
+            }
+
+            queue.complete(change.getToken());
+        }
+    }
+
+    private boolean send(long guildId, RoleChange change) {
+        Guild guild = avaire.getShardManager().getGuildById(guildId);
+        if (guild == null) {
+            return false;
+        }
+
+        Member member = guild.getMemberById(change.getUserId());
+        if (member == null) {
+            return false;
+        }
+
+        List<Role> rolesToAdd = new ArrayList<>();
+        for (long roleId : change.getRolesToAdd()) {
+            Role role = guild.getRoleById(roleId);
+            if (role != null && !hasRole(guild, member, role) && guild.getSelfMember().canInteract(role)) {
+                rolesToAdd.add(role);
+            }
+        }
+
+        List<Role> rolesToRemove = new ArrayList<>();
+        for (long roleId : change.getRolesToRemove()) {
+            Role role = guild.getRoleById(roleId);
+            if (role != null && hasRole(guild, member, role) && guild.getSelfMember().canInteract(role)) {
+                rolesToRemove.add(role);
+            }
+        }
+
+        if (rolesToAdd.isEmpty() && rolesToRemove.isEmpty()) {
+            Metrics.roleActions.labels("skipped").inc();
+            return false;
+        }
+
+        Metrics.roleActions.labels("requests").inc();
+
+        guild.modifyMemberRoles(member, rolesToAdd, rolesToRemove).queue(success -> {
+            rememberRoles(guildId, change.getUserId(), rolesToAdd, rolesToRemove);
+            complete(guildId, change.getToken());
+        }, error -> {
+            log.debug("Failed to modify the roles for {} in {}: {}",
+                change.getUserId(), guildId, error.getMessage()
+            );
+            complete(guildId, change.getToken());
+        });
+
+        // Drains the queue again once the request would be considered lost, so the
+        // pending changes are still sent if the request never completes, and
+        // no other role actions are queued for the guild in the meantime.
+        ScheduleHandler.getScheduler().schedule(
+            () -> dispatch(guildId), inflightTimeout, TimeUnit.MILLISECONDS
+        );
+
+        return true;
+    }
+
+    private void complete(long guildId, long token) {
+        GuildRoleQueue queue = queues.get(guildId);
+        if (queue == null || !queue.complete(token)) {
+            return;
+        }
+
+        dispatch(guildId);
+    }
+
+    private boolean hasRole(Guild guild, Member member, Role role) {
+        Map<Long, Boolean> expected = expectedRoles.getIfPresent(guild.getIdLong() + ":" + member.getUser().getIdLong());
+        if (expected != null && expected.containsKey(role.getIdLong())) {
+            return expected.get(role.getIdLong());
+        }
+        return RoleUtil.hasRole(member, role);
+    }
+
+    private void rememberRoles(long guildId, long userId, List<Role> rolesToAdd, List<Role> rolesToRemove) {
+        String key = guildId + ":" + userId;
+
+        // Only a single request is ever in-flight per guild, so the expected
+        // roles for a member can't be updated by two requests at once.
+        Map<Long, Boolean> expected = expectedRoles.getIfPresent(key);
+        expected = expected == null ? new HashMap<>() : new HashMap<>(expected);
+
+        for (Role role : rolesToAdd) {
+            expected.put(role.getIdLong(), true);
+        }
+        for (Role role : rolesToRemove) {
+            expected.put(role.getIdLong(), false);
+        }
+
+        expectedRoles.put(key, expected);
+    }
+
+    private List<Long> toIds(@Nullable Collection<Role> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            ids.add(role.getIdLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roles;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RoleChange {
+
+    private final long userId;
+
+    /**
+     * The pending role changes for the member, mapped by the role ID, where
+     * {@code True} means the role should be added, and {@code False}
+     * means the role should be removed from the member.
+     */
+    private final Map<Long, Boolean> roles = new LinkedHashMap<>();
+
+    /**
+     * The token given to the role change when it was polled from the queue, used to tie
+     * the completion of the request back to the in-flight marker it belongs to.
+     */
+    private long token = -1;
+
+    RoleChange(long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Gets the ID of the user the role change belongs to.
+     *
+     * @return The ID of the user the role change belongs to.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the IDs of the roles that should be added to the member.
+     *
+     * @return The IDs of the roles that should be added.
+     */
+    public List<Long> getRolesToAdd() {
+        return getRoles(true);
+    }
+
+    /**
+     * Gets the IDs of the roles that should be removed from the member.
+     *
+     * @return The IDs of the roles that should be removed.
+     */
+    public List<Long> getRolesToRemove() {
+        return getRoles(false);
+    }
+
+    long getToken() {
+        return token;
+    }
+
+    void setToken(long token) {
+        this.token = token;
+    }
+
+    /**
+     * Sets the pending action for the given role, if the role already has
+     * a pending action, the new action replaces it, so an add followed
+     * by a remove for the same role will only ever remove the role.
+     *
+     * @param roleId The ID of the role the action is for.
+     * @param add    {@code True} if the role should be added, {@code False} if it should be removed.
+     * @return {@code True} if the action replaced an opposing action, {@code False} otherwise.
+     */
+    boolean set(long roleId, boolean add) {
+        Boolean previous = roles.put(roleId, add);
+
+        return previous != null && previous != add;
+    }
+
+    private List<Long> getRoles(boolean add) {
+        List<Long> result = new ArrayList<>();
+        for (Map.Entry<Long, Boolean> entry : roles.entrySet()) {
+            if (entry.getValue() == add) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RoleChange [userId=%s, add=%s, remove=%s]",
+            userId, getRolesToAdd(), getRolesToRemove()
+        );
+    }
+}
@@ -21,15 +21,23 @@
 
 package com.avairebot.scheduler;
 
+import com.avairebot.AvaIre;
 import com.avairebot.contracts.scheduler.Job;
+import com.avairebot.contracts.scheduler.OverrunPolicy;
+import com.avairebot.contracts.scheduler.Task;
+import com.avairebot.handlers.executor.BoundedExecutor;
+import com.avairebot.handlers.executor.ExecutorSettings;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import javax.annotation.Nonnull;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ScheduleHandler {
 
@@ -40,15 +48,44 @@ public class ScheduleHandler {
         .build()
     );
 
+    private static final Map<Task, ScheduledTask> scheduledTasks = new ConcurrentHashMap<>();
+    private static final AtomicLong scheduledTaskIds = new AtomicLong();
+    private static BoundedExecutor taskExecutor;
+
     /**
      * Registers a job with the scheduler service, the job will define how often
      * it should run, and the schedule service will then periodically run the
-     * job on a separate thread when it's time for it to run.
+     * job on the task executor when it's time for it to run.
+     * <p>
+     * The scheduler service only triggers the job, so a slow job never delays
+     * other jobs, if the job is still running when it's due again, the
+     * {@link Job#getOverrunPolicy() overrun policy} for the job is used.
      *
      * @param job The job that should be registered with the scheduler service.
      */
     public static void registerJob(@Nonnull Job job) {
-        tasks.add(schedulerService.scheduleAtFixedRate(job, job.getDelay(), job.getPeriod(), job.getUnit()));
+        ScheduledTask scheduledTask = createScheduledTask(
+            job.getClass().getSimpleName(), job.getOverrunPolicy(), job
+        );
+
+        tasks.add(schedulerService.scheduleAtFixedRate(
+            scheduledTask::trigger, job.getDelay(), job.getPeriod(), job.getUnit()
+        ));
+    }
+
+    /**
+     * Dispatches the given task to the task executor, each task instance keeps track
+     * of its own runs, so the task is never run more than once at a time, if the
+     * task is still running from a previous dispatch, the task
+     * {@link Task#getOverrunPolicy() overrun policy} is used.
+     *
+     * @param avaire The AvaIre application instance.
+     * @param task   The task that should be dispatched.
+     */
+    public static void dispatchTask(@Nonnull AvaIre avaire, @Nonnull Task task) {
+        scheduledTasks.computeIfAbsent(task, key -> createScheduledTask(
+            task.getClass().getSimpleName(), task.getOverrunPolicy(), () -> task.handle(avaire)
+        )).trigger();
     }
 
     /**
@@ -70,4 +107,19 @@ public class ScheduleHandler {
     public static ScheduledExecutorService getScheduler() {
         return schedulerService;
     }
+
+    private static ScheduledTask createScheduledTask(String name, OverrunPolicy policy, Runnable runnable) {
+        final long id = scheduledTaskIds.incrementAndGet();
+
+        return new ScheduledTask(name, policy, runnable, task -> getTaskExecutor().submit(id, task));
+    }
+
+    private static synchronized BoundedExecutor getTaskExecutor() {
+        if (taskExecutor == null) {
+            taskExecutor = new BoundedExecutor("scheduler", ExecutorSettings.fromConfig(
+                AvaIre.getInstance().getConfig(), "command-executor.scheduler", new ExecutorSettings(4, 50, 1)
+            ));
+        }
+        return taskExecutor;
+    }
 }
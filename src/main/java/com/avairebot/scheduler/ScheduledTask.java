@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.scheduler;
+
+import com.avairebot.contracts.scheduler.OverrunPolicy;
+import com.avairebot.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+class ScheduledTask {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTask.class);
+
+    private final String name;
+    private final OverrunPolicy policy;
+    private final Runnable runnable;
+    private final Predicate<Runnable> submitter;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+
+    /**
+     * Creates a new scheduled task.
+     *
+     * @param name      The name of the task, used for logging and metrics.
+     * @param policy    The policy used when the task is due while it's still running.
+     * @param runnable  The runnable that should be invoked when the task runs.
+     * @param submitter The submitter used to run the task, returning {@code False} if the task was shed.
+     */
+    ScheduledTask(@Nonnull String name, @Nonnull OverrunPolicy policy, @Nonnull Runnable runnable, @Nonnull Predicate<Runnable> submitter) {
+        this.name = name;
+        this.policy = policy;
+        this.runnable = runnable;
+        this.submitter = submitter;
+    }
+
+    /**
+     * Triggers the task, if the task is not already running it will be submitted
+     * right away, otherwise the overrun is recorded, and the run is either
+     * dropped, or delayed until the current run is done, depending
+     * on the overrun policy for the task.
+     */
+    void trigger() {
+        if (running.compareAndSet(false, true)) {
+            submit();
+            return;
+        }
+
+        if (policy == OverrunPolicy.CATCH_UP) {
+            pending.set(true);
+            Metrics.schedulerTaskOverruns.labels(name, "delayed").inc();
+        } else {
+            Metrics.schedulerTaskOverruns.labels(name, "skipped").inc();
+        }
+
+        log.debug("The {} task was due while it was still running, the run was {}",
+            name, policy == OverrunPolicy.CATCH_UP ? "delayed" : "skipped"
+        );
+    }
+
+    /**
+     * Checks if the task is currently queued or running.
+     *
+     * @return {@code True} if the task is queued or running, {@code False} otherwise.
+     */
+    boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Gets the name of the task.
+     *
+     * @return The name of the task.
+     */
+    String getName() {
+        return name;
+    }
+
+    private void submit() {
+        if (!submitter.test(this::execute)) {
+            running.set(false);
+            Metrics.schedulerTaskOverruns.labels(name, "shed").inc();
+        }
+    }
+
+    private void execute() {
+        final long start = System.nanoTime();
+
+        try {
+            log.trace("Invoking {} scheduled task", name);
+            runnable.run();
+        } catch (Exception ex) {
+            log.error("An error occurred while running the {} class, message: {}",
+                name, ex.getMessage(), ex
+            );
+        } finally {
+            Metrics.schedulerTaskDuration.labels(name).observe((System.nanoTime() - start) / 1E9D);
+            running.set(false);
+        }
+
+        // If the task became due while it was running, and no other run has been
+        // started since, the missed runs are caught up with a single run.
+        if (pending.getAndSet(false) && running.compareAndSet(false, true)) {
+            submit();
+        }
+    }
+}
@@ -24,8 +24,9 @@ package com.avairebot.scheduler.jobs;
 import com.avairebot.AvaIre;
 import com.avairebot.Constants;
 import com.avairebot.contracts.scheduler.Job;
-import com.avairebot.database.collection.Collection;
 import com.avairebot.database.collection.DataRow;
+import com.avairebot.database.query.QueryBuilder;
+import com.avairebot.level.LeaderboardIndex;
 import net.dv8tion.jda.api.entities.Guild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +47,11 @@ public class CleanupPlayerRecordsJob extends Job {
 
     private static final Logger log = LoggerFactory.getLogger(CleanupPlayerRecordsJob.class);
 
+    /**
+     * The amount of player records that should be loaded from the database at a time.
+     */
+    private static final int chunkSize = 5000;
+
     public CleanupPlayerRecordsJob(AvaIre avaire) {
         super(avaire, 0, 1, TimeUnit.HOURS);
     }
@@ -77,6 +83,11 @@ public class CleanupPlayerRecordsJob extends Job {
                 }
             });
 
+            LeaderboardIndex leaderboardIndex = avaire.getLevelManager().getLeaderboardIndex();
+            for (InactiveUser entity : inactiveUsers) {
+                leaderboardIndex.remove(Long.parseLong(entity.guildId), Long.parseLong(entity.userId));
+            }
+
             log.debug("Finished \"Player Cleanup\" job, updated {} records in the process", inactiveUsers.size());
         } catch (SQLException e) {
             log.error("An SQL exception was thrown while updating player experience: ", e);
@@ -86,36 +97,39 @@ public class CleanupPlayerRecordsJob extends Job {
     private List<InactiveUser> getInactiveUsers() {
         try {
             List<InactiveUser> inactiveUsers = new ArrayList<>();
-            Guild guild = null;
-            boolean hasMembers = false;
+            Guild[] guild = new Guild[]{null};
 
-            for (DataRow dataRow : getUsersFromDatabase()) {
-                if (guild == null || !guild.getId().equalsIgnoreCase(dataRow.getString("guild_id"))) {
+            // The experience table is streamed in chunks ordered by the guild and user IDs,
+            // so only a single chunk of rows is kept in memory at a time, instead of
+            // loading every active player record into one large collection.
+            createUsersQuery().chunkByKey(chunkSize, dataRow -> {
+                if (guild[0] == null || !guild[0].getId().equalsIgnoreCase(dataRow.getString("guild_id"))) {
                     try {
-                        guild = avaire.getShardManager().getGuildById(dataRow.getString("guild_id"));
+                        guild[0] = avaire.getShardManager().getGuildById(dataRow.getString("guild_id"));
                     } catch (Exception ignored) {
                         inactiveUsers.add(createInactiveUser(dataRow));
-                        continue;
+                        return true;
                     }
                 }
 
-                if (guild == null) {
+                if (guild[0] == null) {
                     inactiveUsers.add(createInactiveUser(dataRow));
-                    continue;
+                    return true;
                 }
 
-                if (!guild.isLoaded()) {
-                    continue;
+                if (!guild[0].isLoaded()) {
+                    return true;
                 }
 
                 try {
-                    if (guild.getMemberById(dataRow.getString("user_id")) == null) {
+                    if (guild[0].getMemberById(dataRow.getString("user_id")) == null) {
                         inactiveUsers.add(createInactiveUser(dataRow));
                     }
                 } catch (Exception ignored) {
                     inactiveUsers.add(createInactiveUser(dataRow));
                 }
-            }
+                return true;
+            }, "guild_id", "user_id");
 
             return inactiveUsers;
         } catch (SQLException e) {
@@ -126,13 +140,11 @@ public class CleanupPlayerRecordsJob extends Job {
         }
     }
 
-    private Collection getUsersFromDatabase() throws SQLException {
+    private QueryBuilder createUsersQuery() {
         return avaire.getDatabase()
             .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
             .select("user_id", "guild_id")
-            .where("active", 1)
-            .orderBy("guild_id")
-            .get();
+            .where("active", 1);
     }
 
     private InactiveUser createInactiveUser(DataRow row) {
@@ -26,7 +26,6 @@ import com.avairebot.audio.AudioHandler;
 import com.avairebot.audio.AudioSession;
 import com.avairebot.audio.GuildMusicManager;
 import com.avairebot.audio.LavalinkManager;
-import com.avairebot.blacklist.Ratelimit;
 import com.avairebot.cache.CacheType;
 import com.avairebot.cache.adapters.MemoryAdapter;
 import com.avairebot.commands.administration.MuteRoleCommand;
@@ -34,6 +33,8 @@ import com.avairebot.contracts.commands.InteractionCommand;
 import com.avairebot.contracts.scheduler.Task;
 import com.avairebot.handlers.adapter.JDAStateEventAdapter;
 import com.avairebot.handlers.adapter.MessageEventAdapter;
+import com.avairebot.metrics.Metrics;
+import com.avairebot.middleware.ThrottleMiddleware;
 import com.avairebot.scheduler.jobs.LavalinkGarbageNodeCollectorJob;
 import lavalink.client.io.Link;
 import lavalink.client.io.jda.JdaLink;
@@ -49,10 +50,10 @@ public class GarbageCollectorTask implements Task {
         // the list, allowing users to get the DM info message again.
         MessageEventAdapter.hasReceivedInfoMessageInTheLastMinute.clear();
 
-        // Remove cache entries from the memory cache adapter
-        // if the keys are still stored by has expired.
-        MemoryAdapter adapter = (MemoryAdapter) avaire.getCache().getAdapter(CacheType.MEMORY);
-        adapter.getCacheKeys().removeIf(key -> !adapter.has(key));
+        // Remove cache entries from the memory cache adapter that has expired, this
+        // is normally done every second by the adapter itself, but it doesn't
+        // hurt to make sure the cache is cleaned up here as well.
+        ((MemoryAdapter) avaire.getCache().getAdapter(CacheType.MEMORY)).cleanUp();
 
         // Clean music managers and audio sessions by removing
         // them if they have expired or are unused.
@@ -141,10 +142,9 @@ public class GarbageCollectorTask implements Task {
      * cleans up any entities that have expired.
      */
     private void cleanupCache() {
-        // blacklist-ratelimit
-        synchronized (Ratelimit.cache) {
-            Ratelimit.cache.cleanUp();
-        }
+        // throttle-windows
+        ThrottleMiddleware.engine.cleanup();
+        Metrics.throttleWindows.set(ThrottleMiddleware.engine.size());
 
         // interaction-lottery
         synchronized (InteractionCommand.cache) {
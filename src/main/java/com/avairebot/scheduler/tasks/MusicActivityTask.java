@@ -251,6 +251,8 @@ public class MusicActivityTask implements Task {
         playerPaused.remove(guildId);
         emptyQueue.remove(guildId);
 
+        AudioHandler.getDefaultAudioHandler().getQueueJournal().remove(guildId);
+
         if (guildMusicManager == null) {
             if (manager != null) {
                 LavalinkManager.LavalinkManagerHolder.lavalink.closeConnection(manager.getGuild());
@@ -22,7 +22,6 @@
 package com.avairebot.scheduler.tasks;
 
 import com.avairebot.AvaIre;
-import com.avairebot.blacklist.BlacklistEntity;
 import com.avairebot.blacklist.Scope;
 import com.avairebot.contracts.scheduler.Task;
 import com.avairebot.metrics.Metrics;
@@ -36,24 +35,8 @@ public class SyncBlacklistMetricsTask implements Task {
             return;
         }
 
-        int servers = 0,
-            users = 0;
-
-
-        for (BlacklistEntity entity : avaire.getBlacklist().getBlacklistEntities()) {
-            if (!entity.isBlacklisted()) {
-                continue;
-            }
-
-            if (entity.getScope().equals(Scope.GUILD)) {
-                servers++;
-            } else {
-                users++;
-            }
-        }
-
-        Metrics.blacklist.labels("servers").set(servers);
-        Metrics.blacklist.labels("users").set(users);
+        Metrics.blacklist.labels("servers").set(avaire.getBlacklist().getBlacklistSize(Scope.GUILD));
+        Metrics.blacklist.labels("users").set(avaire.getBlacklist().getBlacklistSize(Scope.USER));
     }
 
     private void register() {
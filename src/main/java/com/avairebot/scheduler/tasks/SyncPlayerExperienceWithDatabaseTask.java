@@ -23,14 +23,17 @@ package com.avairebot.scheduler.tasks;
 
 import com.avairebot.AvaIre;
 import com.avairebot.Constants;
+import com.avairebot.contracts.scheduler.OverrunPolicy;
 import com.avairebot.contracts.scheduler.Task;
+import com.avairebot.database.DatabaseManager;
 import com.avairebot.level.ExperienceEntity;
+import com.avairebot.level.ExperienceLedger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 public class SyncPlayerExperienceWithDatabaseTask implements Task {
 
@@ -38,16 +41,39 @@ public class SyncPlayerExperienceWithDatabaseTask implements Task {
 
     @Override
     public void handle(AvaIre avaire) {
-        if (avaire.getLevelManager().getExperienceQueue().isEmpty()) {
+        sync(avaire.getLevelManager().getExperienceLedger(), avaire.getDatabase());
+    }
+
+    /**
+     * Drains the given ledger and writes the experience to the database, if the
+     * batch update fails the drained experience is put back into the ledger,
+     * so it can be synced the next time the task runs instead.
+     *
+     * @param ledger   The ledger the experience should be drained from.
+     * @param database The database manager used to run the batch update.
+     */
+    void sync(ExperienceLedger ledger, DatabaseManager database) {
+        if (ledger.isEmpty()) {
             return;
         }
 
-        List<ExperienceEntity> experienceQueue;
-        synchronized (avaire.getLevelManager().getExperienceQueue()) {
-            experienceQueue = new ArrayList<>(avaire.getLevelManager().getExperienceQueue());
-            avaire.getLevelManager().getExperienceQueue().clear();
+        // Holds the sync lock until the experience is stored in the database, or put back
+        // into the ledger, so the drained experience can't be missed by anything that
+        // reads the database records together with the pending experience.
+        Lock lock = ledger.getSyncLock().writeLock();
+        lock.lock();
+
+        try {
+            List<ExperienceEntity> experienceQueue = ledger.drain();
+            if (!experienceQueue.isEmpty()) {
+                write(ledger, database, experienceQueue);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
+    private void write(ExperienceLedger ledger, DatabaseManager database, List<ExperienceEntity> experienceQueue) {
         try {
             String query = String.format(
                 "UPDATE `%s` SET `experience` = ? + `experience`, `global_experience` = ? + `global_experience` WHERE `user_id` = ? AND `guild_id` = ?",
@@ -56,12 +82,12 @@ public class SyncPlayerExperienceWithDatabaseTask implements Task {
 
             log.debug("Starting \"Player Experience\" update task with query: " + query);
 
-            avaire.getDatabase().queryBatch(query, statement -> {
+            database.queryBatch(query, statement -> {
                 for (ExperienceEntity entity : experienceQueue) {
-                    statement.setInt(1, entity.isExcludeLocal() ? 0 : entity.getExperience());
-                    statement.setInt(2, entity.getExperience());
-                    statement.setString(3, String.valueOf(entity.getUserId()));
-                    statement.setString(4, String.valueOf(entity.getGuildId()));
+                    statement.setLong(1, entity.getLocalExperience());
+                    statement.setLong(2, entity.getExperience());
+                    statement.setLong(3, entity.getUserId());
+                    statement.setLong(4, entity.getGuildId());
                     statement.addBatch();
                 }
             });
@@ -69,6 +95,18 @@ public class SyncPlayerExperienceWithDatabaseTask implements Task {
             log.debug("Finished \"Player Experience\" task, updated {} records in the process", experienceQueue.size());
         } catch (SQLException e) {
             log.error("An SQL exception was thrown while updating player experience: ", e);
+
+            // Puts the experience back into the ledger so it can be synced with
+            // the database the next time the task runs, instead of being lost.
+            ledger.recordAll(experienceQueue);
         }
     }
+
+    @Override
+    public OverrunPolicy getOverrunPolicy() {
+        // Experience recorded while the previous sync was running is synced right after
+        // it's done, instead of waiting for the next run, so the ledger can't keep
+        // growing when the database is slow to respond.
+        return OverrunPolicy.CATCH_UP;
+    }
 }
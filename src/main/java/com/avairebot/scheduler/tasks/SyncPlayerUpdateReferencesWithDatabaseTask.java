@@ -23,6 +23,7 @@ package com.avairebot.scheduler.tasks;
 
 import com.avairebot.AvaIre;
 import com.avairebot.Constants;
+import com.avairebot.contracts.scheduler.OverrunPolicy;
 import com.avairebot.contracts.scheduler.Task;
 import com.avairebot.database.controllers.PlayerController;
 import org.slf4j.Logger;
@@ -70,4 +71,9 @@ public class SyncPlayerUpdateReferencesWithDatabaseTask implements Task {
             log.error("An SQL exception was thrown while updating player references: ", e);
         }
     }
+
+    @Override
+    public OverrunPolicy getOverrunPolicy() {
+        return OverrunPolicy.CATCH_UP;
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.audio.cache;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioQueueJournalCodecTests extends BaseTest {
+
+    private static final byte[] first = "first track".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] second = "second track".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] third = "third track".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testQueueIsReplayedInOrder() {
+        AudioState state = AudioQueueJournalCodec.replay(1L, join(
+            AudioQueueJournalCodec.encodePlaying(first, 10L, 20L, 30L, 75),
+            AudioQueueJournalCodec.encodeEnqueue(second, 11L),
+            AudioQueueJournalCodec.encodeEnqueue(third, 12L),
+            AudioQueueJournalCodec.encodeDequeue(),
+            AudioQueueJournalCodec.encodePlaying(second, 11L, 20L, 30L, 75),
+            AudioQueueJournalCodec.encodeEnqueueFirst(first, 10L)
+        ));
+
+        assertNotNull(state);
+        assertEquals(1L, state.getGuildId());
+        assertEquals(20L, state.getVoiceChannelId());
+        assertEquals(30L, state.getMessageChannelId());
+        assertEquals(75, state.getVolume());
+
+        assertNotNull(state.getPlayingTrack());
+        assertArrayEquals(second, state.getPlayingTrack().getTrack());
+        assertEquals(11L, state.getPlayingTrack().getRequestedBy());
+
+        assertEquals(2, state.getQueue().size());
+        assertArrayEquals(first, state.getQueue().get(0).getTrack());
+        assertArrayEquals(third, state.getQueue().get(1).getTrack());
+        assertEquals(12L, state.getQueue().get(1).getRequestedBy());
+    }
+
+    @Test
+    public void testStoppedPlayerWithEmptyQueueIsNotRestored() {
+        assertNull(AudioQueueJournalCodec.replay(1L, join(
+            AudioQueueJournalCodec.encodePlaying(first, 10L, 20L, 30L, 100),
+            AudioQueueJournalCodec.encodeEnqueue(second, 10L),
+            AudioQueueJournalCodec.encodeDequeue(),
+            AudioQueueJournalCodec.encodeStopped()
+        )));
+    }
+
+    @Test
+    public void testSnapshotReplacesEverythingRecordedBeforeIt() {
+        AudioState snapshot = new AudioState(1L, 2L, 3L, 50, new AudioCache(third, 13L, 4000L),
+            Arrays.asList(new AudioCache(first, 10L, -1L), new AudioCache(second, 11L, -1L))
+        );
+
+        AudioState state = AudioQueueJournalCodec.replay(1L, join(
+            AudioQueueJournalCodec.encodePlaying(second, 11L, 20L, 30L, 100),
+            AudioQueueJournalCodec.encodeEnqueue(third, 12L),
+            AudioQueueJournalCodec.encodeSnapshot(snapshot),
+            AudioQueueJournalCodec.encodeDequeue()
+        ));
+
+        assertNotNull(state);
+        assertEquals(2L, state.getVoiceChannelId());
+        assertEquals(50, state.getVolume());
+        assertArrayEquals(third, state.getPlayingTrack().getTrack());
+        assertEquals(4000L, state.getPlayingTrack().getPosition());
+        assertEquals(1, state.getQueue().size());
+        assertArrayEquals(second, state.getQueue().get(0).getTrack());
+    }
+
+    @Test
+    public void testCompactedJournalReplaysToTheSameState() {
+        byte[] journal = join(
+            AudioQueueJournalCodec.encodePlaying(first, 10L, 20L, 30L, 80),
+            AudioQueueJournalCodec.encodeEnqueue(second, 11L),
+            AudioQueueJournalCodec.encodeEnqueue(third, 12L),
+            AudioQueueJournalCodec.encodePosition(1500L)
+        );
+
+        AudioState state = AudioQueueJournalCodec.replay(1L, journal);
+        AudioState compacted = AudioQueueJournalCodec.replay(1L, AudioQueueJournalCodec.encodeSnapshot(state));
+
+        assertNotNull(compacted);
+        assertEquals(state.getVoiceChannelId(), compacted.getVoiceChannelId());
+        assertEquals(state.getMessageChannelId(), compacted.getMessageChannelId());
+        assertEquals(state.getVolume(), compacted.getVolume());
+        assertEquals(1500L, compacted.getPlayingTrack().getPosition());
+        assertArrayEquals(state.getPlayingTrack().getTrack(), compacted.getPlayingTrack().getTrack());
+        assertEquals(state.getQueue().size(), compacted.getQueue().size());
+        for (int i = 0; i < state.getQueue().size(); i++) {
+            assertArrayEquals(state.getQueue().get(i).getTrack(), compacted.getQueue().get(i).getTrack());
+            assertEquals(state.getQueue().get(i).getRequestedBy(), compacted.getQueue().get(i).getRequestedBy());
+        }
+    }
+
+    @Test
+    public void testJournalCutOffInTheMiddleOfARecordIsReplayedUpToThatRecord() {
+        byte[] journal = join(
+            AudioQueueJournalCodec.encodePlaying(first, 10L, 20L, 30L, 100),
+            AudioQueueJournalCodec.encodeEnqueue(second, 11L),
+            AudioQueueJournalCodec.encodeEnqueue(third, 12L)
+        );
+
+        AudioState state = AudioQueueJournalCodec.replay(1L, Arrays.copyOf(journal, journal.length - 4));
+
+        assertNotNull(state);
+        assertEquals(1, state.getQueue().size());
+        assertArrayEquals(second, state.getQueue().get(0).getTrack());
+    }
+
+    private byte[] join(byte[]... records) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] record : records) {
+            out.write(record, 0, record.length);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.audio.cache;
+
+import com.avairebot.BaseTest;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncodedAudioPlaylistTests extends BaseTest {
+
+    @Test
+    public void testPlaylistCanBeEncodedAndDecoded() throws IOException {
+        byte[][] tracks = new byte[][]{
+            "first track".getBytes(StandardCharsets.UTF_8),
+            "second track".getBytes(StandardCharsets.UTF_8)
+        };
+
+        EncodedAudioPlaylist playlist = EncodedAudioPlaylist.decode(
+            EncodedAudioPlaylist.fromEncodedTracks("Search results for: test", true, tracks[1], tracks).encode()
+        );
+
+        assertEquals("Search results for: test", playlist.getName());
+        assertTrue(playlist.isSearchResult());
+        assertEquals(2, playlist.getTrackCount());
+        assertArrayEquals(tracks[0], playlist.getEncodedTrack(0));
+        assertArrayEquals(tracks[1], playlist.getEncodedTrack(1));
+    }
+
+    @Test
+    public void testMissingValuesAreKeptMissing() throws IOException {
+        EncodedAudioPlaylist playlist = EncodedAudioPlaylist.decode(
+            EncodedAudioPlaylist.fromEncodedTracks(null, false, null, new byte[][]{null, new byte[]{1, 2, 3}}).encode()
+        );
+
+        assertNull(playlist.getName());
+        assertFalse(playlist.isSearchResult());
+        assertEquals(1, playlist.getTrackCount());
+        assertArrayEquals(new byte[]{1, 2, 3}, playlist.getEncodedTrack(0));
+    }
+
+    @Test
+    public void testLargePlaylistsAreCompressed() throws IOException {
+        byte[][] tracks = new byte[100][];
+        for (int i = 0; i < tracks.length; i++) {
+            tracks[i] = ("https://www.youtube.com/watch?v=track-" + i + " Some artist - Some song").getBytes(StandardCharsets.UTF_8);
+        }
+
+        byte[] encoded = EncodedAudioPlaylist.fromEncodedTracks("Playlist", false, null, tracks).encode();
+        int uncompressedSize = Arrays.stream(tracks).mapToInt(track -> track.length + 4).sum();
+
+        assertTrue(encoded.length < uncompressedSize);
+
+        EncodedAudioPlaylist playlist = EncodedAudioPlaylist.decode(encoded);
+        assertEquals(100, playlist.getTrackCount());
+        assertArrayEquals(tracks[57], playlist.getEncodedTrack(57));
+    }
+
+    @Test
+    public void testUnknownVersionsAreRejected() {
+        byte[] encoded = EncodedAudioPlaylist.fromEncodedTracks("Playlist", false, null, null).encode();
+        encoded[0] = (byte) (EncodedAudioPlaylist.VERSION + 1);
+
+        assertThrows(IOException.class, () -> EncodedAudioPlaylist.decode(encoded));
+    }
+
+    @Test
+    public void testTruncatedPlaylistsAreRejected() {
+        byte[] encoded = EncodedAudioPlaylist.fromEncodedTracks("Playlist", false, null, new byte[][]{
+            new byte[]{1, 2, 3, 4, 5}
+        }).encode();
+
+        assertThrows(IOException.class, () -> EncodedAudioPlaylist.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+    }
+
+    @Test
+    public void testTracksThatCantBeDecodedAreLeftOutOfThePlaylist() throws IOException {
+        EncodedAudioPlaylist playlist = EncodedAudioPlaylist.decode(
+            EncodedAudioPlaylist.fromEncodedTracks("Playlist", false, "broken".getBytes(StandardCharsets.UTF_8), new byte[][]{
+                "first track".getBytes(StandardCharsets.UTF_8),
+                "broken".getBytes(StandardCharsets.UTF_8),
+                "second track".getBytes(StandardCharsets.UTF_8)
+            }).encode()
+        );
+
+        AudioPlaylist audioPlaylist = playlist.toAudioPlaylist((data, offset, length) -> {
+            String identifier = new String(data, offset, length, StandardCharsets.UTF_8);
+            return identifier.equals("broken") ? null : createTrack(identifier);
+        });
+
+        assertEquals(3, playlist.getTrackCount());
+        assertEquals(2, audioPlaylist.getTracks().size());
+        assertEquals("first track", audioPlaylist.getTracks().get(0).getIdentifier());
+        assertEquals("second track", audioPlaylist.getTracks().get(1).getIdentifier());
+        assertFalse(audioPlaylist.getTracks().contains(null));
+        assertNull(audioPlaylist.getSelectedTrack());
+    }
+
+    private AudioTrack createTrack(String identifier) {
+        return (AudioTrack) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{AudioTrack.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getIdentifier":
+                    return identifier;
+
+                case "equals":
+                    return proxy == args[0];
+
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import com.avairebot.BaseTest;
+import com.avairebot.time.Carbon;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class BlacklistIndexTests extends BaseTest {
+
+    @Test
+    public void testEntitiesAreIndexedByScope() {
+        BlacklistEntity user = new BlacklistEntity(Scope.USER, 88739639380172800L, null);
+        BlacklistEntity guild = new BlacklistEntity(Scope.GUILD, 284083636368834561L, null);
+
+        BlacklistIndex index = new BlacklistIndex(Arrays.asList(user, guild));
+
+        assertSame(user, index.get(88739639380172800L, Scope.USER));
+        assertSame(guild, index.get(284083636368834561L, Scope.GUILD));
+        assertNull(index.get(88739639380172800L, Scope.GUILD));
+        assertNull(index.get(284083636368834561L, Scope.USER));
+        assertEquals(1, index.size(Scope.USER));
+        assertEquals(1, index.size(Scope.GUILD));
+    }
+
+    @Test
+    public void testChangesCreatesNewIndexes() {
+        BlacklistEntity first = new BlacklistEntity(Scope.USER, 1L, "first");
+        BlacklistEntity second = new BlacklistEntity(Scope.USER, 1L, "second");
+
+        BlacklistIndex index = BlacklistIndex.EMPTY.with(first);
+        BlacklistIndex replaced = index.with(second);
+
+        assertSame(first, index.get(1L));
+        assertSame(second, replaced.get(1L));
+        assertEquals(1, replaced.size(Scope.USER));
+
+        BlacklistIndex removed = replaced.without(1L);
+
+        assertNull(removed.get(1L));
+        assertSame(second, replaced.get(1L));
+    }
+
+    @Test
+    public void testExpiredEntitiesAreOnlyRemovedIfTheyHaveNotBeenReplaced() {
+        BlacklistEntity expired = new BlacklistEntity(Scope.USER, 1L, null);
+        BlacklistEntity replacement = new BlacklistEntity(Scope.USER, 1L, null);
+
+        BlacklistIndex index = new BlacklistIndex(Collections.singletonList(replacement));
+
+        assertSame(index, index.without(Collections.singletonList(expired)));
+        assertNull(index.without(Collections.singletonList(replacement)).get(1L));
+    }
+
+    @Test
+    public void testExpiryWheelReturnsEntitiesOnceTheyHaveExpired() {
+        Carbon expiresIn = Carbon.now().addMinutes(2);
+        long now = System.currentTimeMillis();
+
+        BlacklistExpiryWheel wheel = new BlacklistExpiryWheel(1000L, 10, now);
+        BlacklistEntity entity = new BlacklistEntity(Scope.USER, 1L, null, expiresIn);
+
+        wheel.schedule(entity);
+
+        assertEquals(0, wheel.advance(now + 30000L).size());
+        assertEquals(0, wheel.advance(entity.getExpiresAt() - 1000L).size());
+
+        List<BlacklistEntity> expired = wheel.advance(entity.getExpiresAt() + 1000L);
+        assertEquals(1, expired.size());
+        assertSame(entity, expired.get(0));
+        assertEquals(0, wheel.advance(entity.getExpiresAt() + 60000L).size());
+    }
+}
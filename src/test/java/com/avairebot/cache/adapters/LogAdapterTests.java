@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache.adapters;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogAdapterTests extends BaseTest {
+
+    @Test
+    public void testItemsCanBeReadAfterTheyAreWritten() throws IOException {
+        LogAdapter adapter = new LogAdapter(createStoragePath(), 1024 * 1024, System::currentTimeMillis);
+
+        adapter.put("string", "value", 60);
+        adapter.forever("number", 42);
+
+        assertEquals("value", adapter.get("string"));
+        assertEquals(42D, adapter.get("NUMBER "));
+        assertTrue(adapter.getRaw("number").lastForever());
+        assertNull(adapter.get("missing"));
+    }
+
+    @Test
+    public void testItemsAreRecoveredAfterReopeningTheAdapter() throws IOException {
+        File storagePath = createStoragePath();
+        LogAdapter adapter = new LogAdapter(storagePath, 1024, System::currentTimeMillis);
+
+        for (int i = 0; i < 100; i++) {
+            adapter.put("key-" + i, "value-" + i, 60);
+        }
+        adapter.put("key-1", "replaced", 60);
+        adapter.forget("key-2");
+
+        assertTrue(adapter.getSegmentCount() > 1);
+
+        LogAdapter reopened = new LogAdapter(storagePath, 1024, System::currentTimeMillis);
+
+        assertEquals("value-0", reopened.get("key-0"));
+        assertEquals("replaced", reopened.get("key-1"));
+        assertFalse(reopened.has("key-2"));
+        assertEquals("value-99", reopened.get("key-99"));
+    }
+
+    @Test
+    public void testIncompleteRecordsAreDiscardedOnRecovery() throws IOException {
+        File storagePath = createStoragePath();
+        LogAdapter adapter = new LogAdapter(storagePath, 1024 * 1024, System::currentTimeMillis);
+
+        adapter.put("first", "value", 60);
+        adapter.put("second", "value", 60);
+
+        File segment = storagePath.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        LogAdapter reopened = new LogAdapter(storagePath, 1024 * 1024, System::currentTimeMillis);
+
+        assertEquals("value", reopened.get("first"));
+        assertFalse(reopened.has("second"));
+
+        reopened.put("third", "value", 60);
+
+        assertEquals("value", new LogAdapter(storagePath, 1024 * 1024, System::currentTimeMillis).get("third"));
+    }
+
+    @Test
+    public void testItemsExpireAfterTheirTimeToLive() throws IOException {
+        AtomicLong clock = new AtomicLong(10_000L);
+        LogAdapter adapter = new LogAdapter(createStoragePath(), 1024 * 1024, clock::get);
+
+        adapter.put("short", "value", 5);
+        adapter.forever("forever", "value");
+
+        assertTrue(adapter.has("short"));
+
+        clock.addAndGet(5_000L);
+
+        assertFalse(adapter.has("short"));
+        assertNull(adapter.getRaw("short"));
+        assertEquals("value", adapter.get("forever"));
+    }
+
+    @Test
+    public void testCompactionRemovesUnusedSegmentsWithoutLosingItems() throws IOException {
+        File storagePath = createStoragePath();
+        AtomicLong clock = new AtomicLong(10_000L);
+        LogAdapter adapter = new LogAdapter(storagePath, 1024, clock::get);
+
+        adapter.forever("kept", "value");
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20; i++) {
+                adapter.put("key-" + i, "value-" + round, 1);
+            }
+        }
+        adapter.forget("key-0");
+
+        int segmentsBeforeCompaction = adapter.getSegmentCount();
+        clock.addAndGet(2_000L);
+        adapter.compact();
+
+        assertTrue(adapter.getSegmentCount() < segmentsBeforeCompaction);
+        assertEquals("value", adapter.get("kept"));
+
+        LogAdapter reopened = new LogAdapter(storagePath, 1024, clock::get);
+
+        assertEquals("value", reopened.get("kept"));
+        assertFalse(reopened.has("key-0"));
+        assertFalse(reopened.has("key-1"));
+    }
+
+    @Test
+    public void testFlushRemovesEverything() throws IOException {
+        File storagePath = createStoragePath();
+        LogAdapter adapter = new LogAdapter(storagePath, 1024, System::currentTimeMillis);
+
+        for (int i = 0; i < 50; i++) {
+            adapter.put("key-" + i, i, 60);
+        }
+
+        assertTrue(adapter.flush());
+        assertFalse(adapter.has("key-0"));
+        assertEquals(1, adapter.getSegmentCount());
+        assertFalse(new LogAdapter(storagePath, 1024, System::currentTimeMillis).has("key-1"));
+    }
+
+    private File createStoragePath() throws IOException {
+        File storagePath = Files.createTempDirectory("log-adapter").toFile();
+        storagePath.deleteOnExit();
+
+        return storagePath;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache.adapters;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryAdapterTests extends BaseTest {
+
+    @Test
+    public void testItemsExpireAfterTheirTimeToLive() {
+        AtomicLong clock = new AtomicLong(10_000L);
+        MemoryAdapter adapter = new MemoryAdapter(1024 * 1024, clock::get);
+
+        adapter.put("short", "value", 5);
+        adapter.put("long", "value", 60);
+        adapter.forever("forever", "value");
+
+        assertTrue(adapter.has("short"));
+        assertEquals("value", adapter.get("short"));
+
+        clock.addAndGet(5_000L);
+
+        assertFalse(adapter.has("short"));
+        assertNull(adapter.get("short"));
+        assertTrue(adapter.has("long"));
+        assertTrue(adapter.has("forever"));
+    }
+
+    @Test
+    public void testCleanUpRemovesExpiredItemsWithoutAccessingThem() {
+        AtomicLong clock = new AtomicLong(10_000L);
+        MemoryAdapter adapter = new MemoryAdapter(1024 * 1024, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            adapter.put("key-" + i, i, 1 + (i % 10));
+        }
+        adapter.forever("forever", "value");
+
+        clock.addAndGet(5_000L);
+        adapter.cleanUp();
+
+        assertEquals(51, adapter.getCacheKeys().size());
+
+        // Advancing past a full rotation of the wheel should still expire everything.
+        clock.addAndGet(TimeUnit.HOURS.toMillis(1));
+        adapter.cleanUp();
+
+        assertEquals(1, adapter.getCacheKeys().size());
+        assertTrue(adapter.has("forever"));
+    }
+
+    @Test
+    public void testReplacedItemsAreNotExpiredByTheirOldTimeToLive() {
+        AtomicLong clock = new AtomicLong(10_000L);
+        MemoryAdapter adapter = new MemoryAdapter(1024 * 1024, clock::get);
+
+        adapter.put("key", "old", 1);
+        adapter.put("key", "new", 60);
+
+        clock.addAndGet(2_000L);
+        adapter.cleanUp();
+
+        assertEquals("new", adapter.get("key"));
+    }
+
+    @Test
+    public void testReplacedAndRemovedItemsAreNotKeptAliveUntilTheyExpire() throws InterruptedException {
+        AtomicLong clock = new AtomicLong(10_000L);
+        MemoryAdapter adapter = new MemoryAdapter(1024 * 1024, clock::get);
+
+        byte[] replacedValue = new byte[1024];
+        byte[] removedValue = new byte[1024];
+        WeakReference<byte[]> replaced = new WeakReference<>(replacedValue);
+        WeakReference<byte[]> removed = new WeakReference<>(removedValue);
+
+        adapter.put("replaced", replacedValue, 60);
+        adapter.put("replaced", "new", 60);
+        adapter.put("removed", removedValue, 60);
+        adapter.forget("removed");
+
+        replacedValue = null;
+        removedValue = null;
+
+        for (int i = 0; i < 10 && (replaced.get() != null || removed.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(replaced.get());
+        assertNull(removed.get());
+        assertEquals("new", adapter.get("replaced"));
+    }
+
+    @Test
+    public void testCacheIsBoundedByWeight() {
+        MemoryAdapter adapter = new MemoryAdapter(256 * 1024, System::currentTimeMillis);
+
+        for (int i = 0; i < 1000; i++) {
+            adapter.put("key-" + i, new byte[1024], 60);
+        }
+        adapter.cleanUp();
+
+        assertTrue(adapter.getCacheKeys().size() > 0);
+        assertTrue(adapter.getCacheKeys().size() < 256);
+        assertTrue(adapter.getCache().stats().evictionCount() > 0);
+    }
+
+    @Test
+    public void testRememberOnlyCallsTheClosureOnceForConcurrentRequests() throws Exception {
+        MemoryAdapter adapter = new MemoryAdapter(1024 * 1024, System::currentTimeMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return adapter.remember("key", 60, () -> {
+                    calls.incrementAndGet();
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ignored) {
+                    }
+                    return "value";
+                });
+            }));
+        }
+
+        start.countDown();
+        for (Future<Object> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testRememberReturnsNullWhenTheClosureFails() {
+        MemoryAdapter adapter = new MemoryAdapter(1024 * 1024, System::currentTimeMillis);
+
+        assertNull(adapter.remember("key", 60, () -> {
+            throw new IllegalStateException("Failed to load the value");
+        }));
+        assertFalse(adapter.has("key"));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.commands;
+
+import com.avairebot.AvaIre;
+import com.avairebot.BaseTest;
+import com.avairebot.contracts.commands.Command;
+import net.dv8tion.jda.api.entities.Message;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandIndexTests extends BaseTest {
+
+    // Global categories always use their default prefix, so the message is never used.
+    private final Message message = (Message) Proxy.newProxyInstance(
+        Message.class.getClassLoader(), new Class[]{Message.class}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        }
+    );
+
+    private final Category utility = new Category(null, "Utility", "!").setGlobal(true);
+    private final Category system = new Category(null, "System", ";").setGlobal(true);
+
+    @Test
+    public void testMessagesWithoutACategoryPrefixAreRejected() {
+        CommandIndex index = new CommandIndex(Arrays.asList(
+            createContainer(utility, CommandPriority.NORMAL, "ping"),
+            createContainer(system, CommandPriority.NORMAL, "eval")
+        ));
+
+        assertTrue(index.find(message, "ping").isEmpty());
+        assertTrue(index.find(message, "?ping").isEmpty());
+        assertTrue(index.find(message, ";ping").isEmpty());
+        assertTrue(index.find(message, "!eval").isEmpty());
+        assertTrue(index.find(message, "").isEmpty());
+    }
+
+    @Test
+    public void testCommandsAreFoundByTheirCategoryPrefixAndTrigger() {
+        CommandContainer ping = createContainer(utility, CommandPriority.NORMAL, "ping", "Pong");
+        CommandContainer eval = createContainer(system, CommandPriority.NORMAL, "eval");
+
+        CommandIndex index = new CommandIndex(Arrays.asList(ping, eval));
+
+        assertEquals(Arrays.asList(ping), index.find(message, "!ping"));
+        assertEquals(Arrays.asList(ping), index.find(message, "!PONG"));
+        assertEquals(Arrays.asList(eval), index.find(message, ";eval"));
+    }
+
+    @Test
+    public void testTheHighestPriorityCommandIsPicked() {
+        CommandContainer low = createContainer(utility, CommandPriority.LOW, "play");
+        CommandContainer high = createContainer(utility, CommandPriority.HIGH, "play");
+        CommandContainer normal = createContainer(utility, CommandPriority.NORMAL, "play");
+
+        CommandIndex index = new CommandIndex(Arrays.asList(low, high, normal));
+
+        List<CommandContainer> commands = index.find(message, "!play");
+        assertEquals(3, commands.size());
+        assertSame(high, CommandHandler.getHighPriorityCommandFromCommands(commands));
+        assertSame(high, CommandHandler.getHighPriorityCommandFromCommands(index.findRaw("!play")));
+        assertSame(high, CommandHandler.getHighPriorityCommandFromCommands(index.findLazy("play")));
+    }
+
+    @Test
+    public void testRawLookupsUseTheDefaultPrefix() {
+        CommandContainer ping = createContainer(utility, CommandPriority.NORMAL, "ping");
+
+        CommandIndex index = new CommandIndex(Arrays.asList(ping));
+
+        assertEquals(Arrays.asList(ping), index.findRaw("!ping"));
+        assertEquals(Arrays.asList(ping), index.findRaw("!PING"));
+        assertTrue(index.findRaw("ping").isEmpty());
+        assertTrue(index.findRaw(";ping").isEmpty());
+    }
+
+    @Test
+    public void testLazyLookupsIgnoreThePrefixAndIgnoredCommands() {
+        CommandContainer ping = createContainer(utility, CommandPriority.NORMAL, "ping");
+        CommandContainer ignored = createContainer(system, CommandPriority.IGNORED, "ping", "hidden");
+
+        CommandIndex index = new CommandIndex(Arrays.asList(ping, ignored));
+
+        assertEquals(Arrays.asList(ping), index.findLazy("PING"));
+        assertTrue(index.findLazy("hidden").isEmpty());
+        assertTrue(index.findLazy("!ping").isEmpty());
+
+        // Ignored commands can still be used with their prefix.
+        assertEquals(Arrays.asList(ignored), index.find(message, ";hidden"));
+    }
+
+    @Test
+    public void testCommandsAreFoundByTheirClass() {
+        CommandContainer ping = createContainer(utility, CommandPriority.NORMAL, "ping");
+
+        CommandIndex index = new CommandIndex(Arrays.asList(ping));
+
+        assertSame(ping, index.findByClass(TestCommand.class.getTypeName()));
+        assertNull(index.findByClass(Command.class.getTypeName()));
+        assertTrue(CommandIndex.EMPTY.find(message, "!ping").isEmpty());
+    }
+
+    private CommandContainer createContainer(Category category, CommandPriority priority, String... triggers) {
+        return new CommandContainer(new TestCommand(priority, triggers), category, null);
+    }
+
+    private static class TestCommand extends Command {
+
+        private final CommandPriority priority;
+        private final List<String> triggers;
+
+        TestCommand(CommandPriority priority, String... triggers) {
+            super((AvaIre) null);
+
+            this.priority = priority;
+            this.triggers = Arrays.asList(triggers);
+        }
+
+        @Override
+        public String getName() {
+            return "Test Command";
+        }
+
+        @Override
+        public List<String> getTriggers() {
+            return triggers;
+        }
+
+        @Override
+        public CommandPriority getCommandPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean onCommand(CommandMessage context, String[] args) {
+            return true;
+        }
+    }
+}
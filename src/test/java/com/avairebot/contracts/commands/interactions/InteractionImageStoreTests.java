@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.contracts.commands.interactions;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InteractionImageStoreTests extends BaseTest {
+
+    @Test
+    public void testConcurrentFetchesShareTheSameDownload() throws IOException {
+        AtomicInteger downloads = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+
+        InteractionImageStore store = new InteractionImageStore(createStoragePath(), 1024, 1024, url -> {
+            downloads.incrementAndGet();
+            return url.getBytes(StandardCharsets.UTF_8);
+        }, tasks::add);
+
+        CompletableFuture<byte[]> first = store.fetch("https://example.com/hug.gif");
+        CompletableFuture<byte[]> second = store.fetch("https://example.com/hug.gif");
+
+        assertSame(first, second);
+        assertEquals(1, tasks.size());
+
+        tasks.forEach(Runnable::run);
+
+        assertEquals(1, downloads.get());
+        assertEquals("https://example.com/hug.gif", new String(first.join(), StandardCharsets.UTF_8));
+
+        // Once the image is cached in memory the fetch is completed right away.
+        assertTrue(store.fetch("https://example.com/hug.gif").isDone());
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testImagesAreLoadedFromDiskAfterRestart() throws IOException {
+        File storagePath = createStoragePath();
+
+        InteractionImageStore store = new InteractionImageStore(storagePath, 1024, 1024,
+            url -> new byte[]{1, 2, 3}, Runnable::run
+        );
+        assertArrayEquals(new byte[]{1, 2, 3}, store.fetch("https://example.com/bite.gif").join());
+
+        InteractionImageStore reopened = new InteractionImageStore(storagePath, 1024, 1024, url -> {
+            throw new IOException("The image should have been loaded from the disk");
+        }, Runnable::run);
+
+        assertArrayEquals(new byte[]{1, 2, 3}, reopened.fetch("https://example.com/bite.gif").join());
+        assertTrue(reopened.fetch("https://example.com/missing.gif").isCompletedExceptionally());
+    }
+
+    @Test
+    public void testIdenticalImagesAreOnlyStoredOnce() throws IOException {
+        File storagePath = createStoragePath();
+
+        InteractionImageStore store = new InteractionImageStore(storagePath, 1024, 1024,
+            url -> new byte[]{4, 5, 6}, Runnable::run
+        );
+
+        store.fetch("https://example.com/cuddle.gif").join();
+        store.fetch("https://example.com/also-cuddle.gif").join();
+
+        assertEquals(1, countStoredImages(storagePath));
+    }
+
+    @Test
+    public void testOldestImagesAreDeletedOnceTheDiskIsFull() throws IOException {
+        File storagePath = createStoragePath();
+
+        InteractionImageStore store = new InteractionImageStore(storagePath, 1024, 25,
+            url -> url.getBytes(StandardCharsets.UTF_8), Runnable::run
+        );
+
+        store.fetch("https://example.com/1.gif").join();
+        store.fetch("https://example.com/2.gif").join();
+
+        assertEquals(1, countStoredImages(storagePath));
+
+        InteractionImageStore reopened = new InteractionImageStore(storagePath, 1024, 25, url -> {
+            throw new IOException("Image is not stored on disk");
+        }, Runnable::run);
+
+        assertTrue(reopened.fetch("https://example.com/1.gif").isCompletedExceptionally());
+        assertFalse(reopened.fetch("https://example.com/2.gif").isCompletedExceptionally());
+    }
+
+    private int countStoredImages(File storagePath) {
+        File[] files = storagePath.listFiles((dir, name) -> name.endsWith(".gif"));
+
+        return files == null ? 0 : files.length;
+    }
+
+    private File createStoragePath() throws IOException {
+        File storagePath = Files.createTempDirectory("interaction-images").toFile();
+        storagePath.deleteOnExit();
+
+        return storagePath;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database;
+
+import com.avairebot.BaseTest;
+import com.avairebot.database.grammar.mysql.CreateIndex;
+import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BlueprintTests extends BaseTest {
+
+    @Test
+    public void testIndexesAreNamedAfterTheTableAndFields() {
+        Blueprint blueprint = new Blueprint("experiences");
+
+        assertEquals("experiences_guild_id_user_id_index", blueprint.Index("guild_id", "user_id").getName("experiences"));
+        assertEquals("experiences_user_id_unique", blueprint.Unique("user_id").getName("experiences"));
+        assertEquals("custom", blueprint.Index("user_id").name("custom").getName("experiences"));
+        assertEquals(3, blueprint.getIndexes().size());
+    }
+
+    @Test
+    public void testCompositeIndexQueryIsBuildCorrectly() {
+        Blueprint blueprint = new Blueprint("experiences");
+        Index index = blueprint.Index("guild_id", "active", "experience");
+
+        assertEquals(
+            "CREATE INDEX `experiences_guild_id_active_experience_index` ON `experiences` (`guild_id`, `active`, `experience`);",
+            new CreateIndex().format(blueprint, index)
+        );
+    }
+
+    @Test
+    public void testUniqueIndexQueryIsBuildCorrectly() {
+        Blueprint blueprint = new Blueprint("reaction_roles");
+        Index index = blueprint.Unique("message_id");
+
+        assertEquals(
+            "CREATE UNIQUE INDEX `reaction_roles_message_id_unique` ON `reaction_roles` (`message_id`);",
+            new CreateIndex().format(blueprint, index)
+        );
+    }
+
+    @Test
+    public void testSQLiteIndexQueryIsOnlyCreatedIfItDoesNotExist() {
+        Blueprint blueprint = new Blueprint("mutes");
+        Index index = blueprint.Index("guild_id", "modlog_id");
+
+        assertEquals(
+            "CREATE INDEX IF NOT EXISTS `mutes_guild_id_modlog_id_index` ON `mutes` (`guild_id`, `modlog_id`);",
+            new com.avairebot.database.grammar.sqlite.CreateIndex().format(blueprint, index)
+        );
+    }
+}
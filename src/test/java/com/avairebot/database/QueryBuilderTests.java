@@ -22,12 +22,19 @@
 package com.avairebot.database;
 
 import com.avairebot.BaseTest;
+import com.avairebot.contracts.database.Database;
+import com.avairebot.contracts.database.StreamFunction;
+import com.avairebot.database.collection.DataRow;
 import com.avairebot.database.fakes.FakeDatabaseManager;
+import com.avairebot.database.query.PreparedQuery;
 import com.avairebot.database.query.QueryBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class QueryBuilderTests extends BaseTest {
 
@@ -79,6 +86,17 @@ public class QueryBuilderTests extends BaseTest {
         );
     }
 
+    @Test
+    public void testLeadingNestedWhereClausesAreBuildCorrectly() {
+        assertEquals(
+            "SELECT * FROM `test` WHERE (`id` = 1 OR `id` = 2) AND `test` = 'thing';",
+            makeQuery().where(builder -> {
+                builder.where("id", 1)
+                    .orWhere("id", 2);
+            }).andWhere("test", "thing").toSQL()
+        );
+    }
+
     @Test
     public void testAndOrWhereClausesAreBuildCorrectly() {
         assertEquals(
@@ -96,6 +114,74 @@ public class QueryBuilderTests extends BaseTest {
         );
     }
 
+    @Test
+    public void testPreparedWhereClausesUsePlaceholders() {
+        PreparedQuery query = makeQuery().where("something", "something else")
+            .andWhere("permission_level", ">", 9001)
+            .toPreparedSQL();
+
+        assertEquals("SELECT * FROM `test` WHERE `something` = ? AND `permission_level` > ?;", query.getQuery());
+        assertEquals(Arrays.asList("something else", 9001), query.getBindings());
+    }
+
+    @Test
+    public void testPreparedUpdateQueryBindsValuesInOrder() {
+        QueryBuilder builder = makeQuery().where("id", 5);
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", "Ava");
+        builder.getItems().add(row);
+
+        PreparedQuery query = builder.toPreparedSQL(Database.QueryType.UPDATE);
+
+        assertEquals("UPDATE `test` SET `name` = ? WHERE `id` = ?;", query.getQuery());
+        assertEquals(Arrays.asList("Ava", 5), query.getBindings());
+    }
+
+    @Test
+    public void testChunkByKeyContinuesFromTheKeysOfTheLastRow() throws SQLException {
+        List<String> queries = new ArrayList<>();
+        List<List<DataRow>> chunks = Arrays.asList(
+            Arrays.asList(makeRow(1L, 10L), makeRow(2L, 20L)),
+            Arrays.asList(makeRow(2L, 30L), makeRow(3L, 10L)),
+            Collections.singletonList(makeRow(4L, 10L))
+        );
+
+        FakeDatabaseManager dbm = new FakeDatabaseManager() {
+            @Override
+            public long stream(QueryBuilder query, int fetchSize, StreamFunction stream) throws SQLException {
+                queries.add(query.toSQL());
+
+                List<DataRow> chunk = chunks.get(queries.size() - 1);
+                for (DataRow row : chunk) {
+                    stream.run(row);
+                }
+                return chunk.size();
+            }
+        };
+
+        List<Long> users = new ArrayList<>();
+        QueryBuilder query = dbm.newQueryBuilder("test").where("active", 1);
+
+        assertEquals(5, query.chunkByKey(2, row -> users.add(row.getLong("user_id")), "guild_id", "user_id"));
+        assertEquals(Arrays.asList(10L, 20L, 30L, 10L, 10L), users);
+
+        assertEquals(3, queries.size());
+        assertFalse(queries.get(0).contains("("));
+        assertTrue(queries.get(1).contains("WHERE `active` = 1 AND (`guild_id` > 2 OR `guild_id` = 2 AND `user_id` > 20)"));
+        assertTrue(queries.get(2).contains("WHERE `active` = 1 AND (`guild_id` > 3 OR `guild_id` = 3 AND `user_id` > 10)"));
+
+        assertEquals("SELECT * FROM `test` WHERE `active` = 1;", query.toSQL());
+    }
+
+    private DataRow makeRow(long guildId, long userId) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("guild_id", guildId);
+        row.put("user_id", userId);
+
+        return new DataRow(row);
+    }
+
     private QueryBuilder makeQuery() {
         return dbm.newQueryBuilder("test");
     }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database;
+
+import com.avairebot.BaseTest;
+import com.avairebot.metrics.Metrics;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QueryMetricsTests extends BaseTest {
+
+    @Test
+    public void testQueryTypeIsTakenFromTheFirstKeyword() {
+        assertEquals("SELECT", QueryMetrics.getType("SELECT * FROM `guilds`;"));
+        assertEquals("UPDATE", QueryMetrics.getType("  update `guilds` SET `name` = 'test';"));
+        assertEquals("OTHER", QueryMetrics.getType(""));
+    }
+
+    @Test
+    public void testQueryTableIsTakenFromTheFirstTableReference() {
+        assertEquals("guilds", QueryMetrics.getTable("SELECT * FROM `guilds` WHERE `id` = 1;"));
+        assertEquals("experiences", QueryMetrics.getTable("INSERT INTO `experiences` (`user_id`) VALUES (1);"));
+        assertEquals("guilds", QueryMetrics.getTable("UPDATE `guilds` SET `name` = 'test';"));
+        assertEquals("blacklists", QueryMetrics.getTable("CREATE TABLE IF NOT EXISTS `blacklists` (`id` INT);"));
+        assertEquals("unknown", QueryMetrics.getTable("SELECT 1;"));
+    }
+
+    @Test
+    public void testQueryShapeReplacesAllTheValues() {
+        assertEquals(
+            "SELECT * FROM `table_2` WHERE `id` = ? AND `name` = ? AND `score` > ?;",
+            QueryMetrics.toShape("SELECT * FROM `table_2` WHERE `id` = 88234234234 AND `name` = 'it''s \\'me' AND `score` > -1.5;")
+        );
+    }
+
+    @Test
+    public void testQueriesAreOnlyCountedOnce() {
+        double before = Metrics.databaseQueries.labels("SELECT").get();
+
+        QueryMetrics.observe("SELECT * FROM `guilds` WHERE `id` = 1;", 1000L, 1);
+
+        assertEquals(before + 1, Metrics.databaseQueries.labels("SELECT").get());
+    }
+}
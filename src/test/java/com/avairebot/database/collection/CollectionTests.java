@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.collection;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionTests extends BaseTest {
+
+    private static final String[] columns = {"user_id", "username", "experience", "avatar"};
+    private static final int[] types = {Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.VARBINARY};
+
+    @Test
+    public void testRowsFromResultSetsKeepsTheirValues() throws SQLException {
+        Collection collection = new Collection(createResultSet(Arrays.asList(
+            new Object[]{88739639380172800L, "Senither", 1234L, new byte[]{1, 2, -1}},
+            new Object[]{173839105615069184L, "base64:" + "QXZhSXJl", null, null}
+        )));
+
+        assertEquals(2, collection.size());
+        assertTrue(collection.has("username"));
+
+        DataRow first = collection.first();
+        assertEquals(88739639380172800L, first.getLong("user_id"));
+        assertEquals(88739639380172800L, first.getLong("USER_ID"));
+        assertEquals("88739639380172800", first.getString("user_id"));
+        assertEquals("Senither", first.getString("username"));
+        assertEquals(1234, first.getInt("experience"));
+        assertEquals(1234D, first.getDouble("experience"));
+        assertArrayEquals(new byte[]{1, 2, -1}, first.getBytes("avatar"));
+        assertTrue(first.getBoolean("experience"));
+
+        DataRow last = collection.last();
+        assertEquals("AvaIre", last.getString("username"));
+        assertEquals(100L, last.getLong("experience", 100));
+        assertNull(last.get("experience"));
+        assertTrue(last.has("experience"));
+        assertFalse(last.has("missing"));
+        assertEquals(5, last.getInt("missing", 5));
+    }
+
+    @Test
+    public void testRowsFromResultSetsCanBeUsedAsMaps() throws SQLException {
+        Collection collection = new Collection(createResultSet(Arrays.asList(
+            new Object[]{1L, "first", 10L, null},
+            new Object[]{2L, "second", 20L, null}
+        )));
+
+        DataRow row = collection.get(1);
+        Map<String, Object> raw = row.getRaw();
+
+        assertEquals("2", raw.get("user_id"));
+        assertEquals("second", raw.get("USERNAME"));
+        assertEquals(4, row.keySet().size());
+
+        assertEquals(1, collection.where("user_id", "2").size());
+        assertEquals(20L, collection.sortByDesc("experience").first().getLong("experience"));
+
+        DataRow copy = new DataRow(row);
+        assertEquals(2L, copy.getLong("user_id"));
+    }
+
+    @Test
+    public void testCursorReusesTheSameRow() throws SQLException {
+        DataRowCursor cursor = new DataRowCursor(createResultSet(Arrays.asList(
+            new Object[]{1L, "first", 10L, null},
+            new Object[]{2L, "second", null, null},
+            new Object[]{3L, "third", 30L, null}
+        )));
+
+        long total = 0;
+        DataRow previous = null;
+        DataRow copy = null;
+
+        while (cursor.next()) {
+            if (previous != null) {
+                assertSame(previous, cursor.getRow());
+            }
+            previous = cursor.getRow();
+
+            if (cursor.getPosition() == 1) {
+                copy = new DataRow(cursor.getRow());
+            }
+            total += cursor.getRow().getLong("experience", 5);
+        }
+        cursor.close();
+
+        assertEquals(3, cursor.getPosition());
+        assertEquals(45L, total);
+        assertEquals("first", copy.getString("username"));
+        assertEquals("third", previous.getString("username"));
+    }
+
+    @Test
+    public void testRowsFromMapsKeepsTheirValues() {
+        Map<String, Object> items = new HashMap<>();
+        items.put("id", 42D);
+        items.put("enabled", "true");
+
+        DataRow row = new DataRow(items);
+
+        assertEquals(42L, row.getLong("ID"));
+        assertEquals(42, row.getInt("id"));
+        assertTrue(row.getBoolean("enabled"));
+        assertEquals(42D, row.get("id"));
+    }
+
+    private ResultSet createResultSet(List<Object[]> rows) {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount":
+                        return columns.length;
+
+                    case "getColumnLabel":
+                        return columns[(int) args[0] - 1];
+
+                    case "getColumnType":
+                        return types[(int) args[0] - 1];
+
+                    case "getColumnClassName":
+                        return Object.class.getName();
+
+                    case "isSigned":
+                        return true;
+
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        int[] cursor = {-1};
+        Object[] lastValue = {null};
+        boolean[] closed = {false};
+
+        return (ResultSet) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMetaData":
+                        return meta;
+
+                    case "next":
+                        return ++cursor[0] < rows.size();
+
+                    case "isClosed":
+                        return closed[0];
+
+                    case "close":
+                        closed[0] = true;
+                        return null;
+
+                    case "wasNull":
+                        return lastValue[0] == null;
+
+                    case "getLong":
+                        lastValue[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return lastValue[0] == null ? 0L : lastValue[0];
+
+                    case "getString":
+                        lastValue[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return lastValue[0] == null ? null : String.valueOf(lastValue[0]);
+
+                    case "getBytes":
+                        lastValue[0] = rows.get(cursor[0])[(int) args[0] - 1];
+                        return lastValue[0];
+
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
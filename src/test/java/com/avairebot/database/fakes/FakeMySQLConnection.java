@@ -25,15 +25,18 @@ import com.avairebot.contracts.database.StatementInterface;
 import com.avairebot.contracts.database.connections.FilenameDatabase;
 import com.avairebot.database.DatabaseManager;
 import com.avairebot.database.grammar.mysql.Create;
+import com.avairebot.database.grammar.mysql.CreateIndex;
 import com.avairebot.database.grammar.mysql.Delete;
 import com.avairebot.database.grammar.mysql.Insert;
 import com.avairebot.database.grammar.mysql.Update;
 import com.avairebot.database.grammar.sqlite.Select;
 import com.avairebot.database.query.QueryBuilder;
 import com.avairebot.database.schema.Blueprint;
+import com.avairebot.database.schema.Index;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Map;
 
@@ -60,6 +63,11 @@ public class FakeMySQLConnection extends FilenameDatabase {
         return null;
     }
 
+    @Override
+    public Connection createConnection() throws SQLException {
+        return null;
+    }
+
     @Override
     public boolean open() throws SQLException {
         return false;
@@ -85,6 +93,11 @@ public class FakeMySQLConnection extends FilenameDatabase {
         return setupAndRun(new Create(), blueprint, manager, options);
     }
 
+    @Override
+    public String createIndex(DatabaseManager manager, Blueprint blueprint, Index index, @Nonnull Map<String, Boolean> options) {
+        return setupAndRun(new CreateIndex(), blueprint, index, manager, options);
+    }
+
     @Override
     public String delete(DatabaseManager manager, QueryBuilder query, @Nullable Map<String, Boolean> options) {
         return setupAndRun(new Delete(), query, manager, options);
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.pool;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTests extends BaseTest {
+
+    @Test
+    public void testNestedLeasesOnASingleConnectionPoolReuseTheHeldConnection() throws Exception {
+        ConnectionPool pool = createPool(1);
+
+        try (PooledConnection outer = pool.lease()) {
+            try (PooledConnection inner = pool.lease()) {
+                assertSame(outer, inner);
+            }
+
+            assertEquals(1, pool.getActiveSize());
+        }
+
+        assertEquals(0, pool.getActiveSize());
+        assertEquals(1, pool.getIdleSize());
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testOtherThreadsStillWaitForTheHeldConnection() throws Exception {
+        ConnectionPool pool = createPool(1);
+
+        try (PooledConnection ignored = pool.lease()) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> CompletableFuture.supplyAsync(() -> {
+                try (PooledConnection connection = pool.lease()) {
+                    return connection;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }).get());
+
+            assertTrue(exception.getCause().getCause() instanceof SQLTimeoutException);
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testNestedLeasesOnALargerPoolUseTheirOwnConnection() throws Exception {
+        ConnectionPool pool = createPool(2);
+
+        try (PooledConnection outer = pool.lease()) {
+            try (PooledConnection inner = pool.lease()) {
+                assertNotSame(outer, inner);
+                assertEquals(2, pool.getActiveSize());
+            }
+        }
+
+        assertEquals(0, pool.getActiveSize());
+
+        pool.shutdown();
+    }
+
+    private ConnectionPool createPool(int maximumSize) {
+        return new ConnectionPool(this::createConnection, new ConnectionPoolSettings(
+            0, maximumSize, 60000L, 50L, null, 10
+        ));
+    }
+
+    private Connection createConnection() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    closed.set(true);
+                    return null;
+
+                case "isClosed":
+                    return closed.get();
+
+                case "isValid":
+                case "getAutoCommit":
+                    return true;
+
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.handlers.executor;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedExecutorTests extends BaseTest {
+
+    @Test
+    public void testTasksAreShedOnceTheGuildLimitIsReached() {
+        BoundedExecutor executor = new BoundedExecutor("test-guild-limit", new ExecutorSettings(2, 10, 1));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        assertTrue(executor.submit(1L, () -> await(latch)));
+        assertFalse(executor.submit(1L, () -> {
+        }));
+        assertTrue(executor.submit(2L, () -> {
+        }));
+
+        latch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testGuildLimitCountsBothQueuedAndRunningTasks() {
+        BoundedExecutor executor = new BoundedExecutor("test-guild-queued", new ExecutorSettings(1, 10, 3));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // The first task is running, and the next two are waiting in the queue.
+        assertTrue(executor.submit(1L, () -> await(latch)));
+        assertTrue(executor.submit(1L, () -> await(latch)));
+        assertTrue(executor.submit(1L, () -> await(latch)));
+        assertFalse(executor.submit(1L, () -> {
+        }));
+
+        assertTrue(executor.submit(2L, () -> {
+        }));
+
+        latch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTasksShedByAFullQueueDoesNotCountTowardsTheGuildLimit() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor("test-guild-saturated", new ExecutorSettings(2, 1, 2));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        assertTrue(executor.submit(1L, () -> await(latch)));
+        assertTrue(executor.submit(2L, () -> await(latch)));
+        assertTrue(executor.submit(4L, () -> await(latch)));
+
+        // The queue is full, so the task is shed even though the guild is below its limit.
+        assertFalse(executor.submit(3L, () -> {
+        }));
+
+        latch.countDown();
+
+        long timeout = System.currentTimeMillis() + 5000L;
+        while ((executor.getActiveCount() > 0 || executor.getQueueSize() > 0) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10L);
+        }
+
+        CountDownLatch secondLatch = new CountDownLatch(1);
+
+        assertTrue(executor.submit(3L, () -> await(secondLatch)));
+        assertTrue(executor.submit(3L, () -> await(secondLatch)));
+
+        secondLatch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTasksAreShedOnceTheQueueIsFull() {
+        BoundedExecutor executor = new BoundedExecutor("test-saturated", new ExecutorSettings(1, 1, 10));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        assertTrue(executor.submit(1L, () -> await(latch)));
+        assertTrue(executor.submit(2L, () -> await(latch)));
+        assertFalse(executor.submit(3L, () -> {
+        }));
+
+        latch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testGuildsCanSubmitAgainOnceTheirTasksAreDone() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor("test-release", new ExecutorSettings(1, 10, 1));
+
+        assertTrue(executor.supply(1L, () -> true).get(5, TimeUnit.SECONDS));
+
+        long timeout = System.currentTimeMillis() + 5000L;
+        while (executor.getActiveCount() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10L);
+        }
+
+        assertTrue(executor.supply(1L, () -> true).get(5, TimeUnit.SECONDS));
+
+        executor.shutdown();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+            //
+        }
+    }
+}
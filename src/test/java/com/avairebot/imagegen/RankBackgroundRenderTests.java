@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.imagegen;
+
+import com.avairebot.BaseTest;
+import com.avairebot.imagegen.renders.RankBackgroundRender;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankBackgroundRenderTests extends BaseTest {
+
+    private final RankBackground background = new RankBackground(1, 0, "Test", null, new BackgroundRankColors());
+    private final RankBackground otherBackground = new RankBackground(2, 0, "Other", null, new BackgroundRankColors());
+
+    @Test
+    public void testCacheKeyIsTheSameForIdenticalRenders() {
+        assertEquals(createRender().getCacheKey(), createRender().getCacheKey());
+    }
+
+    @Test
+    public void testCacheKeyChangesWhenTheExperienceChanges() {
+        String cacheKey = createRender().getCacheKey();
+
+        assertNotEquals(cacheKey, createRender().setCurrentXpInLevel("51").getCacheKey());
+        assertNotEquals(cacheKey, createRender().setTotalXpInLevel("201").getCacheKey());
+        assertNotEquals(cacheKey, createRender().setServerExperience("1051").getCacheKey());
+        assertNotEquals(cacheKey, createRender().setGlobalExperience("5001").getCacheKey());
+        assertNotEquals(cacheKey, createRender().setPercentage(25.5D).getCacheKey());
+    }
+
+    @Test
+    public void testCacheKeyChangesWhenTheLevelOrRankChanges() {
+        String cacheKey = createRender().getCacheKey();
+
+        assertNotEquals(cacheKey, createRender().setLevel("11").getCacheKey());
+        assertNotEquals(cacheKey, createRender().setRank("2").getCacheKey());
+    }
+
+    @Test
+    public void testCacheKeyChangesWhenTheAvatarChanges() {
+        String cacheKey = createRender().getCacheKey();
+
+        RankBackgroundRender render = fill(new RankBackgroundRender(
+            "Senither", "0001", "https://cdn.discordapp.com/avatars/1/other.png"
+        ));
+
+        assertNotEquals(cacheKey, render.getCacheKey());
+    }
+
+    @Test
+    public void testCacheKeyChangesWhenTheBackgroundChanges() {
+        String cacheKey = createRender().getCacheKey();
+
+        assertNotEquals(cacheKey, createRender().setBackground(otherBackground).getCacheKey());
+        assertNull(createRender().setBackground(null).getCacheKey());
+    }
+
+    private RankBackgroundRender createRender() {
+        return fill(new RankBackgroundRender(
+            "Senither", "0001", "https://cdn.discordapp.com/avatars/1/avatar.png"
+        ));
+    }
+
+    private RankBackgroundRender fill(RankBackgroundRender render) {
+        return render
+            .setBackground(background)
+            .setRank("1")
+            .setLevel("10")
+            .setCurrentXpInLevel("50")
+            .setTotalXpInLevel("200")
+            .setServerExperience("1050")
+            .setGlobalExperience("5000")
+            .setPercentage(25D);
+    }
+}
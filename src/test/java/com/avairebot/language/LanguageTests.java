@@ -124,6 +124,58 @@ public class LanguageTests extends BaseTest {
         assertEquals(I18n.format("$"), "$");
     }
 
+    @Test
+    public void testFormattingLanguageStringsUsesTheCompiledTemplates() {
+        MessageTemplate template = I18n.getDefaultLanguage().getTemplate("music.internal.nowPlayingSong");
+        assertNotNull(template);
+
+        MessageTemplate messageTemplate = I18n.getDefaultLanguage().getTemplateForMessage(template.getMessage());
+        assertNotNull(messageTemplate);
+        assertEquals(template.getMessage(), messageTemplate.getMessage());
+
+        MessageTemplate unescapedTemplate = I18n.getDefaultLanguage().getTemplateForMessage(template.getUnescaped().getMessage());
+        assertNotNull(unescapedTemplate);
+
+        assertEquals(template.format("first", "second"), I18n.format(template.getMessage(), "first", "second"));
+        assertEquals(template.format("first", "second"), I18n.format(template.getMessage(), "first", "second"));
+        assertNull(I18n.getDefaultLanguage().getTemplateForMessage("This is {0} test message that isn't a language string"));
+    }
+
+    @Test
+    public void testCompiledTemplatesMatchTheLanguageStrings() {
+        for (LanguageContainer entry : I18n.languages) {
+            for (String str : getKeys(entry)) {
+                if (!entry.getConfig().isString(str)) {
+                    continue;
+                }
+
+                assertEquals(entry.getConfig().getString(str), entry.getString(str), "Checking the \"" + str + "\" string in the \"" + entry.getLanguage().getCode() + "\" language file");
+            }
+        }
+    }
+
+    @Test
+    public void testLocalesCanBeFoundByLanguage() {
+        for (Language language : Language.values()) {
+            assertEquals(language, I18n.getLocale(language).getLanguage());
+        }
+    }
+
+    @Test
+    public void testMessageTemplatesFormatsStringsCorrectly() {
+        MessageTemplate template = MessageTemplate.compile("Hello, {0}\\nHow are you {1}?");
+
+        assertEquals("Hello, World\\nHow are you {1}?", template.format("World"));
+        assertEquals("Hello, World\nHow are you today?", template.getUnescaped().format("World", "today"));
+        assertSame(template.getUnescaped(), template.getUnescaped().getUnescaped());
+
+        MessageTemplate plain = MessageTemplate.compile("No escaped characters");
+        assertSame(plain, plain.getUnescaped());
+
+        assertEquals("Invalid {name} placeholder", MessageTemplate.compile("Invalid {name} placeholder").format("thing"));
+        assertEquals("Closing } brace thing", MessageTemplate.compile("Closing } brace {0}").format("thing"));
+    }
+
     private Set<String> getKeys(LanguageContainer locale) {
         return locale.getConfig().getKeys(true);
     }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ExperienceLedgerTests extends BaseTest {
+
+    @Test
+    public void testExperienceIsMergedPerPlayer() {
+        ExperienceLedger ledger = new ExperienceLedger();
+
+        ledger.record(new ExperienceEntity(1L, 10L, 15));
+        ledger.record(new ExperienceEntity(1L, 10L, 20));
+        ledger.record(new ExperienceEntity(1L, 20L, 5));
+        ledger.record(new ExperienceEntity(2L, 10L, 7));
+
+        assertEquals(3, ledger.size());
+        assertEquals(35L, ledger.getPendingExperience(10L, 1L));
+        assertEquals(5L, ledger.getPendingExperience(20L, 1L));
+        assertEquals(7L, ledger.getPendingExperience(10L, 2L));
+        assertEquals(0L, ledger.getPendingExperience(20L, 2L));
+    }
+
+    @Test
+    public void testExcludedExperienceIsOnlyAddedGlobally() {
+        ExperienceLedger ledger = new ExperienceLedger();
+
+        ledger.record(new ExperienceEntity(1L, 10L, 15));
+        ledger.record(new ExperienceEntity(1L, 10L, 20, true));
+
+        List<ExperienceEntity> entities = ledger.drain();
+
+        assertEquals(1, entities.size());
+        assertEquals(35L, entities.get(0).getExperience());
+        assertEquals(15L, entities.get(0).getLocalExperience());
+        assertEquals(true, entities.get(0).isExcludeLocal());
+    }
+
+    @Test
+    public void testDrainingEmptiesTheLedger() {
+        ExperienceLedger ledger = new ExperienceLedger();
+
+        ledger.record(new ExperienceEntity(1L, 10L, 15));
+        ledger.record(new ExperienceEntity(2L, 10L, 15));
+
+        assertEquals(2, ledger.drain().size());
+        assertEquals(true, ledger.isEmpty());
+        assertEquals(0L, ledger.getPendingExperience(10L, 1L));
+    }
+}
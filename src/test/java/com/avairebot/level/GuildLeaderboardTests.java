@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GuildLeaderboardTests extends BaseTest {
+
+    @Test
+    public void testPlayersAreRankedByExperience() {
+        GuildLeaderboard leaderboard = new GuildLeaderboard();
+
+        leaderboard.put(createEntry(1L, 500));
+        leaderboard.put(createEntry(2L, 1500));
+        leaderboard.put(createEntry(3L, 100));
+        leaderboard.put(createEntry(4L, 900));
+
+        assertEquals(4, leaderboard.size());
+        assertEquals(1, leaderboard.getRank(2L));
+        assertEquals(2, leaderboard.getRank(4L));
+        assertEquals(3, leaderboard.getRank(1L));
+        assertEquals(4, leaderboard.getRank(3L));
+        assertEquals(-1, leaderboard.getRank(5L));
+
+        List<LeaderboardEntry> top = leaderboard.getTop(3);
+        assertEquals(3, top.size());
+        assertEquals(2L, top.get(0).getUserId());
+        assertEquals(4L, top.get(1).getUserId());
+        assertEquals(1L, top.get(2).getUserId());
+    }
+
+    @Test
+    public void testPlayersWithTheSameExperienceShareTheirRank() {
+        GuildLeaderboard leaderboard = new GuildLeaderboard();
+
+        leaderboard.put(createEntry(1L, 300));
+        leaderboard.put(createEntry(2L, 200));
+        leaderboard.put(createEntry(3L, 200));
+        leaderboard.put(createEntry(4L, 100));
+
+        assertEquals(1, leaderboard.getRank(1L));
+        assertEquals(2, leaderboard.getRank(2L));
+        assertEquals(2, leaderboard.getRank(3L));
+        assertEquals(4, leaderboard.getRank(4L));
+    }
+
+    @Test
+    public void testUpdatingPlayersMovesThemOnTheLeaderboard() {
+        GuildLeaderboard leaderboard = new GuildLeaderboard();
+
+        leaderboard.put(createEntry(1L, 300));
+        leaderboard.put(createEntry(2L, 200));
+        leaderboard.put(createEntry(2L, 400));
+
+        assertEquals(2, leaderboard.size());
+        assertEquals(1, leaderboard.getRank(2L));
+        assertEquals(2, leaderboard.getRank(1L));
+        assertEquals(400L, leaderboard.get(2L).getExperience());
+
+        assertTrue(leaderboard.remove(2L));
+        assertFalse(leaderboard.remove(2L));
+
+        assertEquals(1, leaderboard.size());
+        assertEquals(1, leaderboard.getRank(1L));
+        assertNull(leaderboard.get(2L));
+    }
+
+    @Test
+    public void testEntriesCanBePaginated() {
+        GuildLeaderboard leaderboard = new GuildLeaderboard();
+        for (long i = 1; i <= 25; i++) {
+            leaderboard.put(createEntry(i, i * 10));
+        }
+
+        List<LeaderboardEntry> page = leaderboard.getEntries(10, 10);
+        assertEquals(10, page.size());
+        assertEquals(15L, page.get(0).getUserId());
+        assertEquals(6L, page.get(9).getUserId());
+
+        assertEquals(5, leaderboard.getEntries(20, 10).size());
+        assertTrue(leaderboard.getEntries(25, 10).isEmpty());
+    }
+
+    @Test
+    public void testLeaderboardMatchesSortedPlayersAfterRandomUpdates() {
+        GuildLeaderboard leaderboard = new GuildLeaderboard();
+        Map<Long, Long> players = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            long userId = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                leaderboard.remove(userId);
+                players.remove(userId);
+                continue;
+            }
+
+            long experience = random.nextInt(1000);
+            leaderboard.put(createEntry(userId, experience));
+            players.put(userId, experience);
+        }
+
+        List<Map.Entry<Long, Long>> sorted = new ArrayList<>(players.entrySet());
+        sorted.sort(Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+            .thenComparingLong(Map.Entry::getKey));
+
+        List<LeaderboardEntry> entries = leaderboard.getTop(players.size());
+        assertEquals(sorted.size(), leaderboard.size());
+        assertEquals(sorted.size(), entries.size());
+
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals((long) sorted.get(i).getKey(), entries.get(i).getUserId());
+
+            long above = 0;
+            for (Map.Entry<Long, Long> player : sorted) {
+                if (player.getValue() > sorted.get(i).getValue()) {
+                    above++;
+                }
+            }
+            assertEquals(above + 1, leaderboard.getRank(sorted.get(i).getKey()));
+        }
+    }
+
+    private LeaderboardEntry createEntry(long userId, long experience) {
+        return new LeaderboardEntry(userId, "user-" + userId, "0001", null, experience);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardIndexTests extends BaseTest {
+
+    @Test
+    public void testChangesMadeWhileLoadingAreKept() {
+        LeaderboardIndex[] index = new LeaderboardIndex[1];
+        index[0] = new LeaderboardIndex((guildId, consumer) -> {
+            consumer.accept(createEntry(1L, 100));
+
+            index[0].update(guildId, createEntry(2L, 999));
+            consumer.accept(createEntry(2L, 50));
+
+            index[0].remove(guildId, 3L);
+            consumer.accept(createEntry(3L, 10));
+        });
+
+        GuildLeaderboard leaderboard = index[0].getLeaderboard(10L);
+
+        assertNotNull(leaderboard);
+        assertEquals(2, leaderboard.size());
+        assertEquals(999L, leaderboard.get(2L).getExperience());
+        assertEquals(1, leaderboard.getRank(2L));
+        assertNull(leaderboard.get(3L));
+    }
+
+    @Test
+    public void testChangesForGuildsThatAreNotLoadedAreIgnored() {
+        LeaderboardIndex index = new LeaderboardIndex((guildId, consumer) -> {
+            consumer.accept(createEntry(1L, 100));
+        });
+
+        index.update(10L, createEntry(2L, 500));
+
+        GuildLeaderboard leaderboard = index.getLeaderboard(10L);
+
+        assertNotNull(leaderboard);
+        assertEquals(1, leaderboard.size());
+        assertNull(leaderboard.get(2L));
+
+        index.update(10L, createEntry(2L, 500));
+        assertEquals(1, leaderboard.getRank(2L));
+    }
+
+    private LeaderboardEntry createEntry(long userId, long experience) {
+        return new LeaderboardEntry(userId, "user-" + userId, "0001", null, experience);
+    }
+}
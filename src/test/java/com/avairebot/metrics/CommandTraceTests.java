@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.metrics;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandTraceTests extends BaseTest {
+
+    @Test
+    public void testStagesAreBrokenDownInTheOrderTheyWereRecorded() {
+        CommandTrace trace = new CommandTrace();
+
+        trace.record(CommandTrace.PIPELINE, "database", 1_500_000L);
+        trace.record(CommandTrace.MIDDLEWARE, "throttle", 250_000L);
+        trace.record(CommandTrace.MIDDLEWARE, "processCommand", 12_000_000L);
+
+        assertEquals("database=1.5ms, throttle=0.25ms, processCommand=12.0ms", trace.buildBreakdown());
+    }
+
+    @Test
+    public void testNegativeTimesAreRecordedAsZero() {
+        CommandTrace trace = new CommandTrace();
+
+        trace.record(CommandTrace.MIDDLEWARE, "require", -100L);
+
+        assertEquals("require=0.0ms", trace.buildBreakdown());
+    }
+
+    @Test
+    public void testStagesRecordedAfterTheTraceIsFinishedAreIgnored() {
+        CommandTrace trace = new CommandTrace();
+
+        trace.lap(CommandTrace.PIPELINE, "database");
+        trace.finish("PingCommand");
+        trace.record(CommandTrace.MIDDLEWARE, "throttle", 1_000_000L);
+
+        assertTrue(trace.buildBreakdown().startsWith("database="));
+        assertEquals(1, trace.buildBreakdown().split(", ").length);
+    }
+}
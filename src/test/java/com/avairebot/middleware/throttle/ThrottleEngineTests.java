@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.middleware.throttle;
+
+import com.avairebot.BaseTest;
+import com.avairebot.middleware.ThrottleMiddleware;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ThrottleEngineTests extends BaseTest {
+
+    private final ThrottleKey key = ThrottleKey.forCommand(ThrottleMiddleware.ThrottleType.USER, 1L, 2L, 3);
+
+    @Test
+    public void testHitsAreRejectedOnceTheLimitIsReached() {
+        ThrottleEngine engine = new ThrottleEngine();
+
+        assertEquals(0L, engine.tryAcquire(key, 2, 5000L, 1000L));
+        assertEquals(0L, engine.tryAcquire(key, 2, 5000L, 2000L));
+        assertEquals(3000L, engine.tryAcquire(key, 2, 5000L, 3000L));
+    }
+
+    @Test
+    public void testWindowIsResetOnceItExpires() {
+        ThrottleEngine engine = new ThrottleEngine();
+
+        assertEquals(0L, engine.tryAcquire(key, 1, 5000L, 1000L));
+        assertEquals(1000L, engine.tryAcquire(key, 1, 5000L, 5000L));
+        assertEquals(0L, engine.tryAcquire(key, 1, 5000L, 6000L));
+    }
+
+    @Test
+    public void testReleasedHitsCanBeAcquiredAgain() {
+        ThrottleEngine engine = new ThrottleEngine();
+
+        assertEquals(0L, engine.tryAcquire(key, 1, 5000L, 1000L));
+        engine.release(key);
+        assertEquals(0L, engine.tryAcquire(key, 1, 5000L, 2000L));
+    }
+
+    @Test
+    public void testKeysAreComparedByValue() {
+        ThrottleEngine engine = new ThrottleEngine();
+
+        assertEquals(0L, engine.tryAcquire(key, 1, 5000L, 1000L));
+        assertEquals(5000L, engine.tryAcquire(
+            ThrottleKey.forCommand(ThrottleMiddleware.ThrottleType.USER, 1L, 2L, 3), 1, 5000L, 1000L
+        ));
+        assertEquals(0L, engine.tryAcquire(
+            ThrottleKey.forCommand(ThrottleMiddleware.ThrottleType.GUILD, 1L, 2L, 3), 1, 5000L, 1000L
+        ));
+        assertEquals(0L, engine.tryAcquire(ThrottleKey.forRatelimit(1L), 1, 5000L, 1000L));
+    }
+
+    @Test
+    public void testExpiredWindowsAreRemovedOnCleanup() {
+        ThrottleEngine engine = new ThrottleEngine();
+
+        engine.tryAcquire(key, 1, 5000L, 1000L);
+        engine.tryAcquire(ThrottleKey.forRatelimit(1L), 1, 10000L, 1000L);
+
+        engine.cleanup(7000L);
+        assertEquals(1, engine.size());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roles;
+
+import com.avairebot.BaseTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuildRoleQueueTests extends BaseTest {
+
+    @Test
+    public void testActionsForTheSameMemberAreMerged() {
+        GuildRoleQueue queue = new GuildRoleQueue();
+
+        queue.queue(1L, Collections.singletonList(10L), Collections.emptyList());
+        queue.queue(1L, Collections.singletonList(11L), Collections.singletonList(12L));
+        queue.queue(2L, Collections.singletonList(10L), Collections.emptyList());
+
+        assertEquals(2, queue.size());
+
+        RoleChange change = queue.poll(0, 1000);
+        assertNotNull(change);
+        assertEquals(1L, change.getUserId());
+        assertEquals(Arrays.asList(10L, 11L), change.getRolesToAdd());
+        assertEquals(Collections.singletonList(12L), change.getRolesToRemove());
+    }
+
+    @Test
+    public void testOpposingActionsAreCancelled() {
+        GuildRoleQueue queue = new GuildRoleQueue();
+
+        assertEquals(0, queue.queue(1L, Collections.singletonList(10L), Collections.emptyList()));
+        assertEquals(1, queue.queue(1L, Collections.emptyList(), Collections.singletonList(10L)));
+
+        RoleChange change = queue.poll(0, 1000);
+        assertNotNull(change);
+        assertTrue(change.getRolesToAdd().isEmpty());
+        assertEquals(Collections.singletonList(10L), change.getRolesToRemove());
+    }
+
+    @Test
+    public void testOnlyOneRequestIsInFlightPerGuild() {
+        GuildRoleQueue queue = new GuildRoleQueue();
+
+        queue.queue(1L, Collections.singletonList(10L), Collections.emptyList());
+        queue.queue(2L, Collections.singletonList(10L), Collections.emptyList());
+
+        RoleChange first = queue.poll(0, 1000);
+        assertEquals(1L, first.getUserId());
+        assertNull(queue.poll(500, 1000));
+        assertFalse(queue.isIdle());
+
+        assertTrue(queue.complete(first.getToken()));
+
+        RoleChange second = queue.poll(600, 1000);
+        assertEquals(2L, second.getUserId());
+
+        assertTrue(queue.complete(second.getToken()));
+
+        assertNull(queue.poll(700, 1000));
+        assertTrue(queue.isIdle());
+    }
+
+    @Test
+    public void testLostRequestsAreReleasedAfterTheTimeout() {
+        GuildRoleQueue queue = new GuildRoleQueue();
+
+        queue.queue(1L, Collections.singletonList(10L), Collections.emptyList());
+        queue.queue(2L, Collections.singletonList(10L), Collections.emptyList());
+
+        assertNotNull(queue.poll(0, 1000));
+        assertNull(queue.poll(999, 1000));
+        assertEquals(2L, queue.poll(1000, 1000).getUserId());
+    }
+
+    @Test
+    public void testLateCompletionsDoNotReleaseNewerRequests() {
+        GuildRoleQueue queue = new GuildRoleQueue();
+
+        queue.queue(1L, Collections.singletonList(10L), Collections.emptyList());
+        queue.queue(2L, Collections.singletonList(10L), Collections.emptyList());
+        queue.queue(3L, Collections.singletonList(10L), Collections.emptyList());
+
+        RoleChange lost = queue.poll(0, 1000);
+        RoleChange next = queue.poll(1000, 1000);
+        assertEquals(2L, next.getUserId());
+
+        assertFalse(queue.complete(lost.getToken()));
+        assertNull(queue.poll(1500, 1000));
+
+        assertTrue(queue.complete(next.getToken()));
+        assertEquals(3L, queue.poll(1500, 1000).getUserId());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.scheduler;
+
+import com.avairebot.BaseTest;
+import com.avairebot.contracts.scheduler.OverrunPolicy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduledTaskTests extends BaseTest {
+
+    @Test
+    public void testOverrunsAreSkippedWithTheSkipPolicy() {
+        List<Runnable> submitted = new ArrayList<>();
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = new ScheduledTask("test", OverrunPolicy.SKIP, runs::incrementAndGet, submitted::add);
+
+        task.trigger();
+        task.trigger();
+        task.trigger();
+
+        assertEquals(1, submitted.size());
+        assertTrue(task.isRunning());
+
+        submitted.remove(0).run();
+
+        assertEquals(1, runs.get());
+        assertTrue(submitted.isEmpty());
+        assertFalse(task.isRunning());
+    }
+
+    @Test
+    public void testOverrunsAreCombinedIntoOneRunWithTheCatchUpPolicy() {
+        List<Runnable> submitted = new ArrayList<>();
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = new ScheduledTask("test", OverrunPolicy.CATCH_UP, runs::incrementAndGet, submitted::add);
+
+        task.trigger();
+        task.trigger();
+        task.trigger();
+
+        assertEquals(1, submitted.size());
+
+        submitted.remove(0).run();
+
+        assertEquals(1, submitted.size());
+        assertTrue(task.isRunning());
+
+        submitted.remove(0).run();
+
+        assertEquals(2, runs.get());
+        assertTrue(submitted.isEmpty());
+        assertFalse(task.isRunning());
+    }
+
+    @Test
+    public void testShedTasksCanBeTriggeredAgain() {
+        AtomicInteger attempts = new AtomicInteger();
+        ScheduledTask task = new ScheduledTask("test", OverrunPolicy.SKIP, () -> {
+        }, runnable -> attempts.incrementAndGet() > 1);
+
+        task.trigger();
+        assertFalse(task.isRunning());
+
+        task.trigger();
+        assertTrue(task.isRunning());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testFailingTasksAreReleased() {
+        List<Runnable> submitted = new ArrayList<>();
+        ScheduledTask task = new ScheduledTask("test", OverrunPolicy.SKIP, () -> {
+            throw new IllegalStateException("Failed to run the task");
+        }, submitted::add);
+
+        task.trigger();
+        submitted.remove(0).run();
+
+        assertFalse(task.isRunning());
+
+        task.trigger();
+        assertEquals(1, submitted.size());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of AvaIre.
+ *
+ * AvaIre is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AvaIre is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AvaIre.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.scheduler.tasks;
+
+import com.avairebot.BaseTest;
+import com.avairebot.contracts.database.BatchQueryFunction;
+import com.avairebot.database.fakes.FakeDatabaseManager;
+import com.avairebot.level.ExperienceEntity;
+import com.avairebot.level.ExperienceLedger;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyncPlayerExperienceWithDatabaseTaskTests extends BaseTest {
+
+    @Test
+    public void testExperienceIsDrainedWhenTheBatchSucceeds() {
+        ExperienceLedger ledger = createLedger();
+        int[] batches = new int[]{0};
+
+        new SyncPlayerExperienceWithDatabaseTask().sync(ledger, new FakeDatabaseManager() {
+            @Override
+            public void queryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction) {
+                batches[0]++;
+            }
+        });
+
+        assertEquals(1, batches[0]);
+        assertTrue(ledger.isEmpty());
+    }
+
+    @Test
+    public void testExperienceIsStillPendingWhenTheBatchFails() {
+        ExperienceLedger ledger = createLedger();
+
+        new SyncPlayerExperienceWithDatabaseTask().sync(ledger, new FakeDatabaseManager() {
+            @Override
+            public void queryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction) throws SQLException {
+                throw new SQLException("The database is unavailable");
+            }
+        });
+
+        assertEquals(2, ledger.size());
+        assertEquals(35L, ledger.getPendingExperience(10L, 1L));
+        assertEquals(7L, ledger.getPendingExperience(10L, 2L));
+    }
+
+    @Test
+    public void testTheSyncLockIsHeldWhileTheBatchIsRunning() {
+        ExperienceLedger ledger = createLedger();
+        boolean[] locked = new boolean[]{false};
+
+        new SyncPlayerExperienceWithDatabaseTask().sync(ledger, new FakeDatabaseManager() {
+            @Override
+            public void queryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction) {
+                locked[0] = ((ReentrantReadWriteLock) ledger.getSyncLock()).isWriteLockedByCurrentThread();
+            }
+        });
+
+        assertTrue(locked[0]);
+        assertFalse(((ReentrantReadWriteLock) ledger.getSyncLock()).isWriteLocked());
+    }
+
+    private ExperienceLedger createLedger() {
+        ExperienceLedger ledger = new ExperienceLedger();
+
+        ledger.record(new ExperienceEntity(1L, 10L, 15));
+        ledger.record(new ExperienceEntity(1L, 10L, 20));
+        ledger.record(new ExperienceEntity(2L, 10L, 7));
+
+        return ledger;
+    }
+}